@@ -57,6 +57,7 @@ public class CliLauncher {
             List<String> commands = null;
             File file = null;
             boolean errorOnInteract = false;
+            int pipeline = 0;
             boolean connect = false;
             boolean version = false;
             int connectionTimeout = -1;
@@ -159,6 +160,18 @@ public class CliLauncher {
                 } else if (arg.startsWith("--command-timeout=")) {
                     ctxBuilder.
                             setCommandTimeout(Integer.parseInt(arg.substring(18)));
+                } else if (arg.equals("--pipeline")) {
+                    pipeline = PipelinedScriptRunner.DEFAULT_MAX_PENDING;
+                } else if (arg.startsWith("--pipeline=")) {
+                    try {
+                        pipeline = Integer.parseInt(arg.substring(11));
+                    } catch (NumberFormatException e) {
+                        pipeline = -1;
+                    }
+                    if (pipeline <= 0) {
+                        argError = "The value of --pipeline must be a positive integer: " + arg;
+                        break;
+                    }
                 } else if (arg.equals("--error-on-interact")) {
                     ctxBuilder.setErrorOnInteract(true);
                     errorOnInteract = true;
@@ -248,6 +261,10 @@ public class CliLauncher {
                 argError = "--error-on-interact function is only available in non-interactive mode, using --file or --command(s).";
             }
 
+            if(pipeline > 0 && file == null && commands == null) {
+                argError = "--pipeline is only available in non-interactive mode, using --file or --command(s).";
+            }
+
             ctxBuilder.setConnectionTimeout(connectionTimeout);
 
             if(argError != null) {
@@ -264,13 +281,13 @@ public class CliLauncher {
 
             if(file != null) {
                 cmdCtx = initCommandContext(ctxBuilder.build(), connect);
-                processFile(file, cmdCtx);
+                processFile(file, cmdCtx, pipeline);
                 return;
             }
 
             if(commands != null) {
                 cmdCtx = initCommandContext(ctxBuilder.build(), connect);
-                processCommands(commands, cmdCtx);
+                processCommands(commands, cmdCtx, pipeline);
                 return;
             }
 
@@ -321,7 +338,17 @@ public class CliLauncher {
         }
     }
 
-    private static void processCommands(List<String> commands, CommandContext cmdCtx) {
+    private static void processCommands(List<String> commands, CommandContext cmdCtx, int pipeline) {
+        final PipelinedScriptRunner runner = createRunner(cmdCtx, pipeline);
+        if (runner != null) {
+            int i = 0;
+            while (runner.isRunning() && i < commands.size()) {
+                runner.handle(commands.get(i));
+                ++i;
+            }
+            runner.finish();
+            return;
+        }
         int i = 0;
         while (cmdCtx.getExitCode() == 0 && i < commands.size() && !cmdCtx.isTerminated()) {
             cmdCtx.handleSafe(commands.get(i));
@@ -330,11 +357,23 @@ public class CliLauncher {
     }
 
     private static void processFile(File file, final CommandContext cmdCtx) {
+        processFile(file, cmdCtx, 0);
+    }
 
+    private static void processFile(File file, final CommandContext cmdCtx, int pipeline) {
+        final PipelinedScriptRunner runner = createRunner(cmdCtx, pipeline);
         BufferedReader reader = null;
         try {
             reader = new BufferedReader(new FileReader(file));
             String line = reader.readLine();
+            if (runner != null) {
+                while (runner.isRunning() && line != null) {
+                    runner.handle(line.trim());
+                    line = reader.readLine();
+                }
+                runner.finish();
+                return;
+            }
             while (cmdCtx.getExitCode() == 0 && !cmdCtx.isTerminated() && line != null) {
                 cmdCtx.handleSafe(line.trim());
                 line = reader.readLine();
@@ -346,6 +385,13 @@ public class CliLauncher {
         }
     }
 
+    private static PipelinedScriptRunner createRunner(CommandContext cmdCtx, int pipeline) {
+        if (pipeline > 0 && cmdCtx instanceof CommandContextImpl) {
+            return new PipelinedScriptRunner((CommandContextImpl) cmdCtx, pipeline);
+        }
+        return null;
+    }
+
     private static final String JBOSS_CLI_RC_PROPERTY = "jboss.cli.rc";
     private static final String CURRENT_WORKING_DIRECTORY = "user.dir";
     private static final String JBOSS_CLI_RC_FILE = ".jbossclirc";
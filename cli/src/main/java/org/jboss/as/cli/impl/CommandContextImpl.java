@@ -237,6 +237,8 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
     private boolean domainMode;
     /** the controller client */
     private ModelControllerClient client;
+    /** the cache of the management model descriptions, {@code null} if disabled */
+    private final DescriptionCache descriptionCache;
 
     /** the address of the current controller */
     private ControllerAddress currentAddress;
@@ -324,6 +326,7 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
         }
         config = CliConfigImpl.load(this);
         addressResolver = ControllerAddressResolver.newInstance(config, null);
+        descriptionCache = DescriptionCache.create(config);
         resolveParameterValues = config.isResolveParameterValues();
         SILENT = config.isSilent();
         ERROR_ON_INTERACT = config.isErrorOnInteract();
@@ -348,6 +351,7 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
     CommandContextImpl(CommandContextConfiguration configuration) throws CliInitializationException {
         config = CliConfigImpl.load(this, configuration);
         addressResolver = ControllerAddressResolver.newInstance(config, configuration.getController());
+        descriptionCache = DescriptionCache.create(config);
 
         operationHandler = new OperationRequestHandler();
 
@@ -904,6 +908,51 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
         }
     }
 
+    /**
+     * Builds the request for a line of a script run by a {@link PipelinedScriptRunner}. Only operation requests that
+     * need nothing but the connection to be executed qualify: not part of a batch or of a control flow block, not
+     * spread over several lines, not redirecting their output and not attaching files.
+     *
+     * @param line the line
+     * @return the validated request, or {@code null} if the line must be handled by {@link #handleSafe(String)}
+     * @throws CommandLineException if the request is invalid
+     */
+    ModelNode buildPipelinedRequest(String line) throws CommandLineException {
+        if (client == null || redirection != null || lineBuffer != null || isBatchMode()
+                || line.isEmpty() || line.charAt(0) == '#' || line.charAt(line.length() - 1) == '\\') {
+            return null;
+        }
+        try {
+            resetArgs(line);
+            if (parsedCmd.getFormat() != OperationFormat.INSTANCE || parsedCmd.getOutputTarget() != null) {
+                return null;
+            }
+            final Attachments attachments = new Attachments();
+            final ModelNode request = Util.toOperationRequest(this, parsedCmd, attachments);
+            if (!attachments.getAttachedFiles().isEmpty()) {
+                return null;
+            }
+            if (config.isValidateOperationRequests()) {
+                final ModelNode opDescOutcome = Util.validateRequest(this, request);
+                if (opDescOutcome != null) {
+                    Util.replaceFilePathsWithBytes(request, opDescOutcome);
+                }
+            }
+            return request;
+        } finally {
+            cmdLine = null;
+            clear(Scope.REQUEST);
+        }
+    }
+
+    /**
+     * @return the prompt and line {@link #handle(String)} would echo for a pipelined line, or {@code null} if commands
+     * are not echoed
+     */
+    String getPipelinedEcho(String line) {
+        return echoCommand && !INTERACT ? getPrompt() + line : null;
+    }
+
     @Override
     public String getArgumentsString() {
         // a little hack to support tab-completion of commands and ops spread across multiple lines
@@ -1190,6 +1239,11 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
                 disconnectController();
             }
 
+            if (descriptionCache != null) {
+                // the controller may run another version than the previous one
+                descriptionCache.resetScope();
+                newClient = new DescriptionCachingModelControllerClient(newClient, descriptionCache);
+            }
             client = newClient;
             this.currentAddress = address;
             this.connInfoBean = conInfo;
@@ -1352,6 +1406,9 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
     public void disconnectController() {
         if (this.client != null) {
             StreamUtils.safeClose(client);
+            if (descriptionCache != null) {
+                descriptionCache.save();
+            }
             // if(loggingEnabled) {
             // printLine("Closed connection to " + this.controllerHost + ':' +
             // this.controllerPort);
@@ -1634,6 +1691,10 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
 
     @Override
     public void handleClose() {
+        if (descriptionCache != null) {
+            // the controller may be restarted with another version
+            descriptionCache.resetScope();
+        }
         // if the connection loss was triggered by an instruction to restart/reload
         // then we don't disconnect yet
         if(parsedCmd.getFormat() != null) {
@@ -0,0 +1,386 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jboss.as.cli.CliConfig;
+import org.jboss.as.cli.CommandContext;
+import org.jboss.as.cli.Util;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Cache of the successful responses to the requests the CLI sends to describe the management model:
+ * {@code read-resource-description}, {@code read-operation-description} and {@code read-children-types}.
+ * <p>
+ * Entries belong to a scope made of the product name and version, the management model version and the extensions
+ * of the controller they were read from, so a controller running anything else never sees them. The scope is read
+ * again whenever the connection to the controller is re-established, and switching scope drops the entries of the
+ * previous one. Requests that depend on the identity of the user, i.e. that ask for access control information, and
+ * requests addressed to hosts and servers, which may be proxied to processes running other versions, are not cached.
+ * <p>
+ * The cache is held in memory by default. Setting the {@value #MODE_PROPERTY} system property to
+ * {@value #PERSISTENT} also stores the entries of each scope in the {@value #CACHE_DIR_NAME} directory next to the
+ * CLI history file, so later sessions against the same version start with them, and setting it to {@value #OFF}
+ * disables the cache.
+ */
+final class DescriptionCache {
+
+    static final String MODE_PROPERTY = "jboss.cli.description-cache";
+    static final String MEMORY = "memory";
+    static final String PERSISTENT = "persistent";
+    static final String OFF = "off";
+
+    static final String CACHE_DIR_NAME = ".jboss-cli-description-cache";
+
+    /** Bound on the number of entries, so unusual usage cannot make the cache grow without limit */
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final String SCOPE = "scope";
+    private static final String ENTRIES = "entries";
+
+    private static final Logger log = Logger.getLogger(CommandContext.class);
+
+    /** {@code null} if the entries are not persisted */
+    private final File dir;
+    private final Map<ModelNode, ModelNode> entries = new HashMap<>();
+    /** {@code false} until the scope of the connected controller has been read */
+    private boolean scopeKnown;
+    /** {@code null} if nothing can be cached for the connected controller */
+    private String scope;
+    /** {@code true} if there are entries that have not been persisted yet */
+    private boolean dirty;
+
+    DescriptionCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Creates the cache configured by the {@value #MODE_PROPERTY} system property.
+     *
+     * @param config the CLI configuration
+     * @return the cache, or {@code null} if it is disabled
+     */
+    static DescriptionCache create(CliConfig config) {
+        final String mode = WildFlySecurityManager.getPropertyPrivileged(MODE_PROPERTY, MEMORY).toLowerCase(Locale.ENGLISH);
+        if (OFF.equals(mode)) {
+            return null;
+        }
+        if (PERSISTENT.equals(mode) && config.getHistoryFileDir() != null) {
+            return new DescriptionCache(new File(config.getHistoryFileDir(), CACHE_DIR_NAME));
+        }
+        return new DescriptionCache(null);
+    }
+
+    /**
+     * Creates the key identifying a request in the cache.
+     *
+     * @param operation the request
+     * @return the key, or {@code null} if the response to the request must not be cached
+     */
+    static ModelNode createKey(ModelNode operation) {
+        if (!operation.hasDefined(Util.OPERATION)) {
+            return null;
+        }
+        final String name = operation.get(Util.OPERATION).asString();
+        if (!Util.READ_RESOURCE_DESCRIPTION.equals(name) && !Util.READ_OPERATION_DESCRIPTION.equals(name)
+                && !Util.READ_CHILDREN_TYPES.equals(name)) {
+            return null;
+        }
+        if (operation.hasDefined(Util.ACCESS_CONTROL)) {
+            final ModelNode accessControl = operation.get(Util.ACCESS_CONTROL);
+            if (accessControl.getType() == ModelType.BOOLEAN ? accessControl.asBoolean() : !"none".equals(accessControl.asString())) {
+                return null;
+            }
+        }
+        final List<Property> address = getAddress(operation);
+        if (address == null) {
+            return null;
+        }
+        for (Property element : address) {
+            if (Util.HOST.equals(element.getName()) || Util.SERVER.equals(element.getName())) {
+                return null;
+            }
+        }
+        final ModelNode key = operation.clone();
+        key.remove(Util.OPERATION_HEADERS);
+        final ModelNode keyAddress = key.get(Util.ADDRESS).setEmptyList();
+        for (Property element : address) {
+            keyAddress.add(element.getName(), element.getValue().asString());
+        }
+        return key;
+    }
+
+    /**
+     * Creates the scope of the entries read from a controller.
+     *
+     * @param root the result of a {@code read-resource} of the root resource of the controller
+     * @return the scope
+     */
+    static String createScope(ModelNode root) {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(root.get(Util.PRODUCT_NAME).asString()).append(' ')
+                .append(root.get(Util.PRODUCT_VERSION).asString()).append(' ')
+                .append(root.get("release-version").asString()).append(' ')
+                .append(root.get("management-major-version").asString()).append('.')
+                .append(root.get("management-minor-version").asString()).append('.')
+                .append(root.get("management-micro-version").asString());
+        if (root.hasDefined(Util.EXTENSION)) {
+            final List<String> extensions = new ArrayList<>(root.get(Util.EXTENSION).keys());
+            Collections.sort(extensions);
+            for (String extension : extensions) {
+                buf.append(' ').append(extension);
+            }
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Gets the address of a request as a list of properties.
+     *
+     * @return the address, or {@code null} if it is not in a recognized form
+     */
+    static List<Property> getAddress(ModelNode operation) {
+        if (!operation.hasDefined(Util.ADDRESS)) {
+            return Collections.emptyList();
+        }
+        try {
+            final List<Property> address = new ArrayList<>();
+            for (ModelNode element : operation.get(Util.ADDRESS).asList()) {
+                address.add(element.asProperty());
+            }
+            return address;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    synchronized boolean isScopeKnown() {
+        return scopeKnown;
+    }
+
+    synchronized String getScope() {
+        return scope;
+    }
+
+    /**
+     * Sets the scope of the connected controller. If it differs from the current one, the current entries are
+     * persisted and dropped, and those persisted for the new scope, if any, are loaded.
+     *
+     * @param scope the scope, or {@code null} if nothing can be cached for the connected controller
+     */
+    synchronized void setScope(String scope) {
+        scopeKnown = true;
+        if (scope == null ? this.scope == null : scope.equals(this.scope)) {
+            return;
+        }
+        save();
+        entries.clear();
+        this.scope = scope;
+        if (scope != null) {
+            load();
+        }
+    }
+
+    /**
+     * Forgets the scope, so it is read again before the cache is next used. This is called when the connection to
+     * the controller is lost or the controller is replaced, which is when its version may change.
+     */
+    synchronized void resetScope() {
+        scopeKnown = false;
+    }
+
+    /**
+     * @param key the key created by {@link #createKey(ModelNode)}
+     * @return a copy of the cached response, or {@code null} if there is none
+     */
+    synchronized ModelNode get(ModelNode key) {
+        if (!scopeKnown || scope == null) {
+            return null;
+        }
+        final ModelNode response = entries.get(key);
+        return response == null ? null : response.clone();
+    }
+
+    /**
+     * Caches a response if it is successful.
+     *
+     * @param key the key created by {@link #createKey(ModelNode)}
+     * @param response the response. A copy is cached, so the caller may keep using it
+     */
+    synchronized void put(ModelNode key, ModelNode response) {
+        if (!scopeKnown || scope == null || !Util.isSuccess(response)) {
+            return;
+        }
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, response.clone());
+        dirty = true;
+    }
+
+    /**
+     * Drops what an operation may have made stale. An operation on an extension changes the set of subsystems, and
+     * so the scope, which is read again. Adding or removing any other resource drops the entries for its address and
+     * the addresses below it, as some resources register descriptions specific to their name when they are added.
+     *
+     * @param operation the operation that was executed
+     */
+    void invalidate(ModelNode operation) {
+        if (!operation.hasDefined(Util.OPERATION)) {
+            return;
+        }
+        final String name = operation.get(Util.OPERATION).asString();
+        if (Util.COMPOSITE.equals(name)) {
+            if (operation.hasDefined(Util.STEPS)) {
+                for (ModelNode step : operation.get(Util.STEPS).asList()) {
+                    invalidate(step);
+                }
+            }
+            return;
+        }
+        if (name.startsWith("read-")) {
+            return;
+        }
+        final List<Property> address = getAddress(operation);
+        synchronized (this) {
+            if (address == null || !address.isEmpty() && Util.EXTENSION.equals(address.get(0).getName())) {
+                resetScope();
+                return;
+            }
+            if (!Util.ADD.equals(name) && !Util.REMOVE.equals(name)) {
+                return;
+            }
+            final Iterator<ModelNode> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (startsWith(keys.next().get(Util.ADDRESS).asList(), address)) {
+                    keys.remove();
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private static boolean startsWith(List<ModelNode> address, List<Property> prefix) {
+        if (address.size() < prefix.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            final Property element = address.get(i).asProperty();
+            if (!element.getName().equals(prefix.get(i).getName())
+                    || !element.getValue().asString().equals(prefix.get(i).getValue().asString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Persists the entries of the current scope, if persistence is enabled and they changed since they were loaded.
+     */
+    synchronized void save() {
+        if (dir == null || scope == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        final ModelNode content = new ModelNode();
+        content.get(SCOPE).set(scope);
+        final ModelNode list = content.get(ENTRIES).setEmptyList();
+        for (Map.Entry<ModelNode, ModelNode> entry : entries.entrySet()) {
+            list.add().add(entry.getKey()).add(entry.getValue());
+        }
+        OutputStream out = null;
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Failed to create " + dir.getAbsolutePath());
+            }
+            final File tmp = new File(dir, getFileName() + ".tmp");
+            out = new BufferedOutputStream(new FileOutputStream(tmp));
+            content.writeExternal(out);
+            out.close();
+            out = null;
+            final File file = new File(dir, getFileName());
+            if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+                throw new IOException("Failed to rename " + tmp.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            log.debug("Failed to persist the description cache", e);
+        } finally {
+            StreamUtils.safeClose(out);
+        }
+    }
+
+    private void load() {
+        if (dir == null) {
+            return;
+        }
+        final File file = new File(dir, getFileName());
+        if (!file.isFile()) {
+            return;
+        }
+        InputStream in = null;
+        try {
+            in = new BufferedInputStream(new FileInputStream(file));
+            final ModelNode content = new ModelNode();
+            content.readExternal(in);
+            // the file name is only derived from a hash of the scope
+            if (!scope.equals(content.get(SCOPE).asString()) || !content.hasDefined(ENTRIES)) {
+                return;
+            }
+            for (ModelNode entry : content.get(ENTRIES).asList()) {
+                if (entries.size() >= MAX_ENTRIES) {
+                    break;
+                }
+                entries.put(entry.get(0), entry.get(1));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Failed to load the description cache from " + file.getAbsolutePath(), e);
+            entries.clear();
+        } finally {
+            StreamUtils.safeClose(in);
+        }
+    }
+
+    private String getFileName() {
+        return Integer.toHexString(scope.hashCode()) + ".dmr";
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.IOException;
+
+import org.jboss.as.cli.CommandLineException;
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.jboss.threads.JBossExecutors;
+
+/**
+ * A ModelControllerClient answering the requests describing the management model from a {@link DescriptionCache},
+ * and keeping the cache up to date with the other operations it executes.
+ */
+class DescriptionCachingModelControllerClient implements ModelControllerClient, AwaiterModelControllerClient {
+
+    private final ModelControllerClient wrapped;
+    private final DescriptionCache cache;
+
+    DescriptionCachingModelControllerClient(ModelControllerClient wrapped, DescriptionCache cache) {
+        this.wrapped = wrapped;
+        this.cache = cache;
+    }
+
+    @Override
+    public ModelNode execute(ModelNode operation) throws IOException {
+        final ModelNode key = getKey(operation);
+        ModelNode response = key == null ? null : cache.get(key);
+        if (response == null) {
+            response = wrapped.execute(operation);
+            executed(operation, key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public ModelNode execute(Operation operation) throws IOException {
+        final ModelNode key = getKey(operation.getOperation());
+        ModelNode response = key == null ? null : cache.get(key);
+        if (response == null) {
+            response = wrapped.execute(operation);
+            executed(operation.getOperation(), key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public ModelNode execute(ModelNode operation, OperationMessageHandler messageHandler) throws IOException {
+        final ModelNode key = getKey(operation);
+        ModelNode response = key == null ? null : cache.get(key);
+        if (response == null) {
+            response = wrapped.execute(operation, messageHandler);
+            executed(operation, key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public ModelNode execute(Operation operation, OperationMessageHandler messageHandler) throws IOException {
+        final ModelNode key = getKey(operation.getOperation());
+        ModelNode response = key == null ? null : cache.get(key);
+        if (response == null) {
+            response = wrapped.execute(operation, messageHandler);
+            executed(operation.getOperation(), key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) throws IOException {
+        final OperationResponse response = wrapped.executeOperation(operation, messageHandler);
+        cache.invalidate(operation.getOperation());
+        return response;
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(ModelNode operation, OperationMessageHandler messageHandler) {
+        final ModelNode key = getKey(operation);
+        final ModelNode response = key == null ? null : cache.get(key);
+        if (response != null) {
+            return new CompletedFuture(response);
+        }
+        return listen(wrapped.executeAsync(operation, messageHandler), operation, key);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(Operation operation, OperationMessageHandler messageHandler) {
+        final ModelNode key = getKey(operation.getOperation());
+        final ModelNode response = key == null ? null : cache.get(key);
+        if (response != null) {
+            return new CompletedFuture(response);
+        }
+        return listen(wrapped.executeAsync(operation, messageHandler), operation.getOperation(), key);
+    }
+
+    @Override
+    public AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler) {
+        final AsyncFuture<OperationResponse> future = wrapped.executeOperationAsync(operation, messageHandler);
+        final ModelNode op = operation.getOperation();
+        future.addListener(new AsyncFuture.AbstractListener<OperationResponse, Void>() {
+            @Override
+            public void handleComplete(AsyncFuture<? extends OperationResponse> future, Void attachment) {
+                cache.invalidate(op);
+            }
+        }, null);
+        return future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        wrapped.close();
+    }
+
+    @Override
+    public ModelNode execute(ModelNode operation, boolean awaitClose) throws IOException {
+        final ModelNode response = getAwaiter().execute(operation, awaitClose);
+        cache.invalidate(operation);
+        return response;
+    }
+
+    @Override
+    public void awaitClose(boolean awaitClose) throws IOException {
+        getAwaiter().awaitClose(awaitClose);
+    }
+
+    @Override
+    public boolean isConnected() {
+        if (!(wrapped instanceof AwaiterModelControllerClient)) {
+            throw new RuntimeException("Unsupported ModelControllerClient implementation " + wrapped.getClass().getName());
+        }
+        return ((AwaiterModelControllerClient) wrapped).isConnected();
+    }
+
+    @Override
+    public void ensureConnected(long timeoutMillis) throws CommandLineException {
+        if (!(wrapped instanceof AwaiterModelControllerClient)) {
+            throw new CommandLineException("Unsupported ModelControllerClient implementation " + wrapped.getClass().getName());
+        }
+        ((AwaiterModelControllerClient) wrapped).ensureConnected(timeoutMillis);
+    }
+
+    private AwaiterModelControllerClient getAwaiter() throws IOException {
+        if (!(wrapped instanceof AwaiterModelControllerClient)) {
+            throw new IOException("Unsupported ModelControllerClient implementation " + wrapped.getClass().getName());
+        }
+        return (AwaiterModelControllerClient) wrapped;
+    }
+
+    /**
+     * Gets the key of a request in the cache, reading the scope of the controller first if needed.
+     *
+     * @return the key, or {@code null} if the request is not answered from the cache
+     */
+    private ModelNode getKey(ModelNode operation) {
+        final ModelNode key = DescriptionCache.createKey(operation);
+        if (key == null) {
+            return null;
+        }
+        if (!cache.isScopeKnown()) {
+            final ModelNode request = new ModelNode();
+            request.get(Util.OPERATION).set(Util.READ_RESOURCE);
+            request.get(Util.ADDRESS).setEmptyList();
+            request.get(Util.INCLUDE_RUNTIME).set(true);
+            try {
+                final ModelNode response = wrapped.execute(request);
+                cache.setScope(Util.isSuccess(response) ? DescriptionCache.createScope(response.get(Util.RESULT)) : null);
+            } catch (IOException e) {
+                // the scope is read again with the next request
+                return null;
+            }
+        }
+        return cache.getScope() == null ? null : key;
+    }
+
+    private void executed(ModelNode operation, ModelNode key, ModelNode response) {
+        if (key != null) {
+            cache.put(key, response);
+        } else {
+            cache.invalidate(operation);
+        }
+    }
+
+    private AsyncFuture<ModelNode> listen(AsyncFuture<ModelNode> future, final ModelNode operation, final ModelNode key) {
+        future.addListener(new AsyncFuture.AbstractListener<ModelNode, Void>() {
+            @Override
+            public void handleComplete(AsyncFuture<? extends ModelNode> future, Void attachment) {
+                try {
+                    executed(operation, key, future.get());
+                } catch (Exception e) {
+                    // the failure is reported to the caller
+                }
+            }
+        }, null);
+        return future;
+    }
+
+    private static final class CompletedFuture extends AsyncFutureTask<ModelNode> {
+
+        private CompletedFuture(ModelNode response) {
+            super(JBossExecutors.directExecutor());
+            setResult(response);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.as.cli.CommandLineException;
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * Runs the lines of a script, sending the operation requests it can to the controller before the responses to the
+ * previous ones have been received, while printing the output in the order of the script and stopping at the first
+ * failure, as running the lines one after the other would.
+ * <p>
+ * Only reads overlap: a read is sent right away unless a write to the same resource, a parent or a child of it, is
+ * pending, in which case it waits for the write to complete. A write waits for all the previous requests to complete
+ * successfully, as it must not be executed if one of them fails, and the controller does not guarantee requests
+ * received concurrently are executed in order. Anything that is not a single line operation request, i.e. commands,
+ * batches, {@code if} and {@code try} blocks, requests with attachments or with redirected output, waits for all the
+ * previous requests to complete and is handled as usual.
+ */
+final class PipelinedScriptRunner {
+
+    /** Default maximum number of requests sent without having received their response */
+    static final int DEFAULT_MAX_PENDING = 16;
+
+    private final CommandContextImpl ctx;
+    private final int maxPending;
+    private final Deque<PendingRequest> pending = new ArrayDeque<>();
+
+    PipelinedScriptRunner(CommandContextImpl ctx, int maxPending) {
+        this.ctx = ctx;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * @return {@code true} if the script should go on, {@code false} if a line failed or the session was terminated
+     */
+    boolean isRunning() {
+        return ctx.getExitCode() == 0 && !ctx.isTerminated();
+    }
+
+    /**
+     * Handles the next line of the script. The caller must stop once {@link #isRunning()} returns {@code false}, and
+     * call {@link #finish()} after the last line.
+     *
+     * @param line the line
+     */
+    void handle(String line) {
+        ModelNode request;
+        try {
+            request = ctx.buildPipelinedRequest(line);
+        } catch (Throwable t) {
+            // the state the line depends on may be changed by the pending requests, let handleSafe report it
+            request = null;
+        }
+        if (request == null) {
+            if (finish()) {
+                ctx.handleSafe(line);
+            }
+            return;
+        }
+        final String echo = ctx.getPipelinedEcho(line);
+        final List<Property> address = DescriptionCache.getAddress(request);
+        final boolean read = address != null && isRead(request);
+        if (read) {
+            completeConflicting(address);
+        } else {
+            finish();
+        }
+        while (isRunning() && pending.size() >= maxPending) {
+            complete(pending.removeFirst());
+        }
+        if (!isRunning()) {
+            return;
+        }
+        final ModelControllerClient client = ctx.getModelControllerClient();
+        if (client == null) {
+            ctx.handleSafe(line);
+            return;
+        }
+        final AsyncFuture<ModelNode> future = client.executeAsync(new OperationBuilder(request, true).build(),
+                OperationMessageHandler.DISCARD);
+        pending.addLast(new PendingRequest(echo, address, read, future));
+    }
+
+    /**
+     * Waits for all the pending requests to complete, printing their output.
+     *
+     * @return {@code true} if they all succeeded
+     */
+    boolean finish() {
+        while (!pending.isEmpty()) {
+            final PendingRequest request = pending.removeFirst();
+            if (isRunning()) {
+                complete(request);
+            }
+        }
+        return isRunning();
+    }
+
+    /**
+     * Waits for the pending write, if it changes the resource a read is addressed to, a parent or a child of it.
+     * As a write waits for all the requests before it, it can only be the first pending request.
+     */
+    private void completeConflicting(List<Property> address) {
+        final PendingRequest first = pending.peekFirst();
+        if (first != null && !first.read && (first.address == null || overlaps(first.address, address))) {
+            complete(pending.removeFirst());
+        }
+    }
+
+    private void complete(PendingRequest request) {
+        if (request.echo != null) {
+            ctx.printLine(request.echo);
+        }
+        try {
+            final ModelNode response = getResponse(request.future);
+            if (Util.isSuccess(response)) {
+                ctx.printLine(response.toString());
+            } else {
+                throw new CommandLineException(response.toString());
+            }
+        } catch (CommandLineException e) {
+            ctx.error(Util.getMessagesFromThrowable(e));
+        }
+    }
+
+    private ModelNode getResponse(AsyncFuture<ModelNode> future) throws CommandLineException {
+        try {
+            final int timeout = ctx.getCommandTimeout();
+            return timeout > 0 ? future.get(timeout, TimeUnit.SECONDS) : future.get();
+        } catch (TimeoutException e) {
+            future.asyncCancel(true);
+            throw new CommandLineException("Timeout exception for Operation request", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.asyncCancel(true);
+            throw new CommandLineException("Interrupt exception for Operation request", e);
+        } catch (CancellationException e) {
+            throw new CommandLineException("The result couldn't be retrieved (perhaps the task was cancelled", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof IOException) {
+                if (cause.getCause() != null && !(cause.getCause() instanceof InterruptedException)) {
+                    ctx.disconnectController();
+                }
+                throw new CommandLineException("Communication error", cause);
+            }
+            throw new CommandLineException("Failed to execute operation.", cause);
+        }
+    }
+
+    /**
+     * @return {@code true} if the request is known not to change anything
+     */
+    static boolean isRead(ModelNode request) {
+        final String name = request.get(Util.OPERATION).asString();
+        return name.startsWith("read-");
+    }
+
+    /**
+     * @return {@code true} if one of the addresses is the same as the other or a parent of it
+     */
+    static boolean overlaps(List<Property> a, List<Property> b) {
+        final int size = Math.min(a.size(), b.size());
+        for (int i = 0; i < size; i++) {
+            final Property pa = a.get(i);
+            final Property pb = b.get(i);
+            if (!pa.getName().equals(pb.getName())) {
+                return false;
+            }
+            final String va = pa.getValue().asString();
+            final String vb = pb.getValue().asString();
+            if (!va.equals(vb) && !"*".equals(va) && !"*".equals(vb)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class PendingRequest {
+        private final String echo;
+        /** {@code null} if not in a recognized form */
+        private final List<Property> address;
+        private final boolean read;
+        private final AsyncFuture<ModelNode> future;
+
+        private PendingRequest(String echo, List<Property> address, boolean read, AsyncFuture<ModelNode> future) {
+            this.echo = echo;
+            this.address = address;
+            this.read = read;
+            this.future = future;
+        }
+    }
+}
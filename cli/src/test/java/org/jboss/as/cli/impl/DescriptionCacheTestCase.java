@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the cache of the management model descriptions.
+ */
+public class DescriptionCacheTestCase {
+
+    @Test
+    public void testCacheableRequests() {
+        Assert.assertNotNull(DescriptionCache.createKey(describe("subsystem", "logging")));
+        Assert.assertNull(DescriptionCache.createKey(operation(Util.READ_RESOURCE, "subsystem", "logging")));
+        Assert.assertNull(DescriptionCache.createKey(describe("host", "master", "subsystem", "logging")));
+        Assert.assertNull(DescriptionCache.createKey(describe("profile", "full", "server", "one")));
+
+        final ModelNode accessControl = describe("subsystem", "logging");
+        accessControl.get(Util.ACCESS_CONTROL).set(Util.TRIM_DESCRIPTIONS);
+        Assert.assertNull(DescriptionCache.createKey(accessControl));
+        accessControl.get(Util.ACCESS_CONTROL).set("none");
+        Assert.assertNotNull(DescriptionCache.createKey(accessControl));
+
+        final ModelNode headers = describe("subsystem", "logging");
+        headers.get(Util.OPERATION_HEADERS, "rollback-on-runtime-failure").set(false);
+        Assert.assertEquals(DescriptionCache.createKey(describe("subsystem", "logging")), DescriptionCache.createKey(headers));
+    }
+
+    @Test
+    public void testScope() {
+        final DescriptionCache cache = new DescriptionCache(null);
+        final ModelNode key = DescriptionCache.createKey(describe("subsystem", "logging"));
+        cache.put(key, success());
+        Assert.assertNull(cache.get(key));
+
+        cache.setScope("a");
+        cache.put(key, success());
+        Assert.assertNotNull(cache.get(key));
+
+        cache.resetScope();
+        Assert.assertNull(cache.get(key));
+        cache.setScope("a");
+        Assert.assertNotNull(cache.get(key));
+
+        cache.setScope("b");
+        Assert.assertNull(cache.get(key));
+
+        final ModelNode failure = new ModelNode();
+        failure.get(Util.OUTCOME).set("failed");
+        cache.put(key, failure);
+        Assert.assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testInvalidation() {
+        final DescriptionCache cache = new DescriptionCache(null);
+        cache.setScope("a");
+        final ModelNode logging = DescriptionCache.createKey(describe("subsystem", "logging"));
+        final ModelNode handler = DescriptionCache.createKey(describe("subsystem", "logging", "console-handler", "h"));
+        cache.put(logging, success());
+        cache.put(handler, success());
+
+        cache.invalidate(operation(Util.WRITE_ATTRIBUTE, "subsystem", "logging", "console-handler", "h"));
+        Assert.assertNotNull(cache.get(handler));
+
+        final ModelNode composite = operation(Util.COMPOSITE);
+        composite.get(Util.STEPS).add(operation(Util.ADD, "subsystem", "logging", "console-handler", "h"));
+        cache.invalidate(composite);
+        Assert.assertNull(cache.get(handler));
+        Assert.assertNotNull(cache.get(logging));
+
+        cache.invalidate(operation(Util.ADD, "extension", "org.jboss.as.logging"));
+        Assert.assertFalse(cache.isScopeKnown());
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        final File dir = Files.createTempDirectory("description-cache").toFile();
+        try {
+            final ModelNode key = DescriptionCache.createKey(describe("subsystem", "logging"));
+            final DescriptionCache cache = new DescriptionCache(dir);
+            cache.setScope("a");
+            cache.put(key, success());
+            cache.save();
+
+            final DescriptionCache other = new DescriptionCache(dir);
+            other.setScope("a");
+            Assert.assertEquals(success(), other.get(key));
+            other.setScope("b");
+            Assert.assertNull(other.get(key));
+        } finally {
+            for (File file : dir.listFiles()) {
+                Assert.assertTrue(file.delete());
+            }
+            Assert.assertTrue(dir.delete());
+        }
+    }
+
+    @Test
+    public void testClient() throws IOException {
+        final List<ModelNode> executed = new ArrayList<>();
+        final ModelControllerClient client = new DescriptionCachingModelControllerClient(new RecordingClient(executed),
+                new DescriptionCache(null));
+
+        final ModelNode response = client.execute(describe("subsystem", "logging"));
+        Assert.assertEquals(2, executed.size());
+        Assert.assertEquals(Util.READ_RESOURCE, executed.get(0).get(Util.OPERATION).asString());
+        response.get(Util.RESULT).set("changed");
+        Assert.assertEquals(success(), client.execute(describe("subsystem", "logging")));
+        Assert.assertEquals(2, executed.size());
+
+        client.execute(operation(Util.REMOVE, "subsystem", "logging"));
+        client.execute(describe("subsystem", "logging"));
+        Assert.assertEquals(4, executed.size());
+    }
+
+    private static ModelNode describe(String... address) {
+        return operation(Util.READ_RESOURCE_DESCRIPTION, address);
+    }
+
+    private static ModelNode operation(String name, String... address) {
+        final ModelNode op = new ModelNode();
+        op.get(Util.OPERATION).set(name);
+        final ModelNode addr = op.get(Util.ADDRESS).setEmptyList();
+        for (int i = 0; i < address.length; i += 2) {
+            addr.add(address[i], address[i + 1]);
+        }
+        return op;
+    }
+
+    private static ModelNode success() {
+        final ModelNode response = new ModelNode();
+        response.get(Util.OUTCOME).set(Util.SUCCESS);
+        response.get(Util.RESULT).setEmptyObject();
+        return response;
+    }
+
+    private static final class RecordingClient implements ModelControllerClient {
+        private final List<ModelNode> executed;
+
+        private RecordingClient(List<ModelNode> executed) {
+            this.executed = executed;
+        }
+
+        @Override
+        public ModelNode execute(ModelNode operation) throws IOException {
+            executed.add(operation);
+            final ModelNode response = success();
+            if (Util.READ_RESOURCE.equals(operation.get(Util.OPERATION).asString())) {
+                response.get(Util.RESULT, Util.PRODUCT_VERSION).set("1.0");
+            }
+            return response;
+        }
+
+        @Override
+        public ModelNode execute(Operation operation) throws IOException {
+            return execute(operation.getOperation());
+        }
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler messageHandler) throws IOException {
+            return execute(operation);
+        }
+
+        @Override
+        public ModelNode execute(Operation operation, OperationMessageHandler messageHandler) throws IOException {
+            return execute(operation.getOperation());
+        }
+
+        @Override
+        public OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(ModelNode operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.jboss.threads.JBossExecutors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the pipelined execution of scripts.
+ */
+public class PipelinedScriptRunnerTestCase {
+
+    private ScheduledExecutorService scheduler;
+    private ByteArrayOutputStream output;
+    private CommandContextImpl ctx;
+    private StubClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        output = new ByteArrayOutputStream();
+        ctx = new CommandContextImpl(new CommandContextConfiguration.Builder().setConsoleOutput(output).build());
+        client = new StubClient();
+        ctx.bindClient(client);
+    }
+
+    @After
+    public void tearDown() {
+        ctx.terminateSession();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testReadsOverlapAndKeepOrder() {
+        run("/subsystem=a:read-resource", "/subsystem=b:read-resource", "/subsystem=c:read-resource");
+        Assert.assertEquals(0, ctx.getExitCode());
+        Assert.assertEquals(3, client.maxPending);
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), getOutput());
+    }
+
+    @Test
+    public void testWritesWaitForPreviousRequests() {
+        run("/subsystem=a:read-resource", "/subsystem=b:write-attribute(name=x,value=y)",
+                "/subsystem=c:read-resource", "/subsystem=b/child=d:read-resource");
+        Assert.assertEquals(0, ctx.getExitCode());
+        Assert.assertEquals(Collections.singletonList(0), client.pendingAtWrites);
+        // the read of an unrelated resource overlaps the write, the one of its child waits for it
+        Assert.assertEquals(Arrays.asList(0, 0, 1, 0), client.pendingWritesAtSends);
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), getOutput());
+    }
+
+    @Test
+    public void testStopOnError() {
+        run("/subsystem=a:read-resource", "/subsystem=fail:read-resource", "/subsystem=c:read-resource",
+                "/subsystem=d:write-attribute(name=x,value=y)");
+        Assert.assertEquals(1, ctx.getExitCode());
+        Assert.assertTrue(client.pendingAtWrites.isEmpty());
+        Assert.assertEquals(Arrays.asList("a", "fail"), getOutput());
+    }
+
+    private void run(String... lines) {
+        final PipelinedScriptRunner runner = new PipelinedScriptRunner(ctx, PipelinedScriptRunner.DEFAULT_MAX_PENDING);
+        for (String line : lines) {
+            if (!runner.isRunning()) {
+                break;
+            }
+            runner.handle(line);
+        }
+        runner.finish();
+    }
+
+    /** @return the names of the resources in the printed responses */
+    private List<String> getOutput() {
+        final List<String> result = new ArrayList<>();
+        for (String line : output.toString().split("\n")) {
+            final int start = line.indexOf("resource-");
+            if (start >= 0) {
+                result.add(line.substring(start + 9, line.indexOf('"', start)));
+            }
+        }
+        return result;
+    }
+
+    private final class StubClient implements ModelControllerClient {
+        private final List<Integer> pendingAtWrites = new ArrayList<>();
+        private final List<Integer> pendingWritesAtSends = new ArrayList<>();
+        private int pending;
+        private int pendingWrites;
+        private int maxPending;
+        private int sent;
+
+        @Override
+        public ModelNode execute(ModelNode operation) {
+            // the requests the context sends itself, to connect and validate requests
+            final ModelNode response = new ModelNode();
+            response.get(Util.OUTCOME).set(Util.SUCCESS);
+            final String name = operation.get(Util.OPERATION).asString();
+            if (Util.READ_CHILDREN_TYPES.equals(name)) {
+                response.get(Util.RESULT).setEmptyList();
+            } else if (Util.READ_OPERATION_DESCRIPTION.equals(name)) {
+                final ModelNode properties = response.get(Util.RESULT, Util.REQUEST_PROPERTIES).setEmptyObject();
+                if (Util.WRITE_ATTRIBUTE.equals(operation.get(Util.NAME).asString())) {
+                    properties.get(Util.NAME, Util.TYPE).set(ModelType.STRING);
+                    properties.get(Util.VALUE, Util.TYPE).set(ModelType.STRING);
+                }
+            } else {
+                response.get(Util.RESULT).setEmptyObject();
+            }
+            return response;
+        }
+
+        @Override
+        public ModelNode execute(Operation operation) {
+            return execute(operation.getOperation());
+        }
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler messageHandler) {
+            return execute(operation);
+        }
+
+        @Override
+        public ModelNode execute(Operation operation, OperationMessageHandler messageHandler) {
+            return execute(operation.getOperation());
+        }
+
+        @Override
+        public OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(ModelNode operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized AsyncFuture<ModelNode> executeAsync(Operation operation, OperationMessageHandler messageHandler) {
+            final ModelNode op = operation.getOperation();
+            final String name = op.get(Util.ADDRESS).asList().get(op.get(Util.ADDRESS).asInt() - 1).asProperty().getValue().asString();
+            final boolean write = !op.get(Util.OPERATION).asString().startsWith("read-");
+            if (write) {
+                pendingAtWrites.add(pending);
+            }
+            pendingWritesAtSends.add(pendingWrites);
+            pending++;
+            if (write) {
+                pendingWrites++;
+            }
+            maxPending = Math.max(maxPending, pending);
+            final ResponseFuture future = new ResponseFuture();
+            final ModelNode response = new ModelNode();
+            response.get(Util.OUTCOME).set("fail".equals(name) ? "failed" : Util.SUCCESS);
+            response.get(Util.RESULT).set("resource-" + name);
+            // later requests complete first
+            scheduler.schedule(() -> {
+                synchronized (StubClient.this) {
+                    pending--;
+                    if (write) {
+                        pendingWrites--;
+                    }
+                }
+                future.complete(response);
+            }, 200 - 50 * Math.min(sent++, 3), TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ResponseFuture extends AsyncFutureTask<ModelNode> {
+        private ResponseFuture() {
+            super(JBossExecutors.directExecutor());
+        }
+
+        private void complete(ModelNode response) {
+            setResult(response);
+        }
+    }
+}
@@ -120,6 +120,8 @@ public interface ModelControllerClientConfiguration extends Closeable {
         private SSLContext sslContext;
         private String protocol;
         private int connectionTimeout = 0;
+        private int batchWindow = 0;
+        private int channelPoolSize = 1;
 
         public Builder() {
         }
@@ -210,6 +212,31 @@ public interface ModelControllerClientConfiguration extends Closeable {
             return this;
         }
 
+        /**
+         * Sets the time, in milliseconds, during which concurrently submitted read-only operations are collected and
+         * then sent as a single {@code composite} operation. Only operations without attached streams or message
+         * handler are batched.
+         *
+         * @param batchWindow the batch window, or {@code 0} to send every operation on its own
+         * @return a builder to allow continued configuration
+         */
+        public Builder setBatchWindow(int batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * Sets the number of channels the client may open to the remote process. Each channel uses its own
+         * connection, which is only opened once the operations in progress on the other channels call for it.
+         *
+         * @param channelPoolSize the number of channels
+         * @return a builder to allow continued configuration
+         */
+        public Builder setChannelPoolSize(int channelPoolSize) {
+            this.channelPoolSize = channelPoolSize;
+            return this;
+        }
+
         /**
          * Builds the configuration object based on this builder's settings.
          *
@@ -217,7 +244,7 @@ public interface ModelControllerClientConfiguration extends Closeable {
          */
         public ModelControllerClientConfiguration build() {
            return new ClientConfigurationImpl(hostName, port, handler, saslOptions, sslContext,
-                   Factory.createDefaultExecutor(), true, connectionTimeout, protocol, clientBindAddress);
+                   Factory.createDefaultExecutor(), true, connectionTimeout, protocol, clientBindAddress, batchWindow, channelPoolSize);
         }
 
     }
@@ -158,13 +158,37 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
     }
 
     /**
-     * Execute a request.
+     * Execute a request, as part of a batch if the client batches operations.
      *
      * @param executionContext the execution context
      * @return the future result
      * @throws IOException
      */
     private AsyncFuture<OperationResponse> execute(final OperationExecutionContext executionContext) throws IOException {
+        final OperationBatcher batcher = getOperationBatcher();
+        if (batcher != null && batcher.isBatchable(executionContext)) {
+            return batcher.submit(executionContext);
+        }
+        return executeDirect(executionContext);
+    }
+
+    /**
+     * Get the batcher collecting the operations to send as a single composite.
+     *
+     * @return the batcher, or {@code null} if operations are not batched
+     */
+    OperationBatcher getOperationBatcher() {
+        return null;
+    }
+
+    /**
+     * Execute a request on its own.
+     *
+     * @param executionContext the execution context
+     * @return the future result
+     * @throws IOException
+     */
+    AsyncFuture<OperationResponse> executeDirect(final OperationExecutionContext executionContext) throws IOException {
         return executeRequest(new AbstractManagementRequest<OperationResponse, OperationExecutionContext>() {
 
             @Override
@@ -194,7 +218,7 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
                 expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
                 final ModelNode node = new ModelNode();
                 node.readExternal(input);
-                resultHandler.done(getOperationResponse(node, context.getOperationId()));
+                resultHandler.done(getOperationResponse(node, context.getAttachment().getChannelAssociation(), context.getOperationId()));
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
             }
         }, executionContext);
@@ -260,8 +284,11 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
     }
 
     protected AsyncFuture<OperationResponse> executeRequest(final ManagementRequest<OperationResponse, OperationExecutionContext> request, final OperationExecutionContext attachment) throws IOException {
-        final ActiveOperation<OperationResponse, OperationExecutionContext> support = getChannelAssociation().executeRequest(request, attachment, attachment);
-        return new DelegatingCancellableAsyncFuture(support.getResult(), support.getOperationId());
+        // Follow-up requests for the operation have to use the same association
+        final ManagementChannelAssociation channelAssociation = getChannelAssociation();
+        attachment.channelAssociation = channelAssociation;
+        final ActiveOperation<OperationResponse, OperationExecutionContext> support = channelAssociation.executeRequest(request, attachment, attachment);
+        return new DelegatingCancellableAsyncFuture(support.getResult(), support.getOperationId(), channelAssociation);
     }
 
     static class OperationExecutionContext implements ActiveOperation.CompletedCallback<OperationResponse> {
@@ -269,6 +296,7 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
         private final Operation operation;
         private final OperationMessageHandler handler;
         private final List<InputStreamEntry> streams;
+        private volatile ManagementChannelAssociation channelAssociation;
 
         OperationExecutionContext(final Operation operation, final OperationMessageHandler handler) {
             this.operation = operation;
@@ -280,6 +308,14 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
             return handler;
         }
 
+        Operation getOperation() {
+            return operation;
+        }
+
+        ManagementChannelAssociation getChannelAssociation() {
+            return channelAssociation;
+        }
+
         InputStreamEntry getStream(int index) {
             final InputStreamEntry entry = streams.get(index);
             if(entry == null) {
@@ -338,15 +374,18 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
     private class DelegatingCancellableAsyncFuture extends AbstractDelegatingAsyncFuture<OperationResponse> {
 
         private final int batchId;
-        private DelegatingCancellableAsyncFuture(final AsyncFuture<OperationResponse> delegate, final int batchId) {
+        private final ManagementChannelAssociation channelAssociation;
+        private DelegatingCancellableAsyncFuture(final AsyncFuture<OperationResponse> delegate, final int batchId,
+                                                 final ManagementChannelAssociation channelAssociation) {
             super(delegate);
             this.batchId = batchId;
+            this.channelAssociation = channelAssociation;
         }
 
         @Override
         public void asyncCancel(boolean interruptionDesired) {
             try {
-                getChannelAssociation().executeRequest(batchId, new CancelAsyncRequest());
+                channelAssociation.executeRequest(batchId, new CancelAsyncRequest());
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -393,12 +432,13 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
         return entries;
     }
 
-    private OperationResponse getOperationResponse(final ModelNode simpleResponse, final int batchId) throws IOException {
+    private static OperationResponse getOperationResponse(final ModelNode simpleResponse, final ManagementChannelAssociation channelAssociation,
+                                                          final int batchId) throws IOException {
         final ModelNode streamHeader =  simpleResponse.hasDefined(RESPONSE_HEADERS) && simpleResponse.get(RESPONSE_HEADERS).hasDefined(ATTACHED_STREAMS)
                 ? simpleResponse.get(RESPONSE_HEADERS, ATTACHED_STREAMS)
                 : null;
         if (streamHeader != null && streamHeader.asInt() > 0) {
-            return OperationResponseProxy.create(simpleResponse, getChannelAssociation(), batchId, streamHeader);
+            return OperationResponseProxy.create(simpleResponse, channelAssociation, batchId, streamHeader);
         } else {
             return OperationResponse.Factory.createSimple(simpleResponse);
         }
@@ -46,8 +46,15 @@ public class ClientConfigurationImpl implements ModelControllerClientConfigurati
     private final String protocol;
     private final boolean shutdownExecutor;
     private final int connectionTimeout;
+    private final int batchWindow;
+    private final int channelPoolSize;
 
     public ClientConfigurationImpl(String address, int port, CallbackHandler handler, Map<String, String> saslOptions, SSLContext sslContext, ExecutorService executorService, boolean shutdownExecutor, final int connectionTimeout, final String protocol, String clientBindAddress) {
+        this(address, port, handler, saslOptions, sslContext, executorService, shutdownExecutor, connectionTimeout, protocol, clientBindAddress, 0, 1);
+    }
+
+    public ClientConfigurationImpl(String address, int port, CallbackHandler handler, Map<String, String> saslOptions, SSLContext sslContext, ExecutorService executorService, boolean shutdownExecutor, final int connectionTimeout, final String protocol, String clientBindAddress,
+                                   final int batchWindow, final int channelPoolSize) {
         this.address = address;
         this.port = port;
         this.handler = handler;
@@ -58,6 +65,8 @@ public class ClientConfigurationImpl implements ModelControllerClientConfigurati
         this.protocol = protocol;
         this.clientBindAddress = clientBindAddress;
         this.connectionTimeout = connectionTimeout > 0 ? connectionTimeout : DEFAULT_CONNECTION_TIMEOUT;
+        this.batchWindow = Math.max(batchWindow, 0);
+        this.channelPoolSize = Math.max(channelPoolSize, 1);
     }
 
     @Override
@@ -112,4 +121,24 @@ public class ClientConfigurationImpl implements ModelControllerClientConfigurati
     public String getClientBindAddress() {
         return clientBindAddress;
     }
+
+    /**
+     * Get the time, in milliseconds, during which concurrently submitted read-only operations are collected so they
+     * can be sent to the remote process as a single {@code composite} operation.
+     *
+     * @return the batch window, or {@code 0} if operations are not batched
+     */
+    public int getBatchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * Get the number of channels the client may open to the remote process, concurrent operations being spread over
+     * the channels so that a long running operation does not hold up the others.
+     *
+     * @return the number of channels, at least {@code 1}
+     */
+    public int getChannelPoolSize() {
+        return channelPoolSize;
+    }
 }
@@ -0,0 +1,331 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.controller.client.helpers.ClientConstants.COMPOSITE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP_ADDR;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESULT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.STEPS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.jboss.threads.JBossExecutors;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Collects the read-only operations submitted to a client during a short window, and sends them to the remote
+ * process as the steps of a single {@code composite} operation. The response of each step is then handed to the
+ * future of the operation it came from.
+ * <p>
+ * A failed composite does not tell whether a step would have failed on its own, so if the composite fails each of
+ * its operations is sent again on its own.
+ *
+ * @see ClientConfigurationImpl#getBatchWindow()
+ */
+final class OperationBatcher {
+
+    /** Bound on the number of steps of a composite. A full batch is sent without waiting for the end of the window */
+    static final int MAX_BATCH_SIZE = 64;
+
+    private static final Set<String> BATCHABLE_OPERATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "read-attribute", "read-children-names", "read-children-resources", "read-children-types",
+            "read-operation-description", "read-operation-names", "read-resource", "read-resource-description")));
+
+    private static final ThreadGroup THREAD_GROUP = new ThreadGroup("management-client-batch-thread");
+
+    private final AbstractModelControllerClient client;
+    private final long window;
+    private final ScheduledExecutorService timer;
+
+    /** The operations collected during the current window, {@code null} if no window is open. Guarded by this */
+    private List<BatchedOperation> pending;
+    private boolean closed;
+
+    /**
+     * @param client the client sending the operations
+     * @param window the batch window, in milliseconds
+     */
+    OperationBatcher(final AbstractModelControllerClient client, final long window) {
+        this.client = client;
+        this.window = window;
+        final JBossThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(THREAD_GROUP, Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+    }
+
+    /**
+     * Whether an operation can be part of a batch: a read-only operation, without headers, attached streams or message
+     * handler, all of which apply to a whole composite or cannot be told apart once the steps are combined.
+     *
+     * @param context the operation execution context
+     * @return {@code true} if the operation can be batched
+     */
+    boolean isBatchable(final AbstractModelControllerClient.OperationExecutionContext context) {
+        final ModelNode operation = context.getOperation().getOperation();
+        return context.getOperationMessageHandler() == OperationMessageHandler.DISCARD
+                && context.getOperation().getInputStreams().isEmpty()
+                && operation.hasDefined(OP) && BATCHABLE_OPERATIONS.contains(operation.get(OP).asString())
+                && !operation.hasDefined(OPERATION_HEADERS);
+    }
+
+    /**
+     * Adds an operation to the current batch, opening a new batch window if needed.
+     *
+     * @param context the operation execution context
+     * @return the future result of the operation
+     */
+    AsyncFuture<OperationResponse> submit(final AbstractModelControllerClient.OperationExecutionContext context) {
+        final BatchedOperation operation = new BatchedOperation(context);
+        List<BatchedOperation> full = null;
+        synchronized (this) {
+            if (closed) {
+                operation.cancelled();
+                return operation;
+            }
+            if (pending == null) {
+                final List<BatchedOperation> batch = pending = new ArrayList<>();
+                timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        flush(batch);
+                    }
+                }, window, TimeUnit.MILLISECONDS);
+            }
+            pending.add(operation);
+            if (pending.size() >= MAX_BATCH_SIZE) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return operation;
+    }
+
+    /**
+     * Cancels the operations that have not been sent yet and stops batching.
+     */
+    void close() {
+        final List<BatchedOperation> batch;
+        synchronized (this) {
+            closed = true;
+            batch = pending;
+            pending = null;
+        }
+        timer.shutdown();
+        if (batch != null) {
+            for (BatchedOperation operation : batch) {
+                operation.cancelled();
+            }
+        }
+    }
+
+    private void flush(final List<BatchedOperation> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                // already sent because it was full, or cancelled by close
+                return;
+            }
+            pending = null;
+        }
+        send(batch);
+    }
+
+    private synchronized boolean removePending(final BatchedOperation operation) {
+        return pending != null && pending.remove(operation);
+    }
+
+    private void send(final List<BatchedOperation> batch) {
+        if (batch.size() == 1) {
+            sendEach(batch);
+            return;
+        }
+        final ModelNode composite = new ModelNode();
+        composite.get(OP).set(COMPOSITE);
+        composite.get(OP_ADDR).setEmptyList();
+        final ModelNode steps = composite.get(STEPS).setEmptyList();
+        for (BatchedOperation operation : batch) {
+            steps.add(operation.context.getOperation().getOperation());
+        }
+        final AsyncFuture<OperationResponse> future;
+        try {
+            future = client.executeDirect(AbstractModelControllerClient.OperationExecutionContext.create(composite));
+        } catch (Exception e) {
+            for (BatchedOperation operation : batch) {
+                operation.fail(e);
+            }
+            return;
+        }
+        future.addListener(new AsyncFuture.AbstractListener<OperationResponse, Void>() {
+            @Override
+            public void handleComplete(AsyncFuture<? extends OperationResponse> future, Void attachment) {
+                final ModelNode response;
+                try {
+                    final OperationResponse operationResponse = future.get();
+                    response = operationResponse.getResponseNode();
+                    StreamUtils.safeClose(operationResponse);
+                } catch (Exception e) {
+                    handleFailed(future, e, attachment);
+                    return;
+                }
+                if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+                    // Leave the caller's thread, which reads the responses from the channel, before sending again
+                    timer.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            sendEach(batch);
+                        }
+                    });
+                    return;
+                }
+                final ModelNode headers = response.hasDefined(RESPONSE_HEADERS) ? response.get(RESPONSE_HEADERS) : null;
+                for (int i = 0; i < batch.size(); i++) {
+                    final ModelNode step = response.get(RESULT, "step-" + (i + 1));
+                    if (headers != null && !step.hasDefined(RESPONSE_HEADERS)) {
+                        step.get(RESPONSE_HEADERS).set(headers);
+                    }
+                    batch.get(i).complete(OperationResponse.Factory.createSimple(step));
+                }
+            }
+
+            @Override
+            public void handleFailed(AsyncFuture<? extends OperationResponse> future, Throwable cause, Void attachment) {
+                for (BatchedOperation operation : batch) {
+                    operation.fail(cause);
+                }
+            }
+
+            @Override
+            public void handleCancelled(AsyncFuture<? extends OperationResponse> future, Void attachment) {
+                for (BatchedOperation operation : batch) {
+                    operation.cancelled();
+                }
+            }
+        }, null);
+    }
+
+    private void sendEach(final List<BatchedOperation> batch) {
+        for (final BatchedOperation operation : batch) {
+            if (operation.getStatus() != AsyncFuture.Status.WAITING) {
+                continue;
+            }
+            try {
+                operation.sendDirect();
+            } catch (Exception e) {
+                operation.fail(e);
+            }
+        }
+    }
+
+    /** The future of an operation added to a batch */
+    private final class BatchedOperation extends AsyncFutureTask<OperationResponse> {
+
+        private final AbstractModelControllerClient.OperationExecutionContext context;
+        /** The future of the operation once sent on its own */
+        private volatile AsyncFuture<OperationResponse> delegate;
+
+        private BatchedOperation(final AbstractModelControllerClient.OperationExecutionContext context) {
+            super(JBossExecutors.directExecutor());
+            this.context = context;
+        }
+
+        private void sendDirect() throws Exception {
+            final AsyncFuture<OperationResponse> future = client.executeDirect(context);
+            delegate = future;
+            future.addListener(new AsyncFuture.AbstractListener<OperationResponse, Void>() {
+                @Override
+                public void handleComplete(AsyncFuture<? extends OperationResponse> future, Void attachment) {
+                    try {
+                        setResult(future.get());
+                    } catch (Exception e) {
+                        setFailed(e);
+                    }
+                }
+
+                @Override
+                public void handleFailed(AsyncFuture<? extends OperationResponse> future, Throwable cause, Void attachment) {
+                    setFailed(cause);
+                }
+
+                @Override
+                public void handleCancelled(AsyncFuture<? extends OperationResponse> future, Void attachment) {
+                    setCancelled();
+                }
+            }, null);
+        }
+
+        /**
+         * Cancels the operation if it has not been sent yet, or was sent on its own. An operation sent as part of a
+         * composite cannot be cancelled.
+         */
+        @Override
+        public void asyncCancel(final boolean interruptionDesired) {
+            if (removePending(this)) {
+                setCancelled();
+                return;
+            }
+            final AsyncFuture<OperationResponse> delegate = this.delegate;
+            if (delegate != null) {
+                delegate.asyncCancel(interruptionDesired);
+            }
+        }
+
+        // setResult and the like are protected in another package, so the batcher goes through these
+        private void complete(final OperationResponse result) {
+            setResult(result);
+        }
+
+        private void fail(final Throwable cause) {
+            setFailed(cause);
+        }
+
+        private void cancelled() {
+            setCancelled();
+        }
+    }
+}
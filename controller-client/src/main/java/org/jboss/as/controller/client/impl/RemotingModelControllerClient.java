@@ -44,38 +44,60 @@ import org.xnio.Options;
 
 /**
  * {@link ModelControllerClient} based on a Remoting {@link Endpoint}.
+ * <p>
+ * The client may use a pool of channels, as set by {@link ClientConfigurationImpl#getChannelPoolSize()}.
+ * Each channel has its own connection and channel handler, and an operation is sent over the channel with the fewest
+ * active operations. A channel is only connected once it is first picked.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
 public class RemotingModelControllerClient extends AbstractModelControllerClient {
 
     private Endpoint endpoint;
-    private ManagementClientChannelStrategy strategy;
     private boolean closed;
 
-    private final ManagementChannelHandler channelAssociation;
+    private final PooledChannel[] channels;
+    private final OperationBatcher batcher;
     private final ModelControllerClientConfiguration clientConfiguration;
     private final StackTraceElement[] allocationStackTrace;
 
     public RemotingModelControllerClient(final ModelControllerClientConfiguration configuration) {
-        this.channelAssociation = new ManagementChannelHandler(new ManagementClientChannelStrategy() {
-            @Override
-            public Channel getChannel() throws IOException {
-                return getOrCreateChannel();
-            }
-
-            @Override
-            public synchronized void close() throws IOException {
-                //
-            }
-        }, configuration.getExecutor(), this);
+        // other configurations neither batch operations nor pool channels
+        int batchWindow = 0;
+        int channelPoolSize = 1;
+        if (configuration instanceof ClientConfigurationImpl) {
+            batchWindow = ((ClientConfigurationImpl) configuration).getBatchWindow();
+            channelPoolSize = ((ClientConfigurationImpl) configuration).getChannelPoolSize();
+        }
+        this.channels = new PooledChannel[Math.max(channelPoolSize, 1)];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = new PooledChannel(configuration);
+        }
+        this.batcher = batchWindow > 0 ? new OperationBatcher(this, batchWindow) : null;
         this.clientConfiguration = configuration;
         this.allocationStackTrace = Thread.currentThread().getStackTrace();
     }
 
     @Override
     protected ManagementChannelAssociation getChannelAssociation() throws IOException {
-        return channelAssociation;
+        if (channels.length == 1) {
+            return channels[0].channelAssociation;
+        }
+        PooledChannel selected = channels[0];
+        int selectedCount = selected.channelAssociation.getActiveOperationCount();
+        for (int i = 1; i < channels.length && selectedCount > 0; i++) {
+            final int count = channels[i].channelAssociation.getActiveOperationCount();
+            if (count < selectedCount) {
+                selected = channels[i];
+                selectedCount = count;
+            }
+        }
+        return selected.channelAssociation;
+    }
+
+    @Override
+    OperationBatcher getOperationBatcher() {
+        return batcher;
     }
 
     @Override
@@ -85,12 +107,19 @@ public class RemotingModelControllerClient extends AbstractModelControllerClient
                 return;
             }
             closed = true;
+            if (batcher != null) {
+                batcher.close();
+            }
             // Don't allow any new request
-            channelAssociation.shutdown();
-            // First close the channel and connection
-            if (strategy != null) {
-                StreamUtils.safeClose(strategy);
-                strategy = null;
+            for (PooledChannel channel : channels) {
+                channel.channelAssociation.shutdown();
+            }
+            // First close the channels and connections
+            for (PooledChannel channel : channels) {
+                if (channel.strategy != null) {
+                    StreamUtils.safeClose(channel.strategy);
+                    channel.strategy = null;
+                }
             }
             // Then the endpoint
             if (endpoint != null) {
@@ -98,9 +127,13 @@ public class RemotingModelControllerClient extends AbstractModelControllerClient
                 endpoint = null;
             }
             // Cancel all still active operations
-            channelAssociation.shutdownNow();
+            for (PooledChannel channel : channels) {
+                channel.channelAssociation.shutdownNow();
+            }
             try {
-                channelAssociation.awaitCompletion(1, TimeUnit.SECONDS);
+                for (PooledChannel channel : channels) {
+                    channel.channelAssociation.awaitCompletion(1, TimeUnit.SECONDS);
+                }
             } catch (InterruptedException ignore) {
                 Thread.currentThread().interrupt();
             } finally {
@@ -110,21 +143,28 @@ public class RemotingModelControllerClient extends AbstractModelControllerClient
     }
 
     protected synchronized Channel getOrCreateChannel() throws IOException {
+        return getOrCreateChannel(channels[0]);
+    }
+
+    private synchronized Channel getOrCreateChannel(final PooledChannel channel) throws IOException {
         if (closed) {
             throw ControllerClientLogger.ROOT_LOGGER.objectIsClosed(ModelControllerClient.class.getSimpleName());
         }
-        if (strategy == null) {
+        if (channel.strategy == null) {
             try {
 
-                // TODO move the endpoint creation somewhere else?
-                endpoint = Remoting.createEndpoint("management-client", OptionMap.EMPTY);
-                endpoint.addConnectionProvider("remote", new RemoteConnectionProviderFactory(), OptionMap.EMPTY);
-                endpoint.addConnectionProvider("http-remoting", new HttpUpgradeConnectionProviderFactory(), OptionMap.create(Options.SSL_ENABLED, Boolean.FALSE));
-                endpoint.addConnectionProvider("https-remoting", new HttpUpgradeConnectionProviderFactory(),  OptionMap.create(Options.SSL_ENABLED, Boolean.TRUE));
+                if (endpoint == null) {
+                    // TODO move the endpoint creation somewhere else?
+                    endpoint = Remoting.createEndpoint("management-client", OptionMap.EMPTY);
+                    endpoint.addConnectionProvider("remote", new RemoteConnectionProviderFactory(), OptionMap.EMPTY);
+                    endpoint.addConnectionProvider("http-remoting", new HttpUpgradeConnectionProviderFactory(), OptionMap.create(Options.SSL_ENABLED, Boolean.FALSE));
+                    endpoint.addConnectionProvider("https-remoting", new HttpUpgradeConnectionProviderFactory(),  OptionMap.create(Options.SSL_ENABLED, Boolean.TRUE));
+                }
 
                 final ProtocolConnectionConfiguration configuration = ProtocolConfigurationFactory.create(clientConfiguration, endpoint);
 
-                strategy = ManagementClientChannelStrategy.create(configuration, channelAssociation, clientConfiguration.getCallbackHandler(),
+                final ManagementChannelHandler channelAssociation = channel.channelAssociation;
+                channel.strategy = ManagementClientChannelStrategy.create(configuration, channelAssociation, clientConfiguration.getCallbackHandler(),
                         clientConfiguration.getSaslOptions(), clientConfiguration.getSSLContext(),
                         new CloseHandler<Channel>() {
                     @Override
@@ -140,7 +180,28 @@ public class RemotingModelControllerClient extends AbstractModelControllerClient
                 throw new RuntimeException(e);
             }
         }
-        return strategy.getChannel();
+        return channel.strategy.getChannel();
+    }
+
+    /** A channel of the pool, with its handler */
+    private final class PooledChannel {
+        private final ManagementChannelHandler channelAssociation;
+        // guarded by the client
+        private ManagementClientChannelStrategy strategy;
+
+        private PooledChannel(final ModelControllerClientConfiguration configuration) {
+            this.channelAssociation = new ManagementChannelHandler(new ManagementClientChannelStrategy() {
+                @Override
+                public Channel getChannel() throws IOException {
+                    return getOrCreateChannel(PooledChannel.this);
+                }
+
+                @Override
+                public synchronized void close() throws IOException {
+                    //
+                }
+            }, configuration.getExecutor(), RemotingModelControllerClient.this);
+        }
     }
 
     @Override
@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.COMPOSITE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.NAME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESULT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.STEPS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.protocol.mgmt.ManagementChannelAssociation;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+import org.jboss.threads.JBossExecutors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the batching of read-only operations into composites by {@link OperationBatcher}.
+ */
+public class OperationBatcherTestCase {
+
+    private TestClient client;
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testOperationsCombined() throws Exception {
+        client = new TestClient(200);
+        final List<Future<ModelNode>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(client.executeAsync(readAttribute("attr" + i), null));
+        }
+        for (int i = 0; i < 3; i++) {
+            final ModelNode response = futures.get(i).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(SUCCESS, response.get(OUTCOME).asString());
+            Assert.assertEquals("attr" + i, response.get(RESULT).asString());
+        }
+        Assert.assertEquals(1, client.sent.size());
+        Assert.assertEquals(COMPOSITE, client.sent.get(0).get(OP).asString());
+        Assert.assertEquals(3, client.sent.get(0).get(STEPS).asInt());
+    }
+
+    @Test
+    public void testNonBatchableOperationsSentDirectly() throws Exception {
+        client = new TestClient(60000);
+        final ModelNode write = readAttribute("attr");
+        write.get(OP).set(WRITE_ATTRIBUTE_OPERATION);
+        Assert.assertEquals(SUCCESS, client.execute(write).get(OUTCOME).asString());
+
+        final ModelNode withHeaders = readAttribute("attr");
+        withHeaders.get(OPERATION_HEADERS, "rollback-on-runtime-failure").set(false);
+        Assert.assertEquals(SUCCESS, client.execute(withHeaders).get(OUTCOME).asString());
+        Assert.assertEquals(2, client.sent.size());
+        Assert.assertEquals(WRITE_ATTRIBUTE_OPERATION, client.sent.get(0).get(OP).asString());
+        Assert.assertEquals(READ_ATTRIBUTE_OPERATION, client.sent.get(1).get(OP).asString());
+    }
+
+    @Test
+    public void testFullBatchSentAtOnce() throws Exception {
+        client = new TestClient(60000);
+        final List<Future<ModelNode>> futures = new ArrayList<>();
+        for (int i = 0; i < OperationBatcher.MAX_BATCH_SIZE; i++) {
+            futures.add(client.executeAsync(readAttribute("attr" + i), null));
+        }
+        for (Future<ModelNode> future : futures) {
+            Assert.assertEquals(SUCCESS, future.get(10, TimeUnit.SECONDS).get(OUTCOME).asString());
+        }
+        Assert.assertEquals(1, client.sent.size());
+    }
+
+    @Test
+    public void testFailedCompositeRetriedIndividually() throws Exception {
+        client = new TestClient(200);
+        final Future<ModelNode> good = client.executeAsync(readAttribute("attr"), null);
+        final Future<ModelNode> bad = client.executeAsync(readAttribute("fail"), null);
+        Assert.assertEquals(SUCCESS, good.get(10, TimeUnit.SECONDS).get(OUTCOME).asString());
+        final ModelNode failed = bad.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("failed", failed.get(OUTCOME).asString());
+        Assert.assertTrue(failed.hasDefined(FAILURE_DESCRIPTION));
+        // the composite, then each operation on its own
+        Assert.assertEquals(3, client.sent.size());
+    }
+
+    @Test
+    public void testCloseCancelsPendingOperations() throws Exception {
+        client = new TestClient(60000);
+        final AsyncFuture<ModelNode> future = client.executeAsync(readAttribute("attr"), null);
+        client.close();
+        Assert.assertEquals(AsyncFuture.Status.CANCELLED, future.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(client.sent.isEmpty());
+    }
+
+    private static ModelNode readAttribute(String name) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        operation.get(NAME).set(name);
+        return operation;
+    }
+
+    /** Client answering the operations itself, failing reads of the attribute named {@code fail} */
+    private static final class TestClient extends AbstractModelControllerClient {
+
+        private final OperationBatcher batcher;
+        private final List<ModelNode> sent = new ArrayList<>();
+
+        private TestClient(long window) {
+            this.batcher = new OperationBatcher(this, window);
+        }
+
+        @Override
+        protected ManagementChannelAssociation getChannelAssociation() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        OperationBatcher getOperationBatcher() {
+            return batcher;
+        }
+
+        @Override
+        AsyncFuture<OperationResponse> executeDirect(OperationExecutionContext executionContext) throws IOException {
+            final ModelNode operation = executionContext.getOperation().getOperation();
+            synchronized (sent) {
+                sent.add(operation);
+            }
+            final ModelNode response;
+            if (COMPOSITE.equals(operation.get(OP).asString())) {
+                response = new ModelNode();
+                response.get(OUTCOME).set(SUCCESS);
+                int i = 1;
+                for (ModelNode step : operation.get(STEPS).asList()) {
+                    final ModelNode stepResponse = respond(step);
+                    if (!SUCCESS.equals(stepResponse.get(OUTCOME).asString())) {
+                        response.get(OUTCOME).set("failed");
+                        response.get(FAILURE_DESCRIPTION).set("composite failed");
+                    }
+                    response.get(RESULT, "step-" + i++).set(stepResponse);
+                }
+            } else {
+                response = respond(operation);
+            }
+            final CompletedFuture future = new CompletedFuture();
+            future.complete(OperationResponse.Factory.createSimple(response));
+            return future;
+        }
+
+        private static ModelNode respond(ModelNode operation) {
+            final ModelNode response = new ModelNode();
+            if ("fail".equals(operation.get(NAME).asString())) {
+                response.get(OUTCOME).set("failed");
+                response.get(FAILURE_DESCRIPTION).set("no such attribute");
+            } else {
+                response.get(OUTCOME).set(SUCCESS);
+                response.get(RESULT).set(operation.get(NAME));
+            }
+            return response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            batcher.close();
+        }
+    }
+
+    private static final class CompletedFuture extends AsyncFutureTask<OperationResponse> {
+
+        private CompletedFuture() {
+            super(JBossExecutors.directExecutor());
+        }
+
+        private void complete(OperationResponse response) {
+            setResult(response);
+        }
+    }
+}
@@ -82,6 +82,7 @@ import org.jboss.as.controller.audit.AuditLogger;
 import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistry;
 import org.jboss.as.controller.client.MessageSeverity;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.jfr.ManagementEvents;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.Notification;
 import org.jboss.as.controller.notification.NotificationSupport;
@@ -155,6 +156,13 @@ abstract class AbstractOperationContext implements OperationContext {
     private final Queue<String> missingNotificationDescriptionWarnings;
 
     Stage currentStage = Stage.MODEL;
+    /** Flight recorder event timing the stage being processed, {@code null} if events are not being recorded */
+    private Object stageEvent;
+    private Stage timedStage;
+    /** The operation whose first step was executed first, used to describe the stage events */
+    private OperationId primaryOperationId;
+    /** Cost breakdown of the operation, {@code null} unless the operation is being profiled */
+    OperationProfile profile;
 
     ResultAction resultAction;
     /** Tracks whether we've detected cancellation */
@@ -185,7 +193,7 @@ abstract class AbstractOperationContext implements OperationContext {
 
 
     enum ContextFlag {
-        ROLLBACK_ON_FAIL, ALLOW_RESOURCE_SERVICE_RESTART,
+        ROLLBACK_ON_FAIL, ALLOW_RESOURCE_SERVICE_RESTART, PROFILE,
     }
 
     AbstractOperationContext(final ProcessType processType, final RunningMode runningMode,
@@ -390,6 +398,7 @@ abstract class AbstractOperationContext implements OperationContext {
             handleUncaughtException(e);
             ControllerLogger.MGMT_OP_LOGGER.unexpectedOperationExecutionException(e, controllerOperations);
         } finally {
+            endStageEvent();
             // On failure close any attached response streams
             if (resultAction != ResultAction.KEEP && !isBooting()) {
                 synchronized (this) {
@@ -629,6 +638,7 @@ abstract class AbstractOperationContext implements OperationContext {
         // Locate the next step to execute.
         ModelNode primaryResponse = null;
         Step step;
+        beginStageEvent();
         do {
             step = steps.get(currentStage).pollFirst();
             if (step == null) {
@@ -646,10 +656,13 @@ abstract class AbstractOperationContext implements OperationContext {
                 }
                 // Proceed to the next stage
                 if (currentStage.hasNext()) {
+                    endStageEvent();
                     currentStage = currentStage.next();
+                    beginStageEvent();
                     if (currentStage == Stage.VERIFY) {
                         // a change was made to the runtime. Thus, we must wait
                         // for stability before resuming in to verify.
+                        final long stabilityStart = profile == null ? 0 : System.nanoTime();
                         try {
                             awaitServiceContainerStability();
                         } catch (InterruptedException e) {
@@ -665,6 +678,10 @@ abstract class AbstractOperationContext implements OperationContext {
                             handleContainerStabilityFailure(primaryResponse, te);
                             executeResultHandlerPhase(null);
                             return;
+                        } finally {
+                            if (profile != null) {
+                                profile.stabilityWait(System.nanoTime() - stabilityStart);
+                            }
                         }
                     }
                 }
@@ -672,6 +689,7 @@ abstract class AbstractOperationContext implements OperationContext {
                 // The response to the first step is what goes to the outside caller
                 if (primaryResponse == null) {
                     primaryResponse = step.response;
+                    primaryOperationId = step.operationId;
                 }
                 // Execute the step, but make sure we always finalize any steps
                 Throwable toThrow = null;
@@ -709,6 +727,19 @@ abstract class AbstractOperationContext implements OperationContext {
         executeDoneStage(primaryResponse);
     }
 
+    private void beginStageEvent() {
+        stageEvent = ManagementEvents.beginStage();
+        timedStage = currentStage;
+    }
+
+    private void endStageEvent() {
+        if (stageEvent != null) {
+            ManagementEvents.endStage(stageEvent, timedStage, primaryOperationId == null ? null : primaryOperationId.name,
+                    primaryOperationId == null ? null : primaryOperationId.address);
+            stageEvent = null;
+        }
+    }
+
     private CapabilityRegistry.RuntimeStatus getStepExecutionStatus(Step step) {
         if (booting || currentStage != Stage.RUNTIME || !RUNTIME_LIMITED_STATES.contains(processState.getState())
                 || (step.operationDefinition != null && (step.operationDefinition.getFlags().contains(OperationEntry.Flag.READ_ONLY)
@@ -790,7 +821,9 @@ abstract class AbstractOperationContext implements OperationContext {
                 if (resultAction == ResultAction.ROLLBACK) {
                     persistenceResource.rollback();
                 } else {
+                    final Object persistenceEvent = ManagementEvents.beginPersistenceCommit();
                     persistenceResource.commit();
+                    ManagementEvents.endPersistenceCommit(persistenceEvent);
                 }
             }
             if (resultAction != ResultAction.ROLLBACK) {
@@ -936,6 +969,9 @@ abstract class AbstractOperationContext implements OperationContext {
         try {
             try {
                 ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(step.handler.getClass());
+                if (profile != null) {
+                    profile.stepStarted();
+                }
                 try {
                     step.handler.execute(this, step.operation);
                     // AS7-6046
@@ -947,6 +983,9 @@ abstract class AbstractOperationContext implements OperationContext {
                         addStep(step.serviceVerificationHelper, Stage.VERIFY);
                     }
                 } finally {
+                    if (profile != null) {
+                        profile.stepCompleted(step.operationId, currentStage);
+                    }
                     step.executed = true;
                     WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
                 }
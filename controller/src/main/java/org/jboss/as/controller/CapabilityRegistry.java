@@ -23,6 +23,9 @@
 package org.jboss.as.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
 import java.util.Arrays;
@@ -54,7 +57,9 @@ import org.jboss.as.controller.capability.registry.RuntimeRequirementRegistratio
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceName;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Registry of {@link org.jboss.as.controller.capability.AbstractCapability capabilities} available in the system.
@@ -64,6 +69,17 @@ import org.jboss.msc.service.ServiceName;
  */
 public final class CapabilityRegistry implements ImmutableCapabilityRegistry, PossibleCapabilityRegistry, RuntimeCapabilityRegistry {
 
+    /**
+     * System property that, if set to {@code true}, disables incremental validation of requirements and
+     * instead checks every registered requirement on each validation. Useful for debugging.
+     */
+    public static final String FULL_VALIDATION_PROPERTY = "jboss.as.management.capability.full.validation";
+
+    private static final boolean FULL_VALIDATION = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(FULL_VALIDATION_PROPERTY, "false"));
+
+    /** Types of the resources whose {@code includes} attributes drive which scopes can satisfy a requirement */
+    private static final String[] INCLUDING_RESOURCE_TYPES = {PROFILE, SOCKET_BINDING_GROUP};
+
     private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new HashMap<>();
     private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new HashMap<>();
     private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> runtimeOnlyRequirements = new HashMap<>();
@@ -81,6 +97,20 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private final CapabilityRegistry publishedFullRegistry;
     private boolean modified = false;
 
+    // Ids whose capability or requirement entries changed since the last publish or rollback
+    private final Set<CapabilityId> touchedCapabilities = new HashSet<>();
+    // Ids whose possible capability entries changed since the last publish or rollback
+    private final Set<CapabilityId> touchedPossibleCapabilities = new HashSet<>();
+    // Whether publish or rollback must copy everything rather than just the touched entries
+    private boolean fullCopyRequired = false;
+
+    // Ids whose capability or requirement entries changed since the registry last passed validation
+    private final Set<CapabilityId> unvalidatedCapabilities = new HashSet<>();
+    // Whether the state as of the last clearing of unvalidatedCapabilities passed a validation
+    private boolean validatedBaseline = false;
+    // The profile and socket-binding-group includes in effect when validatedBaseline was established
+    private Map<PathElement, ModelNode> baselineIncludes;
+
     public CapabilityRegistry(boolean forServer) {
         this(forServer, null);
     }
@@ -170,7 +200,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 CapabilityScope capContext = capabilityId.getScope();
                 knownContexts.add(capContext);
             }
-            modified = true;
+            touch(capabilityId);
         } finally {
             writeLock.unlock();
         }
@@ -222,6 +252,17 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         } else {
             existing.addRegistrationPoint(requirement.getOldestRegistrationPoint());
         }
+        touch(dependentId);
+    }
+
+    /**
+     * Records that the entries for the given id have changed. This must be called with the write lock held.
+     * @param capabilityId the id of the capability whose registration or requirements changed
+     */
+    private void touch(CapabilityId capabilityId) {
+        assert writeLock.isHeldByCurrentThread();
+        touchedCapabilities.add(capabilityId);
+        unvalidatedCapabilities.add(capabilityId);
         modified = true;
     }
 
@@ -264,6 +305,8 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (candidate != null) {
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
                 if (candidate.removeRegistrationPoint(rp)) {
+                    // Even if other registration points remain our copy of the registration has changed
+                    touch(capabilityId);
                     if (candidate.getRegistrationPointCount() == 0) {
                         removed = capabilities.remove(capabilityId);
                         requirements.remove(capabilityId);
@@ -288,10 +331,6 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                     }
                 }
             }
-
-            if (removed != null) {
-                modified = true;
-            }
             return removed;
         } finally {
             writeLock.unlock();
@@ -312,7 +351,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 if (dependents.size() == 0) {
                     requirementMap.remove(requirementRegistration.getDependentId());
                 }
-                modified = true;
+                touch(requirementRegistration.getDependentId());
             }
         }
     }
@@ -521,6 +560,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                 return currentRegistration;
             });
             possibleCapabilities.putIfAbsent(capabilityId, capabilityRegistration);
+            touchedPossibleCapabilities.add(capabilityId);
             modified = true;
         } finally {
             writeLock.unlock();
@@ -555,6 +595,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             }
 
             if (removed != null) {
+                touchedPossibleCapabilities.add(capabilityId);
                 modified = true;
             }
             return removed;
@@ -670,9 +711,16 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             }
             publishedFullRegistry.writeLock.lock();
             try {
-                publishedFullRegistry.clear(true);
-                copy(this, publishedFullRegistry);
-                modified = false;
+                if (fullCopyRequired) {
+                    publishedFullRegistry.clear(true);
+                    copy(this, publishedFullRegistry);
+                } else {
+                    copyTouched(this, publishedFullRegistry, touchedCapabilities, touchedPossibleCapabilities);
+                }
+                // Let a later rollback know whether what it reverts to is known to be valid
+                publishedFullRegistry.validatedBaseline = validatedBaseline && unvalidatedCapabilities.isEmpty();
+                publishedFullRegistry.baselineIncludes = baselineIncludes;
+                resetTouched();
             } finally {
                 publishedFullRegistry.writeLock.unlock();
             }
@@ -692,9 +740,16 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         try {
             publishedFullRegistry.readLock.lock();
             try {
-                clear(true);
-                copy(publishedFullRegistry, this);
-                modified = false;
+                if (fullCopyRequired) {
+                    clear(true);
+                    copy(publishedFullRegistry, this);
+                } else {
+                    copyTouched(publishedFullRegistry, this, touchedCapabilities, touchedPossibleCapabilities);
+                }
+                validatedBaseline = publishedFullRegistry.validatedBaseline;
+                baselineIncludes = publishedFullRegistry.baselineIncludes;
+                unvalidatedCapabilities.clear();
+                resetTouched();
             } finally {
                 publishedFullRegistry.readLock.unlock();
             }
@@ -712,6 +767,13 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    private void resetTouched() {
+        touchedCapabilities.clear();
+        touchedPossibleCapabilities.clear();
+        fullCopyRequired = false;
+        modified = false;
+    }
+
     private void copy(CapabilityRegistry source, CapabilityRegistry target) {
         assert target.writeLock.isHeldByCurrentThread();
         copyCapabilities(source.capabilities, target.capabilities);
@@ -727,6 +789,59 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         }
     }
 
+    /**
+     * Brings {@code target} in line with {@code source} by copying only the entries for the given ids, leaving
+     * all other entries in {@code target} (which are known to be unchanged) in place.
+     */
+    private void copyTouched(CapabilityRegistry source, CapabilityRegistry target,
+                             Set<CapabilityId> touched, Set<CapabilityId> touchedPossible) {
+        assert target.writeLock.isHeldByCurrentThread();
+        for (CapabilityId id : touched) {
+            RuntimeCapabilityRegistration registration = source.capabilities.get(id);
+            if (registration == null) {
+                target.capabilities.remove(id);
+            } else {
+                target.capabilities.put(id, new RuntimeCapabilityRegistration(registration));
+            }
+            copyRequirementEntry(id, source.requirements, target.requirements);
+            copyRequirementEntry(id, source.runtimeOnlyRequirements, target.runtimeOnlyRequirements);
+        }
+        for (CapabilityId id : touchedPossible) {
+            CapabilityRegistration<?> registration = source.possibleCapabilities.get(id);
+            if (registration == null) {
+                target.possibleCapabilities.remove(id);
+            } else {
+                target.possibleCapabilities.put(id, copyRegistration(registration));
+            }
+        }
+        target.reloadCapabilities.clear();
+        target.reloadCapabilities.addAll(source.reloadCapabilities);
+        target.restartCapabilities.clear();
+        target.restartCapabilities.addAll(source.restartCapabilities);
+        if (!forServer) {
+            target.knownContexts.addAll(source.knownContexts);
+        }
+    }
+
+    private static <C extends Capability> CapabilityRegistration<C> copyRegistration(CapabilityRegistration<C> registration) {
+        return new CapabilityRegistration<>(registration);
+    }
+
+    private static void copyRequirementEntry(CapabilityId id,
+                                             Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
+                                             Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest) {
+        Map<String, RuntimeRequirementRegistration> entry = source.get(id);
+        if (entry == null) {
+            dest.remove(id);
+        } else {
+            Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
+            for (Map.Entry<String, RuntimeRequirementRegistration> innerEntry : entry.entrySet()) {
+                mapCopy.put(innerEntry.getKey(), new RuntimeRequirementRegistration(innerEntry.getValue()));
+            }
+            dest.put(id, mapCopy);
+        }
+    }
+
     /**
      * Clears capability registry
      */
@@ -745,6 +860,10 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             if (restartRequired) {
                 restartCapabilities.clear();
             }
+            validatedBaseline = false;
+            baselineIncludes = null;
+            unvalidatedCapabilities.clear();
+            fullCopyRequired = true;
             modified = true;
         } finally {
             writeLock.unlock();
@@ -753,77 +872,153 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
 
     CapabilityValidation resolveCapabilities(Resource rootResource, boolean hostXmlOnly) {
-        readLock.lock();
+        // We need the write lock as a successful validation establishes a new baseline for incremental validation
+        writeLock.lock();
         try {
             resolutionContext.setRootResource(rootResource);
             assert resolutionContext.rootResource != null;
-            Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing = new HashMap<>();
-
-            // Vars for tracking inconsistent contexts
-            boolean isInconsistent = false;
-            Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency = null;
-            Map<CapabilityScope, Set<CapabilityScope>> consistentSets = null;
-
-            for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
-                CapabilityId dependentId = entry.getKey();
-                String dependentName = dependentId.getName();
-                CapabilityScope dependentContext = dependentId.getScope();
-                Set<CapabilityScope> consistentSet = consistentSets == null ? null : consistentSets.get(dependentContext);
-                for (RuntimeRequirementRegistration req : entry.getValue().values()) {
-                    SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), dependentContext, !forServer);
-                    if (satisfactory == null) {
-                        // Missing
-                        if (hostXmlOnly && dependentName.startsWith("org.wildfly.domain.server-config.")
-                                && (req.getRequiredName().startsWith("org.wildfly.domain.server-group.")
-                                || req.getRequiredName().startsWith("org.wildfly.domain.socket-binding-group."))) {
-                            // HACK. We can't resolve these now as we have no domain model at this part of boot
-                            // We can resolve them when the domain model ops run, so wait to validate then
-                            ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring that dependent %s cannot resolve required capability %s as the 'hostXmlOnly' param is set", dependentId, req.getRequiredName());
-                            continue;
-                        }
-                        CapabilityId basicId = new CapabilityId(req.getRequiredName(), dependentContext);
-                        Set<RuntimeRequirementRegistration> set = missing.get(basicId);
-                        if (set == null) {
-                            set = new HashSet<>();
-                            missing.put(basicId, set);
-                        }
-                        set.add(req);
-                    } else if (satisfactory.multipleCapabilities != null) {
-                        // This requirement is one that needs tracking to ensure that all similar ones for this
-                        // dependent context can be resolved against at least one context
-                        if (requiresConsistency == null) {
-                            requiresConsistency = new HashMap<>();
-                            consistentSets = new HashMap<>();
-                        }
 
-                        CapabilityScope reqDependent = req.getDependentContext();
-                        recordConsistentSets(requiresConsistency, consistentSets, reqDependent, consistentSet, req, satisfactory, reqDependent);
-                        isInconsistent = isInconsistent || (consistentSet != null && consistentSet.size() == 0);
-
-                        // Record for any contexts that include this one
-                        for (CapabilityScope including : dependentContext.getIncludingScopes(resolutionContext)) {
-                            consistentSet = consistentSets.get(including);
-                            recordConsistentSets(requiresConsistency, consistentSets, including, consistentSet, req, satisfactory, reqDependent);
-                            isInconsistent = isInconsistent || (consistentSet != null && consistentSet.size() == 0);
-                        }
-                    } // else simple capability match
-                }
+            Map<PathElement, ModelNode> includes = forServer ? null : getIncludes(rootResource);
+            CapabilityValidation result = null;
+            if (!FULL_VALIDATION && validatedBaseline && (forServer || includes.equals(baselineIncludes))) {
+                // Everything not reachable from what changed since the last successful validation is known
+                // to still be satisfied, so only check the requirements that may have been affected
+                result = resolveUnvalidatedRequirements(hostXmlOnly);
+            }
+            if (result == null) {
+                result = resolveAllRequirements(hostXmlOnly);
             }
 
             // We've finished resolution
             resolutionContext.resolutionComplete = true;
 
-            if (isInconsistent) {
-                // This is the exception case. Figure out the details of the problems
-                return new CapabilityValidation(missing, findInconsistent(requiresConsistency, consistentSets), resolutionContext);
-            } else if (!missing.isEmpty()) {
-                return new CapabilityValidation(missing, null, resolutionContext);
+            // A 'hostXmlOnly' check ignores some missing requirements, so it cannot serve as a baseline
+            validatedBaseline = result.isValid() && !hostXmlOnly;
+            if (validatedBaseline) {
+                unvalidatedCapabilities.clear();
+                baselineIncludes = includes;
             }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
+    /**
+     * Checks only those requirements whose dependent capability has changed or that require a capability
+     * with a name that has been registered or removed since the last successful validation.
+     *
+     * @return the validation result, or {@code null} if a requirement needing a consistency check across
+     *         all the requirements of a scope was encountered and a full validation is needed instead
+     */
+    private CapabilityValidation resolveUnvalidatedRequirements(boolean hostXmlOnly) {
+        assert writeLock.isHeldByCurrentThread();
+        if (unvalidatedCapabilities.isEmpty()) {
             return CapabilityValidation.OK;
-        } finally {
-            readLock.unlock();
         }
+        Set<String> changedNames = new HashSet<>();
+        for (CapabilityId id : unvalidatedCapabilities) {
+            changedNames.add(id.getName());
+        }
+        Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing = new HashMap<>();
+        for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
+            CapabilityId dependentId = entry.getKey();
+            boolean dependentChanged = unvalidatedCapabilities.contains(dependentId);
+            for (RuntimeRequirementRegistration req : entry.getValue().values()) {
+                if (!dependentChanged && !changedNames.contains(req.getRequiredName())) {
+                    continue;
+                }
+                SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), dependentId.getScope(), !forServer);
+                if (satisfactory == null) {
+                    recordMissing(missing, dependentId, req, hostXmlOnly);
+                } else if (satisfactory.multipleCapabilities != null) {
+                    return null;
+                }
+            }
+        }
+        return missing.isEmpty() ? CapabilityValidation.OK : new CapabilityValidation(missing, null, resolutionContext);
+    }
+
+    private CapabilityValidation resolveAllRequirements(boolean hostXmlOnly) {
+        Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing = new HashMap<>();
+
+        // Vars for tracking inconsistent contexts
+        boolean isInconsistent = false;
+        Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency = null;
+        Map<CapabilityScope, Set<CapabilityScope>> consistentSets = null;
+
+        for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
+            CapabilityId dependentId = entry.getKey();
+            CapabilityScope dependentContext = dependentId.getScope();
+            Set<CapabilityScope> consistentSet = consistentSets == null ? null : consistentSets.get(dependentContext);
+            for (RuntimeRequirementRegistration req : entry.getValue().values()) {
+                SatisfactoryCapability satisfactory = findSatisfactoryCapability(req.getRequiredName(), dependentContext, !forServer);
+                if (satisfactory == null) {
+                    recordMissing(missing, dependentId, req, hostXmlOnly);
+                } else if (satisfactory.multipleCapabilities != null) {
+                    // This requirement is one that needs tracking to ensure that all similar ones for this
+                    // dependent context can be resolved against at least one context
+                    if (requiresConsistency == null) {
+                        requiresConsistency = new HashMap<>();
+                        consistentSets = new HashMap<>();
+                    }
+
+                    CapabilityScope reqDependent = req.getDependentContext();
+                    recordConsistentSets(requiresConsistency, consistentSets, reqDependent, consistentSet, req, satisfactory, reqDependent);
+                    isInconsistent = isInconsistent || (consistentSet != null && consistentSet.size() == 0);
+
+                    // Record for any contexts that include this one
+                    for (CapabilityScope including : dependentContext.getIncludingScopes(resolutionContext)) {
+                        consistentSet = consistentSets.get(including);
+                        recordConsistentSets(requiresConsistency, consistentSets, including, consistentSet, req, satisfactory, reqDependent);
+                        isInconsistent = isInconsistent || (consistentSet != null && consistentSet.size() == 0);
+                    }
+                } // else simple capability match
+            }
+        }
+
+        if (isInconsistent) {
+            // This is the exception case. Figure out the details of the problems
+            return new CapabilityValidation(missing, findInconsistent(requiresConsistency, consistentSets), resolutionContext);
+        } else if (!missing.isEmpty()) {
+            return new CapabilityValidation(missing, null, resolutionContext);
+        }
+
+        return CapabilityValidation.OK;
+    }
+
+    private static void recordMissing(Map<CapabilityId, Set<RuntimeRequirementRegistration>> missing, CapabilityId dependentId,
+                                      RuntimeRequirementRegistration req, boolean hostXmlOnly) {
+        if (hostXmlOnly && dependentId.getName().startsWith("org.wildfly.domain.server-config.")
+                && (req.getRequiredName().startsWith("org.wildfly.domain.server-group.")
+                || req.getRequiredName().startsWith("org.wildfly.domain.socket-binding-group."))) {
+            // HACK. We can't resolve these now as we have no domain model at this part of boot
+            // We can resolve them when the domain model ops run, so wait to validate then
+            ControllerLogger.MGMT_OP_LOGGER.tracef("Ignoring that dependent %s cannot resolve required capability %s as the 'hostXmlOnly' param is set", dependentId, req.getRequiredName());
+            return;
+        }
+        CapabilityId basicId = new CapabilityId(req.getRequiredName(), dependentId.getScope());
+        Set<RuntimeRequirementRegistration> set = missing.get(basicId);
+        if (set == null) {
+            set = new HashSet<>();
+            missing.put(basicId, set);
+        }
+        set.add(req);
+    }
+
+    /**
+     * Gets the {@code includes} of the resources whose configuration determines which scopes include others,
+     * so changes to them that are not reflected in the registry can be detected.
+     */
+    private static Map<PathElement, ModelNode> getIncludes(Resource rootResource) {
+        Map<PathElement, ModelNode> result = new HashMap<>();
+        for (String type : INCLUDING_RESOURCE_TYPES) {
+            for (Resource.ResourceEntry child : rootResource.getChildren(type)) {
+                ModelNode model = child.getModel();
+                result.put(child.getPathElement(), model.hasDefined(INCLUDES) ? model.get(INCLUDES).clone() : new ModelNode());
+            }
+        }
+        return result;
     }
 
     private void recordConsistentSets(Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency, Map<CapabilityScope, Set<CapabilityScope>> consistentSets, CapabilityScope dependentContext, Set<CapabilityScope> consistentSet, RuntimeRequirementRegistration req, SatisfactoryCapability satisfactory, CapabilityScope reqDependent) {
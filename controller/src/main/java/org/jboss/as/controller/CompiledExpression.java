@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, pre-parsed form of a string that may contain {@code ${...}} expressions. The structure only depends
+ * on the string, not on the values any expression resolves to, so instances can be shared freely and never become
+ * stale.
+ * <p>
+ * The structure mirrors exactly what the character-by-character parser in {@link ExpressionResolverImpl} would
+ * see when scanning the string, so evaluating it gives the same result as that parser.
+ */
+final class CompiledExpression {
+
+    private static final int INITIAL = 0;
+    private static final int GOT_DOLLAR = 1;
+    private static final int GOT_OPEN_BRACE = 2;
+
+    /** Bound on the number of cached strings, so unusual usage cannot make the cache grow without limit */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private static final Map<String, CompiledExpression> CACHE = new ConcurrentHashMap<>();
+
+    /** The original string */
+    final String source;
+    /** The top level content, each element being either a literal {@code String} or a {@link Node} */
+    final List<Object> segments;
+    /** {@code true} if an escaped {@code $$} was found, which alone means the output differs from the input */
+    final boolean escapes;
+    /**
+     * {@code null} if every expression in the string is closed, otherwise the closed expressions nested in an
+     * unclosed one, in the order the parser would encounter their end
+     */
+    final List<Node> dangling;
+
+    private CompiledExpression(String source, List<Object> segments, boolean escapes, List<Node> dangling) {
+        this.source = source;
+        this.segments = segments;
+        this.escapes = escapes;
+        this.dangling = dangling;
+    }
+
+    /**
+     * Gets the compiled form of the given string, compiling and caching it if it has not been seen before.
+     *
+     * @param value the string. Cannot be {@code null}
+     * @return the compiled form. Will not be {@code null}
+     */
+    static CompiledExpression forString(String value) {
+        CompiledExpression result = CACHE.get(value);
+        if (result == null) {
+            result = compile(value);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(value, result);
+        }
+        return result;
+    }
+
+    static CompiledExpression compile(final String value) {
+        final List<Object> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        final Deque<NodeBuilder> stack = new ArrayDeque<>();
+        final int len = value.length();
+        int state = INITIAL;
+        int ignoreBraceLevel = 0;
+        boolean escapes = false;
+        for (int i = 0; i < len; i = value.offsetByCodePoints(i, 1)) {
+            final int ch = value.codePointAt(i);
+            switch (state) {
+                case INITIAL: {
+                    if (ch == '$') {
+                        stack.push(new NodeBuilder(i));
+                        state = GOT_DOLLAR;
+                    } else {
+                        literal.appendCodePoint(ch);
+                    }
+                    break;
+                }
+                case GOT_DOLLAR: {
+                    if (ch == '{') {
+                        state = GOT_OPEN_BRACE;
+                    } else if (stack.size() == 1) {
+                        // Previous $ was not the start of an expression, and we are not in an outer one
+                        stack.clear();
+                        if (ch != '$') {
+                            // Preceding $ wasn't an escape, so restore it
+                            literal.append('$');
+                        } else {
+                            escapes = true;
+                        }
+                        literal.appendCodePoint(ch);
+                        state = INITIAL;
+                    } else {
+                        // Previous $ was not the start of an expression; resume tracking the outer expression
+                        stack.pop();
+                        if (ch == '$') {
+                            escapes = true;
+                        } else if (ch == '}') {
+                            // this may be the end of the outer expression
+                            i--;
+                        }
+                        state = GOT_OPEN_BRACE;
+                    }
+                    break;
+                }
+                case GOT_OPEN_BRACE: {
+                    switch (ch) {
+                        case '$': {
+                            stack.push(new NodeBuilder(i));
+                            state = GOT_DOLLAR;
+                            break;
+                        }
+                        case '{': {
+                            ignoreBraceLevel++;
+                            break;
+                        }
+                        case '}': {
+                            if (ignoreBraceLevel > 0) {
+                                ignoreBraceLevel--;
+                                break;
+                            }
+                            Node node = stack.pop().build(value, i);
+                            if (stack.isEmpty()) {
+                                if (literal.length() > 0) {
+                                    segments.add(literal.toString());
+                                    literal.setLength(0);
+                                }
+                                segments.add(node);
+                                state = INITIAL;
+                            } else {
+                                stack.peek().children.add(node);
+                            }
+                            break;
+                        }
+                        default:
+                            break;
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        List<Node> dangling = null;
+        if (!stack.isEmpty()) {
+            if (state == GOT_DOLLAR) {
+                stack.pop();
+            }
+            if (stack.isEmpty()) {
+                // Stack was a single item due to GOT_DOLLAR. Need to restore the lost $
+                literal.append('$');
+            } else {
+                dangling = new ArrayList<>();
+                for (NodeBuilder open : stack) {
+                    dangling.addAll(open.children);
+                }
+                dangling.sort((a, b) -> Integer.compare(a.endIndex, b.endIndex));
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+        }
+        return new CompiledExpression(value, Collections.unmodifiableList(segments), escapes,
+                dangling == null ? null : Collections.unmodifiableList(dangling));
+    }
+
+    /** A closed {@code ${...}} expression, possibly containing nested expressions */
+    static final class Node {
+        /** Index of the leading {@code $} in the source */
+        final int startIndex;
+        /** Index of the trailing <code>}</code> in the source */
+        final int endIndex;
+        /** The expression as written in the source */
+        final String text;
+        /** The closed expressions directly nested within this one */
+        final List<Node> children;
+
+        private Node(int startIndex, int endIndex, String text, List<Node> children) {
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.text = text;
+            this.children = children;
+        }
+    }
+
+    private static final class NodeBuilder {
+        private final int startIndex;
+        private final List<Node> children = new ArrayList<>(0);
+
+        private NodeBuilder(int startIndex) {
+            this.startIndex = startIndex;
+        }
+
+        private Node build(String source, int endIndex) {
+            List<Node> nested = children.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(children);
+            return new Node(startIndex, endIndex, source.substring(startIndex, endIndex + 1), nested);
+        }
+    }
+}
@@ -53,7 +53,26 @@ public final class ContainerStateMonitor extends AbstractServiceListener<Object>
     final Set<ServiceController<?>> failed = new HashSet<ServiceController<?>>();
     final Set<ServiceController<?>> problems = new HashSet<ServiceController<?>>();
 
-    private Set<ServiceName> previousMissingDepSet = new HashSet<ServiceName>();
+    /**
+     * The immediate unavailable dependencies of each controller in {@code problems}, as of the last report
+     */
+    private final Map<ServiceController<?>, Set<ServiceName>> unavailableDependencies = new HashMap<ServiceController<?>, Set<ServiceName>>();
+    /**
+     * The unavailable dependencies of the controllers in {@code problems}, mapped to the controllers depending on them
+     */
+    private final Map<ServiceName, Set<ServiceController<?>>> missingDeps = new HashMap<ServiceName, Set<ServiceController<?>>>();
+    /**
+     * The names added to or removed from {@code missingDeps} since history was last reset. Only these names can
+     * differ between {@code missingDeps} and {@code previousMissingDepSet}.
+     */
+    private final Set<ServiceName> changedMissingDeps = new HashSet<ServiceName>();
+    /**
+     * Whether {@code problems} was cleared by a history reset, so controllers that are no longer in it must
+     * stop contributing to {@code missingDeps}
+     */
+    private boolean problemsCleared;
+
+    private final Set<ServiceName> previousMissingDepSet = new HashSet<ServiceName>();
 
     ContainerStateMonitor(final ServiceRegistry registry) {
         serviceRegistry = registry;
@@ -160,52 +179,112 @@ public final class ContainerStateMonitor extends AbstractServiceListener<Object>
      */
     private synchronized ContainerStateChangeReport createContainerStateChangeReport(boolean resetHistory) {
 
-        final Map<ServiceName, Set<ServiceName>> missingDeps = new HashMap<ServiceName, Set<ServiceName>>();
-        for (ServiceController<?> controller : problems) {
-            for (ServiceName missing : controller.getImmediateUnavailableDependencies()) {
-                Set<ServiceName> dependents = missingDeps.get(missing);
-                if (dependents == null) {
-                    dependents = new HashSet<ServiceName>();
-                    missingDeps.put(missing, dependents);
-                }
-                dependents.add(controller.getName());
-            }
-        }
-
-        final Set<ServiceName> previousMissing = previousMissingDepSet;
+        updateMissingDependencies();
 
-        // no longer missing deps...
+        // Only names whose missing status changed since the last reset can be newly missing or no longer missing
         final Map<ServiceName, Boolean> noLongerMissingServices = new TreeMap<ServiceName, Boolean>();
-        for (ServiceName name : previousMissing) {
-            if (! missingDeps.containsKey(name)) {
+        final Map<ServiceName, MissingDependencyInfo> missingServices = new TreeMap<ServiceName, MissingDependencyInfo>();
+        for (ServiceName name : changedMissingDeps) {
+            final boolean previouslyMissing = previousMissingDepSet.contains(name);
+            final Set<ServiceController<?>> dependents = missingDeps.get(name);
+            if (previouslyMissing && dependents == null) {
+                // no longer missing dep...
                 ServiceController<?> controller = serviceRegistry.getService(name);
                 noLongerMissingServices.put(name, controller != null);
-            }
-        }
-
-        // newly missing deps
-        final Map<ServiceName, MissingDependencyInfo> missingServices = new TreeMap<ServiceName, MissingDependencyInfo>();
-        for (Map.Entry<ServiceName, Set<ServiceName>> entry : missingDeps.entrySet()) {
-            final ServiceName name = entry.getKey();
-            if (! previousMissing.contains(name)) {
+            } else if (!previouslyMissing && dependents != null) {
+                // newly missing dep
                 ServiceController<?> controller = serviceRegistry.getService(name);
                 boolean unavailable = controller != null;
-                missingServices.put(name, new MissingDependencyInfo(name, unavailable, entry.getValue()));
+                final Set<ServiceName> dependentNames = new HashSet<ServiceName>();
+                for (ServiceController<?> dependent : dependents) {
+                    dependentNames.add(dependent.getName());
+                }
+                missingServices.put(name, new MissingDependencyInfo(name, unavailable, dependentNames));
             }
         }
 
         final Set<ServiceController<?>> currentFailedControllers = new HashSet<ServiceController<?>>(failed);
 
         if (resetHistory)  {
-            previousMissingDepSet = new HashSet<ServiceName>(missingDeps.keySet());
+            for (ServiceName name : changedMissingDeps) {
+                if (missingDeps.containsKey(name)) {
+                    previousMissingDepSet.add(name);
+                } else {
+                    previousMissingDepSet.remove(name);
+                }
+            }
+            changedMissingDeps.clear();
             failed.clear();
             problems.clear();
+            problemsCleared = true;
         }
 
         boolean needReport = !missingServices.isEmpty() || !currentFailedControllers.isEmpty() || !noLongerMissingServices.isEmpty();
         return needReport ? new ContainerStateChangeReport(missingServices, currentFailedControllers, noLongerMissingServices) : null;
     }
 
+    /**
+     * Brings {@code missingDeps} in line with the current unavailable dependencies of the controllers in {@code problems},
+     * only applying the differences from the last report.
+     * <p>
+     * Each problem controller is still asked for its unavailable dependencies, as MSC only notifies listeners when a
+     * controller's first dependency becomes unavailable or its last one becomes available again, and not at all for
+     * controllers installed using targets that don't have this listener.
+     */
+    private void updateMissingDependencies() {
+        if (problemsCleared) {
+            final Iterator<Map.Entry<ServiceController<?>, Set<ServiceName>>> iterator = unavailableDependencies.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<ServiceController<?>, Set<ServiceName>> entry = iterator.next();
+                if (!problems.contains(entry.getKey())) {
+                    removeDependent(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                }
+            }
+            problemsCleared = false;
+        }
+        for (ServiceController<?> controller : problems) {
+            final Set<ServiceName> current = controller.getImmediateUnavailableDependencies();
+            final Set<ServiceName> previous = unavailableDependencies.put(controller, current);
+            if (previous == null) {
+                addDependent(controller, current);
+            } else if (!previous.equals(current)) {
+                for (ServiceName name : previous) {
+                    if (!current.contains(name)) {
+                        removeDependent(controller, Collections.singleton(name));
+                    }
+                }
+                for (ServiceName name : current) {
+                    if (!previous.contains(name)) {
+                        addDependent(controller, Collections.singleton(name));
+                    }
+                }
+            }
+        }
+    }
+
+    private void addDependent(ServiceController<?> controller, Set<ServiceName> missing) {
+        for (ServiceName name : missing) {
+            Set<ServiceController<?>> dependents = missingDeps.get(name);
+            if (dependents == null) {
+                dependents = new HashSet<ServiceController<?>>();
+                missingDeps.put(name, dependents);
+                changedMissingDeps.add(name);
+            }
+            dependents.add(controller);
+        }
+    }
+
+    private void removeDependent(ServiceController<?> controller, Set<ServiceName> missing) {
+        for (ServiceName name : missing) {
+            final Set<ServiceController<?>> dependents = missingDeps.get(name);
+            if (dependents != null && dependents.remove(controller) && dependents.isEmpty()) {
+                missingDeps.remove(name);
+                changedMissingDeps.add(name);
+            }
+        }
+    }
+
     private synchronized String createChangeReportLogMessage(ContainerStateChangeReport changeReport) {
 
         final StringBuilder msg = new StringBuilder();
@@ -166,7 +166,96 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     }
 
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
+        if (initialValue.indexOf('$') < 0) {
+            // Nothing to resolve or unescape
+            return new ParseAndResolveResult(initialValue, false, false);
+        }
+        CompiledExpression compiled = CompiledExpression.forString(initialValue);
+        StringBuilder builder = new StringBuilder();
+        boolean modified = compiled.escapes;
+        for (Object segment : compiled.segments) {
+            if (segment instanceof String) {
+                builder.append((String) segment);
+            } else {
+                EvaluationResult evaluated = evaluate((CompiledExpression.Node) segment, initialValue, true, lenient);
+                if (evaluated.result != null) {
+                    return evaluated.result;
+                } else if (evaluated.value == null) {
+                    // An unusual failure case whose handling depends on the scanning parser's internal state
+                    return scanAndResolve(initialValue, lenient);
+                }
+                builder.append(evaluated.value);
+                modified = true;
+            }
+        }
+        if (compiled.dangling != null) {
+            // Closed expressions nested in an unclosed one still get resolved before the failure is reported
+            for (CompiledExpression.Node node : compiled.dangling) {
+                EvaluationResult evaluated = evaluate(node, initialValue, false, lenient);
+                if (evaluated.result != null) {
+                    return evaluated.result;
+                }
+            }
+            throw ControllerLogger.ROOT_LOGGER.incompleteExpression(initialValue);
+        }
+        return new ParseAndResolveResult(builder.toString(), modified, false);
+    }
+
+    /**
+     * Resolve a compiled expression, following the same steps as {@link #scanAndResolve(String, boolean)}
+     * follows when it reaches the end of the expression.
+     *
+     * @param node the expression
+     * @param initialValue the overall string being resolved
+     * @param topLevel {@code true} if {@code node} is not nested in another expression
+     * @param lenient {@code true} if failing to resolve a top level expression should not result in an exception
+     * @return the outcome. Will not be {@code null}
+     */
+    private EvaluationResult evaluate(final CompiledExpression.Node node, final String initialValue,
+                                      final boolean topLevel, final boolean lenient) throws OperationFailedException {
+        String toResolve;
+        if (node.children.isEmpty()) {
+            toResolve = node.text;
+        } else {
+            // Compose the expression from the original and resolved nested elements
+            StringBuilder sb = new StringBuilder();
+            int nextStart = node.startIndex;
+            for (CompiledExpression.Node child : node.children) {
+                EvaluationResult evaluated = evaluate(child, initialValue, false, lenient);
+                if (evaluated.value == null) {
+                    return evaluated;
+                }
+                sb.append(initialValue, nextStart, child.startIndex);
+                sb.append(evaluated.value);
+                nextStart = child.endIndex + 1;
+            }
+            sb.append(initialValue, nextStart, node.endIndex + 1);
+            toResolve = sb.toString();
+        }
+
+        final String resolved = resolveExpressionString(toResolve);
+        // We only successfully resolved if toResolve != resolved
+        if (!toResolve.equals(resolved)) {
+            if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                // The resolved value is itself an expression, so there will need to be another pass
+                return new EvaluationResult(createRecursiveResult(initialValue, resolved, node.startIndex, node.endIndex));
+            }
+            return new EvaluationResult(resolved);
+        } else if (!topLevel) {
+            // Not resolving a nested expression doesn't fail the overall resolution
+            // as the nested part may be irrelevant to the final resolution.
+            return new EvaluationResult(toResolve);
+        } else if (!node.children.isEmpty()) {
+            return EvaluationResult.SCAN_REQUIRED;
+        } else if (lenient) {
+            // just respond with the initial value
+            return new EvaluationResult(new ParseAndResolveResult(initialValue, false, false));
+        } else {
+            throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+        }
+    }
 
+    private ParseAndResolveResult scanAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
 
         final StringBuilder builder = new StringBuilder();
         final int len = initialValue.length();
@@ -413,8 +502,6 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     private static ParseAndResolveResult createRecursiveResult(String initialValue, String val,
                                                           Stack<OpenExpression> stack, int expressionEndIndex) {
-        int initialLength = initialValue.length();
-
         int expressionIndex = -1;
         while (expressionIndex == -1) {
             OpenExpression oe = stack.pop();
@@ -422,6 +509,12 @@ public class ExpressionResolverImpl implements ExpressionResolver {
                 expressionIndex = oe.startIndex;
             }
         }
+        return createRecursiveResult(initialValue, val, expressionIndex, expressionEndIndex);
+    }
+
+    private static ParseAndResolveResult createRecursiveResult(String initialValue, String val,
+                                                          int expressionIndex, int expressionEndIndex) {
+        int initialLength = initialValue.length();
         String result;
         if (expressionIndex == 0 && expressionEndIndex == initialLength -1) {
             // basic case
@@ -467,6 +560,32 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * Outcome of evaluating a compiled expression. Exactly one of {@code value} or {@code result} is set, unless
+     * the expression needs to be handled by the scanning parser, in which case neither is.
+     */
+    private static class EvaluationResult {
+        private static final EvaluationResult SCAN_REQUIRED = new EvaluationResult(null, null);
+
+        /** The string the expression resolved to, or the unresolved string for nested expressions */
+        private final String value;
+        /** The overall result, if evaluating the expression ended resolution of the whole string */
+        private final ParseAndResolveResult result;
+
+        private EvaluationResult(String value) {
+            this(value, null);
+        }
+
+        private EvaluationResult(ParseAndResolveResult result) {
+            this(null, result);
+        }
+
+        private EvaluationResult(String value, ParseAndResolveResult result) {
+            this.value = value;
+            this.result = result;
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
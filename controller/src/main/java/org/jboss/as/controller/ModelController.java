@@ -92,6 +92,32 @@ public interface ModelController {
      */
      NotificationHandlerRegistration getNotificationRegistry();
 
+    /**
+     * Gets the generation of the management model, which increases every time changes to the model are published.
+     * Reads of the persistent configuration at and below {@code address} give the same result for as long as the
+     * generation does not change.
+     *
+     * @param address the address of the resources of interest. Cannot be {@code null}
+     * @return the generation, or {@code -1} if this controller does not track it or if some of the resources are
+     *         managed by other processes, whose changes are not reflected in it
+     */
+    default long getModelGeneration(PathAddress address) {
+        return -1;
+    }
+
+    /**
+     * Gets whether the resources at {@code address} may have runtime-only children. Non-recursive reads of such
+     * resources list the names of those children, which change without the {@link #getModelGeneration(PathAddress)
+     * generation} changing.
+     *
+     * @param address the address of the resources of interest. Cannot be {@code null}
+     * @return {@code false} if no runtime-only child type is registered at {@code address}, {@code true} otherwise,
+     *         including if this controller does not know
+     */
+    default boolean hasRuntimeOnlyChildren(PathAddress address) {
+        return true;
+    }
+
     /**
      * A callback interface for the operation's completion status.  Implemented in order to control whether a complete
      * operation is committed or rolled back after it is prepared.
@@ -39,9 +39,11 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_PROFILE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
@@ -54,6 +56,7 @@ import java.io.IOException;
 import java.security.AccessControlContext;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -82,6 +85,7 @@ import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.extension.ExtensionAddHandler;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.extension.ParallelExtensionAddHandler;
+import org.jboss.as.controller.jfr.ManagementEvents;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
@@ -137,6 +141,8 @@ class ModelControllerImpl implements ModelController {
     private final Authorizer authorizer;
 
     private final ConcurrentMap<Integer, OperationContextImpl> activeOperations = new ConcurrentHashMap<>();
+    /** Aggregated profiles of the operations executed with the {@code profile} header, keyed by operation name */
+    private final ConcurrentMap<String, OperationProfile.Statistics> operationProfiles = new ConcurrentHashMap<>();
     private final Random random = new Random();
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
@@ -338,6 +344,9 @@ class ModelControllerImpl implements ModelController {
         if (restartResourceServices) {
             contextFlags.add(AbstractOperationContext.ContextFlag.ALLOW_RESOURCE_SERVICE_RESTART);
         }
+        if (headers != null && headers.hasDefined(PROFILE) && headers.get(PROFILE).asBoolean()) {
+            contextFlags.add(AbstractOperationContext.ContextFlag.PROFILE);
+        }
         final ModelNode blockingTimeoutConfig = headers != null && headers.hasDefined(BLOCKING_TIMEOUT) ? headers.get(BLOCKING_TIMEOUT) : null;
 
         final ModelNode responseNode = validateOperation(operation);
@@ -381,6 +390,7 @@ class ModelControllerImpl implements ModelController {
             return handleExternalRequestDuringBoot();
         }
 
+        final Object operationEvent = ManagementEvents.beginOperation();
         for (;;) {
             responseStreams = null;
             // Create a random operation-id
@@ -411,6 +421,13 @@ class ModelControllerImpl implements ModelController {
                     responseStreams = context.getResponseStreams();
                 } finally {
 
+                    final OperationProfile profile = context.getOperationProfile();
+                    if (profile != null) {
+                        profile.completed();
+                        responseNode.get(RESPONSE_HEADERS, OPERATION_PROFILE).set(profile.toModelNode());
+                        recordProfile(operation, profile);
+                    }
+
                     if (!responseNode.hasDefined(RESPONSE_HEADERS) || !responseNode.get(RESPONSE_HEADERS).hasDefined(PROCESS_STATE)) {
                         ControlledProcessState.State state = processState.getState();
                         switch (state) {
@@ -429,6 +446,8 @@ class ModelControllerImpl implements ModelController {
                     activeOperations.remove(operationID);
                     //noinspection deprecation
                     CurrentOperationIdHolder.setCurrentOperationID(null);
+                    ManagementEvents.endOperation(operationEvent, operation.get(OP).asString(), operation.get(OP_ADDR),
+                            responseNode.has(OUTCOME) ? responseNode.get(OUTCOME).asString() : null);
                 }
                 break;
             }
@@ -440,6 +459,24 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * Aggregates the profile of an operation, if the operation has a registered handler. An unknown operation name is
+     * not recorded, as it only comes from the caller, so the aggregates are bounded by the registered operations.
+     */
+    private void recordProfile(final ModelNode operation, final OperationProfile profile) {
+        final String name = operation.get(OP).asString();
+        final PathAddress address;
+        try {
+            address = operation.hasDefined(OP_ADDR) ? PathAddress.pathAddress(operation.get(OP_ADDR)) : PathAddress.EMPTY_ADDRESS;
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (managementModel.get().getRootResourceRegistration().getOperationHandler(address, name) == null) {
+            return;
+        }
+        operationProfiles.computeIfAbsent(name, key -> new OperationProfile.Statistics()).record(profile);
+    }
+
     private static OperationResponse handleExternalRequestDuringBoot() {
         ModelNode result = new ModelNode();
         result.get(OUTCOME).set(FAILED);
@@ -913,6 +950,41 @@ class ModelControllerImpl implements ModelController {
         return notificationSupport.getNotificationRegistry();
     }
 
+    @Override
+    public long getModelGeneration(final PathAddress address) {
+        final ManagementModelImpl model = managementModel.get();
+        if (model == null || !model.getRootResourceRegistration().getProxyControllers(address).isEmpty()) {
+            return -1;
+        }
+        return model.generation;
+    }
+
+    @Override
+    public boolean hasRuntimeOnlyChildren(final PathAddress address) {
+        final ManagementModelImpl model = managementModel.get();
+        final ImmutableManagementResourceRegistration registration = model == null ? null
+                : model.getRootResourceRegistration().getSubModel(address);
+        if (registration == null) {
+            return true;
+        }
+        for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+            if (child == null || child.isRuntimeOnly()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the generation assigned to the currently published model when it was published. The value is read from
+     * the published model itself, so two equal values guarantee that no other model was published in between.
+     */
+    long getPublishedModelGeneration() {
+        final ManagementModelImpl model = managementModel.get();
+        return model == null ? -1 : model.generation;
+    }
+
     NotificationSupport getNotificationSupport() {
         return notificationSupport;
     }
@@ -1031,12 +1103,17 @@ class ModelControllerImpl implements ModelController {
 
     private final class ModelControllerResource extends PlaceholderResource.PlaceholderResourceEntry {
 
+        private final Set<String> childTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(ACTIVE_OPERATION, OPERATION_PROFILE)));
+
         private ModelControllerResource() {
             super(SERVICE, MANAGEMENT_OPERATIONS);
         }
 
         @Override
         public boolean hasChild(PathElement element) {
+            if (OPERATION_PROFILE.equals(element.getKey())) {
+                return operationProfiles.containsKey(element.getValue());
+            }
             try {
                 return ACTIVE_OPERATION.equals(element.getKey())
                         && activeOperations.containsKey(Integer.valueOf(element.getValue()));
@@ -1057,6 +1134,8 @@ class ModelControllerImpl implements ModelController {
                 } catch (NumberFormatException e) {
                     // just return null
                 }
+            } else if (OPERATION_PROFILE.equals(element.getKey()) && operationProfiles.containsKey(element.getValue())) {
+                result = new OperationProfileResource(element.getValue());
             }
             return result;
         }
@@ -1072,16 +1151,24 @@ class ModelControllerImpl implements ModelController {
 
         @Override
         public boolean hasChildren(String childType) {
+            if (OPERATION_PROFILE.equals(childType)) {
+                return operationProfiles.size() > 0;
+            }
             return ACTIVE_OPERATION.equals(childType) && activeOperations.size() > 0;
         }
 
         @Override
         public Set<String> getChildTypes() {
-            return Collections.singleton(ACTIVE_OPERATION);
+            return childTypes;
         }
 
         @Override
         public Set<String> getChildrenNames(String childType) {
+            if (OPERATION_PROFILE.equals(childType)) {
+                return new HashSet<String>(operationProfiles.keySet());
+            } else if (!ACTIVE_OPERATION.equals(childType)) {
+                return Collections.emptySet();
+            }
             Set<String> result = new HashSet<String>(activeOperations.size());
             for (Integer id : activeOperations.keySet()) {
                 result.add(id.toString());
@@ -1091,6 +1178,15 @@ class ModelControllerImpl implements ModelController {
 
         @Override
         public Set<ResourceEntry> getChildren(String childType) {
+            if (OPERATION_PROFILE.equals(childType)) {
+                Set<ResourceEntry> result = new HashSet<ResourceEntry>(operationProfiles.size());
+                for (String name : operationProfiles.keySet()) {
+                    result.add(new OperationProfileResource(name));
+                }
+                return result;
+            } else if (!ACTIVE_OPERATION.equals(childType)) {
+                return Collections.emptySet();
+            }
             Set<ResourceEntry> result = new HashSet<ResourceEntry>(activeOperations.size());
             for (OperationContextImpl context : activeOperations.values()) {
                 result.add(context.getActiveOperationResource());
@@ -1099,6 +1195,25 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /** Exposes the aggregated profile of the operations with a given name */
+    private final class OperationProfileResource extends PlaceholderResource.PlaceholderResourceEntry {
+
+        private OperationProfileResource(String operationName) {
+            super(OPERATION_PROFILE, operationName);
+        }
+
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
+        @Override
+        public ModelNode getModel() {
+            final OperationProfile.Statistics statistics = operationProfiles.get(getName());
+            return statistics == null ? new ModelNode() : statistics.toModelNode();
+        }
+    }
+
     private static class MutableRootResourceRegistrationProviderImpl implements MutableRootResourceRegistrationProvider {
         private static final MutableRootResourceRegistrationProvider INSTANCE = new MutableRootResourceRegistrationProviderImpl();
 
@@ -1122,6 +1237,8 @@ class ModelControllerImpl implements ModelController {
         private final CapabilityRegistry capabilityRegistry;
 
         private volatile boolean published;
+        // The generation this model was published as, -1 if it hasn't been
+        private volatile long generation = -1;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
@@ -1261,6 +1378,9 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            // Publishing is done with the controller lock held, so there is no concurrent publication
+            final ManagementModelImpl current = ModelControllerImpl.this.managementModel.get();
+            generation = current == null ? 0 : current.generation + 1;
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -25,6 +25,8 @@ package org.jboss.as.controller;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 
+import org.jboss.as.controller.jfr.ManagementEvents;
+
 /**
  * Basic lock implementation using a permit value to allow reentrancy. The lock will only be released when all
  * participants which previously acquired the lock have called {@linkplain #unlock}.
@@ -49,7 +51,9 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
+        final Object event = ManagementEvents.beginLockWait();
         sync.acquire(permit);
+        ManagementEvents.endLockWait(event, true, true);
     }
 
     /**
@@ -62,7 +66,9 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
+        final Object event = ManagementEvents.beginLockWait();
         sync.acquireShared(permit);
+        ManagementEvents.endLockWait(event, false, true);
     }
 
     /** Attempts exclusive acquisition with a max wait time.
@@ -107,7 +113,9 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
+        final Object event = ManagementEvents.beginLockWait();
         sync.acquireInterruptibly(permit);
+        ManagementEvents.endLockWait(event, true, true);
     }
 
     /**
@@ -120,7 +128,9 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
+        final Object event = ManagementEvents.beginLockWait();
         sync.acquireSharedInterruptibly(permit);
+        ManagementEvents.endLockWait(event, false, true);
     }
 
     /**
@@ -136,7 +146,10 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
-        return sync.tryAcquireNanos(permit, unit.toNanos(timeout));
+        final Object event = ManagementEvents.beginLockWait();
+        final boolean acquired = sync.tryAcquireNanos(permit, unit.toNanos(timeout));
+        ManagementEvents.endLockWait(event, true, acquired);
+        return acquired;
     }
 
     /**
@@ -152,7 +165,10 @@ class ModelControllerLock {
         if (permit == null) {
             throw new IllegalArgumentException();
         }
-        return sync.tryAcquireSharedNanos(permit, unit.toNanos(timeout));
+        final Object event = ManagementEvents.beginLockWait();
+        final boolean acquired = sync.tryAcquireSharedNanos(permit, unit.toNanos(timeout));
+        ManagementEvents.endLockWait(event, false, acquired);
+        return acquired;
     }
 
     /**
@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS_COALESCED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG_PEAK;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.notification.NotificationSupport;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Read handler for the {@code notification-backlog}, {@code notification-backlog-peak} and
+ * {@code notifications-coalesced} metrics, which report on the delivery of notifications by the process'
+ * {@link NotificationSupport}.
+ */
+public final class NotificationMetricsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new NotificationMetricsHandler();
+
+    private NotificationMetricsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        assert context instanceof AbstractOperationContext;
+        final NotificationSupport notificationSupport = ((AbstractOperationContext) context).notificationSupport;
+        final String attributeName = operation.require(NAME).asString();
+        switch (attributeName) {
+            case NOTIFICATION_BACKLOG:
+                context.getResult().set(notificationSupport.getBacklog());
+                break;
+            case NOTIFICATION_BACKLOG_PEAK:
+                context.getResult().set(notificationSupport.getPeakBacklog());
+                break;
+            case NOTIFICATIONS_COALESCED:
+                context.getResult().set(notificationSupport.getCoalescedCount());
+                break;
+            default:
+                throw new OperationFailedException(ControllerLogger.ROOT_LOGGER.unknownAttribute(attributeName));
+        }
+    }
+}
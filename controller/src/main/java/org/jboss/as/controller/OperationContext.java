@@ -604,6 +604,19 @@ public interface OperationContext extends ExpressionResolver {
      */
     boolean isModelAffected();
 
+    /**
+     * Gets the {@link ModelController#getModelGeneration(PathAddress) generation} of the published model that reads
+     * of the resource tree by this context currently return. Callers deriving expensive data from the whole model
+     * can use it to detect whether an earlier result is still valid, by reading it before and after reading the model
+     * and only relying on the generation if both values are the same.
+     *
+     * @return the generation, or {@code -1} if this context has modified the model or the management resource
+     *         registry, or does not track the generation of the model it reads
+     */
+    default long getPublishedModelGeneration() {
+        return -1;
+    }
+
     /**
      * Determine whether the {@link ManagementResourceRegistration management resource registry} has thus far been affected by this operation.
      *
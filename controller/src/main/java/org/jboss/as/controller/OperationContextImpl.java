@@ -227,6 +227,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         this.attachments = attachments;
         this.affectsModel = booting ? new ConcurrentHashMap<PathAddress, Object>(16 * 16) : new HashMap<PathAddress, Object>(1);
         this.contextFlags = contextFlags;
+        this.profile = contextFlags.contains(ContextFlag.PROFILE) ? new OperationProfile() : null;
         this.hostServerGroupTracker = hostServerGroupTracker;
         this.blockingTimeoutConfig = blockingTimeoutConfig != null && blockingTimeoutConfig.isDefined() ? blockingTimeoutConfig : null;
         this.activeOperationResource = new ActiveOperationResource();
@@ -748,7 +749,14 @@ final class OperationContextImpl extends AbstractOperationContext {
                 // let op 3 block for the time needed for both 1 and 2
 //                int timeout = blockingTimeout.getBlockingTimeout();
 //                if (timeout < 1) {
-                modelController.acquireWriteLock(operationId, respectInterruption);
+                final long lockStart = profile == null ? 0 : System.nanoTime();
+                try {
+                    modelController.acquireWriteLock(operationId, respectInterruption);
+                } finally {
+                    if (profile != null) {
+                        profile.lockWait(System.nanoTime() - lockStart);
+                    }
+                }
 //                } else {
 //                    // Wait longer than the standard amount to get a chance to execute
 //                    // after whatever was holding the lock times out
@@ -782,7 +790,14 @@ final class OperationContextImpl extends AbstractOperationContext {
                 ExecutionStatus origStatus = executionStatus;
                 try {
                     executionStatus = ExecutionStatus.AWAITING_STABILITY;
-                    modelController.awaitContainerStability(timeout, TimeUnit.MILLISECONDS, respectInterruption);
+                    final long stabilityStart = profile == null ? 0 : System.nanoTime();
+                    try {
+                        modelController.awaitContainerStability(timeout, TimeUnit.MILLISECONDS, respectInterruption);
+                    } finally {
+                        if (profile != null) {
+                            profile.stabilityWait(System.nanoTime() - stabilityStart);
+                        }
+                    }
                     notifyModificationBegun();
                 } catch (InterruptedException e) {
                     if (resultAction != ResultAction.ROLLBACK) {
@@ -1101,6 +1116,11 @@ final class OperationContextImpl extends AbstractOperationContext {
         return affectsResourceTree;
     }
 
+    @Override
+    public long getPublishedModelGeneration() {
+        return affectsResourceTree || affectsResourceRegistration ? -1 : modelController.getPublishedModelGeneration();
+    }
+
     @Override
     public boolean isRuntimeAffected() {
         return affectsRuntime;
@@ -2487,6 +2507,15 @@ final class OperationContextImpl extends AbstractOperationContext {
 
     }
 
+    /**
+     * Gets the cost breakdown of the operation.
+     *
+     * @return the profile, or {@code null} if the operation is not being profiled
+     */
+    OperationProfile getOperationProfile() {
+        return profile;
+    }
+
     private class ActiveOperationResource extends PlaceholderResource.PlaceholderResourceEntry implements Cancellable {
 
         private ActiveOperationResource() {
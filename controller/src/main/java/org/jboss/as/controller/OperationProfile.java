@@ -0,0 +1,299 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ALLOCATED_BYTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CPU_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INVOCATION_COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WALL_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STABILITY_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WALL_TIME;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Breakdown of the cost of executing an operation, step by step, recorded when the operation is executed with the
+ * {@code profile} header. Only the thread executing the operation may update it.
+ * <p>
+ * Times are in nanoseconds. CPU time and allocated bytes are only measured if the JVM supports measuring them for
+ * the current thread and that measurement is enabled; otherwise they are left undefined.
+ */
+final class OperationProfile {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    /** {@code com.sun.management.ThreadMXBean.getThreadAllocatedBytes(long)}, {@code null} if not usable */
+    private static final Method THREAD_ALLOCATED_BYTES = getThreadAllocatedBytesMethod();
+
+    private final long startTime = System.nanoTime();
+    private final List<StepProfile> steps = new ArrayList<>();
+    private final boolean measureCpu;
+    private final boolean measureAllocation;
+    private long wallTime = -1;
+    /** Time spent waiting for stability outside of any step, i.e. before the {@code VERIFY} stage */
+    private long operationStabilityWait;
+
+    // state of the step being executed
+    private boolean inStep;
+    private long stepStartTime;
+    private long stepStartCpu;
+    private long stepStartAllocated;
+    private long stepLockWait;
+    private long stepStabilityWait;
+
+    OperationProfile() {
+        this.measureCpu = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        this.measureAllocation = THREAD_ALLOCATED_BYTES != null && isAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Records the start of the execution of a step handler.
+     */
+    void stepStarted() {
+        stepLockWait = 0;
+        stepStabilityWait = 0;
+        stepStartCpu = measureCpu ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+        stepStartAllocated = measureAllocation ? getCurrentThreadAllocatedBytes() : 0;
+        stepStartTime = System.nanoTime();
+        inStep = true;
+    }
+
+    /**
+     * Records the end of the execution of the step handler whose start was recorded last.
+     *
+     * @param operationId the operation executed by the step
+     * @param stage the stage the step was executed in
+     */
+    void stepCompleted(final AbstractOperationContext.OperationId operationId, final OperationContext.Stage stage) {
+        final long wall = System.nanoTime() - stepStartTime;
+        inStep = false;
+        final long cpu = measureCpu ? THREAD_MX_BEAN.getCurrentThreadCpuTime() - stepStartCpu : -1;
+        final long allocated = measureAllocation ? getCurrentThreadAllocatedBytes() - stepStartAllocated : -1;
+        steps.add(new StepProfile(operationId, stage, wall, cpu, allocated, stepLockWait, stepStabilityWait));
+    }
+
+    /**
+     * Records time spent waiting for the controller lock.
+     */
+    void lockWait(final long nanos) {
+        stepLockWait += nanos;
+    }
+
+    /**
+     * Records time spent waiting for the service container to become stable, either by a step handler or
+     * between stages.
+     */
+    void stabilityWait(final long nanos) {
+        if (inStep) {
+            stepStabilityWait += nanos;
+        } else {
+            operationStabilityWait += nanos;
+        }
+    }
+
+    /**
+     * Records the end of the execution of the operation. Further steps are still recorded, but not reflected in
+     * the operation's wall time.
+     */
+    void completed() {
+        if (wallTime < 0) {
+            wallTime = System.nanoTime() - startTime;
+        }
+    }
+
+    long getWallTime() {
+        return wallTime < 0 ? System.nanoTime() - startTime : wallTime;
+    }
+
+    long getCpuTime() {
+        if (!measureCpu) {
+            return -1;
+        }
+        long result = 0;
+        for (StepProfile step : steps) {
+            result += step.cpuTime;
+        }
+        return result;
+    }
+
+    long getAllocatedBytes() {
+        if (!measureAllocation) {
+            return -1;
+        }
+        long result = 0;
+        for (StepProfile step : steps) {
+            result += step.allocatedBytes;
+        }
+        return result;
+    }
+
+    long getLockWaitTime() {
+        long result = 0;
+        for (StepProfile step : steps) {
+            result += step.lockWaitTime;
+        }
+        return result;
+    }
+
+    long getStabilityWaitTime() {
+        long result = operationStabilityWait;
+        for (StepProfile step : steps) {
+            result += step.stabilityWaitTime;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the profile in the form returned in the {@code operation-profile} response header.
+     */
+    ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        result.get(WALL_TIME).set(getWallTime());
+        setIfMeasured(result.get(CPU_TIME), getCpuTime());
+        setIfMeasured(result.get(ALLOCATED_BYTES), getAllocatedBytes());
+        result.get(LOCK_WAIT_TIME).set(getLockWaitTime());
+        result.get(STABILITY_WAIT_TIME).set(getStabilityWaitTime());
+        final ModelNode stepList = result.get(STEPS).setEmptyList();
+        for (StepProfile step : steps) {
+            stepList.add(step.toModelNode());
+        }
+        return result;
+    }
+
+    private static void setIfMeasured(final ModelNode node, final long value) {
+        if (value >= 0) {
+            node.set(value);
+        }
+    }
+
+    private static Method getThreadAllocatedBytesMethod() {
+        try {
+            final Class<?> type = Class.forName("com.sun.management.ThreadMXBean", false, null);
+            if (!type.isInstance(THREAD_MX_BEAN)
+                    || !(Boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_MX_BEAN)) {
+                return null;
+            }
+            return type.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static boolean isAllocatedMemoryEnabled() {
+        try {
+            return (Boolean) THREAD_ALLOCATED_BYTES.getDeclaringClass().getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+        try {
+            return (Long) THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static final class StepProfile {
+        private final AbstractOperationContext.OperationId operationId;
+        private final OperationContext.Stage stage;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+        private final long lockWaitTime;
+        private final long stabilityWaitTime;
+
+        private StepProfile(AbstractOperationContext.OperationId operationId, OperationContext.Stage stage, long wallTime, long cpuTime,
+                            long allocatedBytes, long lockWaitTime, long stabilityWaitTime) {
+            this.operationId = operationId;
+            this.stage = stage;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+            this.lockWaitTime = lockWaitTime;
+            this.stabilityWaitTime = stabilityWaitTime;
+        }
+
+        private ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            if (operationId.name != null) {
+                result.get(OP).set(operationId.name);
+            }
+            result.get(OP_ADDR).set(operationId.address.toModelNode());
+            result.get(STAGE).set(stage.toString());
+            result.get(WALL_TIME).set(wallTime);
+            setIfMeasured(result.get(CPU_TIME), cpuTime);
+            setIfMeasured(result.get(ALLOCATED_BYTES), allocatedBytes);
+            result.get(LOCK_WAIT_TIME).set(lockWaitTime);
+            result.get(STABILITY_WAIT_TIME).set(stabilityWaitTime);
+            return result;
+        }
+    }
+
+    /**
+     * Aggregated profiles of all the profiled executions of operations with the same name. Thread safe.
+     */
+    static final class Statistics {
+        private long invocationCount;
+        private long wallTime;
+        private long maxWallTime;
+        private long cpuTime;
+        private long allocatedBytes;
+        private long lockWaitTime;
+        private long stabilityWaitTime;
+
+        synchronized void record(final OperationProfile profile) {
+            final long wall = profile.getWallTime();
+            invocationCount++;
+            wallTime += wall;
+            maxWallTime = Math.max(maxWallTime, wall);
+            cpuTime += Math.max(0, profile.getCpuTime());
+            allocatedBytes += Math.max(0, profile.getAllocatedBytes());
+            lockWaitTime += profile.getLockWaitTime();
+            stabilityWaitTime += profile.getStabilityWaitTime();
+        }
+
+        synchronized ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            result.get(INVOCATION_COUNT).set(invocationCount);
+            result.get(WALL_TIME).set(wallTime);
+            result.get(MAX_WALL_TIME).set(maxWallTime);
+            result.get(CPU_TIME).set(cpuTime);
+            result.get(ALLOCATED_BYTES).set(allocatedBytes);
+            result.get(LOCK_WAIT_TIME).set(lockWaitTime);
+            result.get(STABILITY_WAIT_TIME).set(stabilityWaitTime);
+            return result;
+        }
+    }
+}
@@ -48,6 +48,7 @@ public class ModelDescriptionConstants {
     public static final String ADMIN_ONLY_POLICY = "admin-only-policy";
     public static final String ADVANCED_FILTER = "advanced-filter";
     public static final String ALIAS = "alias";
+    public static final String ALLOCATED_BYTES = "allocated-bytes";
     public static final String ALLOWED = "allowed";
     public static final String ALLOW_EMPTY_PASSWORDS = "allow-empty-passwords";
     public static final String ALLOW_RESOURCE_SERVICE_RESTART = "allow-resource-service-restart";
@@ -115,6 +116,7 @@ public class ModelDescriptionConstants {
     public static final String CORE = "core";
     public static final String CORE_SERVICE = "core-service";
     public static final String CPU_AFFINITY = "cpu-affinity";
+    public static final String CPU_TIME = "cpu-time";
     public static final String CRITERIA = "criteria";
     public static final String CUSTOM_DISCOVERY = "custom-discovery";
     public static final String DATE_FORMAT = "date-format";
@@ -244,6 +246,7 @@ public class ModelDescriptionConstants {
     public static final String INITIAL_SERVER_GROUPS = "initial-server-groups";
     public static final String INPUT_STREAM_INDEX = "input-stream-index";
     public static final String INTERFACE = "interface";
+    public static final String INVOCATION_COUNT = "invocation-count";
     public static final String ITERATIVE = "iterative";
     public static final String JSON_FORMATTER = "json-formatter";
     public static final String JVM = "jvm";
@@ -260,6 +263,7 @@ public class ModelDescriptionConstants {
     public static final String LOCAL_DESTINATION_OUTBOUND_SOCKET_BINDING = "local-destination-outbound-socket-binding";
     public static final String LOCAL_HOST_NAME = "local-host-name";
     public static final String LOCALE = "locale";
+    public static final String LOCK_WAIT_TIME = "lock-wait-time";
     public static final String LOGGER = "logger";
     public static final String LOG_BOOT = "log-boot";
     public static final String LOG_READ_ONLY = "log-read-only";
@@ -285,6 +289,7 @@ public class ModelDescriptionConstants {
     public static final String MAX_LENGTH = "max-length";
     public static final String MAX_OCCURS = "max-occurs";
     public static final String MAX_THREADS = "max-threads";
+    public static final String MAX_WALL_TIME = "max-wall-time";
     public static final String MESSAGE_TRANSFER = "message-transfer";
     public static final String MIME_TYPE = "mime-type";
     public static final String MIN = "min";
@@ -309,6 +314,9 @@ public class ModelDescriptionConstants {
     public static final String NO_SERVICES = "no-services";
     public static final String NOT = "not";
     public static final String NOTIFICATION = "notification";
+    public static final String NOTIFICATION_BACKLOG = "notification-backlog";
+    public static final String NOTIFICATION_BACKLOG_PEAK = "notification-backlog-peak";
+    public static final String NOTIFICATIONS_COALESCED = "notifications-coalesced";
     public static final String NOTIFICATION_DATA_TYPE = "data-type";
     public static final String NOTIFICATION_TYPE = "notification-type";
     public static final String NOTIFICATIONS = "notifications";
@@ -321,6 +329,7 @@ public class ModelDescriptionConstants {
     public static final String OPERATION_HEADERS = "operation-headers";
     public static final String OPERATION_NAME = "operation-name";
     public static final String OPERATIONS = "operations";
+    public static final String OPERATION_PROFILE = "operation-profile";
     public static final String OPTIONS = "options";
     public static final String OPERATOR = "operator";
     public static final String OUTBOUND_CONNECTION = "outbound-connection";
@@ -482,6 +491,8 @@ public class ModelDescriptionConstants {
     public static final String SOURCE_INTERFACE = "source-interface";
     public static final String SOURCE_PORT = "source-port";
     public static final String SSL = "ssl";
+    public static final String STABILITY_WAIT_TIME = "stability-wait-time";
+    public static final String STAGE = "stage";
     public static final String STANDARD_ROLE_NAMES = "standard-role-names";
     public static final String START = "start";
     public static final String START_SERVERS = "start-servers";
@@ -556,6 +567,7 @@ public class ModelDescriptionConstants {
     public static final String VAULT_EXPRESSION = "vault-expression";
     public static final String VAULT_OPTION = "vault-option";
     public static final String VAULT_OPTIONS = "vault-options";
+    public static final String WALL_TIME = "wall-time";
     public static final String WEB_URL = "web-url";
     public static final String WHERE = "where";
     public static final String WILDCARD = "wildcard";
@@ -1061,6 +1061,11 @@ public class ExtensionRegistry {
         public Set<RuntimeCapability> getIncorporatingCapabilities() {
             return deployments.getIncorporatingCapabilities();
         }
+
+        @Override
+        public long getModificationCount() {
+            return deployments.getModificationCount();
+        }
     }
 
     private static final JmxAuthorizer NO_OP_AUTHORIZER = new JmxAuthorizer() {
@@ -84,7 +84,7 @@ public class LoopbackAddressInterfaceCriteria extends AbstractInterfaceCriteria
     protected InetAddress isAcceptable(NetworkInterface networkInterface, InetAddress address) throws SocketException {
 
         try {
-            if( networkInterface.isLoopback() ) {
+            if( NetworkInterfaceSnapshot.isLoopback(networkInterface) ) {
                 return getAddress();
             }
         } catch (UnknownHostException e) {
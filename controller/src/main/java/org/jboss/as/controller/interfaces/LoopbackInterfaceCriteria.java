@@ -52,7 +52,7 @@ public class LoopbackInterfaceCriteria extends AbstractInterfaceCriteria {
     @Override
     protected InetAddress isAcceptable(NetworkInterface networkInterface, InetAddress address) throws SocketException {
 
-        if( networkInterface.isLoopback() )
+        if( NetworkInterfaceSnapshot.isLoopback(networkInterface) )
             return address;
         return null;
     }
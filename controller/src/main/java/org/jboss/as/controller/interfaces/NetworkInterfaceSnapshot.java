@@ -0,0 +1,273 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.interfaces;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the network interfaces of the system and of their addresses, taken once and shared by all the
+ * resolutions of interface criteria performed while the process boots, so a host with many network interfaces is
+ * only enumerated once rather than once per configured interface.
+ * <p>
+ * The flags of an interface that the criteria test, e.g. whether it is up or supports multicast, are each read from
+ * the system at most once per snapshot, and the result of resolving a given {@link OverallInterfaceCriteria} is
+ * memoized. The controllers call {@link #bootStarting()} and {@link #bootCompleted()} around each boot, including on
+ * reload; outside of a boot every resolution takes a new snapshot, so it sees the current state of the system.
+ */
+public final class NetworkInterfaceSnapshot {
+
+    private static volatile NetworkInterfaceSnapshot bootSnapshot;
+    /** Whether the process is booting, guarded by the class lock */
+    private static boolean booting;
+
+    /** All the interfaces, including the sub-interfaces, and their addresses */
+    private final Map<NetworkInterface, Set<InetAddress>> candidates;
+    /** The top level interfaces */
+    private final List<NetworkInterface> networkInterfaces;
+    /** The instances of all the interfaces of this snapshot, as those of another enumeration are equal to them */
+    private final Set<NetworkInterface> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** Flags read so far, by identity of the interface instances of this snapshot */
+    private final Map<NetworkInterface, Flags> flags = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<ResolutionKey, Map<NetworkInterface, Set<InetAddress>>> resolved = new ConcurrentHashMap<>();
+
+    private NetworkInterfaceSnapshot(Map<NetworkInterface, Set<InetAddress>> candidates, List<NetworkInterface> networkInterfaces) {
+        this.candidates = candidates;
+        this.networkInterfaces = networkInterfaces;
+        this.instances.addAll(candidates.keySet());
+    }
+
+    /**
+     * Gets the snapshot to resolve interface criteria against: the one shared while the process boots, taking it if
+     * needed, or a new one if the process is not booting.
+     *
+     * @return the snapshot. Will not be {@code null}
+     * @throws SocketException if the network interfaces cannot be enumerated
+     */
+    public static NetworkInterfaceSnapshot getSnapshot() throws SocketException {
+        NetworkInterfaceSnapshot snapshot = bootSnapshot;
+        if (snapshot == null) {
+            synchronized (NetworkInterfaceSnapshot.class) {
+                if (!booting) {
+                    return create();
+                }
+                snapshot = bootSnapshot;
+                if (snapshot == null) {
+                    snapshot = bootSnapshot = create();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records that the process starts booting, so the resolutions performed until {@link #bootCompleted()} share a
+     * snapshot, taken again as the network interfaces may have changed since the last boot.
+     */
+    public static synchronized void bootStarting() {
+        booting = true;
+        bootSnapshot = null;
+    }
+
+    /**
+     * Records that the process completed booting, successfully or not, and discards the shared snapshot.
+     */
+    public static synchronized void bootCompleted() {
+        booting = false;
+        bootSnapshot = null;
+    }
+
+    /**
+     * Takes a new snapshot, not shared with anything else.
+     *
+     * @return the snapshot. Will not be {@code null}
+     * @throws SocketException if the network interfaces cannot be enumerated
+     */
+    public static NetworkInterfaceSnapshot create() throws SocketException {
+        final Map<NetworkInterface, Set<InetAddress>> candidates = new LinkedHashMap<>();
+        final List<NetworkInterface> networkInterfaces = new ArrayList<>();
+        final Enumeration<NetworkInterface> e = NetworkInterface.getNetworkInterfaces();
+        if (e != null) {
+            while (e.hasMoreElements()) {
+                final NetworkInterface networkInterface = e.nextElement();
+                networkInterfaces.add(networkInterface);
+                storeAddresses(networkInterface, candidates);
+            }
+        }
+        return new NetworkInterfaceSnapshot(Collections.unmodifiableMap(candidates), Collections.unmodifiableList(networkInterfaces));
+    }
+
+    private static void storeAddresses(final NetworkInterface networkInterface, final Map<NetworkInterface, Set<InetAddress>> candidates) {
+        final Set<InetAddress> addresses = new LinkedHashSet<>();
+        final Enumeration<InetAddress> interfaceAddresses = networkInterface.getInetAddresses();
+        while (interfaceAddresses.hasMoreElements()) {
+            addresses.add(interfaceAddresses.nextElement());
+        }
+        candidates.put(networkInterface, Collections.unmodifiableSet(addresses));
+        final Enumeration<NetworkInterface> subInterfaces = networkInterface.getSubInterfaces();
+        while (subInterfaces.hasMoreElements()) {
+            storeAddresses(subInterfaces.nextElement(), candidates);
+        }
+    }
+
+    /**
+     * @return all the network interfaces, including the sub-interfaces, mapped to their addresses. The map cannot
+     * be modified
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return the top level network interfaces
+     */
+    public Collection<NetworkInterface> getNetworkInterfaces() {
+        return networkInterfaces;
+    }
+
+    /**
+     * Gets the interfaces and addresses of this snapshot acceptable to the given criteria, resolving them only the
+     * first time a given criteria is passed.
+     *
+     * @param criteria the criteria
+     * @return a copy of the acceptable interfaces and addresses
+     * @throws SocketException if reading the state of an interface fails
+     */
+    public Map<NetworkInterface, Set<InetAddress>> getAcceptableAddresses(OverallInterfaceCriteria criteria) throws SocketException {
+        final ResolutionKey key = new ResolutionKey(criteria);
+        Map<NetworkInterface, Set<InetAddress>> result = resolved.get(key);
+        if (result == null) {
+            result = criteria.getAcceptableAddresses(candidates);
+            resolved.put(key, result);
+        }
+        return AbstractInterfaceCriteria.cloneCandidates(result);
+    }
+
+    /**
+     * Gets whether a network interface is up, reading it from the shared snapshot if the interface belongs to it.
+     *
+     * @see NetworkInterface#isUp()
+     */
+    static boolean isUp(NetworkInterface networkInterface) throws SocketException {
+        final Flags flags = getFlags(networkInterface);
+        return flags == null ? networkInterface.isUp() : flags.up;
+    }
+
+    /**
+     * @see NetworkInterface#isLoopback()
+     * @see #isUp(NetworkInterface)
+     */
+    static boolean isLoopback(NetworkInterface networkInterface) throws SocketException {
+        final Flags flags = getFlags(networkInterface);
+        return flags == null ? networkInterface.isLoopback() : flags.loopback;
+    }
+
+    /**
+     * @see NetworkInterface#isPointToPoint()
+     * @see #isUp(NetworkInterface)
+     */
+    static boolean isPointToPoint(NetworkInterface networkInterface) throws SocketException {
+        final Flags flags = getFlags(networkInterface);
+        return flags == null ? networkInterface.isPointToPoint() : flags.pointToPoint;
+    }
+
+    /**
+     * @see NetworkInterface#supportsMulticast()
+     * @see #isUp(NetworkInterface)
+     */
+    static boolean supportsMulticast(NetworkInterface networkInterface) throws SocketException {
+        final Flags flags = getFlags(networkInterface);
+        return flags == null ? networkInterface.supportsMulticast() : flags.multicast;
+    }
+
+    /**
+     * @return the flags of the interface, or {@code null} if it is not part of the shared snapshot
+     */
+    private static Flags getFlags(NetworkInterface networkInterface) throws SocketException {
+        final NetworkInterfaceSnapshot snapshot = bootSnapshot;
+        if (snapshot == null || !snapshot.instances.contains(networkInterface)) {
+            return null;
+        }
+        Flags flags = snapshot.flags.get(networkInterface);
+        if (flags == null) {
+            flags = new Flags(networkInterface);
+            snapshot.flags.put(networkInterface, flags);
+        }
+        return flags;
+    }
+
+    private static final class Flags {
+        private final boolean up;
+        private final boolean loopback;
+        private final boolean pointToPoint;
+        private final boolean multicast;
+
+        private Flags(NetworkInterface networkInterface) throws SocketException {
+            this.up = networkInterface.isUp();
+            this.loopback = networkInterface.isLoopback();
+            this.pointToPoint = networkInterface.isPointToPoint();
+            this.multicast = networkInterface.supportsMulticast();
+        }
+    }
+
+    /** The inputs of a resolution: the criteria, and the interface name used to report ambiguous matches */
+    private static final class ResolutionKey {
+        private final String interfaceName;
+        private final Set<InterfaceCriteria> criteria;
+
+        private ResolutionKey(OverallInterfaceCriteria criteria) {
+            this.interfaceName = criteria.getInterfaceName();
+            this.criteria = criteria.getCriteria();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResolutionKey)) {
+                return false;
+            }
+            final ResolutionKey other = (ResolutionKey) o;
+            return (interfaceName == null ? other.interfaceName == null : interfaceName.equals(other.interfaceName))
+                    && criteria.equals(other.criteria);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (interfaceName == null ? 0 : interfaceName.hashCode()) + criteria.hashCode();
+        }
+    }
+}
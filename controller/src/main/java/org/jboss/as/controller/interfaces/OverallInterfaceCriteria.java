@@ -57,6 +57,20 @@ public final class OverallInterfaceCriteria implements InterfaceCriteria {
         this.interfaceCriteria = criteria;
     }
 
+    /**
+     * @return the name of the interface being resolved, or {@code null} if the resolution is only a query
+     */
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    /**
+     * @return the criteria that must all be met
+     */
+    public Set<InterfaceCriteria> getCriteria() {
+        return interfaceCriteria;
+    }
+
     @Override
     public Map<NetworkInterface, Set<InetAddress>> getAcceptableAddresses(Map<NetworkInterface, Set<InetAddress>> candidates) throws SocketException {
 
@@ -169,7 +183,7 @@ public final class OverallInterfaceCriteria implements InterfaceCriteria {
         if (acceptable.size() > 1) {
             Map<NetworkInterface, Set<InetAddress>> preferred = new HashMap<NetworkInterface, Set<InetAddress>>();
             for (NetworkInterface ni : acceptable.keySet()) {
-                if (ni.isUp()) {
+                if (NetworkInterfaceSnapshot.isUp(ni)) {
                     preferred.put(ni, acceptable.get(ni));
                 }
             }
@@ -180,7 +194,7 @@ public final class OverallInterfaceCriteria implements InterfaceCriteria {
         if (acceptable.size() > 1) {
             Map<NetworkInterface, Set<InetAddress>> preferred = new HashMap<NetworkInterface, Set<InetAddress>>();
             for (NetworkInterface ni : acceptable.keySet()) {
-                if (!ni.isLoopback()) {
+                if (!NetworkInterfaceSnapshot.isLoopback(ni)) {
                     preferred.put(ni, acceptable.get(ni));
                 }
             }
@@ -191,7 +205,7 @@ public final class OverallInterfaceCriteria implements InterfaceCriteria {
         if (acceptable.size() > 1) {
             Map<NetworkInterface, Set<InetAddress>> preferred = new HashMap<NetworkInterface, Set<InetAddress>>();
             for (NetworkInterface ni : acceptable.keySet()) {
-                if (!ni.isPointToPoint()) {
+                if (!NetworkInterfaceSnapshot.isPointToPoint(ni)) {
                     preferred.put(ni, acceptable.get(ni));
                 }
             }
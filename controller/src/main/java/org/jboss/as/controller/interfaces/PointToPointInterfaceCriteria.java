@@ -53,7 +53,7 @@ public class PointToPointInterfaceCriteria extends AbstractInterfaceCriteria {
     @Override
     protected InetAddress isAcceptable(NetworkInterface networkInterface, InetAddress address) throws SocketException {
 
-        if( networkInterface.isPointToPoint() )
+        if( NetworkInterfaceSnapshot.isPointToPoint(networkInterface) )
             return address;
         return null;
     }
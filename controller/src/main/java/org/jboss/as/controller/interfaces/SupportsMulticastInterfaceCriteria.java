@@ -53,7 +53,7 @@ public class SupportsMulticastInterfaceCriteria extends AbstractInterfaceCriteri
     @Override
     protected InetAddress isAcceptable(NetworkInterface networkInterface, InetAddress address) throws SocketException {
 
-        if( networkInterface.supportsMulticast() )
+        if( NetworkInterfaceSnapshot.supportsMulticast(networkInterface) )
             return address;
         return null;
     }
@@ -53,7 +53,7 @@ public class UpInterfaceCriteria extends AbstractInterfaceCriteria {
     @Override
     protected InetAddress isAcceptable(NetworkInterface networkInterface, InetAddress address) throws SocketException {
 
-        if( networkInterface.isUp() )
+        if( NetworkInterfaceSnapshot.isUp(networkInterface) )
             return address;
         return null;
     }
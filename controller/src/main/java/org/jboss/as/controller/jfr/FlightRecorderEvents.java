@@ -0,0 +1,271 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.Threshold;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The JFR events and recording behind {@link ManagementEvents}. This class must only be loaded if JFR is present.
+ */
+final class FlightRecorderEvents {
+
+    private static final String RECORDING_NAME = "management";
+
+    private static final List<Class<? extends Event>> EVENT_TYPES = Arrays.asList(OperationEvent.class, StageEvent.class,
+            LockWaitEvent.class, PersistenceCommitEvent.class, DeploymentPhaseEvent.class);
+
+    /** The last recording started by {@link #startRecording}, guarded by the class monitor */
+    private static Recording recording;
+
+    private FlightRecorderEvents() {
+    }
+
+    static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    static Object beginOperation() {
+        return EventTypes.OPERATION.isEnabled() ? begin(new OperationEvent()) : null;
+    }
+
+    static void endOperation(Object handle, String name, ModelNode address, String outcome) {
+        final OperationEvent event = (OperationEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = name;
+            event.address = toString(address);
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    static Object beginStage() {
+        return EventTypes.STAGE.isEnabled() ? begin(new StageEvent()) : null;
+    }
+
+    static void endStage(Object handle, OperationContext.Stage stage, String name, PathAddress address) {
+        final StageEvent event = (StageEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage.toString();
+            event.operation = name;
+            event.address = address == null ? null : address.toCLIStyleString();
+            event.commit();
+        }
+    }
+
+    static Object beginLockWait() {
+        return EventTypes.LOCK_WAIT.isEnabled() ? begin(new LockWaitEvent()) : null;
+    }
+
+    static void endLockWait(Object handle, boolean exclusive, boolean acquired) {
+        final LockWaitEvent event = (LockWaitEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.exclusive = exclusive;
+            event.acquired = acquired;
+            event.commit();
+        }
+    }
+
+    static Object beginPersistenceCommit() {
+        return EventTypes.PERSISTENCE_COMMIT.isEnabled() ? begin(new PersistenceCommitEvent()) : null;
+    }
+
+    static void endPersistenceCommit(Object handle) {
+        final PersistenceCommitEvent event = (PersistenceCommitEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    static Object beginDeploymentPhase() {
+        return EventTypes.DEPLOYMENT_PHASE.isEnabled() ? begin(new DeploymentPhaseEvent()) : null;
+    }
+
+    static void endDeploymentPhase(Object handle, String deployment, String phase) {
+        final DeploymentPhaseEvent event = (DeploymentPhaseEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.deployment = deployment;
+            event.phase = phase;
+            event.commit();
+        }
+    }
+
+    static synchronized boolean startRecording(String configuration, long thresholdMillis, long maxAgeMillis, long maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return false;
+        }
+        final Recording newRecording;
+        if (configuration == null) {
+            newRecording = new Recording();
+        } else {
+            try {
+                newRecording = new Recording(Configuration.getConfiguration(configuration));
+            } catch (IOException | ParseException e) {
+                throw new IllegalArgumentException(configuration, e);
+            }
+        }
+        newRecording.setName(RECORDING_NAME);
+        final Duration threshold = Duration.ofMillis(thresholdMillis);
+        for (Class<? extends Event> type : EVENT_TYPES) {
+            FlightRecorder.register(type);
+            newRecording.enable(type).withThreshold(threshold);
+        }
+        if (maxAgeMillis > 0) {
+            newRecording.setMaxAge(Duration.ofMillis(maxAgeMillis));
+        }
+        if (maxSize > 0) {
+            newRecording.setMaxSize(maxSize);
+        }
+        newRecording.start();
+        if (recording != null) {
+            recording.close();
+        }
+        recording = newRecording;
+        return true;
+    }
+
+    static synchronized boolean stopRecording() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return false;
+        }
+        recording.stop();
+        return true;
+    }
+
+    static synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    static synchronized boolean dumpRecording(Path path) throws IOException {
+        if (recording == null) {
+            return false;
+        }
+        recording.dump(path);
+        return true;
+    }
+
+    private static Object begin(Event event) {
+        event.begin();
+        return event;
+    }
+
+    private static String toString(ModelNode address) {
+        try {
+            return PathAddress.pathAddress(address).toCLIStyleString();
+        } catch (IllegalArgumentException e) {
+            return address.asString();
+        }
+    }
+
+    /**
+     * The types of the events, checked before an event is created so nothing is allocated for an event that is not
+     * recorded. Only loaded once an event is begun.
+     */
+    private static final class EventTypes {
+        private static final EventType OPERATION = EventType.getEventType(OperationEvent.class);
+        private static final EventType STAGE = EventType.getEventType(StageEvent.class);
+        private static final EventType LOCK_WAIT = EventType.getEventType(LockWaitEvent.class);
+        private static final EventType PERSISTENCE_COMMIT = EventType.getEventType(PersistenceCommitEvent.class);
+        private static final EventType DEPLOYMENT_PHASE = EventType.getEventType(DeploymentPhaseEvent.class);
+    }
+
+    @Name("org.jboss.as.controller.Operation")
+    @Label("Management Operation")
+    @Category({"WildFly", "Management"})
+    @Description("Execution of a management operation, including the wait for the controller lock")
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Address")
+        String address;
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("org.jboss.as.controller.Stage")
+    @Label("Management Operation Stage")
+    @Category({"WildFly", "Management"})
+    @Description("Execution of the steps of one stage of a management operation")
+    static final class StageEvent extends Event {
+        @Label("Stage")
+        String stage;
+        @Label("Operation")
+        String operation;
+        @Label("Address")
+        String address;
+    }
+
+    @Name("org.jboss.as.controller.LockWait")
+    @Label("Controller Lock Wait")
+    @Category({"WildFly", "Management"})
+    @Description("Wait to acquire the management controller lock")
+    @Threshold("1 ms")
+    static final class LockWaitEvent extends Event {
+        @Label("Exclusive")
+        boolean exclusive;
+        @Label("Acquired")
+        boolean acquired;
+    }
+
+    @Name("org.jboss.as.controller.PersistenceCommit")
+    @Label("Configuration Persistence")
+    @Category({"WildFly", "Management"})
+    @Description("Commit of a configuration change to the persistent configuration")
+    static final class PersistenceCommitEvent extends Event {
+    }
+
+    @Name("org.jboss.as.controller.DeploymentPhase")
+    @Label("Deployment Phase")
+    @Category({"WildFly", "Deployment"})
+    @Description("Processing of one phase of a deployment unit")
+    static final class DeploymentPhaseEvent extends Event {
+        @Label("Deployment")
+        String deployment;
+        @Label("Phase")
+        String phase;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Emits Java Flight Recorder events for the execution of management operations and deployments, and controls a
+ * flight recording of those events.
+ * <p>
+ * JFR is only present on recent Java runtimes, so the events are defined in a separate class which is only loaded if
+ * it is present. Otherwise every {@code begin} method returns {@code null}, every {@code end} method does nothing and
+ * recordings cannot be started.
+ * <p>
+ * Each {@code begin} method returns an opaque handle, {@code null} if the event is not being recorded, which must be
+ * passed to the matching {@code end} method once the timed work completes. An event that is begun but not ended is
+ * simply not recorded.
+ */
+public final class ManagementEvents {
+
+    private static final boolean PRESENT = isPresent();
+
+    private ManagementEvents() {
+    }
+
+    private static boolean isPresent() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, ManagementEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets whether flight recordings can be made in this process.
+     *
+     * @return {@code true} if JFR is present in the Java runtime and available for use
+     */
+    public static boolean isAvailable() {
+        return PRESENT && FlightRecorderEvents.isAvailable();
+    }
+
+    /** Begins timing the execution of a management operation, including waiting for the controller lock. */
+    public static Object beginOperation() {
+        return PRESENT ? FlightRecorderEvents.beginOperation() : null;
+    }
+
+    /**
+     * Ends timing the execution of a management operation.
+     *
+     * @param event the handle returned by {@link #beginOperation()}. May be {@code null}
+     * @param name the name of the operation
+     * @param address the address of the operation
+     * @param outcome the outcome of the operation
+     */
+    public static void endOperation(Object event, String name, ModelNode address, String outcome) {
+        if (event != null) {
+            FlightRecorderEvents.endOperation(event, name, address, outcome);
+        }
+    }
+
+    /** Begins timing one of the stages of the execution of an operation. */
+    public static Object beginStage() {
+        return PRESENT ? FlightRecorderEvents.beginStage() : null;
+    }
+
+    /**
+     * Ends timing one of the stages of the execution of an operation.
+     *
+     * @param event the handle returned by {@link #beginStage()}. May be {@code null}
+     * @param stage the stage
+     * @param name the name of the operation, {@code null} if no step of the operation has run yet
+     * @param address the address of the operation, {@code null} if no step of the operation has run yet
+     */
+    public static void endStage(Object event, OperationContext.Stage stage, String name, PathAddress address) {
+        if (event != null) {
+            FlightRecorderEvents.endStage(event, stage, name, address);
+        }
+    }
+
+    /** Begins timing the wait to acquire the controller lock. */
+    public static Object beginLockWait() {
+        return PRESENT ? FlightRecorderEvents.beginLockWait() : null;
+    }
+
+    /**
+     * Ends timing the wait to acquire the controller lock.
+     *
+     * @param event the handle returned by {@link #beginLockWait()}. May be {@code null}
+     * @param exclusive {@code true} if the lock was requested in exclusive mode, {@code false} if in shared mode
+     * @param acquired {@code true} if the lock was acquired, {@code false} if the wait timed out
+     */
+    public static void endLockWait(Object event, boolean exclusive, boolean acquired) {
+        if (event != null) {
+            FlightRecorderEvents.endLockWait(event, exclusive, acquired);
+        }
+    }
+
+    /** Begins timing the commit of a configuration change to the persistent configuration. */
+    public static Object beginPersistenceCommit() {
+        return PRESENT ? FlightRecorderEvents.beginPersistenceCommit() : null;
+    }
+
+    /**
+     * Ends timing the commit of a configuration change to the persistent configuration.
+     *
+     * @param event the handle returned by {@link #beginPersistenceCommit()}. May be {@code null}
+     */
+    public static void endPersistenceCommit(Object event) {
+        if (event != null) {
+            FlightRecorderEvents.endPersistenceCommit(event);
+        }
+    }
+
+    /** Begins timing the processing of one phase of a deployment. */
+    public static Object beginDeploymentPhase() {
+        return PRESENT ? FlightRecorderEvents.beginDeploymentPhase() : null;
+    }
+
+    /**
+     * Ends timing the processing of one phase of a deployment.
+     *
+     * @param event the handle returned by {@link #beginDeploymentPhase()}. May be {@code null}
+     * @param deployment the name of the deployment unit
+     * @param phase the name of the phase
+     */
+    public static void endDeploymentPhase(Object event, String deployment, String phase) {
+        if (event != null) {
+            FlightRecorderEvents.endDeploymentPhase(event, deployment, phase);
+        }
+    }
+
+    /**
+     * Starts a flight recording of the management events. Only one such recording exists at a time, any previous one
+     * is discarded.
+     *
+     * @param configuration the name of a predefined JFR configuration, such as {@code default} or {@code profile},
+     *                      whose events are also recorded. {@code null} to only record the management events
+     * @param thresholdMillis the minimum duration of the management events to record, in milliseconds
+     * @param maxAgeMillis the maximum age of the recorded data to keep, in milliseconds. {@code 0} for no limit
+     * @param maxSize the maximum size of the recorded data to keep, in bytes. {@code 0} for no limit
+     * @return {@code false} if a recording is already running, in which case nothing is done
+     * @throws IllegalStateException if flight recordings cannot be made in this process
+     * @throws IllegalArgumentException if {@code configuration} is not a known configuration
+     */
+    public static boolean startRecording(String configuration, long thresholdMillis, long maxAgeMillis, long maxSize) {
+        if (!isAvailable()) {
+            throw new IllegalStateException();
+        }
+        return FlightRecorderEvents.startRecording(configuration, thresholdMillis, maxAgeMillis, maxSize);
+    }
+
+    /**
+     * Stops the flight recording of the management events. The recorded data is kept until the next recording is
+     * started, so it can still be dumped.
+     *
+     * @return {@code false} if no recording was running
+     */
+    public static boolean stopRecording() {
+        return PRESENT && FlightRecorderEvents.stopRecording();
+    }
+
+    /**
+     * Gets whether a flight recording of the management events is running.
+     *
+     * @return {@code true} if a recording was started and not stopped yet
+     */
+    public static boolean isRecording() {
+        return PRESENT && FlightRecorderEvents.isRecording();
+    }
+
+    /**
+     * Writes the data of the running, or last stopped, flight recording of the management events to a file.
+     *
+     * @param path the file to write to
+     * @return {@code false} if there is no recording to write
+     * @throws IOException if writing fails
+     */
+    public static boolean dumpRecording(Path path) throws IOException {
+        return PRESENT && FlightRecorderEvents.dumpRecording(path);
+    }
+}
@@ -25,6 +25,7 @@ package org.jboss.as.controller.notification;
 import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The NotificationSupport can be used to emit notifications.
@@ -45,13 +46,49 @@ public interface NotificationSupport {
      */
     void emit(final Notification... notifications);
 
+    /**
+     * Get the number of notification deliveries that are pending, i.e. notifications that have been emitted but not yet
+     * passed to every handler they are to be delivered to.
+     *
+     * @return the current backlog. Always {@code 0} if notifications are delivered synchronously
+     */
+    default long getBacklog() {
+        return 0;
+    }
+
+    /**
+     * Get the highest {@link #getBacklog() backlog} seen so far.
+     *
+     * @return the peak backlog. Always {@code 0} if notifications are delivered synchronously
+     */
+    default long getPeakBacklog() {
+        return 0;
+    }
+
+    /**
+     * Get the number of notification deliveries that were skipped because an identical notification was still
+     * waiting to be delivered to the same handler.
+     *
+     * @return the number of coalesced deliveries. Always {@code 0} if coalescing is not enabled
+     */
+    default long getCoalescedCount() {
+        return 0;
+    }
+
     class Factory {
+        private static final String COALESCE_PROPERTY = "jboss.as.management.notification.coalesce";
+
         private Factory() {
         }
 
         /**
          * If the {@code executorService} parameter is null, the notifications will be emitted synchronously
          * and may be subject to handlers blocking the execution.
+         * <p>
+         * Otherwise the notifications are delivered by tasks run by the executor, with each handler receiving its
+         * notifications in the order they were emitted but independently of the other handlers. If the
+         * {@code jboss.as.management.notification.coalesce} system property is {@code true}, a notification
+         * identical to one that is still waiting to be delivered to a handler is not delivered to that handler again.
          *
          * @param executorService can be {@code null}.
          */
@@ -60,7 +97,8 @@ public interface NotificationSupport {
             if (executorService == null) {
                 return new NotificationSupports.BlockingNotificationSupport(registry);
             } else {
-                return new NotificationSupports.NonBlockingNotificationSupport(registry, executorService);
+                boolean coalesce = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(COALESCE_PROPERTY, "false"));
+                return new NotificationSupports.NonBlockingNotificationSupport(registry, executorService, coalesce);
             }
         }
     }
@@ -22,12 +22,20 @@
 
 package org.jboss.as.controller.notification;
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
@@ -38,8 +46,9 @@ import org.jboss.as.controller.registry.NotificationHandlerRegistration;
  * The {@code BlockingNotificationSupport} will fire the notifications and deliver them to the handlers on the current thread.
  * Its {@code emit()} method will return after the notifications have all been delivered (and blocks the code execution until it is done).
  *
- * The {@code NonBlockingNotificationSupport} will fire the notifications in a separate thread (provided by its {@code
- *  executorService}.
+ * The {@code NonBlockingNotificationSupport} will fire the notifications in separate threads (provided by its {@code
+ *  executorService}), delivering to different handlers in parallel while each handler still receives the notifications
+ *  in the order they were emitted.
  * Its {@code emit()} method will return immediately and will not block the code execution.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2014 Red Hat inc.
@@ -69,54 +78,206 @@ class NotificationSupports {
 
         private final NotificationHandlerRegistration registry;
         private final ExecutorService executor;
+        private final boolean coalesce;
 
         /**
          * Use a concurrent queue to put the notifications in it when {@code emit()} is called.
-         * The queue will be drained in a separate thread and the notifications effectively delivered to the handlers.
+         * The queue will be drained in a separate thread and each notification passed on to the queues of
+         * the handlers it is to be delivered to.
          *
-         * This ensures that the notifications will be delivered in the same order they were emitted.
+         * This ensures that each handler receives the notifications in the same order they were emitted.
          */
         private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
 
         /**
-         * use the lock's exclusive writeLock to ensure only one thread can drain the queue at a given time.
+         * {@code true} while a task draining the {@code queue} is scheduled or running, to ensure only one thread
+         * drains the queue at a given time.
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        /**
+         * The queues of the notifications waiting to be delivered to each handler. Each handler queue is drained by
+         * its own task, so a slow handler does not hold up the others. Only accessed by the task draining the {@code queue}.
+         */
+        private final Map<NotificationHandler, HandlerQueue> handlerQueues = new HashMap<>();
+
+        private final AtomicLong backlog = new AtomicLong();
+        private final AtomicLong peakBacklog = new AtomicLong();
+        private final LongAdder coalesced = new LongAdder();
+
+        private final Runnable dispatchTask = new Runnable() {
+            @Override
+            public void run() {
+                do {
+                    Notification notification;
+                    while ((notification = queue.poll()) != null) {
+                        dispatch(notification);
+                    }
+                    removeIdleHandlerQueues();
+                    dispatching.set(false);
+                    // a notification may have been queued after the last poll but before the flag was reset
+                } while (!queue.isEmpty() && dispatching.compareAndSet(false, true));
+            }
+        };
 
         public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor) {
+            this(registry, executor, false);
+        }
+
+        NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor, boolean coalesce) {
             this.registry = registry;
             this.executor = executor;
+            this.coalesce = coalesce;
         }
 
         @Override
-        public synchronized void emit(Notification... notifications) {
-            queue.addAll(Arrays.asList(notifications));
+        public void emit(Notification... notifications) {
+            if (notifications.length == 0) {
+                return;
+            }
+            Collections.addAll(queue, notifications);
+            adjustBacklog(notifications.length);
 
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    lock.writeLock().lock();
-                    try {
-                        while (true) {
-                            Notification notification = queue.poll();
-                            if (notification == null) {
-                                break;
-                            }
-                            fireNotifications(registry, notification);
-                        }
-                    } finally {
-                        lock.writeLock().unlock();
-                    }
+            if (dispatching.compareAndSet(false, true)) {
+                try {
+                    executor.execute(dispatchTask);
+                } catch (RuntimeException e) {
+                    dispatching.set(false);
+                    throw e;
                 }
-            });
+            }
         }
 
         @Override
         public NotificationHandlerRegistration getNotificationRegistry() {
             return registry;
         }
+
+        @Override
+        public long getBacklog() {
+            return backlog.get();
+        }
+
+        @Override
+        public long getPeakBacklog() {
+            return peakBacklog.get();
+        }
+
+        @Override
+        public long getCoalescedCount() {
+            return coalesced.sum();
+        }
+
+        private void dispatch(Notification notification) {
+            int queued = 0;
+            try {
+                // each notification may have a different subset of handlers depending on their filters
+                for (NotificationHandler handler : registry.findMatchingNotificationHandlers(notification)) {
+                    HandlerQueue handlerQueue = handlerQueues.get(handler);
+                    if (handlerQueue == null) {
+                        handlerQueue = new HandlerQueue(handler);
+                        handlerQueues.put(handler, handlerQueue);
+                    }
+                    if (handlerQueue.add(notification)) {
+                        queued++;
+                    }
+                }
+            } catch (Throwable t) {
+                ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+            }
+            // the notification is replaced in the backlog by its pending deliveries
+            adjustBacklog(queued - 1);
+        }
+
+        private void removeIdleHandlerQueues() {
+            Iterator<HandlerQueue> iterator = handlerQueues.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isIdle()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void adjustBacklog(long delta) {
+            long current = backlog.addAndGet(delta);
+            if (delta > 0) {
+                long peak;
+                while (current > (peak = peakBacklog.get()) && !peakBacklog.compareAndSet(peak, current)) {
+                    // retry
+                }
+            }
+        }
+
+        /**
+         * The notifications waiting to be delivered to a single handler.
+         */
+        private final class HandlerQueue implements Runnable {
+
+            private final NotificationHandler handler;
+            private final Deque<Notification> pending = new ConcurrentLinkedDeque<>();
+            /**
+             * {@code true} while a task delivering the pending notifications is scheduled or running.
+             */
+            private final AtomicBoolean delivering = new AtomicBoolean();
+
+            private HandlerQueue(NotificationHandler handler) {
+                this.handler = handler;
+            }
+
+            /**
+             * Queue a notification for delivery, unless it is coalesced with an identical pending one.
+             *
+             * @return {@code true} if the notification was queued
+             */
+            boolean add(Notification notification) {
+                if (coalesce) {
+                    Notification last = pending.peekLast();
+                    if (last != null && isDuplicate(last, notification)) {
+                        coalesced.increment();
+                        return false;
+                    }
+                }
+                pending.add(notification);
+                if (delivering.compareAndSet(false, true)) {
+                    try {
+                        executor.execute(this);
+                    } catch (RejectedExecutionException e) {
+                        // the executor is no longer accepting tasks; deliver on the dispatching thread instead
+                        run();
+                    }
+                }
+                return true;
+            }
+
+            boolean isIdle() {
+                return !delivering.get() && pending.isEmpty();
+            }
+
+            @Override
+            public void run() {
+                do {
+                    Notification notification;
+                    while ((notification = pending.poll()) != null) {
+                        try {
+                            handler.handleNotification(notification);
+                        } catch (Throwable t) {
+                            ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+                        }
+                        adjustBacklog(-1);
+                    }
+                    delivering.set(false);
+                    // a notification may have been added after the last poll but before the flag was reset
+                } while (!pending.isEmpty() && delivering.compareAndSet(false, true));
+            }
+        }
     }
 
+    private static boolean isDuplicate(Notification first, Notification second) {
+        return Objects.equals(first.getType(), second.getType())
+                && Objects.equals(first.getSource(), second.getSource())
+                && Objects.equals(first.getMessage(), second.getMessage())
+                && Objects.equals(first.getData(), second.getData());
+    }
 
     private static void fireNotifications(NotificationHandlerRegistration registry, final Notification... notifications) {
         for (Notification notification : notifications) {
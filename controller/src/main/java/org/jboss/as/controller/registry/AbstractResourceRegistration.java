@@ -30,6 +30,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationStepHandler;
@@ -59,12 +60,15 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
     private final NodeSubregistry parent;
     private final PathAddress pathAddress;
     private RootInvocation rootInvocation;
+    /** Count of modifications to the whole tree; only maintained by the root registration */
+    private final AtomicLong modificationCount;
 
     AbstractResourceRegistration(final String valueString, final NodeSubregistry parent) {
         checkPermission();
         this.valueString = valueString;
         this.parent = parent;
         this.pathAddress = parent == null ? PathAddress.EMPTY_ADDRESS : parent.getPathAddress(valueString);
+        this.modificationCount = parent == null ? new AtomicLong() : null;
     }
 
     static void checkPermission() {
@@ -78,6 +82,26 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         return parent;
     }
 
+    @Override
+    public long getModificationCount() {
+        return getRootRegistration().modificationCount.get();
+    }
+
+    /**
+     * Records a modification of this registration, or of its children.
+     */
+    void registrationModified() {
+        getRootRegistration().modificationCount.incrementAndGet();
+    }
+
+    private AbstractResourceRegistration getRootRegistration() {
+        AbstractResourceRegistration current = this;
+        while (current.parent != null) {
+            current = current.parent.getParent();
+        }
+        return current;
+    }
+
     void addAccessConstraints(List<AccessConstraintDefinition> list) {
         // no-op in the base class
     }
@@ -22,11 +22,15 @@
 
 package org.jboss.as.controller.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -52,6 +56,22 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
      */
     Set<NotificationHandlerEntry> anyAddressEntries = new CopyOnWriteArraySet<NotificationHandlerEntry>();
 
+    /**
+     * Bound on the number of source addresses whose registered entries are cached.
+     */
+    private static final int MAX_CACHED_SOURCES = 1024;
+
+    /**
+     * The entries registered for the source addresses of recently emitted notifications, so notifications from the same
+     * source don't have to traverse the registry tree. The filters still have to be applied for each notification.
+     */
+    private final Map<PathAddress, CachedEntries> entriesBySource = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever a handler is registered or unregistered, making any cached entries obsolete.
+     */
+    private final AtomicInteger registrationVersion = new AtomicInteger();
+
     @Override
     public void registerNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
         NotificationHandlerEntry entry = new NotificationHandlerEntry(handler, filter);
@@ -62,6 +82,7 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.registerEntry(iterator, entry);
+        registrationVersion.incrementAndGet();
     }
 
     @Override
@@ -74,14 +95,18 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.unregisterEntry(iterator, entry);
+        registrationVersion.incrementAndGet();
     }
 
     @Override
     public Collection<NotificationHandler> findMatchingNotificationHandlers(Notification notification) {
         Collection<NotificationHandler> handlers = new HashSet<>();
         // collect all the handlers that match the notifications for the registry tree...
-        ListIterator<PathElement> iterator = notification.getSource().iterator();
-        rootRegistry.findEntries(iterator, handlers, notification);
+        for (NotificationHandlerEntry entry : getEntries(notification.getSource())) {
+            if (entry.getFilter().isNotificationEnabled(notification)) {
+                handlers.add(entry.getHandler());
+            }
+        }
 
         // ... and also the filtered handlers registered against ANY_ADRESS
         for (NotificationHandlerEntry anyAddressEntry : anyAddressEntries) {
@@ -92,6 +117,32 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
         return handlers;
     }
 
+    private Collection<NotificationHandlerEntry> getEntries(PathAddress source) {
+        // Read the version before traversing the tree, so a concurrent (un)registration makes the result obsolete
+        final int version = registrationVersion.get();
+        CachedEntries cached = entriesBySource.get(source);
+        if (cached == null || cached.version != version) {
+            final Collection<NotificationHandlerEntry> entries = new ArrayList<>();
+            rootRegistry.findEntries(source.iterator(), entries);
+            cached = new CachedEntries(version, entries);
+            if (entriesBySource.size() >= MAX_CACHED_SOURCES) {
+                entriesBySource.clear();
+            }
+            entriesBySource.put(source, cached);
+        }
+        return cached.entries;
+    }
+
+    private static final class CachedEntries {
+        private final int version;
+        private final Collection<NotificationHandlerEntry> entries;
+
+        private CachedEntries(int version, Collection<NotificationHandlerEntry> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+    }
+
     /**
      * A class to represent a single entry for both a notification handler and filter.
      */
@@ -149,6 +149,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         writeLock.lock();
         try {
             this.runtimeOnly = runtimeOnly;
+            registrationModified();
         } finally {
             writeLock.unlock();
         }
@@ -222,7 +223,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(existing.getPathAddress().toCLIStyleString());
         }
         final NodeSubregistry child = getOrCreateSubregistry(address.getKey());
-        return child.registerChild(address.getValue(), resourceDefinition);
+        final ManagementResourceRegistration result = child.registerChild(address.getValue(), resourceDefinition);
+        registrationModified();
+        return result;
     }
 
     @Override
@@ -238,6 +241,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 throw alreadyRegistered("operation handler", opName);
             }
             operations.put(opName, entry);
+            registrationModified();
             if (constraintUtilizationRegistry != null) {
                 for (AccessConstraintDefinition acd : definition.getAccessConstraints()) {
                     constraintUtilizationRegistry.registerAccessConstraintOperationUtilization(acd.getKey(), getPathAddress(), opName);
@@ -263,6 +267,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
 
                 subregistry.unregisterSubModel(address.getValue());
+                registrationModified();
             }
             if (constraintUtilizationRegistry != null) {
                 constraintUtilizationRegistry.unregisterAccessConstraintUtilizations(getPathAddress().append(address));
@@ -378,6 +383,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             if (operations == null || operations.remove(operationName) == null) {
                 throw operationNotRegisteredException(operationName, resourceDefinition.getPathElement());
             }
+            registrationModified();
         } finally {
             writeLock.unlock();
         }
@@ -414,7 +420,9 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         checkPermission();
         writeLock.lock();
         try {
-            attributes.remove(attributeName);
+            if (attributes.remove(attributeName) != null) {
+                registrationModified();
+            }
         } finally {
             writeLock.unlock();
         }
@@ -438,6 +446,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 }
                 notifications.put(type, entry);
             }
+            registrationModified();
         } finally {
             writeLock.unlock();
         }
@@ -453,8 +462,8 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         checkPermission();
         writeLock.lock();
         try {
-            if (notifications != null) {
-                notifications.remove(notificationType);
+            if (notifications != null && notifications.remove(notificationType) != null) {
+                registrationModified();
             }
         } finally {
             writeLock.unlock();
@@ -500,6 +509,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 throw alreadyRegistered("attribute", attributeName);
             }
             attributes.put(attributeName, aa);
+            registrationModified();
             registerAttributeAccessConstraints(definition);
         } finally {
             writeLock.unlock();
@@ -642,6 +652,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(existing.getPathAddress().toCLIStyleString());
         }
         getOrCreateSubregistry(address.getKey()).registerProxyController(address.getValue(), controller);
+        registrationModified();
     }
 
     @Override
@@ -649,12 +660,14 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         final NodeSubregistry subregistry = getSubregistry(address.getKey());
         if (subregistry != null) {
             subregistry.unregisterProxyController(address.getValue());
+            registrationModified();
         }
     }
 
     @Override
     public void registerAlias(PathElement address, AliasEntry alias, AbstractResourceRegistration target) {
         getOrCreateSubregistry(address.getKey()).registerAlias(address.getValue(), alias, target);
+        registrationModified();
     }
 
     @Override
@@ -662,6 +675,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         final NodeSubregistry subregistry = getSubregistry(address.getKey());
         if (subregistry != null) {
             subregistry.unregisterAlias(address.getValue());
+            registrationModified();
         }
     }
 
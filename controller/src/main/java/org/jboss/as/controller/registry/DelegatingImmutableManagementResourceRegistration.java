@@ -189,4 +189,9 @@ public class DelegatingImmutableManagementResourceRegistration implements Immuta
     public Set<RuntimeCapability> getIncorporatingCapabilities() {
         return delegate.getIncorporatingCapabilities();
     }
+
+    @Override
+    public long getModificationCount() {
+        return delegate.getModificationCount();
+    }
 }
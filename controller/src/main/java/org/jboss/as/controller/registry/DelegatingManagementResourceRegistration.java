@@ -340,6 +340,11 @@ public class DelegatingManagementResourceRegistration implements ManagementResou
         return getDelegate().getIncorporatingCapabilities();
     }
 
+    @Override
+    public long getModificationCount() {
+        return getDelegate().getModificationCount();
+    }
+
     private ManagementResourceRegistration getDelegate() {
         return delegateProvider.getDelegateRegistration();
     }
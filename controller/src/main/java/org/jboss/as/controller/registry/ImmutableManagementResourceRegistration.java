@@ -340,4 +340,17 @@ public interface ImmutableManagementResourceRegistration {
      * @see #getCapabilities()
      */
     Set<RuntimeCapability> getIncorporatingCapabilities();
+
+    /**
+     * Gets a count of the modifications made to the tree of registrations this registration belongs to. Any
+     * registration or removal of a child, operation, attribute, notification, proxy or alias anywhere in the tree
+     * changes the count, so callers can cache information derived from the registrations and discard it when
+     * the count changes.
+     *
+     * @return the modification count, or {@code -1} if modifications are not tracked and nothing derived from
+     *         the registrations should be cached
+     */
+    default long getModificationCount() {
+        return -1;
+    }
 }
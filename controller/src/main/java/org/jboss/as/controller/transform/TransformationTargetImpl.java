@@ -117,6 +117,25 @@ public class TransformationTargetImpl implements TransformationTarget {
         return new TransformationTargetImpl(this, placeholderResolver);
     }
 
+    TransformerRegistry getTransformerRegistry() {
+        return transformerRegistry;
+    }
+
+    PlaceholderResolver getPlaceholderResolver() {
+        return placeholderResolver;
+    }
+
+    /**
+     * Gets a snapshot of the subsystem versions known for the target.
+     *
+     * @return a copy of the subsystem versions, keyed by subsystem name. Will not be {@code null}
+     */
+    Map<String, ModelVersion> getSubsystemVersions() {
+        synchronized (subsystemVersions) {
+            return new HashMap<>(subsystemVersions);
+        }
+    }
+
     @Override
     public ModelVersion getVersion() {
         return version;
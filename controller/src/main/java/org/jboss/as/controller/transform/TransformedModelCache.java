@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Cache of transformed root resources, held by a {@link TransformerRegistry} so that several legacy processes using
+ * the same model versions only pay for a single transformation of the full model.
+ * <p>
+ * Entries are keyed on the {@link Transformers.TransformationInputs#getModelGeneration() generation} of the published
+ * model that was transformed, so publishing any change to the model or to its resource registrations results in a
+ * fresh transformation. Entries also
+ * record every decision the {@link Transformers.ResourceIgnoredTransformationRegistry} made during the transformation,
+ * and are only reused if the current registry makes the same decisions, which covers the per-host ignored resources
+ * configuration.
+ */
+final class TransformedModelCache {
+
+    /** Bound on the number of entries for a single model generation */
+    private static final int MAX_ENTRIES = 8;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    TransformedModelCache() {
+    }
+
+    /**
+     * Creates the key for caching the transformation of the given resource, if it is eligible for caching.
+     *
+     * @param target the transformation target
+     * @param inputs the transformation inputs
+     * @param resource the resource to transform
+     * @return the key, or {@code null} if the transformation should not be cached
+     */
+    static Key createKey(TransformationTarget target, Transformers.TransformationInputs inputs, Resource resource) {
+        if (!(target instanceof TransformationTargetImpl) || inputs == null || inputs.getModelGeneration() < 0
+                || resource != inputs.getRootResource() || inputs.getTransformerOperationAttachment() != null) {
+            return null;
+        }
+        final TransformationTargetImpl targetImpl = (TransformationTargetImpl) target;
+        if (targetImpl.getPlaceholderResolver() != null) {
+            return null;
+        }
+        return new Key(targetImpl, inputs);
+    }
+
+    /**
+     * Gets a copy of a previously transformed model, if one was created for the same key using the same ignored
+     * resource decisions.
+     *
+     * @param key the key
+     * @param ignoredRegistry the ignored resources registry for the current transformation
+     * @return a copy of the transformed model, or {@code null} if there is no usable entry
+     */
+    Resource get(Key key, Transformers.ResourceIgnoredTransformationRegistry ignoredRegistry) {
+        final Entry entry = entries.get(key);
+        if (entry == null || !entry.matchesIgnored(ignoredRegistry)) {
+            return null;
+        }
+        return entry.transformed.clone();
+    }
+
+    /**
+     * Stores the result of a transformation, replacing any existing entry for the key and dropping the entries
+     * for other model generations, which no longer match the published model.
+     *
+     * @param key the key
+     * @param transformed the transformed model. A copy is stored, so the caller may keep using it
+     * @param ignoredRegistry the recording registry used during the transformation
+     */
+    void put(Key key, Resource transformed, RecordingIgnoredRegistry ignoredRegistry) {
+        entries.keySet().removeIf(existing -> existing.modelGeneration != key.modelGeneration);
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(transformed.clone(), ignoredRegistry.decisions));
+    }
+
+    /** Ignored resources registry that remembers every decision made by the registry it wraps */
+    static final class RecordingIgnoredRegistry implements Transformers.ResourceIgnoredTransformationRegistry {
+        private final Transformers.ResourceIgnoredTransformationRegistry delegate;
+        private final Map<PathAddress, Boolean> decisions = Collections.synchronizedMap(new HashMap<PathAddress, Boolean>());
+
+        RecordingIgnoredRegistry(Transformers.ResourceIgnoredTransformationRegistry delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isResourceTransformationIgnored(PathAddress address) {
+            final boolean ignored = delegate.isResourceTransformationIgnored(address);
+            decisions.put(address, ignored);
+            return ignored;
+        }
+    }
+
+    /** The things other than the ignored resources that determine the transformation result */
+    static final class Key {
+        private final long modelGeneration;
+        private final ModelVersion version;
+        private final TransformationTarget.TransformationTargetType type;
+        private final Map<String, ModelVersion> subsystemVersions;
+        private final ProcessType processType;
+        private final RunningMode runningMode;
+        private final int hashCode;
+
+        private Key(TransformationTargetImpl target, Transformers.TransformationInputs inputs) {
+            this.modelGeneration = inputs.getModelGeneration();
+            this.version = target.getVersion();
+            this.type = target.getTargetType();
+            this.subsystemVersions = target.getSubsystemVersions();
+            this.processType = inputs.getProcessType();
+            this.runningMode = inputs.getRunningMode();
+            int result = Long.hashCode(modelGeneration);
+            result = 31 * result + version.hashCode();
+            result = 31 * result + (type == null ? 0 : type.hashCode());
+            result = 31 * result + subsystemVersions.hashCode();
+            result = 31 * result + (processType == null ? 0 : processType.hashCode());
+            result = 31 * result + (runningMode == null ? 0 : runningMode.hashCode());
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return hashCode == other.hashCode
+                    && modelGeneration == other.modelGeneration
+                    && version.equals(other.version)
+                    && type == other.type
+                    && processType == other.processType
+                    && runningMode == other.runningMode
+                    && subsystemVersions.equals(other.subsystemVersions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final Resource transformed;
+        private final Map<PathAddress, Boolean> ignoredDecisions;
+
+        private Entry(Resource transformed, Map<PathAddress, Boolean> ignoredDecisions) {
+            this.transformed = transformed;
+            this.ignoredDecisions = ignoredDecisions;
+        }
+
+        private boolean matchesIgnored(Transformers.ResourceIgnoredTransformationRegistry ignoredRegistry) {
+            synchronized (ignoredDecisions) {
+                for (Map.Entry<PathAddress, Boolean> decision : ignoredDecisions.entrySet()) {
+                    if (ignoredRegistry.isResourceTransformationIgnored(decision.getKey()) != decision.getValue()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -66,6 +66,7 @@ public final class TransformerRegistry {
 
     private final GlobalTransformerRegistry domain = new GlobalTransformerRegistry();
     private final GlobalTransformerRegistry subsystem = new GlobalTransformerRegistry();
+    private final TransformedModelCache transformedModelCache = new TransformedModelCache();
 
     TransformerRegistry() {
         // Initialize the empty paths
@@ -255,6 +256,15 @@ public final class TransformerRegistry {
         }
     }
 
+    /**
+     * Gets the cache of root resources transformed using this registry.
+     *
+     * @return the cache
+     */
+    TransformedModelCache getTransformedModelCache() {
+        return transformedModelCache;
+    }
+
     public static Map<PathAddress, ModelVersion> resolveVersions(ExtensionRegistry extensionRegistry) {
 
         final ModelNode subsystems = new ModelNode();
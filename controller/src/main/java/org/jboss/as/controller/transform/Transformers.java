@@ -115,6 +115,7 @@ public interface Transformers {
         private static final OperationContext.AttachmentKey<TransformationInputs> KEY = OperationContext.AttachmentKey.create(TransformationInputs.class);
 
         private final Resource originalModel;
+        private final long modelGeneration;
         private final ImmutableManagementResourceRegistration registration;
         private final ProcessType processType;
         private final RunningMode runningMode;
@@ -152,7 +153,10 @@ public interface Transformers {
          * @param context  the operation context. Cannot be {@code null}
          */
         public TransformationInputs(OperationContext context) {
+            final long generation = context.getPublishedModelGeneration();
             this.originalModel = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true);
+            // Only trust the generation if no other model was published while the copy was taken
+            this.modelGeneration = generation == context.getPublishedModelGeneration() ? generation : -1;
             this.registration = context.getRootResourceRegistration();
             this.processType = context.getProcessType();
             this.runningMode = context.getRunningMode();
@@ -168,6 +172,15 @@ public interface Transformers {
             return originalModel;
         }
 
+        /**
+         * Gets the generation of the published model {@link #getRootResource() the resource tree} was copied from.
+         *
+         * @return the generation, or {@code -1} if it is not known
+         */
+        long getModelGeneration() {
+            return modelGeneration;
+        }
+
         /**
          * Gets full the {@link ImmutableManagementResourceRegistration resource registration} tree.
          * @return the resource registration tree. Will not be {@code null}
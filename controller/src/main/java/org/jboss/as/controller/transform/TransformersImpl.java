@@ -121,6 +121,28 @@ public class TransformersImpl implements Transformers {
 
     @Override
     public Resource transformRootResource(TransformationInputs transformationInputs, Resource resource, ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) throws OperationFailedException {
+        final TransformedModelCache.Key cacheKey = TransformedModelCache.createKey(target, transformationInputs, resource);
+        if (cacheKey == null) {
+            return transformRootResourceUncached(transformationInputs, resource, ignoredTransformationRegistry);
+        }
+        final TransformedModelCache cache = ((TransformationTargetImpl) target).getTransformerRegistry().getTransformedModelCache();
+        final Resource cached = cache.get(cacheKey, ignoredTransformationRegistry);
+        if (cached != null) {
+            ControllerLogger.ROOT_LOGGER.tracef("reusing transformed model for %s", target.getHostName());
+            return cached;
+        }
+        final TransformedModelCache.RecordingIgnoredRegistry recordingRegistry = new TransformedModelCache.RecordingIgnoredRegistry(ignoredTransformationRegistry);
+        final TransformersLogger logger = TransformersLogger.getLogger(target);
+        final int queuedMessages = logger.getQueuedMessageCount();
+        final Resource transformed = transformRootResourceUncached(transformationInputs, resource, recordingRegistry);
+        // Don't cache if anything was logged, so each target still gets its own warnings
+        if (transformed != resource && logger.getQueuedMessageCount() == queuedMessages) {
+            cache.put(cacheKey, transformed, recordingRegistry);
+        }
+        return transformed;
+    }
+
+    private Resource transformRootResourceUncached(TransformationInputs transformationInputs, Resource resource, ResourceIgnoredTransformationRegistry ignoredTransformationRegistry) throws OperationFailedException {
         // Transform the path address
         final PathAddress original = PathAddress.EMPTY_ADDRESS;
         final PathAddress transformed = transformAddress(original, target);
@@ -651,6 +651,31 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         }
     }
 
+    // Check that once the requirements of subsystem=dep-cap have been validated, removing the capability
+    // it requires is still rejected even though the dependent itself is not touched by the removal
+    @Test
+    public void testRemoveRequiredCapabilityAfterValidation() throws OperationFailedException {
+
+        executeCheckNoFailure(Util.createEmptyOperation("root-cap", PathAddress.EMPTY_ADDRESS));
+        try {
+            add(DEP_CAP_ELEMENT);
+            try {
+                // An unrelated change, so the next validation only needs to look at what changed
+                add(RELOAD_ELEMENT);
+                remove(RELOAD_ELEMENT);
+
+                executeCheckForFailure(Util.createEmptyOperation("no-root-cap", PathAddress.EMPTY_ADDRESS));
+                Assert.assertEquals(2, capabilityRegistry.getCapabilities().size());
+            } finally {
+                //noinspection ThrowFromFinallyBlock
+                remove(DEP_CAP_ELEMENT);
+            }
+        } finally {
+            //noinspection ThrowFromFinallyBlock
+            executeCheckNoFailure(Util.createEmptyOperation("no-root-cap", PathAddress.EMPTY_ADDRESS));
+        }
+    }
+
     @Test
     public void testClear() throws OperationFailedException, InterruptedException {
         add(RELOAD_ELEMENT);
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the missing dependency tracking in {@link ContainerStateMonitor}.
+ */
+public class ContainerStateMonitorTestCase {
+
+    private static final ServiceName A = ServiceName.of("a");
+    private static final ServiceName B = ServiceName.of("b");
+    private static final ServiceName C = ServiceName.of("c");
+    private static final ServiceName D = ServiceName.of("d");
+    private static final ServiceName E = ServiceName.of("e");
+
+    private ServiceContainer container;
+    private ContainerStateMonitor monitor;
+
+    @Before
+    public void setup() {
+        container = ServiceContainer.Factory.create("test");
+        monitor = new ContainerStateMonitor(container);
+        container.addListener(monitor);
+    }
+
+    @After
+    public void shutdown() {
+        container.shutdown();
+    }
+
+    @Test
+    public void testMissingDependenciesReportedOnce() throws Exception {
+        container.addService(A, Service.NULL).addDependency(B).install();
+        container.addService(C, Service.NULL).addDependency(B).install();
+
+        ContainerStateMonitor.ContainerStateChangeReport report = awaitReport();
+        Assert.assertEquals(Collections.singleton(B), report.getMissingServices().keySet());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(A, C)), report.getMissingServices().get(B).getDependents());
+        Assert.assertFalse(report.getMissingServices().get(B).isUnavailable());
+        Assert.assertTrue(report.getNoLongerMissingServices().isEmpty());
+
+        // Without a reset the same changes are reported again
+        report = awaitReport();
+        Assert.assertEquals(Collections.singleton(B), report.getMissingServices().keySet());
+
+        monitor.logContainerStateChangesAndReset();
+
+        container.addService(D, Service.NULL).addDependency(E).install();
+        report = awaitReport();
+        Assert.assertEquals(Collections.singleton(E), report.getMissingServices().keySet());
+        Assert.assertEquals(Collections.singleton(D), report.getMissingServices().get(E).getDependents());
+
+        monitor.logContainerStateChangesAndReset();
+
+        container.addService(B, Service.NULL).install();
+        report = awaitReport();
+        Assert.assertTrue(report.getMissingServices().isEmpty());
+        Assert.assertEquals(Collections.singletonMap(B, true), report.getNoLongerMissingServices());
+
+        monitor.logContainerStateChangesAndReset();
+        Assert.assertNull(monitor.awaitContainerStateChangeReport(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRemovedDependentNoLongerMissing() throws Exception {
+        container.addService(A, Service.NULL).addDependency(B).install();
+        Assert.assertEquals(Collections.singleton(B), awaitReport().getMissingServices().keySet());
+        monitor.logContainerStateChangesAndReset();
+
+        container.getRequiredService(A).setMode(ServiceController.Mode.REMOVE);
+        ContainerStateMonitor.ContainerStateChangeReport report = awaitReport();
+        Assert.assertEquals(Collections.singletonMap(B, false), report.getNoLongerMissingServices());
+    }
+
+    private ContainerStateMonitor.ContainerStateChangeReport awaitReport() throws Exception {
+        ContainerStateMonitor.ContainerStateChangeReport report = monitor.awaitContainerStateChangeReport(10, TimeUnit.SECONDS);
+        Assert.assertNotNull(report);
+        return report;
+    }
+}
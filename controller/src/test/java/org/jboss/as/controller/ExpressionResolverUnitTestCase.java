@@ -444,6 +444,24 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    /**
+     * Test that reusing the compiled form of an expression does not reuse the value it previously resolved to.
+     */
+    @Test
+    public void testRepeatedResolutionSeesPropertyChanges() throws OperationFailedException {
+        String expr = "${test.property.repeated:default}-${test.property.repeated.nested:${test.property.repeated:x}}";
+        assertEquals("default-x", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expr)).asString());
+        System.setProperty("test.property.repeated", "first");
+        try {
+            assertEquals("first-first", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expr)).asString());
+            System.setProperty("test.property.repeated", "second");
+            assertEquals("second-second", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expr)).asString());
+        } finally {
+            System.clearProperty("test.property.repeated");
+        }
+        assertEquals("default-x", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expr)).asString());
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
@@ -32,6 +32,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAI
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS_COALESCED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG_PEAK;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_REQUIRES_RELOAD;
@@ -39,6 +42,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPE
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_TYPES_OPERATION;
@@ -54,6 +58,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INVOCATION_COUNT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.LOCK_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_WALL_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STABILITY_WAIT_TIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WALL_TIME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -105,6 +118,7 @@ public class ModelControllerImplUnitTestCase {
     private ModelController controller;
     private AtomicBoolean sharedState;
     private ServiceNotificationHandler notificationHandler;
+    private Resource managementOperationsResource;
 
     public static void toggleRuntimeState(AtomicBoolean state) {
         boolean runtimeVal = false;
@@ -124,6 +138,7 @@ public class ModelControllerImplUnitTestCase {
         sharedState = svc.getSharedState();
         svc.awaitStartup(30, TimeUnit.SECONDS);
         controller = svc.getValue();
+        managementOperationsResource = svc.modelControllerResource;
         ModelNode setup = Util.getEmptyOperation("setup", new ModelNode());
         controller.execute(setup, null, null, null);
         notificationHandler = new ServiceNotificationHandler();
@@ -180,6 +195,25 @@ public class ModelControllerImplUnitTestCase {
         notificationHandler.validate(0);
     }
 
+    @Test
+    public void testModelGeneration() throws Exception {
+        final long initial = controller.getModelGeneration(PathAddress.EMPTY_ADDRESS);
+        assertTrue(initial >= 0);
+
+        // Reads and rolled back changes are not published
+        ModelNode operation = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        operation.get(RECURSIVE).set(true);
+        assertEquals(SUCCESS, controller.execute(operation, null, null, null).get(OUTCOME).asString());
+        controller.execute(getOperation("good", "attr1", 5), null, RollbackTransactionControl.INSTANCE, null);
+        assertEquals(initial, controller.getModelGeneration(PathAddress.EMPTY_ADDRESS));
+
+        assertEquals(SUCCESS, controller.execute(getOperation("good", "attr1", 5), null, null, null).get(OUTCOME).asString());
+        assertTrue(controller.getModelGeneration(PathAddress.EMPTY_ADDRESS) > initial);
+        assertEquals(controller.getModelGeneration(PathAddress.EMPTY_ADDRESS), controller.getModelGeneration(CHILD_ONE));
+        // Both views of the generation come from the published model
+        assertEquals(((ModelControllerImpl) controller).getPublishedModelGeneration(), controller.getModelGeneration(PathAddress.EMPTY_ADDRESS));
+    }
+
     @Test
     public void testModelStageFailureExecution() throws Exception {
         ModelNode result = controller.execute(getOperation("bad", "attr1", 5), null, null, null);
@@ -321,6 +355,80 @@ public class ModelControllerImplUnitTestCase {
         notificationHandler.validate(0);
     }
 
+    @Test
+    public void testProfiledOperation() throws Exception {
+        ModelNode result = controller.execute(getOperation("good", "attr1", 5), null, null, null);
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertFalse(result.hasDefined(RESPONSE_HEADERS, OPERATION_PROFILE));
+        assertFalse(managementOperationsResource.hasChildren(OPERATION_PROFILE));
+
+        ModelNode operation = getOperation("good-service", "attr1", 6);
+        operation.get(OPERATION_HEADERS, PROFILE).set(true);
+        result = controller.execute(operation, null, null, null);
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertTrue(result.toString(), result.hasDefined(RESPONSE_HEADERS, OPERATION_PROFILE));
+        ModelNode profile = result.get(RESPONSE_HEADERS, OPERATION_PROFILE);
+        assertTrue(profile.get(WALL_TIME).asLong() > 0);
+        assertTrue(profile.hasDefined(LOCK_WAIT_TIME));
+        assertTrue(profile.hasDefined(STABILITY_WAIT_TIME));
+        List<ModelNode> steps = profile.get(STEPS).asList();
+        assertEquals("good-service", steps.get(0).get(OP).asString());
+        assertEquals(OperationContext.Stage.MODEL.toString(), steps.get(0).get(STAGE).asString());
+        boolean runtimeStep = false;
+        for (ModelNode step : steps) {
+            assertTrue(step.get(WALL_TIME).asLong() <= profile.get(WALL_TIME).asLong());
+            runtimeStep |= OperationContext.Stage.RUNTIME.toString().equals(step.get(STAGE).asString());
+        }
+        assertTrue(profile.toString(), runtimeStep);
+
+        operation = getOperation("good", "attr1", 7);
+        operation.get(OPERATION_HEADERS, PROFILE).set(true);
+        controller.execute(operation, null, null, null);
+        controller.execute(operation, null, null, null);
+        assertEquals(2, managementOperationsResource.getChildrenNames(OPERATION_PROFILE).size());
+        ModelNode statistics = managementOperationsResource.requireChild(PathElement.pathElement(OPERATION_PROFILE, "good")).getModel();
+        assertEquals(2, statistics.get(INVOCATION_COUNT).asLong());
+        assertTrue(statistics.get(MAX_WALL_TIME).asLong() <= statistics.get(WALL_TIME).asLong());
+        statistics = managementOperationsResource.requireChild(PathElement.pathElement(OPERATION_PROFILE, "good-service")).getModel();
+        assertEquals(1, statistics.get(INVOCATION_COUNT).asLong());
+    }
+
+    @Test
+    public void testUnknownOperationNotProfiled() throws Exception {
+        ModelNode operation = getOperation("unknown", "attr1", 5);
+        operation.get(OPERATION_HEADERS, PROFILE).set(true);
+        ModelNode result = controller.execute(operation, null, null, null);
+        assertEquals(FAILED, result.get(OUTCOME).asString());
+        assertFalse(managementOperationsResource.hasChildren(OPERATION_PROFILE));
+    }
+
+    @Test
+    public void testNotificationMetrics() throws Exception {
+        ModelNode result = controller.execute(getOperation("good-service", "attr1", 5), null, null, null);
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        notificationHandler.validate(1);
+
+        ModelNode backlog = readAttribute(NOTIFICATION_BACKLOG);
+        ModelNode peak = readAttribute(NOTIFICATION_BACKLOG_PEAK);
+        ModelNode coalesced = readAttribute(NOTIFICATIONS_COALESCED);
+        assertEquals(ModelType.LONG, backlog.getType());
+        assertEquals(0, backlog.asLong());
+        assertEquals(ModelType.LONG, peak.getType());
+        assertTrue(peak.asLong() >= 0);
+        assertEquals(ModelType.LONG, coalesced.getType());
+        assertEquals(0, coalesced.asLong());
+    }
+
+    private ModelNode readAttribute(String name) {
+        ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        operation.get(OP_ADDR).setEmptyList();
+        operation.get(NAME).set(name);
+        ModelNode result = controller.execute(operation, null, null, null);
+        assertEquals(result.toString(), SUCCESS, result.get(OUTCOME).asString());
+        return result.get(RESULT);
+    }
+
     @Test
     public void testGoodServiceTxRollback() throws Exception {
         ModelNode result = controller.execute(getOperation("good-service", "attr1", 5), null, RollbackTransactionControl.INSTANCE, null);
@@ -687,8 +795,11 @@ public class ModelControllerImplUnitTestCase {
 
     static class ModelControllerService extends TestModelControllerService {
 
+        private volatile Resource modelControllerResource;
+
         @Override
         protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            this.modelControllerResource = modelControllerResource;
             ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
             rootRegistration.registerOperationHandler(getOD("setup"), new ModelControllerImplUnitTestCase.SetupHandler(),true);
             rootRegistration.registerOperationHandler(getOD("composite"), CompositeOperationHandler.INSTANCE,true);
@@ -722,6 +833,9 @@ public class ModelControllerImplUnitTestCase {
             ManagementResourceRegistration childRegistration = rootRegistration.registerSubModel(childResource);
             childRegistration.registerReadOnlyAttribute(TestUtils.createNillableAttribute("attribute1", ModelType.INT), null);
             childRegistration.registerReadOnlyAttribute(TestUtils.createNillableAttribute("attribute2", ModelType.INT), null);
+            rootRegistration.registerMetric(TestUtils.createMetric(NOTIFICATION_BACKLOG, ModelType.LONG), NotificationMetricsHandler.INSTANCE);
+            rootRegistration.registerMetric(TestUtils.createMetric(NOTIFICATION_BACKLOG_PEAK, ModelType.LONG), NotificationMetricsHandler.INSTANCE);
+            rootRegistration.registerMetric(TestUtils.createMetric(NOTIFICATIONS_COALESCED, ModelType.LONG), NotificationMetricsHandler.INSTANCE);
         }
 
     }
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.interfaces;
+
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link NetworkInterfaceSnapshot}
+ */
+public class NetworkInterfaceSnapshotUnitTestCase {
+
+    @After
+    public void tearDown() {
+        NetworkInterfaceSnapshot.bootCompleted();
+    }
+
+    @Test
+    public void testBootSnapshotShared() throws Exception {
+        NetworkInterfaceSnapshot.bootStarting();
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.getSnapshot();
+        Assert.assertSame(snapshot, NetworkInterfaceSnapshot.getSnapshot());
+        // a reload boots again, so takes a new snapshot
+        NetworkInterfaceSnapshot.bootStarting();
+        Assert.assertNotSame(snapshot, NetworkInterfaceSnapshot.getSnapshot());
+    }
+
+    @Test
+    public void testResolutionAfterBoot() throws Exception {
+        NetworkInterfaceSnapshot.bootStarting();
+        NetworkInterfaceSnapshot bootSnapshot = NetworkInterfaceSnapshot.getSnapshot();
+        NetworkInterfaceSnapshot.bootCompleted();
+
+        // e.g. an interface added once the process runs is resolved against the current state of the system
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.getSnapshot();
+        Assert.assertNotSame(bootSnapshot, snapshot);
+        Assert.assertNotSame(snapshot, NetworkInterfaceSnapshot.getSnapshot());
+        if (InterfaceCriteriaTestUtil.loopbackInterfaces.isEmpty()) {
+            return;
+        }
+        OverallInterfaceCriteria criteria = new OverallInterfaceCriteria("test",
+                Collections.<InterfaceCriteria>singleton(LoopbackInterfaceCriteria.INSTANCE));
+        Assert.assertEquals(criteria.getAcceptableAddresses(InterfaceCriteriaTestUtil.allCandidates),
+                snapshot.getAcceptableAddresses(criteria));
+    }
+
+    @Test
+    public void testCandidates() throws Exception {
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.create();
+        Assert.assertEquals(InterfaceCriteriaTestUtil.allCandidates.keySet(), snapshot.getCandidates().keySet());
+        for (Map.Entry<NetworkInterface, Set<InetAddress>> entry : snapshot.getCandidates().entrySet()) {
+            Assert.assertEquals(InterfaceCriteriaTestUtil.allCandidates.get(entry.getKey()), entry.getValue());
+        }
+        for (NetworkInterface networkInterface : snapshot.getNetworkInterfaces()) {
+            Assert.assertNull(networkInterface.getParent());
+        }
+    }
+
+    @Test
+    public void testFlags() throws Exception {
+        NetworkInterfaceSnapshot.bootStarting();
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.getSnapshot();
+        for (NetworkInterface networkInterface : snapshot.getCandidates().keySet()) {
+            Assert.assertEquals(networkInterface.isUp(), NetworkInterfaceSnapshot.isUp(networkInterface));
+            Assert.assertEquals(networkInterface.isLoopback(), NetworkInterfaceSnapshot.isLoopback(networkInterface));
+            Assert.assertEquals(networkInterface.isPointToPoint(), NetworkInterfaceSnapshot.isPointToPoint(networkInterface));
+            Assert.assertEquals(networkInterface.supportsMulticast(), NetworkInterfaceSnapshot.supportsMulticast(networkInterface));
+        }
+    }
+
+    @Test
+    public void testResolutionMemoized() throws Exception {
+        NetworkInterfaceSnapshot snapshot = NetworkInterfaceSnapshot.create();
+        if (InterfaceCriteriaTestUtil.loopbackInterfaces.isEmpty()) {
+            return;
+        }
+        OverallInterfaceCriteria criteria = new OverallInterfaceCriteria("test",
+                Collections.<InterfaceCriteria>singleton(LoopbackInterfaceCriteria.INSTANCE));
+        Map<NetworkInterface, Set<InetAddress>> first = snapshot.getAcceptableAddresses(criteria);
+        Assert.assertFalse(first.isEmpty());
+        // a copy is returned, so changing it does not affect the memoized result
+        first.clear();
+        Map<NetworkInterface, Set<InetAddress>> second = snapshot.getAcceptableAddresses(
+                new OverallInterfaceCriteria("test", Collections.<InterfaceCriteria>singleton(LoopbackInterfaceCriteria.INSTANCE)));
+        Assert.assertFalse(second.isEmpty());
+        Assert.assertEquals(criteria.getAcceptableAddresses(snapshot.getCandidates()), second);
+    }
+}
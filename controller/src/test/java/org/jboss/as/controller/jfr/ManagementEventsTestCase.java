@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the flight recording of the management events.
+ */
+public class ManagementEventsTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress(PathElement.pathElement("subsystem", "test"));
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue(ManagementEvents.isAvailable());
+        file = Files.createTempFile("management", ".jfr");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        ManagementEvents.stopRecording();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testEventsRecorded() throws IOException {
+        Assert.assertFalse(ManagementEvents.isRecording());
+        Assert.assertTrue(ManagementEvents.startRecording(null, 0, 0, 0));
+        Assert.assertTrue(ManagementEvents.isRecording());
+        Assert.assertFalse(ManagementEvents.startRecording(null, 0, 0, 0));
+
+        Object event = ManagementEvents.beginOperation();
+        Assert.assertNotNull(event);
+        ManagementEvents.endOperation(event, "write-attribute", ADDRESS.toModelNode(), "success");
+        ManagementEvents.endStage(ManagementEvents.beginStage(), OperationContext.Stage.RUNTIME, "write-attribute", ADDRESS);
+        ManagementEvents.endLockWait(ManagementEvents.beginLockWait(), true, false);
+        ManagementEvents.endPersistenceCommit(ManagementEvents.beginPersistenceCommit());
+        ManagementEvents.endDeploymentPhase(ManagementEvents.beginDeploymentPhase(), "test.war", "INSTALL");
+
+        Assert.assertTrue(ManagementEvents.stopRecording());
+        Assert.assertFalse(ManagementEvents.isRecording());
+        Assert.assertTrue(ManagementEvents.dumpRecording(file));
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent recorded : RecordingFile.readAllEvents(file)) {
+            events.put(recorded.getEventType().getName(), recorded);
+        }
+        RecordedEvent operation = events.get("org.jboss.as.controller.Operation");
+        Assert.assertNotNull(operation);
+        Assert.assertEquals("write-attribute", operation.getString("operation"));
+        Assert.assertEquals(ADDRESS.toCLIStyleString(), operation.getString("address"));
+        Assert.assertEquals("success", operation.getString("outcome"));
+        RecordedEvent stage = events.get("org.jboss.as.controller.Stage");
+        Assert.assertNotNull(stage);
+        Assert.assertEquals("RUNTIME", stage.getString("stage"));
+        RecordedEvent lockWait = events.get("org.jboss.as.controller.LockWait");
+        Assert.assertNotNull(lockWait);
+        Assert.assertTrue(lockWait.getBoolean("exclusive"));
+        Assert.assertFalse(lockWait.getBoolean("acquired"));
+        Assert.assertNotNull(events.get("org.jboss.as.controller.PersistenceCommit"));
+        RecordedEvent phase = events.get("org.jboss.as.controller.DeploymentPhase");
+        Assert.assertNotNull(phase);
+        Assert.assertEquals("test.war", phase.getString("deployment"));
+        Assert.assertEquals("INSTALL", phase.getString("phase"));
+    }
+
+    @Test
+    public void testEventsOnlyBegunWhileRecording() {
+        Assert.assertNull(ManagementEvents.beginOperation());
+        Assert.assertNull(ManagementEvents.beginLockWait());
+        Assert.assertFalse(ManagementEvents.stopRecording());
+    }
+}
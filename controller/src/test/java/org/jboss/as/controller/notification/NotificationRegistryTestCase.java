@@ -168,6 +168,31 @@ public class NotificationRegistryTestCase {
         assertEquals(0, handlers.size());
     }
 
+    @Test
+    public void testRegisterAfterEmitFromSameSource() {
+        NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
+        PathAddress source = PathAddress.pathAddress("subsystem", "messaging");
+        Notification notification = new Notification("foo", source, "bar");
+
+        NotificationHandler handler1 = new SimpleNotificationHandler();
+        registry.registerNotificationHandler(source, handler1, ALL);
+        Collection<NotificationHandler> handlers = registry.findMatchingNotificationHandlers(notification);
+        assertEquals(1, handlers.size());
+
+        // a handler registered after notifications were emitted from the source must be found too
+        NotificationHandler handler2 = new SimpleNotificationHandler();
+        registry.registerNotificationHandler(PathAddress.pathAddress("subsystem", "*"), handler2, ALL);
+        handlers = registry.findMatchingNotificationHandlers(notification);
+        assertEquals(2, handlers.size());
+        assertTrue(handlers.contains(handler1));
+        assertTrue(handlers.contains(handler2));
+
+        // the filters are still applied to each notification
+        registry.registerNotificationHandler(source, new SimpleNotificationHandler(), n -> "baz".equals(n.getType()));
+        assertEquals(2, registry.findMatchingNotificationHandlers(notification).size());
+        assertEquals(3, registry.findMatchingNotificationHandlers(new Notification("baz", source, "bar")).size());
+    }
+
     @Test
     public void testMixWildcardAndConcreteAddresses() {
         NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
@@ -31,6 +31,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -68,6 +69,89 @@ public class NotificationSupportImplTestCase {
         }
     }
 
+    @Test
+    public void testSlowHandlerDoesNotBlockOtherHandlers() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch slowHandled = new CountDownLatch(2);
+            NotificationHandler slowHandler = new NotificationHandler() {
+                @Override
+                public void handleNotification(Notification notification) {
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    slowHandled.countDown();
+                }
+            };
+            CountDownLatch fastLatch = new CountDownLatch(2);
+            CountdownListBackedNotificationHandler fastHandler = new CountdownListBackedNotificationHandler(fastLatch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slowHandler, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, fastHandler, ALL);
+
+            notificationSupport.emit(new Notification("foo", pathAddress("resource", "foo"), "foo"),
+                    new Notification("foo", pathAddress("resource", "foo"), "bar"));
+
+            // the fast handler gets both notifications while the slow one is still busy with the first
+            assertTrue(fastLatch.await(5, SECONDS));
+            assertEquals(2, fastHandler.getNotifications().size());
+            assertTrue(notificationSupport.getBacklog() > 0);
+
+            release.countDown();
+            assertTrue(slowHandled.await(5, SECONDS));
+            assertTrue(notificationSupport.getPeakBacklog() >= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            NotificationSupport notificationSupport = new NotificationSupports.NonBlockingNotificationSupport(
+                    NotificationHandlerRegistration.Factory.create(), executor, true);
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch handled = new CountDownLatch(2);
+            final List<Notification> notifications = new CopyOnWriteArrayList<>();
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, new NotificationHandler() {
+                @Override
+                public void handleNotification(Notification notification) {
+                    try {
+                        release.await(5, SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    notifications.add(notification);
+                    handled.countDown();
+                }
+            }, ALL);
+
+            Notification blocking = new Notification("foo", pathAddress("resource", "foo"), "first");
+            notificationSupport.emit(blocking);
+            // identical notifications queued while the handler is busy are delivered once
+            for (int i = 0; i < 10; i++) {
+                notificationSupport.emit(new Notification("bar", pathAddress("resource", "foo"), "same"));
+            }
+            release.countDown();
+            assertTrue(handled.await(5, SECONDS));
+
+            // once every task ran, no other delivery can happen
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, SECONDS));
+            assertEquals(notifications.toString(), 2, notifications.size());
+            assertEquals(blocking, notifications.get(0));
+            assertEquals("bar", notifications.get(1).getType());
+            assertEquals(9, notificationSupport.getCoalescedCount());
+            assertEquals(0, notificationSupport.getBacklog());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void  doNotificationOrdering(ExecutorService executor) throws Exception {
         int numberOfNotificationsEmitted = 12;
         final CountDownLatch latch = new CountDownLatch(numberOfNotificationsEmitted);
@@ -85,6 +85,30 @@ public class CoreManagementResourceRegistrationUnitTestCase {
         assertSame(TestHandler.TWO, twoHandler);
     }
 
+    @Test
+    public void testModificationCount() throws Exception {
+        long count = rootRegistration.getModificationCount();
+
+        ManagementResourceRegistration child = rootRegistration.registerSubModel(new SimpleResourceDefinition(childElement, new NonResolvingResourceDescriptionResolver()));
+        assertTrue(rootRegistration.getModificationCount() > count);
+        count = rootRegistration.getModificationCount();
+        assertEquals(count, child.getModificationCount());
+
+        child.registerOperationHandler(getOpDef("one"), TestHandler.ONE);
+        assertTrue(rootRegistration.getModificationCount() > count);
+        count = rootRegistration.getModificationCount();
+
+        rootRegistration.getOperationHandler(childAddress, "one");
+        assertEquals(count, rootRegistration.getModificationCount());
+
+        child.unregisterOperationHandler("one");
+        assertTrue(rootRegistration.getModificationCount() > count);
+        count = rootRegistration.getModificationCount();
+
+        rootRegistration.unregisterSubModel(childElement);
+        assertTrue(rootRegistration.getModificationCount() > count);
+    }
+
     @Test
     public void testHandlersOnChildResource() throws Exception {
 
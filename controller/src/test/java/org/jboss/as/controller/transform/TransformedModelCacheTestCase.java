@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.transform;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.ModelVersionRange;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the reuse of transformed root resources by {@link TransformersImpl#transformRootResource}.
+ */
+public class TransformedModelCacheTestCase extends AbstractControllerTestBase {
+
+    private static final String TRANSFORM = "transform";
+    private static final PathElement PROFILE = PathElement.pathElement("profile");
+    private static final ModelVersion VERSION = ModelVersion.create(1, 0, 0);
+    private static final SimpleAttributeDefinition ATTR = new SimpleAttributeDefinitionBuilder("attr", ModelType.STRING, true).build();
+
+    private final AtomicInteger transformations = new AtomicInteger();
+    private TransformerRegistry registry;
+    private volatile Resource transformed;
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        registration.registerSubModel(new SimpleResourceDefinition(PROFILE, new NonResolvingResourceDescriptionResolver(),
+                new ModelOnlyAddStepHandler(ATTR), ModelOnlyRemoveStepHandler.INSTANCE));
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(TRANSFORM, new NonResolvingResourceDescriptionResolver())
+                        .setPrivateEntry()
+                        .build(),
+                (OperationContext context, ModelNode operation) -> {
+                    final TransformationTarget target = TransformationTargetImpl.create(null, registry, VERSION,
+                            Collections.<PathAddress, ModelVersion>emptyMap(), TransformationTarget.TransformationTargetType.DOMAIN);
+                    final Transformers.TransformationInputs inputs = new Transformers.TransformationInputs(context);
+                    transformed = Transformers.Factory.create(target).transformRootResource(inputs, inputs.getRootResource());
+                });
+    }
+
+    @Before
+    public void setUp() throws OperationFailedException {
+        registry = createRegistry();
+        addProfile("a");
+    }
+
+    @Test
+    public void testUnchangedModelReused() throws OperationFailedException {
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(1, transformations.get());
+        final Resource first = transformed;
+
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(1, transformations.get());
+        Assert.assertNotSame(first, transformed);
+        Assert.assertEquals(first.getChildrenNames(PROFILE.getKey()), transformed.getChildrenNames(PROFILE.getKey()));
+        Assert.assertEquals("a", transformed.getChild(PathElement.pathElement(PROFILE.getKey(), "a")).getModel().get(ATTR.getName()).asString());
+    }
+
+    @Test
+    public void testPublishInvalidates() throws OperationFailedException {
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(1, transformations.get());
+
+        addProfile("b");
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(3, transformations.get());
+        Assert.assertTrue(transformed.hasChild(PathElement.pathElement(PROFILE.getKey(), "b")));
+    }
+
+    @Test
+    public void testSeparateRegistriesNotShared() throws OperationFailedException {
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(1, transformations.get());
+
+        // A different domain controller has its own cache
+        registry = createRegistry();
+        executeForResult(createOperation(TRANSFORM));
+        Assert.assertEquals(2, transformations.get());
+    }
+
+    private TransformerRegistry createRegistry() {
+        final TransformerRegistry result = TransformerRegistry.Factory.create();
+        result.getDomainRegistration(ModelVersionRange.Versions.range(VERSION)).registerSubResource(PROFILE,
+                (ResourceTransformationContext context, PathAddress address, Resource resource) -> {
+                    transformations.incrementAndGet();
+                    ResourceTransformer.DEFAULT.transformResource(context, address, resource);
+                });
+        return result;
+    }
+
+    private void addProfile(String name) throws OperationFailedException {
+        ModelNode add = createOperation("add", PROFILE.getKey(), name);
+        add.get(ATTR.getName()).set(name);
+        executeForResult(add);
+    }
+}
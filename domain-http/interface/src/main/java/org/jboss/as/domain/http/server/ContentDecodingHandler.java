@@ -0,0 +1,205 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import io.undertow.io.Receiver;
+import io.undertow.io.Sender;
+import io.undertow.server.BlockingHttpExchange;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+
+/**
+ * Handler decompressing request bodies sent with a {@code gzip} or {@code deflate} {@code Content-Encoding}, for the
+ * handlers reading them using {@link HttpServerExchange#getInputStream()}. Requests using another content coding are
+ * rejected.
+ * <p>
+ * The decoded body is limited to {@link #DEFAULT_MAX_DECODED_SIZE} bytes, or to the max entity size of the listener if
+ * smaller, so a small compressed body cannot exhaust the heap. Reading past the limit fails, and the request fails with a
+ * {@code 413} status however the next handlers report the failure.
+ */
+class ContentDecodingHandler implements HttpHandler {
+
+    static final long DEFAULT_MAX_DECODED_SIZE = 64 * 1024 * 1024;
+
+    private final HttpHandler next;
+    private final long maxDecodedSize;
+
+    ContentDecodingHandler(final HttpHandler next) {
+        this(next, DEFAULT_MAX_DECODED_SIZE);
+    }
+
+    ContentDecodingHandler(final HttpHandler next, final long maxDecodedSize) {
+        this.next = next;
+        this.maxDecodedSize = maxDecodedSize;
+    }
+
+    @Override
+    public void handleRequest(final HttpServerExchange exchange) throws Exception {
+        final HeaderMap requestHeaders = exchange.getRequestHeaders();
+        final String encoding = requestHeaders.getFirst(Headers.CONTENT_ENCODING);
+        if (encoding != null && !"identity".equalsIgnoreCase(encoding)) {
+            final boolean gzip = "gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding);
+            if (!gzip && !"deflate".equalsIgnoreCase(encoding)) {
+                // RFC 7231: 3.1.2.2 Content-Encoding
+                ROOT_LOGGER.debugf("Request rejected due to unsupported content encoding %s", encoding);
+                Common.UNSUPPORTED_MEDIA_TYPE.handleRequest(exchange);
+                return;
+            }
+            if (!exchange.isBlocking()) {
+                exchange.startBlocking();
+            }
+            final long maxEntitySize = exchange.getMaxEntitySize();
+            final long maxSize = maxEntitySize > 0 ? Math.min(maxEntitySize, maxDecodedSize) : maxDecodedSize;
+            final DecodingBlockingHttpExchange decoding = new DecodingBlockingHttpExchange(gzip, maxSize);
+            decoding.delegate = exchange.startBlocking(decoding);
+            exchange.addResponseCommitListener(ex -> {
+                if (decoding.tooLarge) {
+                    ex.setStatusCode(StatusCodes.REQUEST_ENTITY_TOO_LARGE);
+                }
+            });
+            // Both describe the body as sent, not as read by the next handlers
+            requestHeaders.remove(Headers.CONTENT_ENCODING);
+            requestHeaders.remove(Headers.CONTENT_LENGTH);
+        }
+        next.handleRequest(exchange);
+    }
+
+    private static final class DecodingBlockingHttpExchange implements BlockingHttpExchange {
+        private final boolean gzip;
+        private final long maxSize;
+        private BlockingHttpExchange delegate;
+        private InputStream inputStream;
+        private volatile boolean tooLarge;
+
+        private DecodingBlockingHttpExchange(final boolean gzip, final long maxSize) {
+            this.gzip = gzip;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            if (inputStream == null) {
+                final InputStream raw = delegate.getInputStream();
+                try {
+                    inputStream = new LimitedInputStream(gzip ? new GZIPInputStream(raw) : new InflaterInputStream(raw));
+                } catch (IOException e) {
+                    // The gzip header is invalid or could not be read; fail on the first read
+                    inputStream = new InputStream() {
+                        @Override
+                        public int read() throws IOException {
+                            throw e;
+                        }
+                    };
+                }
+            }
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return delegate.getOutputStream();
+        }
+
+        @Override
+        public Sender getSender() {
+            return delegate.getSender();
+        }
+
+        @Override
+        public Receiver getReceiver() {
+            return delegate.getReceiver();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (inputStream != null) {
+                    inputStream.close();
+                }
+            } finally {
+                delegate.close();
+            }
+        }
+
+        /**
+         * Fails reads once more than {@code maxSize} decoded bytes were read.
+         */
+        private final class LimitedInputStream extends FilterInputStream {
+            private long remaining = maxSize;
+
+            private LimitedInputStream(final InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b != -1) {
+                    count(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final int read = super.read(b, off, len);
+                if (read > 0) {
+                    count(read);
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(final long n) throws IOException {
+                final long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            private void count(final long read) throws IOException {
+                remaining -= read;
+                if (remaining < 0) {
+                    tooLarge = true;
+                    throw ROOT_LOGGER.decodedRequestTooLarge(maxSize);
+                }
+            }
+        }
+    }
+}
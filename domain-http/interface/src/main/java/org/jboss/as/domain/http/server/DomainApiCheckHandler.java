@@ -24,17 +24,20 @@ package org.jboss.as.domain.http.server;
 import static org.jboss.as.domain.http.server.cors.CorsUtil.matchOrigin;
 import static org.jboss.as.domain.http.server.logging.HttpServerLogger.ROOT_LOGGER;
 
+import io.undertow.predicate.Predicate;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+import io.undertow.server.handlers.encoding.DeflateEncodingProvider;
 import io.undertow.server.handlers.encoding.EncodingHandler;
+import io.undertow.server.handlers.encoding.GzipEncodingProvider;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import io.undertow.util.Methods;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ControlledProcessStateService;
@@ -61,9 +64,9 @@ class DomainApiCheckHandler implements HttpHandler {
 
     DomainApiCheckHandler(final ModelController modelController, final ControlledProcessStateService controlledProcessStateService, final Collection<String> allowedOrigins) {
         this.controlledProcessStateService = controlledProcessStateService;
-        domainApiHandler = new BlockingHandler(new SubjectDoAsHandler(new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiHandler(modelController))));
-        addContentHandler = new BlockingHandler(new SubjectDoAsHandler(new DomainApiUploadHandler(modelController)));
-        genericOperationHandler = new BlockingHandler(new SubjectDoAsHandler(new EncodingHandler.Builder().build(Collections.<String,Object>emptyMap()).wrap(new DomainApiGenericOperationHandler(modelController))));
+        domainApiHandler = new BlockingHandler(new ContentDecodingHandler(new SubjectDoAsHandler(createEncodingHandler(new DomainApiHandler(modelController)))));
+        addContentHandler = new BlockingHandler(new ContentDecodingHandler(new SubjectDoAsHandler(new DomainApiUploadHandler(modelController))));
+        genericOperationHandler = new BlockingHandler(new ContentDecodingHandler(new SubjectDoAsHandler(createEncodingHandler(new DomainApiGenericOperationHandler(modelController)))));
         if (allowedOrigins != null) {
             for (String allowedOrigin : allowedOrigins) {
                 this.allowedOrigins.add(CorsUtil.sanitizeDefaultPort(allowedOrigin));
@@ -71,6 +74,18 @@ class DomainApiCheckHandler implements HttpHandler {
         }
     }
 
+    /**
+     * Wraps a handler so that its responses are compressed with gzip or deflate, as negotiated using the request's
+     * {@code Accept-Encoding}, unless they are small.
+     */
+    static HttpHandler createEncodingHandler(final HttpHandler next) {
+        final Predicate compressible = DomainUtil::isCompressible;
+        final ContentEncodingRepository encodings = new ContentEncodingRepository()
+                .addEncodingHandler("gzip", new GzipEncodingProvider(), 100, compressible)
+                .addEncodingHandler("deflate", new DeflateEncodingProvider(), 10, compressible);
+        return new EncodingHandler(next, encodings);
+    }
+
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (!commonChecks(exchange)) {
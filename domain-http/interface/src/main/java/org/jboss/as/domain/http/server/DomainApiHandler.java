@@ -28,6 +28,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTE_FOR_COORDINATOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -36,6 +37,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYNC_REMOVED_FOR_READD;
@@ -47,15 +50,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ThreadLocalRandom;
 
 import io.undertow.server.HttpHandler;
+import io.undertow.security.api.SecurityContext;
+import io.undertow.security.idm.Account;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.ETag;
 import io.undertow.util.ETagUtils;
@@ -74,7 +83,6 @@ import org.jboss.as.domain.http.server.logging.HttpServerLogger;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
-import org.xnio.streams.ChannelInputStream;
 
 /**
  *
@@ -85,6 +93,8 @@ class DomainApiHandler implements HttpHandler {
     private static final String JSON_PRETTY = "json.pretty";
     private static final String USE_STREAM_AS_RESPONSE = "useStreamAsResponse";
     private static final HttpString USE_STREAM_AS_RESPONSE_HEADER = new HttpString("org.wildfly.useStreamAsResponse");
+    private static final String ETAG_INTERVAL = "etagInterval";
+    private static final HttpString ETAG_INTERVAL_HEADER = new HttpString("org.wildfly.etagInterval");
 
     /**
      * Represents all possible management operations that can be executed using HTTP GET. Cacheable operations
@@ -120,6 +130,8 @@ class DomainApiHandler implements HttpHandler {
     }
 
     private final ModelController modelController;
+    /** Distinguishes the model generations of this handler's controller from those of earlier ones */
+    private final String etagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
 
     DomainApiHandler(ModelController modelController) {
         this.modelController = modelController;
@@ -130,6 +142,7 @@ class DomainApiHandler implements HttpHandler {
 
         final ModelNode dmr;
         final OperationResponse response;
+        final ETag generationETag;
 
         final HeaderMap requestHeaders = exchange.getRequestHeaders();
         final boolean cachable;
@@ -145,9 +158,11 @@ class DomainApiHandler implements HttpHandler {
                 operationParameterBuilder.maxAge(operation.getMaxAge());
                 dmr = convertGetRequest(exchange, operation);
                 cachable = operation.getMaxAge() > 0;
+                generationETag = streamIndex < 0 ? createGenerationETag(exchange, operation, dmr, encode) : null;
             } else {
                 dmr = convertPostRequest(exchange, encode);
                 cachable = false;
+                generationETag = null;
             }
             //operationParameterBuilder.pretty(dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean());
             boolean pretty = false;
@@ -163,6 +178,17 @@ class DomainApiHandler implements HttpHandler {
             return;
         }
 
+        if (generationETag != null) {
+            operationParameterBuilder.etag(generationETag);
+            if (!ETagUtils.handleIfNoneMatch(exchange, generationETag, true)) {
+                // The client has the current result; no need to execute the operation
+                exchange.setStatusCode(304);
+                DomainUtil.writeCacheHeaders(exchange, 304, operationParameterBuilder.build());
+                exchange.endExchange();
+                return;
+            }
+        }
+
         final ResponseCallback callback = new ResponseCallback() {
             @Override
             void doSendResponse(final OperationResponse response) {
@@ -217,7 +243,7 @@ class DomainApiHandler implements HttpHandler {
                 headers.remove(DOMAIN_UUID);
             }
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
-            if (cachable && streamIndex > -1) {
+            if (cachable && streamIndex > -1 && generationETag == null) {
                 // Use the MD5 of the model nodes toString() method as ETag
                 MessageDigest md = MessageDigest.getInstance("MD5");
                 md.update(response.toString().getBytes());
@@ -239,6 +265,78 @@ class DomainApiHandler implements HttpHandler {
         callback.sendResponse(response);
     }
 
+    /**
+     * Creates an ETag for a GET request based on the management model generation, which is computed before the
+     * operation executes, so that a client with an up to date cached result gets a 304 without it being executed.
+     * Configuration reads are eligible unless they involve resources of other processes. Reads which may include
+     * runtime values, including the names of runtime-only children, are only eligible if the client opts in by giving an interval in seconds, in which case the ETag
+     * also changes whenever the interval elapses, bounding how stale the cached result can get.
+     *
+     * @return the ETag, or {@code null} if the request is not eligible
+     */
+    private ETag createGenerationETag(final HttpServerExchange exchange, final GetOperation operation, final ModelNode dmr,
+                                      final boolean encode) throws NoSuchAlgorithmException {
+        final long interval = getETagInterval(exchange);
+        final PathAddress address = PathAddress.pathAddress(dmr.get(OP_ADDR));
+        final long generation = modelController.getModelGeneration(address);
+        final String validity;
+        if (interval > 0) {
+            validity = generation + "." + System.currentTimeMillis() / (interval * 1000);
+        } else if (generation >= 0 && isConfigurationRead(operation, dmr, address)) {
+            validity = Long.toString(generation);
+        } else {
+            return null;
+        }
+        // The result also depends on the request and on the caller's permissions
+        final MessageDigest md = MessageDigest.getInstance("MD5");
+        md.update(exchange.getRequestPath().getBytes(StandardCharsets.UTF_8));
+        md.update((byte) '?');
+        md.update(exchange.getQueryString().getBytes(StandardCharsets.UTF_8));
+        md.update((byte) (encode ? 1 : 0));
+        final SecurityContext securityContext = exchange.getSecurityContext();
+        final Account account = securityContext == null ? null : securityContext.getAuthenticatedAccount();
+        final Principal principal = account == null ? null : account.getPrincipal();
+        if (principal != null) {
+            md.update(principal.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        return new ETag(true, etagPrefix + "-" + validity + "-" + HexConverter.convertToHexString(md.digest()));
+    }
+
+    private boolean isConfigurationRead(final GetOperation operation, final ModelNode dmr, final PathAddress address) {
+        switch (operation) {
+            case RESOURCE:
+                if (dmr.hasDefined(INCLUDE_RUNTIME) && dmr.get(INCLUDE_RUNTIME).asBoolean()) {
+                    return false;
+                }
+                // Only a full recursive read skips runtime-only children; other reads list their names, which
+                // change without the model generation changing
+                if (dmr.hasDefined(RECURSIVE_DEPTH)) {
+                    return false;
+                } else if (dmr.hasDefined(RECURSIVE) && dmr.get(RECURSIVE).asBoolean()) {
+                    return true;
+                }
+                return !modelController.hasRuntimeOnlyChildren(address);
+            case RESOURCE_DESCRIPTION:
+            case OPERATION_DESCRIPTION:
+            case OPERATION_NAMES:
+                return true;
+            default:
+                // Attributes may be runtime ones, and snapshots are not part of the model
+                return false;
+        }
+    }
+
+    private static long getETagInterval(final HttpServerExchange exchange) {
+        // First check for an HTTP header
+        String value = exchange.getRequestHeaders().getFirst(ETAG_INTERVAL_HEADER);
+        if (value == null) {
+            // Nope. Now check for a URL query parameter
+            final Deque<String> holder = exchange.getQueryParameters().get(ETAG_INTERVAL);
+            value = holder == null ? null : holder.getFirst();
+        }
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
     private static int getStreamIndex(final HttpServerExchange exchange, final HeaderMap requestHeaders) {
         // First check for an HTTP header
         int result = getStreamIndex(requestHeaders.get(USE_STREAM_AS_RESPONSE_HEADER));
@@ -295,7 +393,10 @@ class DomainApiHandler implements HttpHandler {
             String key = entry.getKey();
             String value = entry.getValue().getFirst();
              ModelNode valueNode = null;
-            if (key.startsWith("operation-header-")) {
+            if (key.equals(ETAG_INTERVAL)) {
+                // Not an operation parameter
+                continue;
+            } else if (key.startsWith("operation-header-")) {
                 String header = key.substring("operation-header-".length());
                 //Remove the same headers as the native interface (ModelControllerClientOperationHandler)
                 if (!header.equals(SYNC_REMOVED_FOR_READD) &&
@@ -319,7 +420,8 @@ class DomainApiHandler implements HttpHandler {
     }
 
     private ModelNode convertPostRequest(HttpServerExchange exchange, boolean encode) throws IOException {
-        InputStream in = new ChannelInputStream(exchange.getRequestChannel());
+        // The exchange's input stream, rather than its channel, has any content encoding removed
+        InputStream in = exchange.getInputStream();
         try {
             return encode ? ModelNode.fromBase64(in) : ModelNode.fromJSONStream(in);
         } finally {
@@ -110,7 +110,9 @@ class DomainApiUploadHandler implements HttpHandler {
         exchange.setStatusCode(200);
 
         //TODO Content-Length?
-        exchange.startBlocking();
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
 
         PrintWriter print = new PrintWriter(exchange.getOutputStream());
         try {
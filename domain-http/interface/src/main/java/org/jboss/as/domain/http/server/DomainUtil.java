@@ -25,9 +25,13 @@ import static io.undertow.util.Headers.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
@@ -48,6 +52,9 @@ import org.xnio.IoUtils;
  */
 public class DomainUtil {
 
+    /** Size in bytes above which responses are streamed, and compressed if the client accepts it */
+    static final int COMPRESSION_THRESHOLD = 8192;
+
     public static void writeResponse(final HttpServerExchange exchange, final int status, ModelNode response,
             OperationParameter operationParameter) {
 
@@ -64,10 +71,8 @@ public class DomainUtil {
             // is not send as part of the response but expressed with the HTTP status code.
             response = response.get(RESULT);
         }
-        try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+        try (OutputStream out = new ResponseOutputStream(exchange)) {
+            writeResponseBody(response, operationParameter, out);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -155,16 +160,68 @@ public class DomainUtil {
         return "application/octet-stream";
     }
 
-    private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
+    private static void writeResponseBody(final ModelNode modelNode, final OperationParameter operationParameter, final OutputStream out) throws IOException {
         if (operationParameter.isEncode()) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BufferedOutputStream out = new BufferedOutputStream(baos);
-            modelNode.writeBase64(out);
-            out.flush();
-            return baos.toByteArray();
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            modelNode.writeBase64(buffered);
+            buffered.flush();
         } else {
-            String json = modelNode.toJSONString(!operationParameter.isPretty());
-            return json.getBytes(StandardCharsets.UTF_8);
+            PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            modelNode.writeJSONString(writer, !operationParameter.isPretty());
+            writer.flush();
+        }
+    }
+
+    /**
+     * Gets whether a response should be compressed, if the client accepts it. Responses which are streamed, and so have
+     * no {@code Content-Length}, are compressed; small ones, sent with their length, are not worth it.
+     */
+    static boolean isCompressible(final HttpServerExchange exchange) {
+        final String length = exchange.getResponseHeaders().getFirst(Headers.CONTENT_LENGTH);
+        return length == null || Long.parseLong(length) > COMPRESSION_THRESHOLD;
+    }
+
+    /**
+     * Output stream for a response body, which buffers up to {@link #COMPRESSION_THRESHOLD} bytes. A body which fits
+     * is sent in one go with its {@code Content-Length}, while a larger one is streamed, if the exchange is blocking,
+     * so that it is neither held in memory in full nor before being compressed.
+     */
+    private static final class ResponseOutputStream extends OutputStream {
+        private final HttpServerExchange exchange;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(COMPRESSION_THRESHOLD);
+        private OutputStream out;
+
+        private ResponseOutputStream(final HttpServerExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (out != null) {
+                out.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() > COMPRESSION_THRESHOLD && exchange.isBlocking()) {
+                out = exchange.getOutputStream();
+                buffer.writeTo(out);
+                buffer = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            } else {
+                exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, buffer.size());
+                exchange.getResponseSender().send(ByteBuffer.wrap(buffer.toByteArray()));
+            }
         }
     }
 
@@ -25,6 +25,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.net.InetAddress;
 
 import org.jboss.logging.BasicLogger;
@@ -94,4 +95,7 @@ public interface HttpServerLogger extends BasicLogger {
 
     @Message(id = 13, value = "Invalid useStreamIndex value '%d'. The operation response had %d streams attached.")
     String invalidUseStreamAsResponseIndex(int index, int available);
+
+    @Message(id = 14, value = "The decoded request body exceeds the maximum size of %d bytes")
+    IOException decodedRequestTooLarge(long maxSize);
 }
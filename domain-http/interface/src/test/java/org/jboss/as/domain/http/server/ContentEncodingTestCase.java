@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.BlockingHandler;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the compression of management responses and of the decompression of request bodies.
+ */
+public class ContentEncodingTestCase {
+
+    private Undertow server;
+    private URL url;
+
+    @Before
+    public void startServer() throws Exception {
+        // Echoes the request's "size" copies of its "value"
+        startServer(ContentDecodingHandler.DEFAULT_MAX_DECODED_SIZE);
+    }
+
+    private void startServer(final long maxDecodedSize) throws Exception {
+        server = Undertow.builder().addHttpListener(0, "localhost")
+                .setHandler(new BlockingHandler(new ContentDecodingHandler(DomainApiCheckHandler.createEncodingHandler(exchange -> {
+                    final ModelNode request = ModelNode.fromJSONStream(exchange.getInputStream());
+                    final ModelNode response = new ModelNode();
+                    final ModelNode result = response.get("result").setEmptyList();
+                    for (int i = 0; i < request.get("size").asInt(); i++) {
+                        result.add(request.get("value"));
+                    }
+                    DomainUtil.writeResponse(exchange, 200, response, new OperationParameter.Builder(false).build());
+                }), maxDecodedSize))).build();
+        server.start();
+        final InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+        url = new URL("http", "localhost", address.getPort(), "/management");
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testSmallResponseNotCompressed() throws Exception {
+        final HttpURLConnection connection = post(createRequest(1), null);
+        assertEquals(200, connection.getResponseCode());
+        assertNull(connection.getHeaderField("Content-Encoding"));
+        final byte[] body = read(connection.getInputStream());
+        assertEquals(body.length, connection.getContentLength());
+        assertEquals(1, ModelNode.fromJSONString(new String(body, StandardCharsets.UTF_8)).get("result").asInt());
+    }
+
+    @Test
+    public void testLargeResponseCompressed() throws Exception {
+        final int size = DomainUtil.COMPRESSION_THRESHOLD;
+        final HttpURLConnection connection = post(createRequest(size), null);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+        final ModelNode result = ModelNode.fromJSONStream(new GZIPInputStream(connection.getInputStream()));
+        assertEquals(size, result.get("result").asInt());
+    }
+
+    @Test
+    public void testCompressedRequest() throws Exception {
+        final byte[] request = createRequest(2);
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(request);
+        }
+        HttpURLConnection connection = post(gzip.toByteArray(), "gzip");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(2, ModelNode.fromJSONStream(connection.getInputStream()).get("result").asInt());
+
+        final ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(deflate)) {
+            out.write(request);
+        }
+        connection = post(deflate.toByteArray(), "deflate");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(2, ModelNode.fromJSONStream(connection.getInputStream()).get("result").asInt());
+
+        connection = post(request, "br");
+        assertEquals(415, connection.getResponseCode());
+    }
+
+    @Test
+    public void testOversizedCompressedRequest() throws Exception {
+        stopServer();
+        startServer(1024);
+
+        // A valid request whose decoded body exceeds the limit, although its compressed body is small
+        final ModelNode request = new ModelNode();
+        request.get("size").set(1);
+        request.get("value").set(new String(new char[8 * 1024]).replace('\0', 'a'));
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(request.toJSONString(true).getBytes(StandardCharsets.UTF_8));
+        }
+        assertTrue(gzip.size() < 1024);
+        assertEquals(413, post(gzip.toByteArray(), "gzip").getResponseCode());
+
+        // A body within the limit is still decoded
+        final ByteArrayOutputStream small = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(small)) {
+            out.write(createRequest(2));
+        }
+        final HttpURLConnection connection = post(small.toByteArray(), "gzip");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(2, ModelNode.fromJSONStream(connection.getInputStream()).get("result").asInt());
+    }
+
+    private HttpURLConnection post(final byte[] body, final String contentEncoding) throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", Common.APPLICATION_JSON);
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        if (contentEncoding != null) {
+            connection.setRequestProperty("Content-Encoding", contentEncoding);
+        }
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+
+    private static byte[] createRequest(final int size) {
+        final ModelNode request = new ModelNode();
+        request.get("size").set(size);
+        request.get("value").set("value");
+        return request.toJSONString(true).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] read(final InputStream in) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
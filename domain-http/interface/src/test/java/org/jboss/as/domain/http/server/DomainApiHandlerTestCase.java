@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.undertow.Undertow;
+import io.undertow.server.handlers.BlockingHandler;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationAttachments;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the ETags based on the model generation, which let cached GET results be revalidated without executing
+ * the operation.
+ */
+public class DomainApiHandlerTestCase {
+
+    private static final PathAddress RUNTIME_CHILDREN = PathAddress.pathAddress(PathElement.pathElement("subsystem", "runtime"));
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private Undertow server;
+    private String baseUrl;
+
+    @Before
+    public void startServer() throws Exception {
+        server = Undertow.builder().addHttpListener(0, "localhost")
+                .setHandler(new BlockingHandler(new DomainApiHandler(new TestModelController()))).build();
+        server.start();
+        final InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0).getAddress();
+        baseUrl = "http://localhost:" + address.getPort() + "/management";
+    }
+
+    @After
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void testIfNoneMatchNotExecuted() throws Exception {
+        HttpURLConnection connection = get("/subsystem/config", null);
+        assertEquals(200, connection.getResponseCode());
+        final String etag = connection.getHeaderField("ETag");
+        assertNotNull(etag);
+        assertEquals(1, executions.get());
+
+        connection = get("/subsystem/config", etag);
+        assertEquals(304, connection.getResponseCode());
+        assertEquals(etag, connection.getHeaderField("ETag"));
+        assertEquals(1, executions.get());
+
+        // Other reads have their own ETag
+        connection = get("/subsystem/config?operation=resource-description", etag);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testRuntimeOnlyChildrenNotCached() throws Exception {
+        // The names of the runtime-only children are listed, and change without the model generation changing
+        HttpURLConnection connection = get("/subsystem/runtime", null);
+        assertEquals(200, connection.getResponseCode());
+        assertNull(connection.getHeaderField("ETag"));
+
+        // A full recursive read skips them
+        connection = get("/subsystem/runtime?recursive", null);
+        assertEquals(200, connection.getResponseCode());
+        final String etag = connection.getHeaderField("ETag");
+        assertNotNull(etag);
+        connection = get("/subsystem/runtime?recursive", etag);
+        assertEquals(304, connection.getResponseCode());
+
+        // Unless it is limited in depth
+        connection = get("/subsystem/runtime?recursive&recursive-depth=1", null);
+        assertEquals(200, connection.getResponseCode());
+        assertNull(connection.getHeaderField("ETag"));
+        assertEquals(3, executions.get());
+    }
+
+    private HttpURLConnection get(final String path, final String ifNoneMatch) throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        if (ifNoneMatch != null) {
+            connection.setRequestProperty("If-None-Match", ifNoneMatch);
+        }
+        return connection;
+    }
+
+    private class TestModelController implements ModelController {
+
+        @Override
+        public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+            executions.incrementAndGet();
+            final ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RESULT).setEmptyObject();
+            return OperationResponse.Factory.createSimple(response);
+        }
+
+        @Override
+        public ModelControllerClient createClient(Executor executor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NotificationHandlerRegistration getNotificationRegistry() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getModelGeneration(PathAddress address) {
+            return 1;
+        }
+
+        @Override
+        public boolean hasRuntimeOnlyChildren(PathAddress address) {
+            return address.equals(RUNTIME_CHILDREN);
+        }
+    }
+}
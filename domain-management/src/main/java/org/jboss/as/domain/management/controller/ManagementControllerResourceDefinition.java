@@ -24,17 +24,24 @@ package org.jboss.as.domain.management.controller;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATIONS_COALESCED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOTIFICATION_BACKLOG_PEAK;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_BEGUN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_MODIFICATION_COMPLETE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.NotificationDefinition;
+import org.jboss.as.controller.NotificationMetricsHandler;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@code ResourceDefinition} for the management of operation execution.
@@ -50,6 +57,22 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     private static final NotificationDefinition NOTIFICATION_BEGIN_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_BEGUN, RESOLVER).build();
     private static final NotificationDefinition NOTIFICATION_COMPLETE_RUNTIME_MODIFICATION = NotificationDefinition.Builder.create(RUNTIME_MODIFICATION_COMPLETE, RESOLVER).build();
 
+    private static final AttributeDefinition NOTIFICATION_BACKLOG_ATTRIBUTE =
+            SimpleAttributeDefinitionBuilder.create(NOTIFICATION_BACKLOG, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setRuntimeServiceNotRequired()
+                    .build();
+    private static final AttributeDefinition NOTIFICATION_BACKLOG_PEAK_ATTRIBUTE =
+            SimpleAttributeDefinitionBuilder.create(NOTIFICATION_BACKLOG_PEAK, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setRuntimeServiceNotRequired()
+                    .build();
+    private static final AttributeDefinition NOTIFICATIONS_COALESCED_ATTRIBUTE =
+            SimpleAttributeDefinitionBuilder.create(NOTIFICATIONS_COALESCED, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .setRuntimeServiceNotRequired()
+                    .build();
+
     public static final ResourceDefinition INSTANCE = new ManagementControllerResourceDefinition();
 
     private ManagementControllerResourceDefinition() {
@@ -65,6 +88,14 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
         resourceRegistration.registerOperationHandler(CancelNonProgressingOperationHandler.DEFINITION, CancelNonProgressingOperationHandler.INSTANCE);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(NOTIFICATION_BACKLOG_ATTRIBUTE, NotificationMetricsHandler.INSTANCE);
+        resourceRegistration.registerMetric(NOTIFICATION_BACKLOG_PEAK_ATTRIBUTE, NotificationMetricsHandler.INSTANCE);
+        resourceRegistration.registerMetric(NOTIFICATIONS_COALESCED_ATTRIBUTE, NotificationMetricsHandler.INSTANCE);
+    }
+
     @Override
     public void registerNotifications(ManagementResourceRegistration resourceRegistration) {
         super.registerNotifications(resourceRegistration);
@@ -76,5 +107,6 @@ public class ManagementControllerResourceDefinition extends SimpleResourceDefini
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
         resourceRegistration.registerSubModel(ActiveOperationResourceDefinition.INSTANCE);
+        resourceRegistration.registerSubModel(OperationProfileResourceDefinition.INSTANCE);
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.management.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_PROFILE;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.domain.management._private.DomainManagementResolver;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@code ResourceDefinition} for the aggregated cost of the profiled executions of an operation.
+ */
+public class OperationProfileResourceDefinition extends SimpleResourceDefinition {
+
+    public static final PathElement PATH_ELEMENT = PathElement.pathElement(OPERATION_PROFILE);
+
+    static final ResourceDefinition INSTANCE = new OperationProfileResourceDefinition();
+
+    private static final AttributeDefinition INVOCATION_COUNT =
+            SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.INVOCATION_COUNT, ModelType.LONG).build();
+    private static final AttributeDefinition WALL_TIME = nanoseconds(ModelDescriptionConstants.WALL_TIME);
+    private static final AttributeDefinition MAX_WALL_TIME = nanoseconds(ModelDescriptionConstants.MAX_WALL_TIME);
+    private static final AttributeDefinition CPU_TIME = nanoseconds(ModelDescriptionConstants.CPU_TIME);
+    private static final AttributeDefinition ALLOCATED_BYTES =
+            SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.ALLOCATED_BYTES, ModelType.LONG)
+                    .setMeasurementUnit(MeasurementUnit.BYTES)
+                    .build();
+    private static final AttributeDefinition LOCK_WAIT_TIME = nanoseconds(ModelDescriptionConstants.LOCK_WAIT_TIME);
+    private static final AttributeDefinition STABILITY_WAIT_TIME = nanoseconds(ModelDescriptionConstants.STABILITY_WAIT_TIME);
+
+    private OperationProfileResourceDefinition() {
+        super(new Parameters(PATH_ELEMENT, DomainManagementResolver.getResolver(CORE, MANAGEMENT_OPERATIONS, OPERATION_PROFILE)).setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerReadOnlyAttribute(INVOCATION_COUNT, null);
+        resourceRegistration.registerReadOnlyAttribute(WALL_TIME, null);
+        resourceRegistration.registerReadOnlyAttribute(MAX_WALL_TIME, null);
+        resourceRegistration.registerReadOnlyAttribute(CPU_TIME, null);
+        resourceRegistration.registerReadOnlyAttribute(ALLOCATED_BYTES, null);
+        resourceRegistration.registerReadOnlyAttribute(LOCK_WAIT_TIME, null);
+        resourceRegistration.registerReadOnlyAttribute(STABILITY_WAIT_TIME, null);
+    }
+
+    private static AttributeDefinition nanoseconds(String name) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+                .build();
+    }
+}
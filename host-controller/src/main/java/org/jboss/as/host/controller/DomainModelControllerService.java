@@ -107,6 +107,7 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.MutableRootResourceRegistrationProvider;
 import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
@@ -221,6 +222,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final CapabilityRegistry capabilityRegistry;
     private final DomainHostExcludeRegistry domainHostExcludeRegistry;
     private final AtomicBoolean domainModelComplete = new AtomicBoolean(false);
+    private final ServerGroupBootOperationsCache serverGroupBootOperationsCache = new ServerGroupBootOperationsCache();
     private final PartialModelIndicator partialModelIndicator = new PartialModelIndicator() {
         @Override
         public boolean isModelPartial() {
@@ -591,6 +593,9 @@ public class DomainModelControllerService extends AbstractControllerService impl
         boolean ok = false;
         boolean reachedServers = false;
         try {
+            // the interfaces resolved while booting share a snapshot of the network interfaces
+            NetworkInterfaceSnapshot.bootStarting();
+
             // Install server inventory callback
             ServerInventoryCallbackService.install(serviceTarget);
 
@@ -766,7 +771,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
             if (ok && processType != ProcessType.EMBEDDED_HOST_CONTROLLER) {
                 // Install the server > host operation handler
                 ServerToHostOperationHandlerFactoryService.install(serviceTarget, ServerInventoryService.SERVICE_NAME,
-                        getExecutorServiceInjector().getValue(), new InternalExecutor(), this, expressionResolver, environment.getDomainTempDir());
+                        getExecutorServiceInjector().getValue(), new InternalExecutor(), this, serverGroupBootOperationsCache, expressionResolver,
+                        environment.getDomainTempDir());
 
                 // demand native mgmt services
                 serviceTarget.addService(ServiceName.JBOSS.append("native-mgmt-startup"), Service.NULL)
@@ -792,6 +798,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 ok = false;
             }
         } finally {
+            NetworkInterfaceSnapshot.bootCompleted();
             if (ok) {
                 try {
                     finishBoot();
@@ -966,6 +973,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
         }
         extensionRegistry.clear();
         domainModelComplete.set(false);
+        // the model generations start again with the next model controller
+        serverGroupBootOperationsCache.clear();
         super.stop(context);
     }
 
@@ -101,7 +101,11 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VAU
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VAULT_OPTIONS;
 import static org.jboss.as.host.controller.ManagedServerBootCmdFactory.resolveExpressions;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.util.AbstractList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -175,11 +179,30 @@ public final class ManagedServerOperationsFactory {
                                               final DomainController domainController, final ExpressionResolver expressionResolver) {
         final ManagedServerOperationsFactory factory = new ManagedServerOperationsFactory(serverName, domainModel,
                 hostModel, domainController, expressionResolver);
-
-
         return factory.getBootUpdates();
     }
 
+    /**
+     * Prepare the operations required to a boot a managed server, reusing the operations created for previous
+     * servers of the same server group from the same generation of the domain model.
+     *
+     * @param serverName the server name
+     * @param domainModel the complete domain model
+     * @param modelGeneration the generation of the domain model, or {@code -1} if it is not known
+     * @param hostModel the local host model
+     * @param domainController the domain controller
+     * @param bootOperationsCache the cache of the operations shared by the servers of a server group
+     * @return the boot operations
+     */
+    public static BootUpdates prepareBootUpdates(final String serverName, final ModelNode domainModel, final long modelGeneration,
+                                                 final ModelNode hostModel, final DomainController domainController,
+                                                 final ServerGroupBootOperationsCache bootOperationsCache,
+                                                 final ExpressionResolver expressionResolver) {
+        final ManagedServerOperationsFactory factory = new ManagedServerOperationsFactory(serverName, domainModel,
+                hostModel, domainController, expressionResolver);
+        return factory.prepareBootUpdates(modelGeneration, bootOperationsCache);
+    }
+
     private final String serverName;
     private final ModelNode domainModel;
     private final ModelNode hostModel;
@@ -203,6 +226,10 @@ public final class ManagedServerOperationsFactory {
     }
 
     ModelNode getBootUpdates() {
+        return prepareBootUpdates(-1, new ServerGroupBootOperationsCache()).toModelNode();
+    }
+
+    BootUpdates prepareBootUpdates(final long modelGeneration, final ServerGroupBootOperationsCache cache) {
 
         int portOffSet = 0;
         String socketBindingRef = null;
@@ -247,11 +274,19 @@ public final class ManagedServerOperationsFactory {
         addConfigurationChanges(updates);
         addInterfaces(updates);
         addSocketBindings(updates, portOffSet, socketBindingRef, defaultInterface);
-        addSubsystems(updates);
-        addDeployments(updates);
-        addDeploymentOverlays(updates);
 
-        return updates.model;
+        ensureDeploymentContent();
+        ServerGroupBootOperationsCache.Entry groupUpdates = cache.get(serverGroupName, modelGeneration, serverGroup);
+        if (groupUpdates == null) {
+            final ModelNodeList list = new ModelNodeList();
+            addSubsystems(list);
+            addDeployments(list);
+            addDeploymentOverlays(list);
+            list.model.protect();
+            groupUpdates = cache.put(serverGroupName, modelGeneration, serverGroup, list.model.asList());
+        }
+
+        return new BootUpdates(updates.model, groupUpdates);
     }
 
     private void setServerGroupHost(ModelNodeList updates) {
@@ -766,14 +801,50 @@ public final class ManagedServerOperationsFactory {
         updates.addAll(node.asList());
     }
 
-    private void addDeployments(List<ModelNode> updates) {
+    /**
+     * Makes sure a slave host has a copy of the content of the deployments and deployment overlays the server uses.
+     * This is done for each server, even when the operations for its server group are reused.
+     */
+    private void ensureDeploymentContent() {
+        if (domainController.getLocalHostInfo().isMasterDomainController()) {
+            return;
+        }
+        final HostFileRepository remoteRepository = domainController.getRemoteFileRepository();
         if (serverGroup.hasDefined(DEPLOYMENT)) {
-
-            HostFileRepository remoteRepository = null;
-            if (!domainController.getLocalHostInfo().isMasterDomainController()) {
-                remoteRepository = domainController.getRemoteFileRepository();
+            for (Property deployment : serverGroup.get(DEPLOYMENT).asPropertyList()) {
+                String name = deployment.getName();
+                ModelNode domainDeployment = domainModel.require(DEPLOYMENT).require(name);
+                PathAddress addr = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT, name));
+                for (ModelNode content : domainDeployment.require(CONTENT).asList()) {
+                    if ((content.hasDefined(HASH))) {
+                        ensureContent(remoteRepository, addr, content.require(HASH).asBytes());
+                    }
+                }
+            }
+        }
+        if (domainModel.hasDefined(DEPLOYMENT_OVERLAY)) {
+            for (Property deploymentOverlay : domainModel.get(DEPLOYMENT_OVERLAY).asPropertyList()) {
+                ModelNode details = deploymentOverlay.getValue();
+                if (details.hasDefined(CONTENT)) {
+                    PathAddress addr = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT_OVERLAY, deploymentOverlay.getName()));
+                    for (Property content : details.get(CONTENT).asPropertyList()) {
+                        ensureContent(remoteRepository, addr, content.getValue().require(CONTENT).asBytes());
+                    }
+                }
             }
+        }
+    }
 
+    private void ensureContent(HostFileRepository remoteRepository, PathAddress address, byte[] hash) {
+        ContentReference reference = ModelContentReference.fromModelAddress(address, hash);
+        File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
+        if (files == null || files.length == 0) {
+            remoteRepository.getDeploymentFiles(reference);
+        }
+    }
+
+    private void addDeployments(List<ModelNode> updates) {
+        if (serverGroup.hasDefined(DEPLOYMENT)) {
             for (Property deployment : serverGroup.get(DEPLOYMENT).asPropertyList()) {
                 String name = deployment.getName();
                 ModelNode details = deployment.getValue();
@@ -781,19 +852,6 @@ public final class ManagedServerOperationsFactory {
                 ModelNode domainDeployment = domainModel.require(DEPLOYMENT).require(name);
                 ModelNode deploymentContent = domainDeployment.require(CONTENT).clone();
                 PathAddress addr = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT, name));
-                if (remoteRepository != null) {
-                    // Make sure we have a copy of the deployment in the local repo
-                    for (ModelNode content : deploymentContent.asList()) {
-                        if ((content.hasDefined(HASH))) {
-                            byte[] hash = content.require(HASH).asBytes();
-                            ContentReference reference = ModelContentReference.fromModelAddress(addr, hash);
-                            File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
-                            if (files == null || files.length == 0) {
-                                remoteRepository.getDeploymentFiles(reference);
-                            }
-                        }
-                    }
-                }
 
                 ModelNode addOp = Util.getEmptyOperation(ADD, addr.toModelNode());
                 addOp.get(RUNTIME_NAME).set(details.get(RUNTIME_NAME));
@@ -811,12 +869,6 @@ public final class ManagedServerOperationsFactory {
 
     public void addDeploymentOverlays(final List<ModelNode> updates) {
         if (domainModel.hasDefined(DEPLOYMENT_OVERLAY)) {
-
-            HostFileRepository remoteRepository = null;
-            if (!domainController.getLocalHostInfo().isMasterDomainController()) {
-                remoteRepository = domainController.getRemoteFileRepository();
-            }
-
             for (Property deploymentOverlay : domainModel.get(DEPLOYMENT_OVERLAY).asPropertyList()) {
                 String name = deploymentOverlay.getName();
                 ModelNode details = deploymentOverlay.getValue();
@@ -831,14 +883,6 @@ public final class ManagedServerOperationsFactory {
                     for (Property content : details.get(CONTENT).asPropertyList()) {
                         final String contentName = content.getName();
                         final ModelNode contentDetails = content.getValue();
-                        byte[] hash = contentDetails.require(CONTENT).asBytes();
-                        ContentReference reference = ModelContentReference.fromModelAddress(addr, hash);
-                        File[] files = domainController.getLocalFileRepository().getDeploymentFiles(reference);
-                        if (files == null || files.length == 0) {
-                            if (remoteRepository != null) {
-                                remoteRepository.getDeploymentFiles(reference);
-                            }
-                        }
                         addr = PathAddress.pathAddress(PathElement.pathElement(DEPLOYMENT_OVERLAY, name), PathElement.pathElement(CONTENT, contentName));
                         addOp = Util.getEmptyOperation(ADD, addr.toModelNode());
                         addOp.get(CONTENT).get(HASH).set(contentDetails.get(CONTENT));
@@ -897,6 +941,64 @@ public final class ManagedServerOperationsFactory {
         }
     }
 
+    /**
+     * The operations required to boot a managed server: those specific to the server, followed by those shared by the
+     * servers of its server group.
+     */
+    public static final class BootUpdates {
+
+        /** The byte the DMR encoding of a list starts with */
+        private static final int LIST_TYPE_CHAR;
+
+        static {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                new ModelNode().setEmptyList().writeExternal(new DataOutputStream(bytes));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            LIST_TYPE_CHAR = bytes.toByteArray()[0];
+        }
+
+        private final ModelNode serverUpdates;
+        private final ServerGroupBootOperationsCache.Entry serverGroupUpdates;
+
+        private BootUpdates(ModelNode serverUpdates, ServerGroupBootOperationsCache.Entry serverGroupUpdates) {
+            this.serverUpdates = serverUpdates;
+            this.serverGroupUpdates = serverGroupUpdates;
+        }
+
+        /**
+         * Gets the boot operations as a list.
+         *
+         * @return the list of boot operations
+         */
+        public ModelNode toModelNode() {
+            final ModelNode result = serverUpdates.clone();
+            for (ModelNode operation : serverGroupUpdates.getOperations()) {
+                result.add(operation);
+            }
+            return result;
+        }
+
+        /**
+         * Writes the boot operations as {@link ModelNode#writeExternal(DataOutput)} writes the list returned by
+         * {@link #toModelNode()}, without encoding again the operations shared by the servers of the server group.
+         *
+         * @param output the output
+         * @throws IOException if writing fails
+         */
+        public void writeExternal(DataOutput output) throws IOException {
+            final List<ModelNode> operations = serverUpdates.asList();
+            output.write(LIST_TYPE_CHAR);
+            output.writeInt(operations.size() + serverGroupUpdates.getOperations().size());
+            for (ModelNode operation : operations) {
+                operation.writeExternal(output);
+            }
+            output.write(serverGroupUpdates.getEncodedOperations());
+        }
+    }
+
     private class ModelNodeList extends AbstractList<ModelNode> implements List<ModelNode> {
 
 
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Cache of the boot operations shared by all the servers of a server group: those adding the subsystems of the group's
+ * profile, the group's deployments and the deployment overlays. They are the most expensive to create, as the
+ * subsystem operations come from a {@code describe} of the profile, and they come last in the boot operations, so they
+ * are also kept encoded, ready to be written after the operations specific to each server.
+ * <p>
+ * An entry is only reused for the {@link org.jboss.as.controller.OperationContext#getPublishedModelGeneration()
+ * generation} of the domain model it was created from, so any change published since then results in fresh
+ * operations. Each host controller has its own cache, which must be {@link #clear() cleared} when its model controller
+ * stops, as the generations start again when it is restarted.
+ */
+public final class ServerGroupBootOperationsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the operations previously created for the server group from the same generation of the domain model.
+     *
+     * @param serverGroupName the name of the server group
+     * @param modelGeneration the generation of the domain model, or {@code -1} if it is not known
+     * @param serverGroup the server group model, with expressions resolved
+     * @return the operations, or {@code null} if there is no usable entry
+     */
+    Entry get(String serverGroupName, long modelGeneration, ModelNode serverGroup) {
+        if (modelGeneration < 0) {
+            return null;
+        }
+        final Entry entry = entries.get(serverGroupName);
+        if (entry == null || !entry.createdFrom(modelGeneration, serverGroup)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the operations created for the server group, replacing any existing entry. Nothing is stored if the
+     * generation of the domain model is not known.
+     *
+     * @param serverGroupName the name of the server group
+     * @param modelGeneration the generation of the domain model the operations were created from, or {@code -1} if it
+     *                        is not known
+     * @param serverGroup the server group model the operations were created from
+     * @param operations the operations. The list and the operations must not be modified afterwards
+     * @return the new entry
+     */
+    Entry put(String serverGroupName, long modelGeneration, ModelNode serverGroup, List<ModelNode> operations) {
+        final Entry entry = new Entry(modelGeneration, serverGroup, operations);
+        if (modelGeneration >= 0) {
+            // entries created from other generations will not be used again
+            entries.values().removeIf(existing -> existing.modelGeneration != modelGeneration);
+            entries.put(serverGroupName, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    /** The operations shared by the servers of a server group */
+    static final class Entry {
+        private final long modelGeneration;
+        private final ModelNode serverGroup;
+        private final List<ModelNode> operations;
+        private final byte[] encoded;
+
+        private Entry(long modelGeneration, ModelNode serverGroup, List<ModelNode> operations) {
+            this.modelGeneration = modelGeneration;
+            this.serverGroup = serverGroup.clone();
+            this.operations = Collections.unmodifiableList(operations);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                for (ModelNode operation : operations) {
+                    operation.writeExternal(output);
+                }
+            } catch (IOException e) {
+                // not possible when writing to memory
+                throw new UncheckedIOException(e);
+            }
+            this.encoded = bytes.toByteArray();
+        }
+
+        private boolean createdFrom(long modelGeneration, ModelNode serverGroup) {
+            // expressions in the server group may resolve differently without any change to the model
+            return this.modelGeneration == modelGeneration && this.serverGroup.equals(serverGroup);
+        }
+
+        /**
+         * @return the operations, which must not be modified
+         */
+        List<ModelNode> getOperations() {
+            return operations;
+        }
+
+        /**
+         * @return the operations, each encoded as by {@link ModelNode#writeExternal(java.io.DataOutput)}, one after the other.
+         * The array must not be modified
+         */
+        byte[] getEncodedOperations() {
+            return encoded;
+        }
+    }
+}
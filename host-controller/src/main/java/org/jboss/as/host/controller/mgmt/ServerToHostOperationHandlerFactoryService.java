@@ -32,6 +32,7 @@ import java.util.concurrent.ThreadFactory;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.host.controller.ServerGroupBootOperationsCache;
 import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.protocol.mgmt.ManagementChannelHandler;
 import org.jboss.as.protocol.mgmt.ManagementClientChannelStrategy;
@@ -63,6 +64,7 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
     private final InjectedValue<ServerInventory> serverInventory = new InjectedValue<ServerInventory>();
     private final ServerToHostProtocolHandler.OperationExecutor operationExecutor;
     private final DomainController domainController;
+    private final ServerGroupBootOperationsCache bootOperationsCache;
     private final ExpressionResolver expressionResolver;
     private final File tempDir;
 
@@ -73,17 +75,19 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
     });
     private volatile ExecutorService registrations;
 
-    ServerToHostOperationHandlerFactoryService(ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController, ExpressionResolver expressionResolver, File tempDir) {
+    ServerToHostOperationHandlerFactoryService(ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController,
+            ServerGroupBootOperationsCache bootOperationsCache, ExpressionResolver expressionResolver, File tempDir) {
         this.executorService = executorService;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
+        this.bootOperationsCache = bootOperationsCache;
         this.expressionResolver = expressionResolver;
         this.tempDir = tempDir;
     }
 
     public static void install(final ServiceTarget serviceTarget, final ServiceName serverInventoryName, ExecutorService executorService, ServerToHostProtocolHandler.OperationExecutor operationExecutor, DomainController domainController,
-            ExpressionResolver expressionResolver, File tempDir) {
-        final ServerToHostOperationHandlerFactoryService serverToHost = new ServerToHostOperationHandlerFactoryService(executorService, operationExecutor, domainController, expressionResolver, tempDir);
+            ServerGroupBootOperationsCache bootOperationsCache, ExpressionResolver expressionResolver, File tempDir) {
+        final ServerToHostOperationHandlerFactoryService serverToHost = new ServerToHostOperationHandlerFactoryService(executorService, operationExecutor, domainController, bootOperationsCache, expressionResolver, tempDir);
         serviceTarget.addService(ServerToHostOperationHandlerFactoryService.SERVICE_NAME, serverToHost)
             .addDependency(serverInventoryName, ServerInventory.class, serverToHost.serverInventory)
             .install();
@@ -116,7 +120,7 @@ public class ServerToHostOperationHandlerFactoryService implements ManagementCha
         final ManagementClientChannelStrategy strategy = ManagementClientChannelStrategy.create(channel);
         final ManagementChannelHandler channelHandler = new ManagementChannelHandler(strategy, executorService);
         channelHandler.getAttachments().attach(ManagementChannelHandler.TEMP_DIR, tempDir);
-        final ServerToHostProtocolHandler registrationHandler = new ServerToHostProtocolHandler(serverInventory.getValue(), operationExecutor, domainController, channelHandler, registrations, expressionResolver);
+        final ServerToHostProtocolHandler registrationHandler = new ServerToHostProtocolHandler(serverInventory.getValue(), operationExecutor, domainController, bootOperationsCache, channelHandler, registrations, expressionResolver);
         channelHandler.addHandlerFactory(new ManagementPongRequestHandler());
         channelHandler.addHandlerFactory(registrationHandler);
         channel.receiveMessage(channelHandler.getReceiver());
@@ -50,6 +50,7 @@ import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.host.controller.ManagedServerOperationsFactory;
+import org.jboss.as.host.controller.ServerGroupBootOperationsCache;
 import org.jboss.as.host.controller.ServerInventory;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.protocol.StreamUtils;
@@ -93,6 +94,7 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
     private final ServerInventory serverInventory;
     private final OperationExecutor operationExecutor;
     private final DomainController domainController;
+    private final ServerGroupBootOperationsCache bootOperationsCache;
     private final ManagementChannelHandler channelHandler;
     private final DeploymentFileRepository deploymentFileRepository;
     private final Executor registrations;
@@ -100,11 +102,13 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
 
     private volatile String serverProcessName;
 
-    ServerToHostProtocolHandler(ServerInventory serverInventory, OperationExecutor operationExecutor, DomainController domainController, ManagementChannelHandler channelHandler, Executor registrations,
+    ServerToHostProtocolHandler(ServerInventory serverInventory, OperationExecutor operationExecutor, DomainController domainController,
+            ServerGroupBootOperationsCache bootOperationsCache, ManagementChannelHandler channelHandler, Executor registrations,
             ExpressionResolver expressionResolver) {
         this.serverInventory = serverInventory;
         this.operationExecutor = operationExecutor;
         this.domainController = domainController;
+        this.bootOperationsCache = bootOperationsCache;
         this.channelHandler = channelHandler;
         this.registrations = registrations;
         this.deploymentFileRepository = domainController.getLocalFileRepository();
@@ -213,12 +217,14 @@ public class ServerToHostProtocolHandler implements ManagementRequestHandlerFact
         public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
             // Lock down the controller
             context.acquireControllerLock();
-            // Read the complete domain model
+            // Read the complete domain model, and its generation, which does not change while the lock is held
+            final long modelGeneration = context.getPublishedModelGeneration();
             final ModelNode domainModel = Resource.Tools.readModel(context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true));
             // Create the boot updates
             final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
             final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
-            final ModelNode updates = ManagedServerOperationsFactory.createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver);
+            final ManagedServerOperationsFactory.BootUpdates updates = ManagedServerOperationsFactory.prepareBootUpdates(serverName,
+                    domainModel, modelGeneration, hostModel, domainController, bootOperationsCache, expressionResolver);
             // Register the remote communication
             final ProxyController controller = serverInventory.serverCommunicationRegistered(serverProcessName, channelHandler);
             try {
@@ -32,10 +32,12 @@ import org.jboss.as.controller.management.BaseNativeInterfaceResourceDefinition;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.host.controller.HostModelUtil;
 import org.jboss.as.host.controller.operations.LocalHostControllerInfoImpl;
 import org.jboss.as.host.controller.operations.NativeManagementAddHandler;
+import org.jboss.as.remoting.management.ManagementChannelMetricsHandler;
 import org.jboss.as.server.operations.NativeManagementRemoveHandler;
 import org.jboss.dmr.ModelType;
 
@@ -69,6 +71,12 @@ public class NativeManagementResourceDefinition extends BaseNativeInterfaceResou
             .setRemoveRestartLevel(OperationEntry.Flag.RESTART_RESOURCE_SERVICES));
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        ManagementChannelMetricsHandler.registerMetrics(resourceRegistration);
+    }
+
     @Override
     protected AttributeDefinition[] getAttributeDefinitions() {
         return ATTRIBUTE_DEFINITIONS;
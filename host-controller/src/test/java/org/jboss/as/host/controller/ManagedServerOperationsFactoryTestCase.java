@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_PORT_OFFSET;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.domain.controller.DomainController;
+import org.jboss.as.domain.controller.LocalHostControllerInfo;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the reuse of the boot operations shared by the servers of a server group.
+ */
+public class ManagedServerOperationsFactoryTestCase {
+
+    private final AtomicInteger describeCount = new AtomicInteger();
+    private final DomainController domainController = createDomainController();
+    private final ServerGroupBootOperationsCache cache = new ServerGroupBootOperationsCache();
+
+    @Test
+    public void testServerGroupOperationsReused() throws Exception {
+        final ModelNode domainModel = createDomainModel();
+        final ModelNode one = bootUpdates("server-one", domainModel, 1);
+        final ModelNode two = bootUpdates("server-two", domainModel, 1);
+        Assert.assertEquals(1, describeCount.get());
+        // the operations specific to each server differ, the shared ones are the same
+        Assert.assertNotEquals(one, two);
+        Assert.assertEquals(last(one), last(two));
+        Assert.assertEquals("subsystem-add", last(one).get("name").asString());
+
+        // a server of another group does not use them
+        domainModel.get(SERVER_GROUP, "other").set(domainModel.get(SERVER_GROUP, "main").clone());
+        domainModel.get(SERVER_CONFIG, "server-three").get(GROUP).set("other");
+        bootUpdates("server-three", domainModel, 1);
+        Assert.assertEquals(2, describeCount.get());
+    }
+
+    @Test
+    public void testNewModelGenerationNotReused() throws Exception {
+        final ModelNode domainModel = createDomainModel();
+        bootUpdates("server-one", domainModel, 1);
+        domainModel.get(PROFILE, "default", SUBSYSTEM, "test", "attr").set("changed");
+        bootUpdates("server-one", domainModel, 2);
+        Assert.assertEquals(2, describeCount.get());
+
+        domainModel.get(SERVER_GROUP, "main", DEPLOYMENT).setEmptyObject();
+        bootUpdates("server-one", domainModel, 3);
+        Assert.assertEquals(3, describeCount.get());
+
+        bootUpdates("server-two", domainModel, 3);
+        Assert.assertEquals(3, describeCount.get());
+    }
+
+    @Test
+    public void testUnknownModelGenerationNotCached() throws Exception {
+        final ModelNode domainModel = createDomainModel();
+        bootUpdates("server-one", domainModel, -1);
+        bootUpdates("server-two", domainModel, -1);
+        Assert.assertEquals(2, describeCount.get());
+    }
+
+    @Test
+    public void testClearedCacheNotReused() throws Exception {
+        // the generations start again when the host controller reloads
+        final ModelNode domainModel = createDomainModel();
+        bootUpdates("server-one", domainModel, 1);
+        cache.clear();
+        bootUpdates("server-one", domainModel, 1);
+        Assert.assertEquals(2, describeCount.get());
+    }
+
+    @Test
+    public void testEncodedFormMatchesList() throws Exception {
+        final ModelNode domainModel = createDomainModel();
+        for (String server : new String[] {"server-one", "server-two"}) {
+            final ManagedServerOperationsFactory.BootUpdates updates = ManagedServerOperationsFactory.prepareBootUpdates(server,
+                    domainModel, 1, domainModel, domainController, cache, ExpressionResolver.TEST_RESOLVER);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            updates.writeExternal(new DataOutputStream(bytes));
+            final ModelNode read = new ModelNode();
+            read.readExternal(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            Assert.assertEquals(updates.toModelNode(), read);
+
+            final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            updates.toModelNode().writeExternal(new DataOutputStream(expected));
+            Assert.assertArrayEquals(expected.toByteArray(), bytes.toByteArray());
+        }
+    }
+
+    private ModelNode bootUpdates(String serverName, ModelNode domainModel, long modelGeneration) {
+        // the host model is part of the domain model in these tests
+        return ManagedServerOperationsFactory.prepareBootUpdates(serverName, domainModel, modelGeneration, domainModel,
+                domainController, cache, ExpressionResolver.TEST_RESOLVER).toModelNode();
+    }
+
+    private static ModelNode last(ModelNode list) {
+        return list.get(list.asInt() - 1);
+    }
+
+    private static ModelNode createDomainModel() {
+        final ModelNode model = new ModelNode();
+        model.get(PROFILE, "default", SUBSYSTEM, "test", "attr").set("value");
+        model.get(SOCKET_BINDING_GROUP, "standard", "name").set("standard");
+        model.get(SERVER_GROUP, "main", PROFILE).set("default");
+        model.get(SERVER_GROUP, "main", SOCKET_BINDING_GROUP).set("standard");
+        model.get(SERVER_CONFIG, "server-one", GROUP).set("main");
+        model.get(SERVER_CONFIG, "server-two", GROUP).set("main");
+        model.get(SERVER_CONFIG, "server-two", SOCKET_BINDING_PORT_OFFSET).set(100);
+        return model;
+    }
+
+    private DomainController createDomainController() {
+        final LocalHostControllerInfo hostInfo = (LocalHostControllerInfo) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {LocalHostControllerInfo.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getLocalHostName":
+                            return "primary";
+                        case "isMasterDomainController":
+                            return true;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        return (DomainController) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {DomainController.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getLocalHostInfo":
+                            return hostInfo;
+                        case "getProfileOperations":
+                            describeCount.incrementAndGet();
+                            final ModelNode operation = Util.createAddOperation(PathAddress.pathAddress(
+                                    PathElement.pathElement(SUBSYSTEM, "test")));
+                            operation.get("name").set("subsystem-add");
+                            final ModelNode operations = new ModelNode().setEmptyList();
+                            operations.add(operation);
+                            return operations;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
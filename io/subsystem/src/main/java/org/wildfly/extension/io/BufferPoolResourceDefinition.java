@@ -23,6 +23,7 @@
 
 package org.wildfly.extension.io;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
 import java.util.Arrays;
@@ -30,6 +31,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -39,6 +41,8 @@ import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -88,14 +92,38 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     static final SimpleAttributeDefinition DIRECT_BUFFERS = new SimpleAttributeDefinitionBuilder(Constants.DIRECT_BUFFERS, ModelType.BOOLEAN, true)
             .setAllowExpression(true)
             .build();
+    static final SimpleAttributeDefinition THREAD_LOCAL_CACHE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.THREAD_LOCAL_CACHE_SIZE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+    static final SimpleAttributeDefinition LEAK_DETECTION = new SimpleAttributeDefinitionBuilder(Constants.LEAK_DETECTION, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
 
+    static final SimpleAttributeDefinition BUFFERS_ALLOCATED = new SimpleAttributeDefinitionBuilder(Constants.BUFFERS_ALLOCATED, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition BUFFERS_IN_USE = new SimpleAttributeDefinitionBuilder(Constants.BUFFERS_IN_USE, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition BUFFERS_LEAKED = new SimpleAttributeDefinitionBuilder(Constants.BUFFERS_LEAKED, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition MEMORY_ALLOCATED = new SimpleAttributeDefinitionBuilder(Constants.MEMORY_ALLOCATED, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setStorageRuntime()
+            .build();
 
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
 
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             BUFFER_SIZE,
             BUFFER_PER_SLICE,
-            DIRECT_BUFFERS
+            DIRECT_BUFFERS,
+            THREAD_LOCAL_CACHE_SIZE,
+            LEAK_DETECTION
     );
 
 
@@ -116,11 +144,49 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (SimpleAttributeDefinition metric : Arrays.asList(BUFFERS_ALLOCATED, BUFFERS_IN_USE, BUFFERS_LEAKED, MEMORY_ALLOCATED)) {
+            resourceRegistration.registerMetric(metric, BufferPoolMetricsHandler.INSTANCE);
+        }
+    }
+
     @Override
     public void registerCapabilities(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerCapability(IO_POOL_RUNTIME_CAPABILITY);
     }
 
+    private static class BufferPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        private static final BufferPoolMetricsHandler INSTANCE = new BufferPoolMetricsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = context.getCurrentAddressValue();
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(IOServices.BUFFER_POOL.append(name));
+            final MonitoredBufferPool pool = controller == null ? null : ((BufferPoolService) controller.getService()).getMonitoredPool();
+            if (pool == null) {
+                // not started
+                return;
+            }
+            switch (operation.require(NAME).asString()) {
+                case Constants.BUFFERS_ALLOCATED:
+                    context.getResult().set(pool.getBuffersAllocated());
+                    break;
+                case Constants.BUFFERS_IN_USE:
+                    context.getResult().set(pool.getBuffersInUse());
+                    break;
+                case Constants.BUFFERS_LEAKED:
+                    context.getResult().set(pool.getBuffersLeaked());
+                    break;
+                case Constants.MEMORY_ALLOCATED:
+                    context.getResult().set(pool.getMemoryAllocated());
+                    break;
+            }
+        }
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
         private BufferPoolAdd() {
@@ -134,12 +200,15 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             final ModelNode bufferSizeModel = BUFFER_SIZE.resolveModelAttribute(context, model);
             final ModelNode bufferPerSliceModel = BUFFER_PER_SLICE.resolveModelAttribute(context, model);
             final ModelNode directModel = DIRECT_BUFFERS.resolveModelAttribute(context, model);
+            final ModelNode threadLocalCacheSizeModel = THREAD_LOCAL_CACHE_SIZE.resolveModelAttribute(context, model);
+            final boolean leakDetection = LEAK_DETECTION.resolveModelAttribute(context, model).asBoolean();
 
             final int bufferSize = bufferSizeModel.isDefined() ? bufferSizeModel.asInt() : defaultBufferSize;
             final int bufferPerSlice = bufferPerSliceModel.isDefined() ? bufferPerSliceModel.asInt() : defaultBuffersPerRegion;
             final boolean direct = directModel.isDefined() ? directModel.asBoolean() : defaultDirectBuffers;
+            final int threadLocalCacheSize = threadLocalCacheSizeModel.isDefined() ? threadLocalCacheSizeModel.asInt() : -1;
 
-            final BufferPoolService service = new BufferPoolService(bufferSize, bufferPerSlice, direct);
+            final BufferPoolService service = new BufferPoolService(name, bufferSize, bufferPerSlice, direct, threadLocalCacheSize, leakDetection);
             context.getServiceTarget().addService(IOServices.BUFFER_POOL.append(name), service)
                     .setInitialMode(ServiceController.Mode.ACTIVE)
                     .install();
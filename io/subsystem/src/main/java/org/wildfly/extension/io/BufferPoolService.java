@@ -31,28 +31,48 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.xnio.BufferAllocator;
-import org.xnio.ByteBufferSlicePool;
 import org.xnio.Pool;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
-    private volatile Pool<ByteBuffer> bufferPool;
+    private volatile MonitoredBufferPool bufferPool;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
     private final boolean directBuffers;
+    private final String name;
+    private final int threadLocalCacheSize;
+    private final boolean leakDetection;
 
     public BufferPoolService(int bufferSize, int buffersPerSlice, final boolean directBuffers) {
+        this(null, bufferSize, buffersPerSlice, directBuffers, -1, false);
+    }
+
+    /**
+     * @param name the name of the pool, used when reporting leaked buffers
+     * @param bufferSize the size of each buffer
+     * @param buffersPerSlice the number of buffers in each region allocated by the pool
+     * @param directBuffers whether to use direct buffers
+     * @param threadLocalCacheSize the maximum number of freed buffers each thread keeps for its own reuse, or
+     *                             {@code -1} to use the XNIO default
+     * @param leakDetection whether to report buffers that become unreachable without being freed
+     */
+    public BufferPoolService(String name, int bufferSize, int buffersPerSlice, final boolean directBuffers,
+                             int threadLocalCacheSize, boolean leakDetection) {
+        this.name = name;
         this.bufferSize = bufferSize;
         this.buffersPerSlice = buffersPerSlice;
         this.directBuffers = directBuffers;
+        this.threadLocalCacheSize = threadLocalCacheSize;
+        this.leakDetection = leakDetection;
     }
 
     @Override
     public void start(StartContext context) throws StartException {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        bufferPool = new MonitoredBufferPool(name, directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR,
+                bufferSize, buffersPerSlice * bufferSize, threadLocalCacheSize, leakDetection);
     }
 
     @Override
@@ -60,6 +80,10 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
 
     }
 
+    MonitoredBufferPool getMonitoredPool() {
+        return bufferPool;
+    }
+
     @Override
     public Pool<ByteBuffer> getValue() throws IllegalStateException, IllegalArgumentException {
         return bufferPool;
@@ -32,6 +32,8 @@ interface Constants {
     String BUFFER_SIZE = "buffer-size";
     String BUFFER_PER_SLICE = "buffers-per-slice";
     String DIRECT_BUFFERS = "direct-buffers";
+    String LEAK_DETECTION = "leak-detection";
+    String THREAD_LOCAL_CACHE_SIZE = "thread-local-cache-size";
     String WORKER = "worker";
     String WORKER_IO_THREADS = "io-threads";
     String WORKER_TASK_CORE_THREADS = "task-core-threads";
@@ -40,4 +42,16 @@ interface Constants {
     String WORKER_TASK_MAX_THREADS = "task-max-threads";
     String THREAD_DAEMON = "thread-daemon";
     String STACK_SIZE = "stack-size";
+
+    // runtime metrics
+    String BUFFERS_ALLOCATED = "buffers-allocated";
+    String BUFFERS_IN_USE = "buffers-in-use";
+    String BUFFERS_LEAKED = "buffers-leaked";
+    String CONNECTION_COUNT = "connection-count";
+    String CORE_POOL_SIZE = "core-pool-size";
+    String IO_THREAD_COUNT = "io-thread-count";
+    String IO_THREAD_CPU_TIME = "io-thread-cpu-time";
+    String MAX_POOL_SIZE = "max-pool-size";
+    String MEMORY_ALLOCATED = "memory-allocated";
+    String QUEUE_SIZE = "queue-size";
 }
@@ -0,0 +1,62 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2016, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+
+/**
+ * Registers the transformers for the io subsystem.
+ */
+public class IOSubsystemExtensionTransformerRegistration implements ExtensionTransformerRegistration {
+
+    static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0);
+
+    @Override
+    public String getSubsystemName() {
+        return IOExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration registration) {
+        // Current 2.1.0 to 2.0.0
+        ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        buildTransformers_2_0(builder);
+        TransformationDescription.Tools.register(builder.build(), registration, VERSION_2_0);
+    }
+
+    private void buildTransformers_2_0(ResourceTransformationDescriptionBuilder builder) {
+        builder.addChildResource(IOExtension.BUFFER_POOL_PATH).getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(BufferPoolResourceDefinition.LEAK_DETECTION.getDefaultValue()), BufferPoolResourceDefinition.LEAK_DETECTION)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE, BufferPoolResourceDefinition.LEAK_DETECTION);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2013, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.BufferAllocator;
+import org.xnio.ByteBufferSlicePool;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * {@link ByteBufferSlicePool} wrapper counting buffer allocations, buffers in use and the memory the pool
+ * allocated for its regions. Only uses striped counters, so adds no contention to the pool.
+ * <p>
+ * The slice pool keeps a per-thread cache of freed buffers in front of its shared queue, so a thread that frees and
+ * allocates buffers in turn does not touch the shared queue. The size of that cache can be capped per pool.
+ * <p>
+ * If leak detection is enabled, the allocation site of every buffer is recorded, and buffers that become unreachable
+ * without being freed are reported along with that site. This costs a stack trace per allocation, so it is meant for
+ * diagnosing leaks rather than for normal operation.
+ */
+final class MonitoredBufferPool implements Pool<ByteBuffer> {
+
+    private final String name;
+    private final Pool<ByteBuffer> delegate;
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder inUse = new LongAdder();
+    private final LongAdder leaked = new LongAdder();
+    private final LongAdder memoryAllocated = new LongAdder();
+    /** {@code null} unless leak detection is enabled */
+    private final ReferenceQueue<MonitoredPooled> leakQueue;
+    /** Keeps the trackers of outstanding buffers reachable, so they are enqueued when their buffer is leaked */
+    private final Set<LeakTracker> trackers;
+
+    /**
+     * @param name the name of the pool, used when reporting leaks
+     * @param allocator the allocator for the regions buffers are sliced from
+     * @param bufferSize the size of each buffer
+     * @param maxRegionSize the maximum size of each region
+     * @param threadLocalCacheSize the maximum number of freed buffers each thread keeps for its own reuse, {@code 0}
+     *                             to disable the per-thread caches, or a negative value to use the XNIO default
+     * @param leakDetection whether to report buffers that become unreachable without being freed
+     */
+    MonitoredBufferPool(final String name, final BufferAllocator<ByteBuffer> allocator, final int bufferSize, final int maxRegionSize,
+                        final int threadLocalCacheSize, final boolean leakDetection) {
+        this.name = name;
+        final BufferAllocator<ByteBuffer> countingAllocator = size -> {
+            // The slice pool only allocates a region when its free buffers have run out
+            memoryAllocated.add(size);
+            return allocator.allocate(size);
+        };
+        if (threadLocalCacheSize < 0) {
+            this.delegate = new ByteBufferSlicePool(countingAllocator, bufferSize, maxRegionSize);
+        } else {
+            this.delegate = new ByteBufferSlicePool(countingAllocator, bufferSize, maxRegionSize, threadLocalCacheSize);
+        }
+        this.leakQueue = leakDetection ? new ReferenceQueue<>() : null;
+        this.trackers = leakDetection ? ConcurrentHashMap.newKeySet() : null;
+    }
+
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        final Pooled<ByteBuffer> pooled = delegate.allocate();
+        allocated.increment();
+        inUse.increment();
+        if (leakQueue != null) {
+            reportLeaks();
+        }
+        return new MonitoredPooled(pooled);
+    }
+
+    /**
+     * @return the number of buffers handed out by this pool since it was created
+     */
+    long getBuffersAllocated() {
+        return allocated.sum();
+    }
+
+    /**
+     * @return the number of buffers handed out and not yet freed or discarded, including leaked ones
+     */
+    long getBuffersInUse() {
+        return inUse.sum();
+    }
+
+    /**
+     * @return the number of buffers found to have become unreachable without being freed. Always {@code 0} if leak
+     * detection is disabled
+     */
+    long getBuffersLeaked() {
+        if (leakQueue != null) {
+            reportLeaks();
+        }
+        return leaked.sum();
+    }
+
+    /**
+     * @return the number of bytes allocated for the regions buffers are sliced from
+     */
+    long getMemoryAllocated() {
+        return memoryAllocated.sum();
+    }
+
+    private void reportLeaks() {
+        LeakTracker tracker;
+        while ((tracker = (LeakTracker) leakQueue.poll()) != null) {
+            if (trackers.remove(tracker)) {
+                leaked.increment();
+                IOLogger.ROOT_LOGGER.bufferLeaked(tracker.allocationSite, name);
+            }
+        }
+    }
+
+    private static final class LeakTracker extends PhantomReference<MonitoredPooled> {
+
+        private final Throwable allocationSite = new Throwable();
+
+        private LeakTracker(MonitoredPooled referent, ReferenceQueue<MonitoredPooled> queue) {
+            super(referent, queue);
+        }
+    }
+
+    private final class MonitoredPooled implements Pooled<ByteBuffer> {
+
+        private final Pooled<ByteBuffer> delegate;
+        private final LeakTracker tracker;
+        @SuppressWarnings("unused")
+        volatile int released;
+
+        private MonitoredPooled(Pooled<ByteBuffer> delegate) {
+            this.delegate = delegate;
+            if (leakQueue != null) {
+                tracker = new LeakTracker(this, leakQueue);
+                trackers.add(tracker);
+            } else {
+                tracker = null;
+            }
+        }
+
+        @Override
+        public void discard() {
+            release();
+            delegate.discard();
+        }
+
+        @Override
+        public void free() {
+            release();
+            delegate.free();
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            return delegate.getResource();
+        }
+
+        @Override
+        public void close() {
+            release();
+            delegate.close();
+        }
+
+        private void release() {
+            if (RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+                inUse.decrement();
+                if (tracker != null) {
+                    trackers.remove(tracker);
+                    tracker.clear();
+                }
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<MonitoredPooled> RELEASED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(MonitoredPooled.class, "released");
+}
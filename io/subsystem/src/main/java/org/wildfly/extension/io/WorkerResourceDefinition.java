@@ -24,19 +24,32 @@
 
 package org.wildfly.extension.io;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 import org.xnio.Options;
 import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2012 Red Hat Inc.
@@ -65,6 +78,34 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             STACK_SIZE
     };
 
+    static final SimpleAttributeDefinition IO_THREAD_COUNT = new SimpleAttributeDefinitionBuilder(Constants.IO_THREAD_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final PrimitiveListAttributeDefinition IO_THREAD_CPU_TIME = new PrimitiveListAttributeDefinition.Builder(Constants.IO_THREAD_CPU_TIME, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition CORE_POOL_SIZE = new SimpleAttributeDefinitionBuilder(Constants.CORE_POOL_SIZE, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition MAX_POOL_SIZE = new SimpleAttributeDefinitionBuilder(Constants.MAX_POOL_SIZE, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.QUEUE_SIZE, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final SimpleAttributeDefinition CONNECTION_COUNT = new SimpleAttributeDefinitionBuilder(Constants.CONNECTION_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] METRICS = new AttributeDefinition[]{
+            IO_THREAD_COUNT,
+            IO_THREAD_CPU_TIME,
+            CORE_POOL_SIZE,
+            MAX_POOL_SIZE,
+            QUEUE_SIZE,
+            CONNECTION_COUNT
+    };
+
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
 
     static {
@@ -93,8 +134,70 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES_BY_XMLNAME.values();
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, WorkerMetricsHandler.INSTANCE);
+        }
+    }
+
     @Override
     public void registerCapabilities(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerCapability(IO_WORKER_RUNTIME_CAPABILITY);
     }
+
+    /**
+     * Reads the worker metrics. The task pool figures and connection counts come from the management beans XNIO
+     * registers for the worker and its servers, which the {@link WorkerService} resolves when it starts, and the
+     * I/O thread CPU time is the best available measure of how busy each I/O thread is.
+     */
+    private static class WorkerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        private static final WorkerMetricsHandler INSTANCE = new WorkerMetricsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = context.getCurrentAddressValue();
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(name, XnioWorker.class));
+            final WorkerService service = controller == null ? null : (WorkerService) controller.getService();
+            final XnioWorker worker = service == null ? null : service.getValue();
+            if (worker == null) {
+                // not started
+                return;
+            }
+            final XnioWorkerMXBean workerMXBean = service.getWorkerMXBean();
+            switch (operation.require(NAME).asString()) {
+                case Constants.IO_THREAD_COUNT:
+                    context.getResult().set(worker.getIoThreadCount());
+                    break;
+                case Constants.IO_THREAD_CPU_TIME: {
+                    final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                    final ModelNode result = context.getResult().setEmptyList();
+                    for (int i = 0; i < worker.getIoThreadCount(); i++) {
+                        result.add(threads.getThreadCpuTime(worker.getIoThread(i).getId()));
+                    }
+                    break;
+                }
+                case Constants.CORE_POOL_SIZE:
+                    if (workerMXBean != null) {
+                        context.getResult().set(workerMXBean.getCoreWorkerPoolSize());
+                    }
+                    break;
+                case Constants.MAX_POOL_SIZE:
+                    if (workerMXBean != null) {
+                        context.getResult().set(workerMXBean.getMaxWorkerPoolSize());
+                    }
+                    break;
+                case Constants.QUEUE_SIZE:
+                    if (workerMXBean != null) {
+                        context.getResult().set(workerMXBean.getWorkerQueueSize());
+                    }
+                    break;
+                case Constants.CONNECTION_COUNT:
+                    context.getResult().set(service.getConnectionCount());
+                    break;
+            }
+        }
+    }
 }
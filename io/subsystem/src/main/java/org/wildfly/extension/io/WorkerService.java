@@ -25,14 +25,28 @@
 package org.wildfly.extension.io;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.OptionMap;
 import org.xnio.Xnio;
 import org.xnio.XnioWorker;
+import org.xnio.management.XnioServerMXBean;
+import org.xnio.management.XnioWorkerMXBean;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2012 Red Hat Inc.
@@ -41,6 +55,10 @@ public class WorkerService implements Service<XnioWorker> {
     private final OptionMap options;
     private XnioWorker worker;
     private volatile StopContext stopContext;
+    private volatile XnioWorkerMXBean workerMXBean;
+    private final Map<ObjectName, XnioServerMXBean> serverMXBeans = new ConcurrentHashMap<>();
+    private final NotificationListener serverListener = this::mbeanRegistrationChanged;
+    private volatile ObjectName mbeanNamePattern;
 
     public WorkerService(OptionMap options) {
         this.options = options;
@@ -54,17 +72,92 @@ public class WorkerService implements Service<XnioWorker> {
         } catch (IOException e) {
             throw new StartException(e);
         }
-
+        resolveMXBeans();
     }
 
     @Override
     public void stop(StopContext context) {
+        releaseMXBeans();
         this.stopContext = context;
         context.asynchronous();
         worker.shutdown();
         worker = null;
     }
 
+    /**
+     * Resolves the management beans XNIO registered for the worker, and starts tracking those registered for the
+     * servers using it, so metrics can be read without searching the MBean server.
+     */
+    private void resolveMXBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName pattern = ObjectName.getInstance("org.xnio:type=Xnio,worker=" + ObjectName.quote(worker.getName()) + ",*");
+            mbeanNamePattern = pattern;
+            // Listen before querying, so servers created in between are not missed
+            server.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME, serverListener, null, null);
+            for (ObjectName name : server.queryNames(pattern, null)) {
+                if (name.getKeyProperty("address") == null) {
+                    workerMXBean = JMX.newMXBeanProxy(server, name, XnioWorkerMXBean.class);
+                } else {
+                    serverMXBeans.put(name, JMX.newMXBeanProxy(server, name, XnioServerMXBean.class));
+                }
+            }
+        } catch (JMException e) {
+            IOLogger.ROOT_LOGGER.debugf(e, "Could not resolve the management beans of worker %s", worker.getName());
+        }
+    }
+
+    private void releaseMXBeans() {
+        if (mbeanNamePattern != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME, serverListener);
+            } catch (JMException e) {
+                IOLogger.ROOT_LOGGER.debugf(e, "Could not stop tracking the management beans of worker %s", worker.getName());
+            }
+            mbeanNamePattern = null;
+        }
+        workerMXBean = null;
+        serverMXBeans.clear();
+    }
+
+    private void mbeanRegistrationChanged(Notification notification, Object handback) {
+        final ObjectName pattern = mbeanNamePattern;
+        if (pattern == null || !(notification instanceof MBeanServerNotification)) {
+            return;
+        }
+        final ObjectName name = ((MBeanServerNotification) notification).getMBeanName();
+        if (!pattern.apply(name) || name.getKeyProperty("address") == null) {
+            return;
+        }
+        if (MBeanServerNotification.REGISTRATION_NOTIFICATION.equals(notification.getType())) {
+            serverMXBeans.put(name, JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, XnioServerMXBean.class));
+        } else if (MBeanServerNotification.UNREGISTRATION_NOTIFICATION.equals(notification.getType())) {
+            serverMXBeans.remove(name);
+        }
+    }
+
+    /**
+     * Gets the management bean XNIO registered for the worker.
+     *
+     * @return the management bean, or {@code null} if the worker is not started or it could not be resolved
+     */
+    XnioWorkerMXBean getWorkerMXBean() {
+        return workerMXBean;
+    }
+
+    /**
+     * Gets the number of connections open on the servers using the worker.
+     *
+     * @return the connection count
+     */
+    int getConnectionCount() {
+        int count = 0;
+        for (XnioServerMXBean server : serverMXBeans.values()) {
+            count += server.getConnectionCount();
+        }
+        return count;
+    }
+
     private void stopDone() {
         final StopContext stopContext = this.stopContext;
         this.stopContext = null;
@@ -29,6 +29,7 @@ import static org.jboss.logging.Logger.Level.WARN;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -65,4 +66,8 @@ public interface IOLogger extends BasicLogger {
     @Message(id = 5, value = "Your system is configured with %d file descriptors, but your current application server configuration will require a minimum of %d (and probably more than that); attempting to adjust, however you should expect stability problems unless you increase this number")
     void lowGlobalFD(int maxFd, int requiredCount);
 
+    @LogMessage(level = WARN)
+    @Message(id = 6, value = "A buffer from buffer pool '%s' became unreachable without being freed; it was allocated at the location below")
+    void bufferLeaked(@Cause Throwable allocationSite, String poolName);
+
 }
@@ -0,0 +1,55 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2016, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+
+import java.io.IOException;
+
+/**
+ * Tests parsing of the {@code urn:jboss:domain:io:1.1} namespace.
+ */
+public class IOSubsystem11TestCase extends AbstractSubsystemBaseTest {
+
+    public IOSubsystem11TestCase() {
+        super(IOExtension.SUBSYSTEM_NAME, new IOExtension());
+    }
+
+    @Override
+    public void testSubsystem() throws Exception {
+        standardSubsystemTest(null, false);
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-io_1_1.xsd";
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return readResource("io-1.1.xml");
+    }
+
+}
@@ -25,9 +25,23 @@
 package org.wildfly.extension.io;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
@@ -40,8 +54,12 @@ import org.junit.Test;
 import org.wildfly.common.cpu.ProcessorInfo;
 import org.xnio.OptionMap;
 import org.xnio.Options;
+import org.xnio.Pool;
+import org.xnio.Pooled;
 import org.xnio.Sequence;
+import org.xnio.StreamConnection;
 import org.xnio.XnioWorker;
+import org.xnio.channels.AcceptingChannel;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a>
@@ -55,12 +73,12 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("io-1.1.xml");
+        return readResource("io-2.0.xml");
     }
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-io_1_1.xsd";
+        return "schema/wildfly-io_2_0.xsd";
     }
 
     @Override
@@ -86,6 +104,89 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
         Assert.assertEquals(ProcessorInfo.availableProcessors() * 16, worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue());
     }
 
+    @Test
+    public void testBufferPoolMetrics() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
+        ServiceController<Pool<ByteBuffer>> poolServiceController = (ServiceController<Pool<ByteBuffer>>) mainServices.getContainer().getService(IOServices.BUFFER_POOL.append("default"));
+        poolServiceController.setMode(ServiceController.Mode.ACTIVE);
+        Pool<ByteBuffer> pool = poolServiceController.awaitValue();
+        Pooled<ByteBuffer> first = pool.allocate();
+        Pooled<ByteBuffer> second = pool.allocate();
+        Assert.assertEquals(2048, first.getResource().capacity());
+        second.free();
+
+        Assert.assertEquals(2, readBufferPoolMetric(mainServices, Constants.BUFFERS_ALLOCATED).asLong());
+        Assert.assertEquals(1, readBufferPoolMetric(mainServices, Constants.BUFFERS_IN_USE).asLong());
+        Assert.assertEquals(0, readBufferPoolMetric(mainServices, Constants.BUFFERS_LEAKED).asLong());
+        Assert.assertEquals(2048 * 2048, readBufferPoolMetric(mainServices, Constants.MEMORY_ALLOCATED).asLong());
+        first.free();
+        Assert.assertEquals(0, readBufferPoolMetric(mainServices, Constants.BUFFERS_IN_USE).asLong());
+    }
+
+    @Test
+    public void testWorkerMetrics() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(mainServices.getBootError().toString());
+        }
+        ServiceController<XnioWorker> workerServiceController = (ServiceController<XnioWorker>) mainServices.getContainer().getService(IOServices.WORKER.append("default"));
+        workerServiceController.setMode(ServiceController.Mode.ACTIVE);
+        XnioWorker worker = workerServiceController.awaitValue();
+
+        Assert.assertEquals(worker.getIoThreadCount(), readWorkerMetric(mainServices, Constants.IO_THREAD_COUNT).asInt());
+        Assert.assertEquals(worker.getIoThreadCount(), readWorkerMetric(mainServices, Constants.IO_THREAD_CPU_TIME).asList().size());
+        Assert.assertEquals(worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue(), readWorkerMetric(mainServices, Constants.MAX_POOL_SIZE).asInt());
+        Assert.assertEquals(worker.getOption(Options.WORKER_TASK_CORE_THREADS).intValue(), readWorkerMetric(mainServices, Constants.CORE_POOL_SIZE).asInt());
+        Assert.assertEquals(0, readWorkerMetric(mainServices, Constants.QUEUE_SIZE).asInt());
+        Assert.assertEquals(0, readWorkerMetric(mainServices, Constants.CONNECTION_COUNT).asInt());
+
+        // A server created after the worker started is tracked, and reports what its management bean reports
+        final BlockingQueue<StreamConnection> accepted = new LinkedBlockingQueue<>();
+        AcceptingChannel<StreamConnection> server = worker.createStreamConnectionServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), channel -> {
+            try {
+                StreamConnection connection = channel.accept();
+                if (connection != null) {
+                    accepted.add(connection);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, OptionMap.EMPTY);
+        try {
+            server.resumeAccepts();
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), ((InetSocketAddress) server.getLocalAddress()).getPort())) {
+                StreamConnection connection = accepted.poll(10, TimeUnit.SECONDS);
+                Assert.assertNotNull(connection);
+                MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+                Set<ObjectName> serverNames = mbeanServer.queryNames(ObjectName.getInstance("org.xnio:type=Xnio,worker=\"default\",address=*,*"), null);
+                Assert.assertEquals(1, serverNames.size());
+                int expected = (Integer) mbeanServer.getAttribute(serverNames.iterator().next(), "ConnectionCount");
+                Assert.assertNotEquals(0, expected);
+                Assert.assertEquals(expected, readWorkerMetric(mainServices, Constants.CONNECTION_COUNT).asInt());
+                connection.close();
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    private static ModelNode readWorkerMetric(KernelServices services, String name) {
+        ModelNode op = Util.getReadAttributeOperation(PathAddress.pathAddress(IOExtension.SUBSYSTEM_PATH, PathElement.pathElement(Constants.WORKER, "default")), name);
+        return checkResultAndGetContents(services.executeOperation(op));
+    }
+
+    private static ModelNode readBufferPoolMetric(KernelServices services, String name) {
+        ModelNode op = Util.getReadAttributeOperation(PathAddress.pathAddress(IOExtension.SUBSYSTEM_PATH, PathElement.pathElement(Constants.BUFFER_POOL, "default")), name);
+        return checkResultAndGetContents(services.executeOperation(op));
+    }
+
     @Override
     protected AdditionalInitialization createAdditionalInitialization() {
         return new AdditionalInitialization() {
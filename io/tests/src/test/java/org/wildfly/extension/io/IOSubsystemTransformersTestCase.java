@@ -0,0 +1,147 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2016, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.OperationTransformer.TransformedOperation;
+import org.jboss.as.controller.transform.TransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the transformation of the buffer pool attributes added in model version 2.1.0 to model version 2.0.0.
+ */
+public class IOSubsystemTransformersTestCase extends AbstractSubsystemTest {
+
+    private static final PathElement POOL_PATH = PathElement.pathElement(Constants.BUFFER_POOL, "transformed");
+    private static final PathAddress POOL_ADDRESS = PathAddress.pathAddress(IOExtension.SUBSYSTEM_PATH, POOL_PATH);
+
+    private KernelServices services;
+    private TransformerRegistry registry;
+
+    public IOSubsystemTransformersTestCase() {
+        super(IOExtension.SUBSYSTEM_NAME, new IOExtension());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        services = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT)
+                .setSubsystemXmlResource("io-2.0.xml")
+                .build();
+        Assert.assertTrue(services.isSuccessfulBoot());
+
+        registry = TransformerRegistry.Factory.create();
+        new IOSubsystemExtensionTransformerRegistration().registerTransformers(
+                registry.createSubsystemTransformerRegistration(IOExtension.SUBSYSTEM_NAME, ModelVersion.create(2, 1)));
+    }
+
+    @After
+    public void tearDown() {
+        services.shutdown();
+    }
+
+    @Test
+    public void testDiscardUndefinedAndDefaultValues() throws Exception {
+        ModelNode add = Util.createAddOperation(POOL_ADDRESS);
+        add.get(Constants.BUFFER_SIZE).set(1024);
+        add.get(Constants.LEAK_DETECTION).set(false);
+
+        TransformedOperation transformed = transformOperation(add);
+        Assert.assertFalse(transformed.rejectOperation(success()));
+        ModelNode legacyAdd = transformed.getTransformedOperation();
+        Assert.assertEquals(1024, legacyAdd.get(Constants.BUFFER_SIZE).asInt());
+        Assert.assertFalse(legacyAdd.has(Constants.THREAD_LOCAL_CACHE_SIZE));
+        Assert.assertFalse(legacyAdd.has(Constants.LEAK_DETECTION));
+
+        transformed = transformOperation(Util.getWriteAttributeOperation(POOL_ADDRESS, Constants.LEAK_DETECTION, new ModelNode(false)));
+        Assert.assertFalse(transformed.rejectOperation(success()));
+        Assert.assertNull(transformed.getTransformedOperation());
+
+        transformed = transformOperation(Util.getUndefineAttributeOperation(POOL_ADDRESS, Constants.THREAD_LOCAL_CACHE_SIZE));
+        Assert.assertFalse(transformed.rejectOperation(success()));
+        Assert.assertNull(transformed.getTransformedOperation());
+    }
+
+    @Test
+    public void testRejectDefinedValues() throws Exception {
+        ModelNode add = Util.createAddOperation(POOL_ADDRESS);
+        add.get(Constants.THREAD_LOCAL_CACHE_SIZE).set(4);
+        Assert.assertTrue(transformOperation(add).rejectOperation(success()));
+
+        add = Util.createAddOperation(POOL_ADDRESS);
+        add.get(Constants.LEAK_DETECTION).set(true);
+        Assert.assertTrue(transformOperation(add).rejectOperation(success()));
+
+        ModelNode write = Util.getWriteAttributeOperation(POOL_ADDRESS, Constants.THREAD_LOCAL_CACHE_SIZE, new ModelNode(0));
+        Assert.assertTrue(transformOperation(write).rejectOperation(success()));
+
+        write = Util.getWriteAttributeOperation(POOL_ADDRESS, Constants.LEAK_DETECTION, new ModelNode("${leak.detection:true}"));
+        Assert.assertTrue(transformOperation(write).rejectOperation(success()));
+    }
+
+    private TransformedOperation transformOperation(ModelNode operation) throws OperationFailedException {
+        TransformationTarget target = TransformationTargetImpl.create(null, registry, ModelVersion.create(5),
+                Collections.singletonMap(PathAddress.pathAddress(IOExtension.SUBSYSTEM_PATH), IOSubsystemExtensionTransformerRegistration.VERSION_2_0),
+                TransformationTarget.TransformationTargetType.SERVER);
+        Resource root = Resource.Factory.create();
+        Resource subsystem = Resource.Factory.create();
+        root.registerChild(IOExtension.SUBSYSTEM_PATH, subsystem);
+        subsystem.registerChild(POOL_PATH, Resource.Factory.create());
+        TransformationContext context = Transformers.Factory.create(target, root, services.getRootRegistration(),
+                ExpressionResolver.TEST_RESOLVER, RunningMode.NORMAL, ProcessType.STANDALONE_SERVER, null);
+        return Transformers.Factory.create(target).transformOperation(context, operation);
+    }
+
+    private static ModelNode success() {
+        final ModelNode result = new ModelNode();
+        result.get(OUTCOME).set(SUCCESS);
+        result.get(RESULT);
+        return result;
+    }
+}
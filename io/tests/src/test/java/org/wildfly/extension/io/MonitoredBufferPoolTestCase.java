@@ -0,0 +1,80 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2016, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xnio.BufferAllocator;
+import org.xnio.Pooled;
+
+/**
+ * Tests of the counters and leak detection of {@link MonitoredBufferPool}.
+ */
+public class MonitoredBufferPoolTestCase {
+
+    @Test
+    public void testCounters() {
+        MonitoredBufferPool pool = new MonitoredBufferPool("test", BufferAllocator.BYTE_BUFFER_ALLOCATOR, 16, 64, 0, false);
+        Pooled<ByteBuffer> first = pool.allocate();
+        Pooled<ByteBuffer> second = pool.allocate();
+        Assert.assertEquals(2, pool.getBuffersAllocated());
+        Assert.assertEquals(2, pool.getBuffersInUse());
+        Assert.assertEquals(64, pool.getMemoryAllocated());
+
+        first.free();
+        // releasing twice must not be counted twice
+        first.close();
+        Assert.assertEquals(1, pool.getBuffersInUse());
+        second.discard();
+        Assert.assertEquals(0, pool.getBuffersInUse());
+        Assert.assertEquals(0, pool.getBuffersLeaked());
+    }
+
+    @Test
+    public void testThreadLocalCacheReused() {
+        MonitoredBufferPool pool = new MonitoredBufferPool("test", BufferAllocator.BYTE_BUFFER_ALLOCATOR, 16, 16, 4, false);
+        for (int i = 0; i < 100; i++) {
+            pool.allocate().free();
+        }
+        // freed buffers are handed out again rather than a new region being allocated each time
+        Assert.assertEquals(16, pool.getMemoryAllocated());
+        Assert.assertEquals(100, pool.getBuffersAllocated());
+    }
+
+    @Test
+    public void testLeakDetection() throws Exception {
+        MonitoredBufferPool pool = new MonitoredBufferPool("test", BufferAllocator.BYTE_BUFFER_ALLOCATOR, 16, 64, 0, true);
+        pool.allocate().free();
+        pool.allocate();
+        for (int i = 0; i < 50 && pool.getBuffersLeaked() == 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(1, pool.getBuffersLeaked());
+        Assert.assertEquals(1, pool.getBuffersInUse());
+    }
+}
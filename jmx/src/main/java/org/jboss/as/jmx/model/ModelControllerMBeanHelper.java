@@ -24,6 +24,7 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -33,6 +34,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
@@ -41,6 +43,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -83,6 +86,10 @@ public class ModelControllerMBeanHelper {
 
     static final String CLASS_NAME = ModelController.class.getName();
     private static final String AUTHORIZED_ERROR = "WFLYCTL0313";
+    /** Bound on the number of cached ObjectNames, so addresses of removed resources cannot accumulate without limit */
+    private static final int MAX_CACHED_OBJECT_NAMES = 16384;
+    /** Bound on the number of cached MBeanInfos */
+    private static final int MAX_CACHED_MBEAN_INFOS = 1024;
 
     private final MutabilityChecker mutabilityChecker;
     private final ModelController controller;
@@ -93,6 +100,10 @@ public class ModelControllerMBeanHelper {
     private final ConfiguredDomains configuredDomains;
     private final String domain;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    /** MBeanInfos already created, along with the state of the registration they were created from */
+    private final Map<ObjectName, CachedMBeanInfo> mbeanInfos = new ConcurrentHashMap<>();
+    /** ObjectNames of the addresses seen while iterating over the model, which only depend on the address */
+    private final Map<PathAddress, ObjectName> objectNames = new ConcurrentHashMap<>();
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -112,7 +123,7 @@ public class ModelControllerMBeanHelper {
 
             @Override
             public ObjectName onAddress(PathAddress address) {
-                return isExcludeAddress(address) ? null : ObjectNameAddressUtil.createObjectName(domain, address);
+                return isExcludeAddress(address) ? null : getObjectName(address);
             }
 
             public boolean onResource(ObjectName address) {
@@ -255,8 +266,22 @@ public class ModelControllerMBeanHelper {
         if (address == null) {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
-        final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        // The MBeanInfo only depends on the registration, not on the caller's permissions, so it can be shared
+        final long modificationCount = registration.getModificationCount();
+        final CachedMBeanInfo cached = mbeanInfos.get(name);
+        if (cached != null && cached.registration == registration && cached.modificationCount == modificationCount) {
+            return cached.info;
+        }
+        final MBeanInfo info = MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, registration);
+        if (modificationCount >= 0) {
+            if (mbeanInfos.size() >= MAX_CACHED_MBEAN_INFOS) {
+                mbeanInfos.clear();
+            }
+            mbeanInfos.put(name, new CachedMBeanInfo(registration, modificationCount, info));
+        }
+        return info;
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -276,24 +301,63 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
-        AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
+        if (attributes.length == 0) {
+            return new AttributeList();
+        } else if (attributes.length == 1) {
+            AttributeList list = new AttributeList();
             try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, name, attribute, accessControl)));
+                list.add(new Attribute(attributes[0], getAttribute(reg, address, name, attributes[0], accessControl)));
             } catch (AttributeNotFoundException e) {
                 throw new ReflectionException(e);
             }
+            return list;
+        }
+
+        final ModelNode description = getMBeanDescription(address, reg);
+        final String[] attributeNames = new String[attributes.length];
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(COMPOSITE);
+        op.get(OP_ADDR).setEmptyList();
+        final ModelNode steps = op.get(STEPS).setEmptyList();
+        try {
+            for (int i = 0; i < attributes.length; i++) {
+                attributeNames[i] = findAttributeName(description.get(ATTRIBUTES), attributes[i]);
+                if (!accessControl.isReadableAttribute(attributeNames[i])) {
+                    throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeNames[i]);
+                }
+                ModelNode step = steps.add();
+                step.get(OP).set(READ_ATTRIBUTE_OPERATION);
+                step.get(OP_ADDR).set(address.toModelNode());
+                step.get(NAME).set(attributeNames[i]);
+            }
+
+            // Read all the attributes in a single operation
+            ModelNode result = execute(op);
+            String error = getFailureDescription(result);
+            if (error != null) {
+                for (int i = 0; i < attributes.length; i++) {
+                    String stepError = getFailureDescription(result.get(RESULT, "step-" + (i + 1)));
+                    if (stepError != null) {
+                        error = stepError;
+                        break;
+                    }
+                }
+                throw new AttributeNotFoundException(error);
+            }
+
+            AttributeList list = new AttributeList();
+            for (int i = 0; i < attributes.length; i++) {
+                list.add(new Attribute(attributes[i], converters.fromModelNode(description.require(ATTRIBUTES).require(attributeNames[i]),
+                        result.get(RESULT, "step-" + (i + 1), RESULT))));
+            }
+            return list;
+        } catch (AttributeNotFoundException e) {
+            throw new ReflectionException(e);
         }
-        return list;
     }
 
     private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final ObjectName name, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
-        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
-        final DescriptionProvider provider = registration.getModelDescription(PathAddress.EMPTY_ADDRESS);
-        if (provider == null) {
-            throw JmxLogger.ROOT_LOGGER.descriptionProviderNotFound(address);
-        }
-        final ModelNode description = provider.getModelDescription(null);
+        final ModelNode description = getMBeanDescription(address, reg);
         final String attributeName = findAttributeName(description.get(ATTRIBUTES), attribute);
 
         if (!accessControl.isReadableAttribute(attributeName)) {
@@ -520,6 +584,27 @@ public class ModelControllerMBeanHelper {
         return converters.fromModelNode(description.get(REPLY_PROPERTIES), result.get(RESULT));
     }
 
+    private ModelNode getMBeanDescription(PathAddress address, ManagementModelIntegration.ResourceAndRegistration reg) throws InstanceNotFoundException {
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final DescriptionProvider provider = registration.getModelDescription(PathAddress.EMPTY_ADDRESS);
+        if (provider == null) {
+            throw JmxLogger.ROOT_LOGGER.descriptionProviderNotFound(address);
+        }
+        return provider.getModelDescription(null);
+    }
+
+    private ObjectName getObjectName(PathAddress address) {
+        ObjectName result = objectNames.get(address);
+        if (result == null) {
+            result = ObjectNameAddressUtil.createObjectName(domain, address);
+            if (objectNames.size() >= MAX_CACHED_OBJECT_NAMES) {
+                objectNames.clear();
+            }
+            objectNames.put(address, result);
+        }
+        return result;
+    }
+
     private ManagementModelIntegration.ResourceAndRegistration getRootResourceAndRegistration() {
         return managementModelProvider.getResourceAndRegistration();
     }
@@ -598,6 +683,18 @@ public class ModelControllerMBeanHelper {
         return converters;
     }
 
+    private static final class CachedMBeanInfo {
+        private final ImmutableManagementResourceRegistration registration;
+        private final long modificationCount;
+        private final MBeanInfo info;
+
+        private CachedMBeanInfo(ImmutableManagementResourceRegistration registration, long modificationCount, MBeanInfo info) {
+            this.registration = registration;
+            this.modificationCount = modificationCount;
+            this.info = info;
+        }
+    }
+
     private abstract class ObjectNameMatchResourceAction<T> implements ResourceAction<T> {
 
         private final ObjectName baseName;
@@ -623,7 +720,7 @@ public class ModelControllerMBeanHelper {
             }
 
             ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address);
+            ObjectName toMatch = getObjectName(address);
             if (baseName == null) {
                 result = toMatch;
             } else if (address.size() == 0) {
@@ -660,5 +757,25 @@ public class ModelControllerMBeanHelper {
             }
             return result;
         }
+
+        @Override
+        public boolean isInterestingChildType(String type) {
+            // Unless the name is a property list pattern, every element of a matching address is one of its properties
+            return baseName == null || propertyListPattern || properties.containsKey(ObjectNameAddressUtil.escapeKey(type));
+        }
+
+        @Override
+        public String getInterestingChildName(String type) {
+            if (baseName == null) {
+                return null;
+            }
+            final String key = ObjectNameAddressUtil.escapeKey(type);
+            final String value = properties.get(key);
+            if (value == null || baseName.isPropertyValuePattern(key)) {
+                return null;
+            }
+            // Any other child would have a different value for the property, so cannot match or lead to a match
+            return ObjectNameAddressUtil.replaceEscapedCharactersInValue(value);
+        }
     }
 }
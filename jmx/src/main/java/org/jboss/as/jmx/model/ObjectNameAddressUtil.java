@@ -161,6 +161,15 @@ class ObjectNameAddressUtil {
         return null;
     }
 
+    /**
+     * Gets the key used in an ObjectName for the given PathElement key.
+     */
+    static String escapeKey(String key) {
+        final StringBuilder sb = new StringBuilder(key.length());
+        escapeKey(ESCAPED_KEY_CHARACTERS, sb, key);
+        return sb.toString();
+    }
+
     private static void escapeKey(EscapedCharacter[] escapedCharacters, StringBuilder sb, String value) {
         for (EscapedCharacter escapedCharacter : escapedCharacters) {
             value = value.replace(escapedCharacter.getChar().toString(), escapedCharacter.getEscaped());
@@ -213,7 +222,7 @@ class ObjectNameAddressUtil {
         return escaped;
     }
 
-    private static String replaceEscapedCharactersInValue(final String escaped) {
+    static String replaceEscapedCharactersInValue(final String escaped) {
         if (escaped.startsWith("\"") && escaped.endsWith("\"")) {
             final boolean containsAsterix = escaped.contains("\\*");
             final boolean containsBackslash = escaped.contains("\\\\");
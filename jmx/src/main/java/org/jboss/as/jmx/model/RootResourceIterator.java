@@ -54,11 +54,20 @@ class RootResourceIterator<T> {
 
         if (handleChildren) {
             for (String type : current.getChildTypes()) {
-                if (current.hasChildren(type)) {
-                    for (ResourceEntry entry : current.getChildren(type)) {
-                        final PathElement pathElement = entry.getPathElement();
-                        final PathAddress childAddress = address.append(pathElement);
-                        doIterate(entry, childAddress);
+                if (current.hasChildren(type) && action.isInterestingChildType(type)) {
+                    final String name = action.getInterestingChildName(type);
+                    if (name == null) {
+                        for (ResourceEntry entry : current.getChildren(type)) {
+                            final PathElement pathElement = entry.getPathElement();
+                            final PathAddress childAddress = address.append(pathElement);
+                            doIterate(entry, childAddress);
+                        }
+                    } else {
+                        final PathElement pathElement = PathElement.pathElement(type, name);
+                        final Resource child = current.getChild(pathElement);
+                        if (child != null) {
+                            doIterate(child, address.append(pathElement));
+                        }
                     }
                 }
             }
@@ -82,6 +91,26 @@ class RootResourceIterator<T> {
          */
         boolean onResource(ObjectName resourceObjectName);
 
+        /**
+         * Whether children of the given type can be interesting to this ResourceAction. Allows whole parts of
+         * the tree to be skipped without calling onAddress for each of their resources.
+         * @param type the child type
+         * @return {@code false} if none of the children of the type, or their children, are interesting
+         */
+        default boolean isInterestingChildType(String type) {
+            return true;
+        }
+
+        /**
+         * Gets the only name of the children of the given type that can be interesting to this ResourceAction,
+         * so that child can be looked up directly rather than by iterating over all children of the type.
+         * @param type the child type
+         * @return the name, or {@code null} if children of any name may be interesting
+         */
+        default String getInterestingChildName(String type) {
+            return null;
+        }
+
         /**
          * Gets the overall result after all resources have been processed.
          * @return the result
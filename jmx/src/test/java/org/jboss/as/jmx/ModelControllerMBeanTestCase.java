@@ -193,6 +193,19 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         checkSameMBeans(filteredInstances, filteredNames);
         assertContainsNames(filteredNames, LEGACY_SERVER_SOCKET_BINDING_NAME);
 
+        // Names and property list patterns with fixed property values, in a different order than in the address
+        filteredNames = connection.queryNames(createObjectName(LEGACY_DOMAIN + ":socket-binding=server,socket-binding-group=test-socket-binding-group"), null);
+        Assert.assertEquals(1, filteredNames.size());
+        assertContainsNames(filteredNames, LEGACY_SERVER_SOCKET_BINDING_NAME);
+        filteredNames = connection.queryNames(createObjectName(LEGACY_DOMAIN + ":socket-binding=server,*"), null);
+        Assert.assertEquals(1, filteredNames.size());
+        assertContainsNames(filteredNames, LEGACY_SERVER_SOCKET_BINDING_NAME);
+        filteredNames = connection.queryNames(createObjectName(LEGACY_DOMAIN + ":socket-binding-group=test-socket-binding-group,*"), null);
+        Assert.assertEquals(2, filteredNames.size());
+        assertContainsNames(filteredNames, LEGACY_SOCKET_BINDING_GROUP_NAME, LEGACY_SERVER_SOCKET_BINDING_NAME);
+        filteredNames = connection.queryNames(createObjectName(LEGACY_DOMAIN + ":socket-binding=other,*"), null);
+        Assert.assertEquals(0, filteredNames.size());
+
         // WFCORE-1257 -- Test with QueryExp
 
         // First a numeric query (port) = (12345)
@@ -720,6 +733,15 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         Assert.assertEquals(2, tabularData.size());
         Assert.assertEquals(tblValue1, assertCast(Integer.class, tabularData.get(new Object[]{tblKey1}).get("value")).intValue());
         Assert.assertEquals(tblValue2, assertCast(Integer.class, tabularData.get(new Object[]{tblKey2}).get("value")).intValue());
+
+        // Several attributes at once are read in a single operation
+        AttributeList attributes = connection.getAttributes(name, new String[] {"roInt", "int", "string", "long"});
+        Assert.assertEquals(4, attributes.size());
+        Assert.assertEquals(roInt, assertCast(Integer.class, ((Attribute) attributes.get(0)).getValue()).intValue());
+        Assert.assertEquals(i, assertCast(Integer.class, ((Attribute) attributes.get(1)).getValue()).intValue());
+        Assert.assertEquals(s, assertCast(String.class, ((Attribute) attributes.get(2)).getValue()));
+        Assert.assertEquals(lng, assertCast(Long.class, ((Attribute) attributes.get(3)).getValue()).longValue());
+        Assert.assertEquals("string", ((Attribute) attributes.get(2)).getName());
     }
 
     @Test
@@ -814,10 +814,21 @@ class IdentityPatchContext implements PatchContentProvider {
 
         @Override
         public void invalidateRoot(final File moduleRoot) throws IOException {
+            invalidateRoot(moduleRoot, moduleInvalidations);
+        }
+
+        /**
+         * Collect the resources of a module root which need to be invalidated.
+         *
+         * @param moduleRoot  the module root
+         * @param invalidated the list to add the resources to
+         * @throws IOException
+         */
+        void invalidateRoot(final File moduleRoot, final List<File> invalidated) throws IOException {
             final List<File> files = listFiles(moduleRoot);
             if (files != null && files.size() > 0) {
                 for (final File file : files) {
-                    moduleInvalidations.add(file);
+                    invalidated.add(file);
                     if (mode == Mode.ROLLBACK) {
                         // For rollback we need to restore the file before calculating the hash
                         PatchModuleInvalidationUtils.processFile(null, file, mode);
@@ -826,6 +837,15 @@ class IdentityPatchContext implements PatchContentProvider {
             }
         }
 
+        /**
+         * Record module resources to invalidate, collected using {@link #invalidateRoot(File, List)}.
+         *
+         * @param files the resources
+         */
+        void addInvalidations(final List<File> files) {
+            moduleInvalidations.addAll(files);
+        }
+
         void prepareForPortForward(ContentItem item, String patchId) throws IOException {
             if (item.getContentType() == ContentType.MODULE) {
                 final File targetFile = delegate.getDirectoryStructure().getModulePatchDirectory(patchId);
@@ -32,6 +32,7 @@ import org.jboss.as.patching.metadata.ContentModification;
 import org.jboss.as.patching.metadata.ContentType;
 import org.jboss.as.patching.metadata.Identity;
 import org.jboss.as.patching.metadata.LayerType;
+import org.jboss.as.patching.metadata.MiscContentItem;
 import org.jboss.as.patching.metadata.ModuleItem;
 import org.jboss.as.patching.metadata.Patch;
 import org.jboss.as.patching.metadata.Patch.PatchType;
@@ -631,59 +632,77 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
         final List<PreparedTask> tasks = new ArrayList<PreparedTask>();
         final List<ContentItem> conflicts = new ArrayList<ContentItem>();
         // Identity
-        prepareTasks(context.getIdentityEntry(), context, tasks, conflicts);
+        createTasks(context.getIdentityEntry(), context, tasks);
         // Layers
         for (final IdentityPatchContext.PatchEntry layer : context.getLayers()) {
-            prepareTasks(layer, context, tasks, conflicts);
+            createTasks(layer, context, tasks);
         }
         // AddOns
         for (final IdentityPatchContext.PatchEntry addOn : context.getAddOns()) {
-            prepareTasks(addOn, context, tasks, conflicts);
+            createTasks(addOn, context, tasks);
         }
+        final ParallelTaskRunner runner = ParallelTaskRunner.create();
+        prepareTasks(runner, context, tasks, conflicts);
         // If there were problems report them
         if (!conflicts.isEmpty()) {
             throw PatchLogger.ROOT_LOGGER.conflictsDetected(conflicts);
         }
         // Execute the tasks
+        final List<PreparedTask> included = new ArrayList<PreparedTask>(tasks.size());
         for (final PreparedTask task : tasks) {
             // Unless it's excluded by the user
             final ContentItem item = task.getContentItem();
             if (item != null && context.isExcluded(item)) {
                 continue;
             }
-            // Run the task
-            task.execute();
+            included.add(task);
         }
+        // Run the tasks
+        runner.run(included, PreparedTask::execute);
         return context.finalize(callback);
     }
 
     /**
-     * Prepare all tasks.
+     * Create the relevant tasks of a patch entry.
      *
-     * @param entry     the patch entry
-     * @param context   the patch context
-     * @param tasks     a list for prepared tasks
-     * @param conflicts a list for conflicting content items
+     * @param entry   the patch entry
+     * @param context the patch context
+     * @param tasks   a list for the created tasks
      * @throws PatchingException
      */
-    static void prepareTasks(final IdentityPatchContext.PatchEntry entry, final IdentityPatchContext context, final List<PreparedTask> tasks, final List<ContentItem> conflicts) throws PatchingException {
+    static void createTasks(final IdentityPatchContext.PatchEntry entry, final IdentityPatchContext context, final List<PreparedTask> tasks) throws PatchingException {
         for (final PatchingTasks.ContentTaskDefinition definition : entry.getTaskDefinitions()) {
             final PatchingTask task = createTask(definition, context, entry);
             if(!task.isRelevant(entry)) {
                 continue;
             }
-            try {
-                // backup and validate content
-                if (!task.prepare(entry) || definition.hasConflicts()) {
-                    // Unless it a content item was manually ignored (or excluded)
-                    final ContentItem item = task.getContentItem();
-                    if (!context.isIgnored(item)) {
-                        conflicts.add(item);
-                    }
+            tasks.add(new PreparedTask(task, entry, definition));
+        }
+    }
+
+    /**
+     * Prepare all tasks.
+     *
+     * @param runner    the runner for the tasks
+     * @param context   the patch context
+     * @param tasks     the tasks to prepare
+     * @param conflicts a list for conflicting content items
+     * @throws PatchingException
+     */
+    static void prepareTasks(final ParallelTaskRunner runner, final IdentityPatchContext context, final List<PreparedTask> tasks, final List<ContentItem> conflicts) throws PatchingException {
+        try {
+            // backup and validate content
+            runner.run(tasks, PreparedTask::prepare);
+        } catch (IOException e) {
+            throw new PatchingException(e);
+        }
+        for (final PreparedTask task : tasks) {
+            if (!task.prepared || task.definition.hasConflicts()) {
+                // Unless it a content item was manually ignored (or excluded)
+                final ContentItem item = task.getContentItem();
+                if (!context.isIgnored(item)) {
+                    conflicts.add(item);
                 }
-                tasks.add(new PreparedTask(task, entry));
-            } catch (IOException e) {
-                throw new PatchingException(e);
             }
         }
     }
@@ -702,24 +721,111 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
         return PatchingTask.Factory.create(description, context);
     }
 
-    static class PreparedTask {
+    /**
+     * A task along with its patch entry. The task sees this as its context, which buffers the changes and module
+     * invalidations it records until {@link #publish()} is called, so that tasks can run concurrently.
+     */
+    static class PreparedTask implements PatchingTaskContext {
 
         private final PatchingTask task;
         private final IdentityPatchContext.PatchEntry entry;
+        private final PatchingTasks.ContentTaskDefinition definition;
+        private final List<ContentModification[]> changes = new ArrayList<ContentModification[]>(1);
+        private final List<File> invalidations = new ArrayList<File>();
+        private boolean prepared;
+        private Throwable failure;
 
-        PreparedTask(PatchingTask task, IdentityPatchContext.PatchEntry entry) {
+        PreparedTask(PatchingTask task, IdentityPatchContext.PatchEntry entry, PatchingTasks.ContentTaskDefinition definition) {
             this.task = task;
             this.entry = entry;
+            this.definition = definition;
         }
 
         ContentItem getContentItem() {
             return task.getContentItem();
         }
 
+        /**
+         * Get the key of the module or bundle modified by this task.
+         *
+         * @return the key, or {@code null} for misc content
+         */
+        String getModuleKey() {
+            final ContentItem item = task.getContentItem();
+            if (item.getContentType() == ContentType.MISC) {
+                return null;
+            }
+            final ModuleItem module = (ModuleItem) item;
+            return item.getContentType() + ":" + module.getName() + ":" + module.getSlot();
+        }
+
+        protected void prepare() throws IOException {
+            prepared = task.prepare(this);
+        }
+
         protected void execute() throws IOException {
-            task.execute(entry);
+            task.execute(this);
+        }
+
+        Throwable getFailure() {
+            return failure;
+        }
+
+        void setFailure(Throwable failure) {
+            this.failure = failure;
         }
 
+        /**
+         * Pass the buffered changes and module invalidations on to the patch entry.
+         */
+        void publish() {
+            entry.addInvalidations(invalidations);
+            invalidations.clear();
+            for (final ContentModification[] change : changes) {
+                entry.recordChange(change[0], change[1]);
+            }
+            changes.clear();
+        }
+
+        @Override
+        public Mode getCurrentMode() {
+            return entry.getCurrentMode();
+        }
+
+        @Override
+        public File getTargetFile(ContentItem item) {
+            return entry.getTargetFile(item);
+        }
+
+        @Override
+        public File getBackupFile(MiscContentItem item) {
+            return entry.getBackupFile(item);
+        }
+
+        @Override
+        public boolean isExcluded(ContentItem contentItem) {
+            return entry.isExcluded(contentItem);
+        }
+
+        @Override
+        public void recordChange(ContentModification change, ContentModification rollbackAction) {
+            changes.add(new ContentModification[] {change, rollbackAction});
+        }
+
+        @Override
+        public void invalidateRoot(File root) throws IOException {
+            entry.invalidateRoot(root, invalidations);
+        }
+
+        @Override
+        public File[] getTargetBundlePath() {
+            return entry.getTargetBundlePath();
+        }
+
+        @Override
+        public File[] getTargetModulePath() {
+            return entry.getTargetModulePath();
+        }
     }
 
     static Patch loadPatchInformation(final String patchId, final InstalledImage installedImage) throws PatchingException, IOException, XMLStreamException {
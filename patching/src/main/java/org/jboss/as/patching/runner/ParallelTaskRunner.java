@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.patching.runner;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.patching.runner.IdentityPatchRunner.PreparedTask;
+
+/**
+ * Runs a step of the prepared patching tasks, using several threads for the module and bundle tasks, which mostly
+ * consist of hashing and copying module content.
+ * <p>
+ * The misc tasks run first, one after the other and in order. The tasks for the same module or bundle also run in
+ * order, but tasks for different modules and bundles run concurrently. Changes and module invalidations recorded by
+ * the tasks are buffered and passed on to the patch entries in task order once all tasks have run, so the patch
+ * history does not depend on the scheduling.
+ */
+final class ParallelTaskRunner {
+
+    /** Name of the system property setting the maximum number of threads, which defaults to the number of processors */
+    static final String PARALLELISM = "org.jboss.as.patching.parallelism";
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final int parallelism;
+    private volatile boolean failed;
+
+    ParallelTaskRunner(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    static ParallelTaskRunner create() {
+        final String value = SecurityActions.getSystemProperty(PARALLELISM);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (value != null) {
+            try {
+                parallelism = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                // use the default
+            }
+        }
+        return new ParallelTaskRunner(parallelism);
+    }
+
+    /**
+     * A step of a task.
+     */
+    interface Step {
+
+        void run(PreparedTask task) throws IOException;
+
+    }
+
+    /**
+     * Runs a step of all tasks. If a task fails, the remaining tasks of the same module are skipped, and tasks which
+     * have not been started yet are not run. The changes recorded by all tasks which ran are passed on in any case.
+     *
+     * @param tasks the tasks
+     * @param step  the step to run
+     * @throws IOException the failure of the first failed task
+     */
+    void run(final List<PreparedTask> tasks, final Step step) throws IOException {
+        final List<PreparedTask> misc = new ArrayList<PreparedTask>();
+        final Map<String, List<PreparedTask>> modules = new LinkedHashMap<String, List<PreparedTask>>();
+        for (final PreparedTask task : tasks) {
+            final String key = task.getModuleKey();
+            if (key == null) {
+                misc.add(task);
+            } else {
+                List<PreparedTask> group = modules.get(key);
+                if (group == null) {
+                    group = new ArrayList<PreparedTask>();
+                    modules.put(key, group);
+                }
+                group.add(task);
+            }
+        }
+        failed = false;
+        try {
+            runInOrder(misc, step);
+            if (parallelism <= 1 || modules.size() <= 1) {
+                for (final List<PreparedTask> group : modules.values()) {
+                    runInOrder(group, step);
+                }
+            } else {
+                runConcurrently(modules.values(), step);
+            }
+        } finally {
+            for (final PreparedTask task : tasks) {
+                task.publish();
+            }
+        }
+        for (final PreparedTask task : tasks) {
+            final Throwable failure = task.getFailure();
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        }
+    }
+
+    private void runConcurrently(final Iterable<List<PreparedTask>> groups, final Step step) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new TaskThreadFactory());
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (final List<PreparedTask> group : groups) {
+                futures.add(executor.submit(() -> runInOrder(group, step)));
+            }
+            boolean interrupted = false;
+            for (final Future<?> future : futures) {
+                // Wait for all tasks, as their changes need to be recorded
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        failed = true;
+                    } catch (ExecutionException e) {
+                        // runInOrder records failures on the tasks
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void runInOrder(final List<PreparedTask> tasks, final Step step) {
+        for (final PreparedTask task : tasks) {
+            if (failed) {
+                return;
+            }
+            try {
+                step.run(task);
+            } catch (IOException | RuntimeException | Error e) {
+                task.setFailure(e);
+                failed = true;
+                return;
+            }
+        }
+    }
+
+    private static final class TaskThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "patching-task-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
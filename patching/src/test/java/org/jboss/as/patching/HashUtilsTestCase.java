@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.patching;
+
+import static org.jboss.as.patching.IoUtils.mkdir;
+import static org.jboss.as.patching.runner.TestUtils.dump;
+import static org.jboss.as.patching.runner.TestUtils.randomString;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of content hashing, including hashing many modules of a synthetic installation concurrently.
+ */
+public class HashUtilsTestCase {
+
+    private static final int MODULES = 64;
+
+    private File tempDir;
+    private File modules;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = mkdir(new File(System.getProperty("java.io.tmpdir")), "patching-" + randomString());
+        modules = mkdir(tempDir, "modules");
+        for (int i = 0; i < MODULES; i++) {
+            final File main = mkdir(modules, "org", "test", "module" + i, "main");
+            dump(new File(main, "module.xml"), "<module name=\"org.test.module" + i + "\"/>");
+            for (int j = 0; j < 4; j++) {
+                dump(new File(main, "resource" + j + ".jar"), randomString());
+            }
+            dump(new File(main, "resource0.jar.index"), randomString());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (!IoUtils.recursiveDelete(tempDir)) {
+            tempDir.deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testDirectoryHash() throws Exception {
+        final File main = new File(modules, "org/test/module0/main");
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        // files sorted by name, jar indexes skipped
+        for (String name : new String[] {"module.xml", "resource0.jar", "resource1.jar", "resource2.jar", "resource3.jar"}) {
+            digest.update(Files.readAllBytes(new File(main, name).toPath()));
+        }
+        Assert.assertArrayEquals(digest.digest(), HashUtils.hashFile(main));
+        Assert.assertArrayEquals(HashUtils.hashFile(main), HashUtils.hashFile(new File(modules, "org/test/module0")));
+    }
+
+    @Test
+    public void testConcurrentHashing() throws Exception {
+        final List<File> roots = new ArrayList<>();
+        final List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < MODULES; i++) {
+            final File root = new File(modules, "org/test/module" + i);
+            roots.add(root);
+            expected.add(HashUtils.hashFile(root));
+        }
+        final byte[] bytes = "content".getBytes(StandardCharsets.UTF_8);
+        final byte[] bytesHash = HashUtils.hashBytes(bytes);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 4; round++) {
+                final List<Future<byte[]>> hashes = new ArrayList<>();
+                final List<Future<byte[]>> byteHashes = new ArrayList<>();
+                for (File root : roots) {
+                    hashes.add(executor.submit(() -> HashUtils.hashFile(root)));
+                    byteHashes.add(executor.submit(() -> HashUtils.hashBytes(bytes)));
+                }
+                for (int i = 0; i < MODULES; i++) {
+                    Assert.assertArrayEquals(expected.get(i), hashes.get(i).get());
+                    Assert.assertArrayEquals(bytesHash, byteHashes.get(i).get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
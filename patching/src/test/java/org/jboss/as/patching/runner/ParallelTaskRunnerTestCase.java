@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.patching.runner;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests of the ordering and failure handling of the {@link ParallelTaskRunner}.
+ */
+public class ParallelTaskRunnerTestCase {
+
+    private final List<TestTask> published = Collections.synchronizedList(new ArrayList<TestTask>());
+
+    @Test
+    public void testTasksOfAModuleRunInOrder() throws Exception {
+        final List<TestTask> tasks = new ArrayList<TestTask>();
+        tasks.add(new TestTask(null, "misc-0"));
+        for (int i = 0; i < 10; i++) {
+            for (String module : Arrays.asList("a", "b", "c", "d")) {
+                tasks.add(new TestTask(module, module + "-" + i));
+            }
+        }
+        tasks.add(new TestTask(null, "misc-1"));
+        final List<TestTask> ran = Collections.synchronizedList(new ArrayList<TestTask>());
+        new ParallelTaskRunner(4).run(prepared(tasks), task -> {
+            randomSleep();
+            ran.add((TestTask) task);
+        });
+
+        assertEquals(tasks.size(), ran.size());
+        // The misc tasks run first, in order
+        assertEquals("misc-0", ran.get(0).name);
+        assertEquals("misc-1", ran.get(1).name);
+        for (String module : Arrays.asList("a", "b", "c", "d")) {
+            final List<String> expected = new ArrayList<String>();
+            final List<String> actual = new ArrayList<String>();
+            for (TestTask task : tasks) {
+                if (module.equals(task.module)) {
+                    expected.add(task.name);
+                }
+            }
+            for (TestTask task : ran) {
+                if (module.equals(task.module)) {
+                    actual.add(task.name);
+                }
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testPublishedInTaskOrder() throws Exception {
+        final List<TestTask> tasks = new ArrayList<TestTask>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new TestTask("module-" + (i % 5), "task-" + i));
+        }
+        for (int run = 0; run < 5; run++) {
+            published.clear();
+            new ParallelTaskRunner(5).run(prepared(tasks), task -> randomSleep());
+            assertEquals(tasks, published);
+        }
+    }
+
+    @Test
+    public void testFailureSkipsRemainingTasks() throws Exception {
+        final CountDownLatch firstFailed = new CountDownLatch(1);
+        final IOException first = new IOException("first");
+        final IOException second = new IOException("second");
+        // The failure of "b-0" comes first in task order, although "a-0" fails before it
+        final TestTask b0 = new TestTask("b", "b-0");
+        final TestTask b1 = new TestTask("b", "b-1");
+        final TestTask a0 = new TestTask("a", "a-0");
+        final TestTask a1 = new TestTask("a", "a-1");
+        final List<TestTask> tasks = Arrays.asList(b0, b1, a0, a1);
+        final List<TestTask> ran = Collections.synchronizedList(new ArrayList<TestTask>());
+        try {
+            new ParallelTaskRunner(2).run(prepared(tasks), task -> {
+                ran.add((TestTask) task);
+                if (task == a0) {
+                    firstFailed.countDown();
+                    throw second;
+                } else if (task == b0) {
+                    try {
+                        assertTrue(firstFailed.await(10, SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    throw first;
+                }
+            });
+            fail("should have failed");
+        } catch (IOException e) {
+            assertSame(first, e);
+        }
+        assertEquals(2, ran.size());
+        assertTrue(ran.contains(a0));
+        assertTrue(ran.contains(b0));
+        // The changes of all tasks are passed on, whether they ran or not
+        assertEquals(tasks, published);
+    }
+
+    @Test
+    public void testSequential() throws Exception {
+        final List<TestTask> tasks = Arrays.asList(new TestTask("a", "a-0"), new TestTask("b", "b-0"),
+                new TestTask("a", "a-1"), new TestTask(null, "misc-0"), new TestTask("b", "b-1"));
+        final Thread caller = Thread.currentThread();
+        final List<String> ran = new ArrayList<String>();
+        for (int parallelism : new int[] {1, 0, -1}) {
+            ran.clear();
+            published.clear();
+            new ParallelTaskRunner(parallelism).run(prepared(tasks), task -> {
+                assertSame(caller, Thread.currentThread());
+                ran.add(((TestTask) task).name);
+            });
+            // Misc tasks first, then one module after the other
+            assertEquals(Arrays.asList("misc-0", "a-0", "a-1", "b-0", "b-1"), ran);
+            assertEquals(tasks, published);
+        }
+
+        // A failure skips all following tasks
+        ran.clear();
+        final IOException failure = new IOException();
+        try {
+            new ParallelTaskRunner(1).run(prepared(tasks), task -> {
+                ran.add(((TestTask) task).name);
+                if (ran.size() == 2) {
+                    throw failure;
+                }
+            });
+            fail("should have failed");
+        } catch (IOException e) {
+            assertSame(failure, e);
+        }
+        assertEquals(Arrays.asList("misc-0", "a-0"), ran);
+    }
+
+    private static List<IdentityPatchRunner.PreparedTask> prepared(final List<TestTask> tasks) {
+        for (TestTask task : tasks) {
+            task.setFailure(null);
+        }
+        return new ArrayList<IdentityPatchRunner.PreparedTask>(tasks);
+    }
+
+    private static void randomSleep() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class TestTask extends IdentityPatchRunner.PreparedTask {
+
+        private final String module;
+        private final String name;
+
+        private TestTask(final String module, final String name) {
+            super(null, null, null);
+            this.module = module;
+            this.name = name;
+        }
+
+        @Override
+        String getModuleKey() {
+            return module;
+        }
+
+        @Override
+        void publish() {
+            published.add(this);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.FLIGHT_RECORDER_READ_ATTRIBUTES;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.jfr.ManagementEvents;
+import org.jboss.as.platform.mbean.logging.PlatformMBeanLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handles read-attribute for the resource controlling the flight recording of the management events.
+ */
+class FlightRecorderAttributeHandler extends AbstractPlatformMBeanAttributeHandler {
+
+    static final FlightRecorderAttributeHandler INSTANCE = new FlightRecorderAttributeHandler();
+
+    private FlightRecorderAttributeHandler() {
+    }
+
+    @Override
+    protected void executeReadAttribute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        if (FLIGHT_RECORDER_READ_ATTRIBUTES.contains(name)) {
+            storeResult(name, context.getResult());
+        } else {
+            // Shouldn't happen; the global handler should reject
+            throw unknownAttribute(operation);
+        }
+    }
+
+    @Override
+    protected void executeWriteAttribute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        // Shouldn't happen; the global handler should reject
+        throw unknownAttribute(operation);
+    }
+
+    static void storeResult(final String attributeName, final ModelNode store) {
+        if (PlatformMBeanConstants.AVAILABLE.equals(attributeName)) {
+            store.set(ManagementEvents.isAvailable());
+        } else if (PlatformMBeanConstants.RECORDING.equals(attributeName)) {
+            store.set(ManagementEvents.isRecording());
+        } else {
+            // Bug
+            throw PlatformMBeanLogger.ROOT_LOGGER.badReadAttributeImpl(attributeName);
+        }
+    }
+}
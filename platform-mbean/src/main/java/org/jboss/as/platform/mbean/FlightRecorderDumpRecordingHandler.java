@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.PATH;
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.RELATIVE_TO;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.jfr.ManagementEvents;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.platform.mbean.logging.PlatformMBeanLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Writes the data of the running, or last stopped, flight recording of the management operation and deployment events
+ * to a file. The path is resolved against the {@code relative-to} path, by default the temporary directory of the process,
+ * and must not leave it, so the operation cannot overwrite arbitrary files.
+ */
+class FlightRecorderDumpRecordingHandler implements OperationStepHandler {
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.DUMP_RECORDING, PlatformMBeanUtil.getResolver(PlatformMBeanConstants.FLIGHT_RECORDER))
+            .setParameters(PATH, RELATIVE_TO)
+            .setReplyType(ModelType.STRING)
+            .setRuntimeOnly()
+            .build();
+
+    private static final String SERVER_TEMP_DIR = "jboss.server.temp.dir";
+    private static final String DOMAIN_TEMP_DIR = "jboss.domain.temp.dir";
+
+    static final FlightRecorderDumpRecordingHandler INSTANCE = new FlightRecorderDumpRecordingHandler();
+
+    private FlightRecorderDumpRecordingHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String pathName = PATH.resolveModelAttribute(context, operation).asString();
+        final ModelNode relativeToNode = RELATIVE_TO.resolveModelAttribute(context, operation);
+        final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString()
+                : context.getProcessType().isServer() ? SERVER_TEMP_DIR : DOMAIN_TEMP_DIR;
+        final Path directory = resolveDirectory(context, relativeTo);
+        final Path path;
+        try {
+            final Path relativePath = Paths.get(pathName);
+            path = directory.resolve(relativePath).normalize();
+            if (relativePath.isAbsolute() || !path.startsWith(directory) || path.equals(directory)) {
+                throw PlatformMBeanLogger.ROOT_LOGGER.invalidFlightRecordingPath(pathName, directory.toString());
+            }
+        } catch (InvalidPathException e) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.failedToDumpFlightRecording(pathName, e.getMessage());
+        }
+        try {
+            if (!ManagementEvents.dumpRecording(path)) {
+                throw PlatformMBeanLogger.ROOT_LOGGER.noFlightRecording();
+            }
+        } catch (IOException e) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.failedToDumpFlightRecording(path.toString(), e.toString());
+        } catch (SecurityException e) {
+            throw new OperationFailedException(e.toString());
+        }
+        context.getResult().set(path.toString());
+
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+
+    /**
+     * Resolves the directory of the given path name. Without a path manager, as in a bare controller, the
+     * {@code java.io.tmpdir} directory is used.
+     */
+    private static Path resolveDirectory(OperationContext context, String relativeTo) throws OperationFailedException {
+        @SuppressWarnings("unchecked")
+        final ServiceController<PathManager> controller = (ServiceController<PathManager>) context.getServiceRegistry(false).getService(PathManagerService.SERVICE_NAME);
+        final String directory;
+        if (controller == null) {
+            directory = System.getProperty("java.io.tmpdir");
+        } else {
+            try {
+                directory = controller.getValue().getPathEntry(relativeTo).resolvePath();
+            } catch (IllegalArgumentException e) {
+                throw PlatformMBeanLogger.ROOT_LOGGER.unknownFlightRecordingRelativeTo(relativeTo);
+            }
+        }
+        return Paths.get(directory).toAbsolutePath().normalize();
+    }
+}
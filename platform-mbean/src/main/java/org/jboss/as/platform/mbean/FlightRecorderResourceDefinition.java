@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import static org.jboss.as.platform.mbean.PlatformMBeanConstants.FLIGHT_RECORDER_PATH;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.global.ReadResourceHandler;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Resource controlling a Java Flight Recorder recording of the management operation and deployment events.
+ */
+class FlightRecorderResourceDefinition extends SimpleResourceDefinition {
+
+    static final SimpleAttributeDefinition AVAILABLE = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.AVAILABLE, ModelType.BOOLEAN, false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition RECORDING = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.RECORDING, ModelType.BOOLEAN, false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition CONFIGURATION = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.CONFIGURATION, ModelType.STRING, true)
+            .setValidator(new StringLengthValidator(1, true))
+            .build();
+
+    static final SimpleAttributeDefinition THRESHOLD = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.THRESHOLD, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition MAX_AGE = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.MAX_AGE, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition MAX_SIZE = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.MAX_SIZE, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0, true))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+
+    static final SimpleAttributeDefinition PATH = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.PATH, ModelType.STRING, false)
+            .setValidator(new StringLengthValidator(1))
+            .build();
+
+    static final SimpleAttributeDefinition RELATIVE_TO = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.RELATIVE_TO, ModelType.STRING, true)
+            .setValidator(new StringLengthValidator(1, true))
+            .build();
+
+    static final List<AttributeDefinition> READ_ATTRIBUTES = Arrays.asList(
+            AVAILABLE,
+            RECORDING
+    );
+
+    static final List<String> FLIGHT_RECORDER_READ_ATTRIBUTES = Arrays.asList(
+            AVAILABLE.getName(),
+            RECORDING.getName()
+    );
+
+    static final FlightRecorderResourceDefinition INSTANCE = new FlightRecorderResourceDefinition();
+
+    private FlightRecorderResourceDefinition() {
+        super(new Parameters(FLIGHT_RECORDER_PATH,
+                PlatformMBeanUtil.getResolver(PlatformMBeanConstants.FLIGHT_RECORDER))
+                .setRuntime()
+                .setAccessConstraints(SensitiveTargetAccessConstraintDefinition.JVM));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        super.registerAttributes(registration);
+        for (AttributeDefinition attribute : READ_ATTRIBUTES) {
+            registration.registerReadOnlyAttribute(attribute, FlightRecorderAttributeHandler.INSTANCE);
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration registration) {
+        super.registerOperations(registration);
+        registration.registerOperationHandler(ReadResourceHandler.DEFINITION, FlightRecorderReadResourceHandler.INSTANCE);
+        registration.registerOperationHandler(FlightRecorderStartRecordingHandler.DEFINITION, FlightRecorderStartRecordingHandler.INSTANCE);
+        registration.registerOperationHandler(FlightRecorderStopRecordingHandler.DEFINITION, FlightRecorderStopRecordingHandler.INSTANCE);
+        registration.registerOperationHandler(FlightRecorderDumpRecordingHandler.DEFINITION, FlightRecorderDumpRecordingHandler.INSTANCE);
+    }
+}
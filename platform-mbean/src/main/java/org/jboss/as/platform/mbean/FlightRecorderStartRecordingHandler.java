@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.CONFIGURATION;
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.MAX_AGE;
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.MAX_SIZE;
+import static org.jboss.as.platform.mbean.FlightRecorderResourceDefinition.THRESHOLD;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.jfr.ManagementEvents;
+import org.jboss.as.platform.mbean.logging.PlatformMBeanLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Starts a flight recording of the management operation and deployment events.
+ */
+class FlightRecorderStartRecordingHandler implements OperationStepHandler {
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.START_RECORDING, PlatformMBeanUtil.getResolver(PlatformMBeanConstants.FLIGHT_RECORDER))
+            .setParameters(CONFIGURATION, THRESHOLD, MAX_AGE, MAX_SIZE)
+            .setRuntimeOnly()
+            .build();
+
+    static final FlightRecorderStartRecordingHandler INSTANCE = new FlightRecorderStartRecordingHandler();
+
+    private FlightRecorderStartRecordingHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode configuration = CONFIGURATION.resolveModelAttribute(context, operation);
+        final long threshold = THRESHOLD.resolveModelAttribute(context, operation).asLong();
+        final long maxAge = MAX_AGE.resolveModelAttribute(context, operation).asLong();
+        final long maxSize = MAX_SIZE.resolveModelAttribute(context, operation).asLong();
+
+        if (!ManagementEvents.isAvailable()) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.flightRecorderNotAvailable();
+        }
+        final boolean started;
+        try {
+            started = ManagementEvents.startRecording(configuration.isDefined() ? configuration.asString() : null,
+                    threshold, maxAge, maxSize);
+        } catch (IllegalArgumentException e) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.unknownFlightRecorderConfiguration(configuration.asString());
+        } catch (SecurityException e) {
+            throw new OperationFailedException(e.toString());
+        }
+        if (!started) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.flightRecordingAlreadyRunning();
+        }
+
+        context.completeStep(new OperationContext.RollbackHandler() {
+            @Override
+            public void handleRollback(OperationContext context, ModelNode operation) {
+                ManagementEvents.stopRecording();
+            }
+        });
+    }
+}
@@ -64,6 +64,9 @@ public class PlatformMBeanConstants {
     public static final String BUFFER_POOL = "buffer-pool";
     public static final String LOGGING = "logging";
 
+    // Flight recorder
+    public static final String FLIGHT_RECORDER = "flight-recorder";
+
     public static final String PLATFORM_LOGGING_MXBEAN_NAME = "java.util.logging:type=Logging";
     public static final String BUFFER_POOL_MXBEAN_DOMAIN_TYPE = "java.nio:type=BufferPool";
     public static final ObjectName PLATFORM_LOGGING_OBJECT_NAME;
@@ -246,6 +249,24 @@ public class PlatformMBeanConstants {
     public static final String LOGGER_NAME = "logger-name";
     public static final String LEVEL_NAME = "level-name";
 
+    // Flight recorder
+    public static final String AVAILABLE = "available";
+    public static final String RECORDING = "recording";
+    public static final String START_RECORDING = "start-recording";
+    public static final String STOP_RECORDING = "stop-recording";
+    public static final String DUMP_RECORDING = "dump-recording";
+    public static final String CONFIGURATION = "configuration";
+    public static final String THRESHOLD = "threshold";
+    public static final String MAX_AGE = "max-age";
+    public static final String MAX_SIZE = "max-size";
+
+    // Metrics sampling
+    public static final String SAMPLE_METRICS = "sample-metrics";
+    public static final String SAMPLER = "sampler";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String DELTAS = "deltas";
+    public static final String INTERVAL = "interval";
+
 
     // Paths
     public static final PathElement ROOT_PATH = PathElement.pathElement(ModelDescriptionConstants.CORE_SERVICE,
@@ -262,6 +283,7 @@ public class PlatformMBeanConstants {
     public static final PathElement THREADING_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, THREADING);
     public static final PathElement BUFFER_POOL_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, BUFFER_POOL);
     public static final PathElement LOGGING_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, LOGGING);
+    public static final PathElement FLIGHT_RECORDER_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, FLIGHT_RECORDER);
 
 
     static {
@@ -269,6 +291,7 @@ public class PlatformMBeanConstants {
         List<String> list = new ArrayList<String>(JDK6);
         list.add(BUFFER_POOL);
         // list.add(LOGGING); AS7-2185
+        list.add(FLIGHT_RECORDER);
         BASE_TYPES = Collections.unmodifiableList(list);
 
         try {
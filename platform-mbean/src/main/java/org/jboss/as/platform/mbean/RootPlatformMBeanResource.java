@@ -74,6 +74,8 @@ public class RootPlatformMBeanResource extends AbstractPlatformMBeanResource {
             return new BufferPoolMXBeanResource();
         } else if (PlatformMBeanConstants.LOGGING.equals(name)) {
             return new LeafPlatformMBeanResource(PlatformMBeanConstants.LOGGING_PATH);
+        } else if (PlatformMBeanConstants.FLIGHT_RECORDER.equals(name)) {
+            return new LeafPlatformMBeanResource(PlatformMBeanConstants.FLIGHT_RECORDER_PATH);
         } else {
             return null;
         }
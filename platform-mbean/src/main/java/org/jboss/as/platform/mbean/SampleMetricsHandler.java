@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import static org.jboss.as.platform.mbean.PlatformMBeanUtil.escapeMBeanName;
+import static org.jboss.as.platform.mbean.PlatformMBeanUtil.getDetypedMemoryUsage;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+
+/**
+ * Returns a snapshot of the memory, memory pool, garbage collector, buffer pool, threading, class loading, compilation
+ * and operating system metrics in a single operation, so monitoring tools polling many processes need one request per
+ * process instead of one per metric.
+ * <p>
+ * If a sampler name is given, the counters of the previous sample taken with that name are remembered, and the
+ * difference with them is returned as well.
+ */
+class SampleMetricsHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition SAMPLER = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.SAMPLER, ModelType.STRING, true)
+            .setValidator(new StringLengthValidator(1, true))
+            .build();
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.SAMPLE_METRICS, PlatformMBeanUtil.getResolver("platform-mbeans"))
+            .setParameters(SAMPLER)
+            .setReplyType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    static final SampleMetricsHandler INSTANCE = new SampleMetricsHandler();
+
+    /** Bound on the number of remembered samplers, so callers using a new name for each request cannot exhaust memory */
+    private static final int MAX_SAMPLERS = 64;
+
+    /** The last sample of each sampler, least recently used first. Guarded by its own monitor */
+    private final Map<String, Sample> samples = new LinkedHashMap<String, Sample>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Sample> eldest) {
+            // only the sampler that has not sampled for the longest time loses its baseline
+            return size() > MAX_SAMPLERS;
+        }
+    };
+
+    private SampleMetricsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode sampler = SAMPLER.resolveModelAttribute(context, operation);
+
+        final ModelNode result = context.getResult();
+        final long timestamp = System.currentTimeMillis();
+        result.get(PlatformMBeanConstants.TIMESTAMP).set(timestamp);
+        final ModelNode counters = new ModelNode();
+        try {
+            sample(result, counters);
+        } catch (SecurityException e) {
+            throw new OperationFailedException(e.toString());
+        }
+
+        if (sampler.isDefined()) {
+            final Sample previous;
+            synchronized (samples) {
+                previous = samples.put(sampler.asString(), new Sample(timestamp, counters));
+            }
+            if (previous != null) {
+                final ModelNode deltas = result.get(PlatformMBeanConstants.DELTAS);
+                deltas.get(PlatformMBeanConstants.INTERVAL).set(timestamp - previous.timestamp);
+                difference(deltas, counters, previous.counters);
+            }
+        }
+
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+
+    /**
+     * Stores the metrics in {@code result}, and those of them that are counters, i.e. only ever increase, in
+     * {@code counters}, using the same structure.
+     */
+    private static void sample(final ModelNode result, final ModelNode counters) {
+        result.get(PlatformMBeanConstants.UPTIME).set(ManagementFactory.getRuntimeMXBean().getUptime());
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final ModelNode memoryNode = result.get(PlatformMBeanConstants.MEMORY);
+        memoryNode.get(PlatformMBeanConstants.HEAP_MEMORY_USAGE).set(getDetypedMemoryUsage(memory.getHeapMemoryUsage()));
+        memoryNode.get(PlatformMBeanConstants.NON_HEAP_MEMORY_USAGE).set(getDetypedMemoryUsage(memory.getNonHeapMemoryUsage()));
+        memoryNode.get(PlatformMBeanConstants.OBJECT_PENDING_FINALIZATION_COUNT).set(memory.getObjectPendingFinalizationCount());
+
+        final ModelNode poolsNode = result.get(PlatformMBeanConstants.MEMORY_POOL).setEmptyObject();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (!pool.isValid()) {
+                continue;
+            }
+            final ModelNode poolNode = poolsNode.get(escapeMBeanName(pool.getName()));
+            poolNode.get(PlatformMBeanConstants.USAGE).set(getDetypedMemoryUsage(pool.getUsage()));
+            poolNode.get(PlatformMBeanConstants.PEAK_USAGE).set(getDetypedMemoryUsage(pool.getPeakUsage()));
+            poolNode.get(PlatformMBeanConstants.COLLECTION_USAGE).set(getDetypedMemoryUsage(pool.getCollectionUsage()));
+        }
+
+        final ModelNode collectorsNode = result.get(PlatformMBeanConstants.GARBAGE_COLLECTOR).setEmptyObject();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            final String name = escapeMBeanName(collector.getName());
+            final ModelNode collectorNode = collectorsNode.get(name);
+            collectorNode.get(PlatformMBeanConstants.COLLECTION_COUNT).set(collector.getCollectionCount());
+            collectorNode.get(PlatformMBeanConstants.COLLECTION_TIME).set(collector.getCollectionTime());
+            counters.get(PlatformMBeanConstants.GARBAGE_COLLECTOR, name).set(collectorNode);
+        }
+
+        final ModelNode buffersNode = result.get(PlatformMBeanConstants.BUFFER_POOL).setEmptyObject();
+        for (BufferPoolMXBean buffer : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            final ModelNode bufferNode = buffersNode.get(escapeMBeanName(buffer.getName()));
+            bufferNode.get(PlatformMBeanConstants.COUNT).set(buffer.getCount());
+            bufferNode.get(PlatformMBeanConstants.MEMORY_USED_NAME).set(buffer.getMemoryUsed());
+            bufferNode.get(PlatformMBeanConstants.TOTAL_CAPACITY).set(buffer.getTotalCapacity());
+        }
+
+        final ThreadMXBean threading = ManagementFactory.getThreadMXBean();
+        final ModelNode threadingNode = result.get(PlatformMBeanConstants.THREADING);
+        threadingNode.get(PlatformMBeanConstants.THREAD_COUNT).set(threading.getThreadCount());
+        threadingNode.get(PlatformMBeanConstants.PEAK_THREAD_COUNT).set(threading.getPeakThreadCount());
+        threadingNode.get(PlatformMBeanConstants.DAEMON_THREAD_COUNT).set(threading.getDaemonThreadCount());
+        threadingNode.get(PlatformMBeanConstants.TOTAL_STARTED_THREAD_COUNT).set(threading.getTotalStartedThreadCount());
+        counters.get(PlatformMBeanConstants.THREADING, PlatformMBeanConstants.TOTAL_STARTED_THREAD_COUNT)
+                .set(threading.getTotalStartedThreadCount());
+
+        final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        final ModelNode classLoadingNode = result.get(PlatformMBeanConstants.CLASS_LOADING);
+        classLoadingNode.get(PlatformMBeanConstants.LOADED_CLASS_COUNT).set(classLoading.getLoadedClassCount());
+        classLoadingNode.get(PlatformMBeanConstants.TOTAL_LOADED_CLASS_COUNT).set(classLoading.getTotalLoadedClassCount());
+        classLoadingNode.get(PlatformMBeanConstants.UNLOADED_CLASS_COUNT).set(classLoading.getUnloadedClassCount());
+        counters.get(PlatformMBeanConstants.CLASS_LOADING, PlatformMBeanConstants.TOTAL_LOADED_CLASS_COUNT)
+                .set(classLoading.getTotalLoadedClassCount());
+        counters.get(PlatformMBeanConstants.CLASS_LOADING, PlatformMBeanConstants.UNLOADED_CLASS_COUNT)
+                .set(classLoading.getUnloadedClassCount());
+
+        final CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation != null && compilation.isCompilationTimeMonitoringSupported()) {
+            final long compilationTime = compilation.getTotalCompilationTime();
+            result.get(PlatformMBeanConstants.COMPILATION, PlatformMBeanConstants.TOTAL_COMPILATION_TIME).set(compilationTime);
+            counters.get(PlatformMBeanConstants.COMPILATION, PlatformMBeanConstants.TOTAL_COMPILATION_TIME).set(compilationTime);
+        }
+
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        final ModelNode osNode = result.get(PlatformMBeanConstants.OPERATING_SYSTEM);
+        osNode.get(PlatformMBeanConstants.AVAILABLE_PROCESSORS).set(os.getAvailableProcessors());
+        osNode.get(PlatformMBeanConstants.SYSTEM_LOAD_AVERAGE).set(os.getSystemLoadAverage());
+    }
+
+    /**
+     * Stores in {@code result} the difference between the counters in {@code current} and those with the same path
+     * in {@code previous}. Counters without a previous value, e.g. those of a collector that appeared since, are left
+     * out.
+     */
+    static void difference(final ModelNode result, final ModelNode current, final ModelNode previous) {
+        for (Property property : current.asPropertyList()) {
+            final String name = property.getName();
+            if (!previous.hasDefined(name)) {
+                continue;
+            }
+            final ModelNode value = property.getValue();
+            if (value.getType() == ModelType.OBJECT) {
+                difference(result.get(name), value, previous.get(name));
+            } else {
+                result.get(name).set(value.asLong() - previous.get(name).asLong());
+            }
+        }
+    }
+
+    private static final class Sample {
+        private final long timestamp;
+        private final ModelNode counters;
+
+        private Sample(long timestamp, ModelNode counters) {
+            this.timestamp = timestamp;
+            this.counters = counters;
+        }
+    }
+}
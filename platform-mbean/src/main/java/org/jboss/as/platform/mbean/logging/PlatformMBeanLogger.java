@@ -75,4 +75,25 @@ public interface PlatformMBeanLogger extends BasicLogger {
 
     @Message(id = 10, value = "No MemoryPoolMXBean with name %s currently exists")
     OperationFailedException unknownMemoryPool(String mmName);
+
+    @Message(id = 11, value = "Flight recordings are not available in this Java virtual machine")
+    OperationFailedException flightRecorderNotAvailable();
+
+    @Message(id = 12, value = "A flight recording is already running")
+    OperationFailedException flightRecordingAlreadyRunning();
+
+    @Message(id = 13, value = "No flight recorder configuration named %s is available")
+    OperationFailedException unknownFlightRecorderConfiguration(String configuration);
+
+    @Message(id = 14, value = "No flight recording has been started")
+    OperationFailedException noFlightRecording();
+
+    @Message(id = 15, value = "Failed to write the flight recording to %s: %s")
+    OperationFailedException failedToDumpFlightRecording(String path, String reason);
+
+    @Message(id = 16, value = "The path %s of the flight recording file must be relative and stay within the directory %s")
+    OperationFailedException invalidFlightRecordingPath(String path, String directory);
+
+    @Message(id = 17, value = "No path named %s is available")
+    OperationFailedException unknownFlightRecordingRelativeTo(String relativeTo);
 }
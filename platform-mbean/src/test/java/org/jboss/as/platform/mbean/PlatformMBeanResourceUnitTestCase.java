@@ -46,12 +46,15 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RES
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.MemoryPoolMXBean;
 import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -135,7 +138,8 @@ public class PlatformMBeanResourceUnitTestCase {
         if (ManagementFactory.getCompilationMXBean() != null) {
             baseTypeCount++;
         }
-        baseTypeCount += 1;
+        // buffer-pool and flight-recorder
+        baseTypeCount += 2;
         final ModelNode childTypes = result.get(CHILDREN, TYPE, MODEL_DESCRIPTION);
         Assert.assertEquals(baseTypeCount, childTypes.asPropertyList().size());
 
@@ -350,6 +354,90 @@ public class PlatformMBeanResourceUnitTestCase {
         // TODO validate values
     }
 
+    @Test
+    public void testFlightRecorder() throws IOException {
+        DescribedResource describedResource = basicResourceTest("flight-recorder", null);
+        boolean available = describedResource.resource.get(PlatformMBeanConstants.AVAILABLE).asBoolean();
+        Assert.assertFalse(describedResource.resource.get(PlatformMBeanConstants.RECORDING).asBoolean());
+
+        ModelNode op = getOperation("start-recording", "flight-recorder", null);
+        executeOp(op, !available);
+        if (!available) {
+            return;
+        }
+        try {
+            // Only one recording at a time
+            executeOp(op, true);
+            op = getOperation(READ_ATTRIBUTE_OPERATION, "flight-recorder", null);
+            op.get(NAME).set(PlatformMBeanConstants.RECORDING);
+            Assert.assertTrue(executeOp(op, false).asBoolean());
+        } finally {
+            executeOp(getOperation("stop-recording", "flight-recorder", null), false);
+        }
+
+        // Without a path manager the path is relative to java.io.tmpdir
+        Path file = Files.createTempFile("management", ".jfr").toAbsolutePath().normalize();
+        try {
+            op = getOperation("dump-recording", "flight-recorder", null);
+            op.get(ModelDescriptionConstants.PATH).set(file.getFileName().toString());
+            Assert.assertEquals(file.toString(), executeOp(op, false).asString());
+            Assert.assertTrue(Files.size(file) > 0);
+
+            // Absolute paths and paths leaving the directory are rejected
+            op.get(ModelDescriptionConstants.PATH).set(file.toString());
+            executeOp(op, true);
+            op.get(ModelDescriptionConstants.PATH).set(".." + File.separator + file.getFileName());
+            executeOp(op, true);
+            op.get(ModelDescriptionConstants.PATH).set("a" + File.separator + ".." + File.separator + "..");
+            executeOp(op, true);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testSampleMetrics() throws IOException {
+        ModelNode op = getOperation(PlatformMBeanConstants.SAMPLE_METRICS, null, null);
+        ModelNode result = executeOp(op, false);
+        Assert.assertTrue(result.get(PlatformMBeanConstants.TIMESTAMP).asLong() > 0);
+        Assert.assertTrue(result.hasDefined(PlatformMBeanConstants.MEMORY, PlatformMBeanConstants.HEAP_MEMORY_USAGE, PlatformMBeanConstants.USED));
+        Assert.assertEquals(ManagementFactory.getGarbageCollectorMXBeans().size(), result.get(PlatformMBeanConstants.GARBAGE_COLLECTOR).keys().size());
+        Assert.assertEquals(ManagementFactory.getMemoryPoolMXBeans().size(), result.get(PlatformMBeanConstants.MEMORY_POOL).keys().size());
+        Assert.assertTrue(result.get(PlatformMBeanConstants.THREADING, PlatformMBeanConstants.THREAD_COUNT).asInt() > 0);
+        Assert.assertFalse(result.has(PlatformMBeanConstants.DELTAS));
+
+        op.get(PlatformMBeanConstants.SAMPLER).set("test");
+        Assert.assertFalse(executeOp(op, false).has(PlatformMBeanConstants.DELTAS));
+        // start a thread so the counter changes
+        Thread thread = new Thread(() -> { });
+        thread.start();
+        result = executeOp(op, false);
+        ModelNode deltas = result.get(PlatformMBeanConstants.DELTAS);
+        Assert.assertTrue(result.toString(), deltas.get(PlatformMBeanConstants.INTERVAL).asLong() >= 0);
+        Assert.assertTrue(deltas.get(PlatformMBeanConstants.THREADING, PlatformMBeanConstants.TOTAL_STARTED_THREAD_COUNT).asLong() > 0);
+        Assert.assertTrue(deltas.get(PlatformMBeanConstants.CLASS_LOADING, PlatformMBeanConstants.UNLOADED_CLASS_COUNT).asLong() >= 0);
+        for (String collector : result.get(PlatformMBeanConstants.GARBAGE_COLLECTOR).keys()) {
+            Assert.assertTrue(deltas.get(PlatformMBeanConstants.GARBAGE_COLLECTOR, collector).hasDefined(PlatformMBeanConstants.COLLECTION_COUNT));
+        }
+    }
+
+    @Test
+    public void testSampleMetricsEvictsLeastRecentlyUsedSampler() throws IOException {
+        ModelNode kept = getOperation(PlatformMBeanConstants.SAMPLE_METRICS, null, null);
+        kept.get(PlatformMBeanConstants.SAMPLER).set("kept");
+        executeOp(kept, false);
+        for (int i = 0; i < 100; i++) {
+            ModelNode op = getOperation(PlatformMBeanConstants.SAMPLE_METRICS, null, null);
+            op.get(PlatformMBeanConstants.SAMPLER).set("sampler-" + i);
+            executeOp(op, false);
+            // a sampler in use keeps its baseline however many other samplers come and go
+            Assert.assertTrue(executeOp(kept, false).has(PlatformMBeanConstants.DELTAS));
+        }
+        ModelNode first = getOperation(PlatformMBeanConstants.SAMPLE_METRICS, null, null);
+        first.get(PlatformMBeanConstants.SAMPLER).set("sampler-0");
+        Assert.assertFalse(executeOp(first, false).has(PlatformMBeanConstants.DELTAS));
+    }
+
     @Test
     public void testThreadingMXBean() throws IOException {
         DescribedResource describedResource = basicResourceTest("threading", null);
@@ -205,15 +205,20 @@ final class ManagedProcess {
         final OutputStream stdin = process.getOutputStream();
         final InputStream stderr = process.getErrorStream();
         final InputStream stdout = process.getInputStream();
-        final Thread stderrThread = new Thread(new ReadTask(stderr, processController.getStderr()));
-        stderrThread.setName(String.format("stderr for %s", processName));
-        stderrThread.start();
-        final Thread stdoutThread = new Thread(new ReadTask(stdout, processController.getStdout()));
-        stdoutThread.setName(String.format("stdout for %s", processName));
-        stdoutThread.start();
-        final Thread joinThread = new Thread(new JoinTask(startTime));
-        joinThread.setName(String.format("reaper for %s", processName));
-        joinThread.start();
+        final ProcessStreamPump streamPump = processController.getStreamPump();
+        if (streamPump != null) {
+            // The pump tells when the process has exited; only then is a thread needed, as respawning may wait
+            streamPump.register(processName, process, processController.getStdout(), processController.getStderr(),
+                    () -> startJoinThread(new JoinTask(startTime)));
+        } else {
+            final Thread stderrThread = new Thread(new ReadTask(stderr, processController.getStderr()));
+            stderrThread.setName(String.format("stderr for %s", processName));
+            stderrThread.start();
+            final Thread stdoutThread = new Thread(new ReadTask(stdout, processController.getStdout()));
+            stdoutThread.setName(String.format("stdout for %s", processName));
+            stdoutThread.start();
+            startJoinThread(new JoinTask(startTime));
+        }
         boolean ok = false;
         try {
             // WFLY-2697 All writing is in Base64
@@ -311,6 +316,12 @@ final class ManagedProcess {
         }
     }
 
+    private void startJoinThread(final JoinTask joinTask) {
+        final Thread joinThread = new Thread(joinTask);
+        joinThread.setName(String.format("reaper for %s", processName));
+        joinThread.start();
+    }
+
     private static Base64OutputStream getBase64OutputStream(OutputStream toWrap) {
         // We'll call close on Base64OutputStream at the end of each message
         // to serve as a delimiter. Don't let that close the underlying stream.
@@ -420,38 +431,16 @@ final class ManagedProcess {
             try {
                 final BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(source)));
                 final OutputStreamWriter writer = new OutputStreamWriter(target);
+                final ProcessOutputFormatter formatter = new ProcessOutputFormatter(processName);
+                final StringBuilder formatted = new StringBuilder();
                 String s;
-                String prevEscape = "";
                 while ((s = reader.readLine()) != null) {
-                    // Has ANSI?
-                    int i = s.lastIndexOf('\033');
-                    int j = i != -1 ? s.indexOf('m', i) : 0;
-
+                    formatter.appendLine(s, formatted);
                     synchronized (target) {
-                        writer.write('[');
-                        writer.write(processName);
-                        writer.write("] ");
-                        writer.write(prevEscape);
-                        writer.write(s);
-
-                        // Reset if there was ANSI
-                        if (j != 0 || prevEscape != "") {
-                            writer.write("\033[0m");
-                        }
-                        writer.write('\n');
+                        writer.write(formatted.toString());
                         writer.flush();
                     }
-
-
-                    // Remember escape code for the next line
-                    if (j != 0) {
-                        String escape = s.substring(i, j + 1);
-                        if (!"\033[0m".equals(escape)) {
-                            prevEscape = escape;
-                        } else {
-                            prevEscape = "";
-                        }
-                    }
+                    formatted.setLength(0);
                 }
                 source.close();
             } catch (IOException e) {
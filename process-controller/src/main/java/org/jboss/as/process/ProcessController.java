@@ -31,18 +31,18 @@ import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.jboss.as.process.logging.ProcessLogger;
 import org.jboss.as.process.protocol.Connection;
 import org.jboss.as.process.protocol.ProtocolServer;
 import org.jboss.as.process.protocol.StreamUtils;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
@@ -55,10 +55,17 @@ public final class ProcessController {
      */
     private final Object lock = new Object();
 
+    /**
+     * System property giving the number of threads forwarding the output of all the processes. If not set, or zero,
+     * each process gets its own threads.
+     */
+    static final String STDIO_PUMP_THREADS = "jboss.process-controller.stdio-pump-threads";
+
     private final ProtocolServer server;
-    // Synchronized map so we can safely check its size without holding the monitor for field 'lock' */
-    private final Map<String, ManagedProcess> processes = Collections.synchronizedMap(new HashMap<String, ManagedProcess>());
-    private final Map<Key, ManagedProcess> processesByKey = new HashMap<Key, ManagedProcess>();
+    // Concurrent maps so processes can be looked up, and counted, without holding the monitor for field 'lock'.
+    // They are only modified under that monitor.
+    private final Map<String, ManagedProcess> processes = new ConcurrentHashMap<String, ManagedProcess>();
+    private final Map<Key, ManagedProcess> processesByKey = new ConcurrentHashMap<Key, ManagedProcess>();
     private final Set<Connection> managedConnections = new CopyOnWriteArraySet<Connection>();
 
     private volatile boolean shutdown;
@@ -68,10 +75,14 @@ public final class ProcessController {
 
     private final PrintStream stdout;
     private final PrintStream stderr;
+    /** {@code null} if each process has its own threads forwarding its output */
+    private final ProcessStreamPump streamPump;
 
     public ProcessController(final ProtocolServer.Configuration configuration, final PrintStream stdout, final PrintStream stderr) throws IOException {
         this.stdout = stdout;
         this.stderr = stderr;
+        final int pumpThreads = getStreamPumpThreads();
+        this.streamPump = pumpThreads > 0 ? new ProcessStreamPump(pumpThreads) : null;
         //noinspection ThisEscapedInObjectConstruction
         configuration.setConnectionHandler(new ProcessControllerServerHandler(this));
         final ProtocolServer server = new ProtocolServer(configuration);
@@ -241,14 +252,15 @@ public final class ProcessController {
                     // ignore
                 }
             }
+            if (streamPump != null) {
+                streamPump.shutdown();
+            }
             ProcessLogger.ROOT_LOGGER.shutdownComplete();
         }
     }
 
     public ManagedProcess getServerByAuthCode(final byte[] code) {
-        synchronized (lock) {
-            return processesByKey.get(new Key(code));
-        }
+        return processesByKey.get(new Key(code));
     }
 
     void processAdded(final String processName) {
@@ -412,6 +424,22 @@ public final class ProcessController {
         return stderr;
     }
 
+    ProcessStreamPump getStreamPump() {
+        return streamPump;
+    }
+
+    private static int getStreamPumpThreads() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(STDIO_PUMP_THREADS, null);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     private static final class Key {
         private final byte[] authKey;
         private final int hashCode;
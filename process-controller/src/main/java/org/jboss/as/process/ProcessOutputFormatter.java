@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+/**
+ * Formats the lines of output of a managed process for the process controller's own output: each line is prefixed
+ * with the process name, and an ANSI escape sequence set in one line is repeated in the following lines, and reset at
+ * their end, so colors of interleaved processes do not bleed into each other.
+ * <p>
+ * Not thread safe; each output stream of a process needs its own instance.
+ */
+final class ProcessOutputFormatter {
+
+    private static final String RESET = "\033[0m";
+
+    private final String processName;
+    private String prevEscape = "";
+
+    ProcessOutputFormatter(final String processName) {
+        this.processName = processName;
+    }
+
+    /**
+     * Appends a formatted line, including its line terminator.
+     *
+     * @param line the line as read from the process, without line terminator
+     * @param target the builder to append to
+     */
+    void appendLine(final CharSequence line, final StringBuilder target) {
+        final String s = line.toString();
+        // Has ANSI?
+        int i = s.lastIndexOf('\033');
+        int j = i != -1 ? s.indexOf('m', i) : 0;
+
+        target.append('[').append(processName).append("] ").append(prevEscape).append(s);
+        // Reset if there was ANSI
+        if (j != 0 || !prevEscape.isEmpty()) {
+            target.append(RESET);
+        }
+        target.append('\n');
+
+        // Remember escape code for the next line, if the sequence is complete
+        if (j > 0) {
+            String escape = s.substring(i, j + 1);
+            if (!RESET.equals(escape)) {
+                prevEscape = escape;
+            } else {
+                prevEscape = "";
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.process.logging.ProcessLogger;
+import org.jboss.as.process.protocol.StreamUtils;
+
+/**
+ * Forwards the standard output and error of managed processes to the output of the process controller from a fixed
+ * number of threads shared by all the processes, and tells when each process exits, instead of using three threads
+ * per process.
+ * <p>
+ * Process pipes cannot be registered with a selector, so each thread polls the processes assigned to it, only reading
+ * the bytes a stream reports as {@link InputStream#available() available}, so no process can hold up the others. The
+ * complete lines read from a stream in a pass are forwarded with a single write. A thread that finds nothing to read
+ * waits a little longer before each new pass, up to {@value #MAX_IDLE_WAIT_MILLIS} ms. Once a process is no longer
+ * alive its pipes have no writer left, so what they still hold is the rest of its output; that is forwarded before
+ * the exit is reported.
+ */
+final class ProcessStreamPump {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MAX_IDLE_WAIT_MILLIS = 50;
+
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    ProcessStreamPump(final int threads) {
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            final Worker worker = new Worker();
+            final Thread thread = new Thread(worker, String.format("stdio pump %d", i + 1));
+            thread.setDaemon(true);
+            workers[i] = worker;
+            thread.start();
+        }
+    }
+
+    /**
+     * Starts forwarding the output of a process.
+     *
+     * @param processName the name the lines of output are prefixed with
+     * @param process the process
+     * @param stdout where the standard output of the process is forwarded to
+     * @param stderr where the standard error of the process is forwarded to
+     * @param exitTask task run once the process has exited and all its output has been forwarded. It is run by a pump
+     *                 thread, so it must not block
+     */
+    void register(final String processName, final Process process, final PrintStream stdout, final PrintStream stderr,
+                  final Runnable exitTask) {
+        final Worker worker = workers[(nextWorker.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+        worker.pending.add(new Registration(processName, process, new Pipe(processName, process.getInputStream(), stdout),
+                new Pipe(processName, process.getErrorStream(), stderr), exitTask));
+    }
+
+    /**
+     * Stops the pump threads. Processes still registered are no longer followed.
+     */
+    void shutdown() {
+        for (Worker worker : workers) {
+            worker.pending.add(Worker.STOP);
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private static final Registration STOP = new Registration(null, null, null, null, null);
+
+        private final BlockingQueue<Registration> pending = new LinkedBlockingQueue<>();
+        private final List<Registration> registrations = new ArrayList<>();
+
+        @Override
+        public void run() {
+            long idleWait = 1;
+            try {
+                for (;;) {
+                    Registration added = registrations.isEmpty() ? pending.take() : pending.poll();
+                    while (added != null) {
+                        if (added == STOP) {
+                            return;
+                        }
+                        registrations.add(added);
+                        added = pending.poll();
+                    }
+                    boolean progress = false;
+                    for (Iterator<Registration> it = registrations.iterator(); it.hasNext();) {
+                        final Registration registration = it.next();
+                        final int result = registration.pump();
+                        if (result < 0) {
+                            it.remove();
+                        }
+                        progress |= result != 0;
+                    }
+                    if (progress) {
+                        idleWait = 1;
+                    } else if (!registrations.isEmpty()) {
+                        added = pending.poll(idleWait, TimeUnit.MILLISECONDS);
+                        if (added != null) {
+                            pending.add(added);
+                        }
+                        idleWait = Math.min(idleWait * 2, MAX_IDLE_WAIT_MILLIS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Registration {
+        private final String processName;
+        private final Process process;
+        private final Pipe stdout;
+        private final Pipe stderr;
+        private final Runnable exitTask;
+
+        private Registration(String processName, Process process, Pipe stdout, Pipe stderr, Runnable exitTask) {
+            this.processName = processName;
+            this.process = process;
+            this.stdout = stdout;
+            this.stderr = stderr;
+            this.exitTask = exitTask;
+        }
+
+        /**
+         * @return the number of bytes forwarded, or {@code -1} if the process has exited
+         */
+        private int pump() {
+            // checked first, so that if the process has exited all its output is in the pipes by now
+            final boolean alive = process.isAlive();
+            final int forwarded = stdout.pump(!alive) + stderr.pump(!alive);
+            if (alive) {
+                return forwarded;
+            }
+            stdout.close();
+            stderr.close();
+            try {
+                exitTask.run();
+            } catch (RuntimeException e) {
+                ProcessLogger.ROOT_LOGGER.streamProcessingFailed(processName, e);
+            }
+            return -1;
+        }
+    }
+
+    private static final class Pipe {
+        private final String processName;
+        private final InputStream source;
+        private final PrintStream target;
+        private final Writer writer;
+        private final ProcessOutputFormatter formatter;
+        private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final ByteBuffer bytes = ByteBuffer.wrap(buffer);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        private final StringBuilder line = new StringBuilder();
+        private final StringBuilder batch = new StringBuilder();
+        private boolean skipLF;
+        private boolean closed;
+
+        private Pipe(String processName, InputStream source, PrintStream target) {
+            this.processName = processName;
+            this.source = source;
+            this.target = target;
+            this.writer = new OutputStreamWriter(target);
+            this.formatter = new ProcessOutputFormatter(processName);
+        }
+
+        /**
+         * Reads what is available without blocking, and forwards the complete lines read.
+         *
+         * @param drain {@code true} to read until nothing is left, otherwise reads at most one buffer
+         * @return the number of bytes read
+         */
+        private int pump(boolean drain) {
+            if (closed) {
+                return 0;
+            }
+            int total = 0;
+            try {
+                do {
+                    final int available = source.available();
+                    if (available <= 0) {
+                        break;
+                    }
+                    final int read = source.read(buffer, bytes.position(), Math.min(available, bytes.remaining()));
+                    if (read < 0) {
+                        break;
+                    }
+                    bytes.position(bytes.position() + read);
+                    decode(false);
+                    total += read;
+                } while (drain);
+                forward();
+            } catch (IOException e) {
+                ProcessLogger.ROOT_LOGGER.streamProcessingFailed(processName, e);
+                closed = true;
+                StreamUtils.safeClose(source);
+            }
+            return total;
+        }
+
+        /**
+         * Forwards the last line even if it was not terminated, and closes the stream.
+         */
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                decode(true);
+                chars.clear();
+                decoder.flush(chars);
+                split();
+                if (line.length() > 0) {
+                    formatter.appendLine(line, batch);
+                    line.setLength(0);
+                }
+                forward();
+            } catch (IOException e) {
+                ProcessLogger.ROOT_LOGGER.streamProcessingFailed(processName, e);
+            } finally {
+                StreamUtils.safeClose(source);
+            }
+        }
+
+        private void decode(boolean endOfInput) {
+            bytes.flip();
+            CoderResult result;
+            do {
+                chars.clear();
+                result = decoder.decode(bytes, chars, endOfInput);
+                split();
+            } while (result.isOverflow());
+            // keep an incomplete character for the next read
+            bytes.compact();
+        }
+
+        private void split() {
+            chars.flip();
+            while (chars.hasRemaining()) {
+                final char c = chars.get();
+                if (skipLF) {
+                    skipLF = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    formatter.appendLine(line, batch);
+                    line.setLength(0);
+                    skipLF = c == '\r';
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+
+        private void forward() throws IOException {
+            if (batch.length() == 0) {
+                return;
+            }
+            synchronized (target) {
+                writer.write(batch.toString());
+                writer.flush();
+            }
+            batch.setLength(0);
+        }
+    }
+}
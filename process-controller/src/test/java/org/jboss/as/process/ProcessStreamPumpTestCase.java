@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ProcessStreamPump} and {@link ProcessOutputFormatter}.
+ */
+public class ProcessStreamPumpTestCase {
+
+    @Test
+    public void testFormatter() {
+        final ProcessOutputFormatter formatter = new ProcessOutputFormatter("p");
+        final StringBuilder out = new StringBuilder();
+        formatter.appendLine("plain", out);
+        formatter.appendLine("\033[31mred", out);
+        formatter.appendLine("still red", out);
+        formatter.appendLine("\033[0mreset", out);
+        formatter.appendLine("plain again", out);
+        formatter.appendLine("incomplete \033[3", out);
+        Assert.assertEquals("[p] plain\n"
+                + "[p] \033[31mred\033[0m\n"
+                + "[p] \033[31mstill red\033[0m\n"
+                + "[p] \033[31m\033[0mreset\033[0m\n"
+                + "[p] plain again\n"
+                + "[p] incomplete \033[3\033[0m\n", out.toString());
+    }
+
+    @Test
+    public void testForwardsOutputOfSeveralProcesses() throws Exception {
+        final ByteArrayOutputStream stdoutBytes = new ByteArrayOutputStream();
+        final ByteArrayOutputStream stderrBytes = new ByteArrayOutputStream();
+        final PrintStream stdout = new PrintStream(stdoutBytes, true);
+        final PrintStream stderr = new PrintStream(stderrBytes, true);
+        final ProcessStreamPump pump = new ProcessStreamPump(1);
+        try {
+            final CountDownLatch exited = new CountDownLatch(2);
+            final Process first = startChild("first");
+            final Process second = startChild("second");
+            pump.register("one", first, stdout, stderr, exited::countDown);
+            pump.register("two", second, stdout, stderr, exited::countDown);
+            Assert.assertTrue(exited.await(60, TimeUnit.SECONDS));
+            Assert.assertEquals(0, first.exitValue());
+
+            final String out = stdoutBytes.toString();
+            for (String name : new String[] {"one", "two"}) {
+                for (int i = 0; i < Child.LINES; i++) {
+                    Assert.assertTrue(out, out.contains("[" + name + "] line " + i + "\n"));
+                }
+                // the last line is forwarded even though it is not terminated
+                Assert.assertTrue(out, out.contains("[" + name + "] last\n"));
+            }
+            Assert.assertTrue(out, out.contains("[one] first\n"));
+            Assert.assertTrue(out, out.contains("[two] second\n"));
+            Assert.assertEquals(2 * (Child.LINES + 2), out.split("\n").length);
+            final String err = stderrBytes.toString();
+            Assert.assertTrue(err, err.contains("[one] error\n"));
+            Assert.assertTrue(err, err.contains("[two] error\n"));
+        } finally {
+            pump.shutdown();
+        }
+    }
+
+    private static Process startChild(String argument) throws Exception {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Child.class.getName(), argument).start();
+    }
+
+    /** Process started by the tests */
+    public static final class Child {
+        static final int LINES = 1000;
+
+        public static void main(String[] args) {
+            System.out.println(args[0]);
+            for (int i = 0; i < LINES; i++) {
+                // mix line terminators
+                System.out.print("line " + i + (i % 2 == 0 ? "\n" : "\r\n"));
+            }
+            System.err.println("error");
+            System.out.print("last");
+            System.out.flush();
+        }
+    }
+}
@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -84,6 +85,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
     private final ConcurrentMap<Integer, ActiveOperationImpl<?, ?>> activeRequests = new ConcurrentHashMap<> (16, 0.75f, Runtime.getRuntime().availableProcessors());
     private final ManagementBatchIdManager operationIdManager = new ManagementBatchIdManager.DefaultManagementBatchIdManager();
 
+    // only used to wait for the active operations to complete, registration does not take the lock
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition condition = lock.newCondition();
     private final ExecutorService executorService;
@@ -91,10 +93,14 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
 
     private final Map<Integer, ActiveRequest<?, ?>> requests = new ConcurrentHashMap<Integer, ActiveRequest<?, ?>>(16, 0.75f, Runtime.getRuntime().availableProcessors());
 
-    // mutable variables, have to be guarded by the lock
-    private int activeCount = 0;
+    private final AtomicInteger activeCount = new AtomicInteger();
     private volatile boolean shutdown = false;
 
+    // statistics
+    private final AtomicLong completedOperations = new AtomicLong();
+    private final AtomicLong totalOperationTime = new AtomicLong();
+    private final AtomicLong maxOperationTime = new AtomicLong();
+
 
     protected AbstractMessageHandler(final ExecutorService executorService) {
         if(executorService == null) {
@@ -134,11 +140,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      */
     @Override
     public void shutdown() {
-        lock.lock(); try {
-            shutdown = true;
-        } finally {
-            lock.unlock();
-        }
+        shutdown = true;
     }
 
     /**
@@ -163,14 +165,14 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         long deadline = unit.toMillis(timeout) + System.currentTimeMillis();
         lock.lock(); try {
             assert shutdown;
-            while(activeCount != 0) {
+            while(activeCount.get() != 0) {
                 long remaining = deadline - System.currentTimeMillis();
                 if (remaining <= 0) {
                     break;
                 }
                 condition.await(remaining, TimeUnit.MILLISECONDS);
             }
-            boolean allComplete = activeCount == 0;
+            boolean allComplete = activeCount.get() == 0;
             if (!allComplete) {
                 ProtocolLogger.ROOT_LOGGER.debugf("ActiveOperation(s) %s have not completed within %d %s", activeRequests.keySet(), timeout, unit);
             }
@@ -378,35 +380,32 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      * @throws java.lang.IllegalStateException if an operation with the same id is already registered
      */
     protected <T, A> ActiveOperation<T, A> registerActiveOperation(final Integer id, A attachment, ActiveOperation.CompletedCallback<T> callback) {
-        lock.lock();
-        try {
-            // Check that we still allow registration
-            // TODO WFCORE-199 distinguish client uses from server uses and limit this check to server uses
-            // Using id==null may be one way to do this, but we need to consider ops that involve multiple requests
-            // TODO WFCORE-845 consider using an IllegalStateException for this
-            //assert ! shutdown;
-            final Integer operationId;
-            if(id == null) {
-                // If we did not get an operationId, create a new one
-                operationId = operationIdManager.createBatchId();
-            } else {
-                // Check that the operationId is not already taken
-                if(! operationIdManager.lockBatchId(id)) {
-                    throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(id);
-                }
-                operationId = id;
-            }
-            final ActiveOperationImpl<T, A> request = new ActiveOperationImpl<T, A>(operationId, attachment, getCheckedCallback(callback), this);
-            final ActiveOperation<?, ?> existing =  activeRequests.putIfAbsent(operationId, request);
-            if(existing != null) {
-                throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(operationId);
+        // Check that we still allow registration
+        // TODO WFCORE-199 distinguish client uses from server uses and limit this check to server uses
+        // Using id==null may be one way to do this, but we need to consider ops that involve multiple requests
+        // TODO WFCORE-845 consider using an IllegalStateException for this
+        //assert ! shutdown;
+        final Integer operationId;
+        if(id == null) {
+            // If we did not get an operationId, create a new one
+            operationId = operationIdManager.createBatchId();
+        } else {
+            // Check that the operationId is not already taken
+            if(! operationIdManager.lockBatchId(id)) {
+                throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(id);
             }
-            ProtocolLogger.ROOT_LOGGER.tracef("Registered active operation %d", operationId);
-            activeCount++; // condition.signalAll();
-            return request;
-        } finally {
-            lock.unlock();
+            operationId = id;
         }
+        final ActiveOperationImpl<T, A> request = new ActiveOperationImpl<T, A>(operationId, attachment, getCheckedCallback(callback), this);
+        // Count the operation before publishing it, so a concurrent removal can never take the count below zero
+        activeCount.incrementAndGet();
+        final ActiveOperation<?, ?> existing =  activeRequests.putIfAbsent(operationId, request);
+        if(existing != null) {
+            activeCount.decrementAndGet();
+            throw ProtocolLogger.ROOT_LOGGER.operationIdAlreadyExists(operationId);
+        }
+        ProtocolLogger.ROOT_LOGGER.tracef("Registered active operation %d", operationId);
+        return request;
     }
 
     /**
@@ -451,7 +450,7 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
      * @return the removed active operation, {@code null} if there was no registered operation
      */
     protected <T, A> ActiveOperation<T, A> removeActiveOperation(Integer id) {
-        final ActiveOperation<T, A> removed = removeUnderLock(id);
+        final ActiveOperation<T, A> removed = deregister(id);
         if(removed != null) {
             for(final Map.Entry<Integer, ActiveRequest<?, ?>> requestEntry : requests.entrySet()) {
                 final ActiveRequest<?, ?> request = requestEntry.getValue();
@@ -463,20 +462,74 @@ public abstract class AbstractMessageHandler implements ManagementMessageHandler
         return removed;
     }
 
-    private <T, A> ActiveOperation<T, A> removeUnderLock(final Integer id) {
-        lock.lock(); try {
-            final ActiveOperation<?, ?> removed = activeRequests.remove(id);
-            if(removed != null) {
-                ProtocolLogger.ROOT_LOGGER.tracef("Deregistered active operation %d", id);
-                activeCount--;
-                operationIdManager.freeBatchId(id);
-                condition.signalAll();
+    private <T, A> ActiveOperation<T, A> deregister(final Integer id) {
+        final ActiveOperationImpl<?, ?> removed = activeRequests.remove(id);
+        if(removed != null) {
+            ProtocolLogger.ROOT_LOGGER.tracef("Deregistered active operation %d", id);
+            operationIdManager.freeBatchId(id);
+            final long duration = System.nanoTime() - removed.getStartTime();
+            completedOperations.incrementAndGet();
+            totalOperationTime.addAndGet(duration);
+            long max = maxOperationTime.get();
+            while (duration > max && !maxOperationTime.compareAndSet(max, duration)) {
+                max = maxOperationTime.get();
+            }
+            if (activeCount.decrementAndGet() == 0) {
+                // Only a thread awaiting completion needs the lock, and it checks the count while holding it
+                lock.lock(); try {
+                    condition.signalAll();
+                } finally {
+                    lock.unlock();
+                }
             }
-            //noinspection unchecked
-            return (ActiveOperation<T, A>) removed;
-        } finally {
-            lock.unlock();
         }
+        //noinspection unchecked
+        return (ActiveOperation<T, A>) removed;
+    }
+
+    /**
+     * Get the number of operations currently registered with this handler.
+     *
+     * @return the number of active operations
+     */
+    public int getActiveOperationCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Get the number of requests sent by this handler that are still awaiting a response.
+     *
+     * @return the number of in-flight requests
+     */
+    public int getInFlightRequestCount() {
+        return requests.size();
+    }
+
+    /**
+     * Get the number of operations that completed since this handler was created.
+     *
+     * @return the number of completed operations
+     */
+    public long getCompletedOperationCount() {
+        return completedOperations.get();
+    }
+
+    /**
+     * Get the sum of the time spent by the completed operations between their registration and their completion.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalOperationTime() {
+        return totalOperationTime.get();
+    }
+
+    /**
+     * Get the longest time a completed operation spent between its registration and its completion.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxOperationTime() {
+        return maxOperationTime.get();
     }
 
     /**
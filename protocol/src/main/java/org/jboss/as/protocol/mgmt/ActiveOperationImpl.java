@@ -45,6 +45,7 @@ class ActiveOperationImpl<T, A> extends AsyncFutureTask<T> implements ActiveOper
     private final A attachment;
     private final Integer operationId;
     private final ResultHandler<T> resultHandler;
+    private final long startTime = System.nanoTime();
     private List<Cancellable> cancellables;
     private volatile Channel channel;
 
@@ -117,6 +118,11 @@ class ActiveOperationImpl<T, A> extends AsyncFutureTask<T> implements ActiveOper
         return operationId;
     }
 
+    /** @return the {@link System#nanoTime()} at which the operation was registered */
+    long getStartTime() {
+        return startTime;
+    }
+
     @Override
     public ResultHandler<T> getResultHandler() {
         return resultHandler;
@@ -18,8 +18,10 @@
  */
 package org.jboss.as.protocol.mgmt;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Responsible for generating new unique batch ids on the server side
@@ -56,29 +58,26 @@ public interface ManagementBatchIdManager {
 
     class DefaultManagementBatchIdManager implements ManagementBatchIdManager {
 
-        private final Set<Integer> ids = new HashSet<Integer>();
+        private final Set<Integer> ids = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
 
         @Override
-        public synchronized boolean lockBatchId(int id) {
-            if(ids.contains(id)) {
-                return false;
-            }
-            ids.add(id);
-            return true;
+        public boolean lockBatchId(int id) {
+            return ids.add(id);
         }
 
         @Override
-        public synchronized int createBatchId() {
-            int next = (int)(Math.random() * Integer.MAX_VALUE);
-            while (ids.contains(next)) {
-                next = (int)(Math.random() * Integer.MAX_VALUE);
+        public int createBatchId() {
+            // Ids are random, so a collision is rare and simply means trying another one
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            int next = random.nextInt(Integer.MAX_VALUE);
+            while (!ids.add(next)) {
+                next = random.nextInt(Integer.MAX_VALUE);
             }
-            ids.add(next);
             return next;
         }
 
         @Override
-        public synchronized void freeBatchId(int id) {
+        public void freeBatchId(int id) {
             ids.remove(id);
         }
 
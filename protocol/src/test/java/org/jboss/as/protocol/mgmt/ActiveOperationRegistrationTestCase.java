@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the registration of active operations in {@link AbstractMessageHandler}.
+ */
+public class ActiveOperationRegistrationTestCase {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 500;
+
+    private ExecutorService executor;
+    private AbstractMessageHandler handler;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        handler = new AbstractMessageHandler(executor) {
+        };
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBatchIds() {
+        final ManagementBatchIdManager manager = new ManagementBatchIdManager.DefaultManagementBatchIdManager();
+        final int id = manager.createBatchId();
+        Assert.assertTrue(id >= 0);
+        Assert.assertFalse(manager.lockBatchId(id));
+        manager.freeBatchId(id);
+        Assert.assertTrue(manager.lockBatchId(id));
+        Assert.assertFalse(manager.lockBatchId(id));
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws Exception {
+        final List<Callable<List<Integer>>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(new Callable<List<Integer>>() {
+                @Override
+                public List<Integer> call() throws Exception {
+                    final List<Integer> ids = new ArrayList<>();
+                    for (int j = 0; j < OPERATIONS; j++) {
+                        ids.add(handler.registerActiveOperation(null).getOperationId());
+                    }
+                    return ids;
+                }
+            });
+        }
+        final Set<Integer> ids = new HashSet<>();
+        for (Future<List<Integer>> future : executor.invokeAll(tasks)) {
+            ids.addAll(future.get());
+        }
+        Assert.assertEquals(THREADS * OPERATIONS, ids.size());
+        Assert.assertEquals(THREADS * OPERATIONS, handler.getActiveOperationCount());
+
+        for (Integer id : ids) {
+            handler.getActiveOperation(id).getResultHandler().done(null);
+        }
+        Assert.assertEquals(0, handler.getActiveOperationCount());
+        Assert.assertEquals(THREADS * OPERATIONS, handler.getCompletedOperationCount());
+        Assert.assertTrue(handler.getMaxOperationTime() <= handler.getTotalOperationTime());
+        handler.shutdown();
+        Assert.assertTrue(handler.awaitCompletion(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDuplicateId() {
+        handler.registerActiveOperation(Integer.valueOf(42), (Void) null);
+        try {
+            handler.registerActiveOperation(Integer.valueOf(42), (Void) null);
+            Assert.fail("duplicate operation id was registered");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        Assert.assertEquals(1, handler.getActiveOperationCount());
+        Assert.assertEquals(Collections.singletonList(42), handler.cancelAllActiveOperations());
+        Assert.assertEquals(0, handler.getActiveOperationCount());
+    }
+
+    @Test
+    public void testAwaitCompletion() throws Exception {
+        final ActiveOperation<Void, Void> operation = handler.registerActiveOperation(null);
+        handler.shutdown();
+        Assert.assertFalse(handler.awaitCompletion(10, TimeUnit.MILLISECONDS));
+        final Future<Boolean> awaited = executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return handler.awaitCompletion(10, TimeUnit.SECONDS);
+            }
+        });
+        operation.getResultHandler().done(null);
+        Assert.assertTrue(awaited.get());
+    }
+}
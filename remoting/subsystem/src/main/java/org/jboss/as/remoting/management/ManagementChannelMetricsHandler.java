@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.remoting.management;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the statistics of the channel handlers processing requests on the management endpoint, as aggregated by the
+ * {@link ManagementRequestTracker}. The statistics cover every channel opened on the endpoint, whichever management
+ * interface accepted the connection.
+ */
+public final class ManagementChannelMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final SimpleAttributeDefinition ACTIVE_OPERATIONS = new SimpleAttributeDefinitionBuilder("active-operations", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    public static final SimpleAttributeDefinition IN_FLIGHT_REQUESTS = new SimpleAttributeDefinitionBuilder("in-flight-requests", ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    public static final SimpleAttributeDefinition COMPLETED_OPERATIONS = new SimpleAttributeDefinitionBuilder("completed-operations", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    public static final SimpleAttributeDefinition TOTAL_OPERATION_TIME = new SimpleAttributeDefinitionBuilder("total-operation-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+    public static final SimpleAttributeDefinition MAX_OPERATION_TIME = new SimpleAttributeDefinitionBuilder("max-operation-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition[] METRICS = { ACTIVE_OPERATIONS, IN_FLIGHT_REQUESTS, COMPLETED_OPERATIONS,
+            TOTAL_OPERATION_TIME, MAX_OPERATION_TIME };
+
+    private static final ManagementChannelMetricsHandler INSTANCE = new ManagementChannelMetricsHandler();
+
+    private ManagementChannelMetricsHandler() {
+    }
+
+    /**
+     * Registers the management channel metrics on a management interface resource.
+     *
+     * @param resourceRegistration the registration of the management interface resource
+     */
+    public static void registerMetrics(ManagementResourceRegistration resourceRegistration) {
+        for (SimpleAttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, INSTANCE);
+        }
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(ManagementChannelRegistryService.SERVICE_NAME);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // the management endpoint is not running
+            return;
+        }
+        final ManagementRequestTracker tracker = ((ManagementChannelRegistryService) controller.getValue()).getTrackerService();
+        final String name = operation.require(NAME).asString();
+        if (ACTIVE_OPERATIONS.getName().equals(name)) {
+            context.getResult().set(tracker.getActiveOperationCount());
+        } else if (IN_FLIGHT_REQUESTS.getName().equals(name)) {
+            context.getResult().set(tracker.getInFlightRequestCount());
+        } else if (COMPLETED_OPERATIONS.getName().equals(name)) {
+            context.getResult().set(tracker.getCompletedOperationCount());
+        } else if (TOTAL_OPERATION_TIME.getName().equals(name)) {
+            context.getResult().set(TimeUnit.NANOSECONDS.toMillis(tracker.getTotalOperationTime()));
+        } else if (MAX_OPERATION_TIME.getName().equals(name)) {
+            context.getResult().set(TimeUnit.NANOSECONDS.toMillis(tracker.getMaxOperationTime()));
+        }
+    }
+}
@@ -22,12 +22,15 @@
 
 package org.jboss.as.remoting.management;
 
+import org.jboss.as.protocol.mgmt.AbstractMessageHandler;
 import org.jboss.as.protocol.mgmt.support.ManagementChannelShutdownHandle;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.msc.service.StartException;
 
@@ -38,6 +41,9 @@ import org.jboss.msc.service.StartException;
  * registering the shutdown handles need to use the {@code #prepareShutdown} and then {@code awaitShutdown()} to prevent
  * remoting services to shut down before active management requests could complete.
  *
+ * The tracker also aggregates the statistics of the registered {@link AbstractMessageHandler}s, keeping the totals of
+ * the handlers whose channel was closed.
+ *
  * @author Emanuel Muckenhuber
  */
 public class ManagementRequestTracker {
@@ -45,6 +51,11 @@ public class ManagementRequestTracker {
     private volatile boolean shutdown;
     private final List<ManagementChannelShutdownHandle> trackers = Collections.synchronizedList(new ArrayList<ManagementChannelShutdownHandle>());
 
+    // statistics of the handlers that are no longer registered
+    private final LongAdder closedCompletedOperations = new LongAdder();
+    private final LongAdder closedOperationTime = new LongAdder();
+    private final AtomicLong closedMaxOperationTime = new AtomicLong();
+
     ManagementRequestTracker() {
         //
     }
@@ -84,10 +95,93 @@ public class ManagementRequestTracker {
     }
 
     public synchronized void unregisterTracker(final ManagementChannelShutdownHandle tracker) {
-        trackers.remove(tracker);
+        if (trackers.remove(tracker) && tracker instanceof AbstractMessageHandler) {
+            final AbstractMessageHandler handler = (AbstractMessageHandler) tracker;
+            closedCompletedOperations.add(handler.getCompletedOperationCount());
+            closedOperationTime.add(handler.getTotalOperationTime());
+            if (handler.getMaxOperationTime() > closedMaxOperationTime.get()) {
+                closedMaxOperationTime.set(handler.getMaxOperationTime());
+            }
+        }
         notifyAll();
     }
 
+    /**
+     * Get the number of operations currently active in the registered channel handlers.
+     *
+     * @return the number of active operations
+     */
+    public int getActiveOperationCount() {
+        int count = 0;
+        for (AbstractMessageHandler handler : getHandlers()) {
+            count += handler.getActiveOperationCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of requests sent by the registered channel handlers that are still awaiting a response.
+     *
+     * @return the number of in-flight requests
+     */
+    public int getInFlightRequestCount() {
+        int count = 0;
+        for (AbstractMessageHandler handler : getHandlers()) {
+            count += handler.getInFlightRequestCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of operations completed by all the channel handlers, including those whose channel was closed.
+     *
+     * @return the number of completed operations
+     */
+    public long getCompletedOperationCount() {
+        long count = closedCompletedOperations.sum();
+        for (AbstractMessageHandler handler : getHandlers()) {
+            count += handler.getCompletedOperationCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the total time spent by the operations completed by all the channel handlers.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTotalOperationTime() {
+        long time = closedOperationTime.sum();
+        for (AbstractMessageHandler handler : getHandlers()) {
+            time += handler.getTotalOperationTime();
+        }
+        return time;
+    }
+
+    /**
+     * Get the longest time spent by an operation completed by any of the channel handlers.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxOperationTime() {
+        long max = closedMaxOperationTime.get();
+        for (AbstractMessageHandler handler : getHandlers()) {
+            max = Math.max(max, handler.getMaxOperationTime());
+        }
+        return max;
+    }
+
+    private List<AbstractMessageHandler> getHandlers() {
+        final List<AbstractMessageHandler> handlers = new ArrayList<>();
+        // Copy off the list, without taking the lock used by the shutdown methods
+        for (ManagementChannelShutdownHandle tracker : trackers.toArray(new ManagementChannelShutdownHandle[0])) {
+            if (tracker instanceof AbstractMessageHandler) {
+                handlers.add((AbstractMessageHandler) tracker);
+            }
+        }
+        return handlers;
+    }
+
     public synchronized boolean awaitShutdown(long timeout, TimeUnit timeUnit) throws InterruptedException {
         final long deadline = System.currentTimeMillis() + timeUnit.toMillis(timeout);
         for (;;) {
@@ -54,6 +54,7 @@ import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorize
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.CapabilityRegistry;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.registry.PlaceholderResource;
@@ -271,6 +272,8 @@ public final class ServerService extends AbstractControllerService {
     protected void boot(final BootContext context) throws ConfigurationPersistenceException {
         boolean ok;
         try {
+            // the interfaces resolved while booting share a snapshot of the network interfaces
+            NetworkInterfaceSnapshot.bootStarting();
             final ServerEnvironment serverEnvironment = configuration.getServerEnvironment();
             final ServiceTarget serviceTarget = context.getServiceTarget();
             final File[] extDirs = serverEnvironment.getJavaExtDirs();
@@ -371,6 +374,8 @@ public final class ServerService extends AbstractControllerService {
         } catch (Exception e) {
             ServerLogger.ROOT_LOGGER.caughtExceptionDuringBoot(e);
             ok = false;
+        } finally {
+            NetworkInterfaceSnapshot.bootCompleted();
         }
 
         if (ok) {
@@ -29,6 +29,7 @@ import java.util.ListIterator;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.jboss.as.controller.jfr.ManagementEvents;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.msc.service.AbstractServiceListener;
 import org.jboss.msc.service.DelegatingServiceRegistry;
@@ -140,6 +141,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final Object phaseEvent = ManagementEvents.beginDeploymentPhase();
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
@@ -154,6 +156,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
                 throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
             }
         }
+        ManagementEvents.endDeploymentPhase(phaseEvent, name, phase.name());
 
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
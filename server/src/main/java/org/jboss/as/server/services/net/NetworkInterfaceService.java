@@ -28,15 +28,12 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.jboss.as.controller.interfaces.InterfaceCriteria;
+import org.jboss.as.controller.interfaces.NetworkInterfaceSnapshot;
 import org.jboss.as.controller.interfaces.OverallInterfaceCriteria;
 import org.jboss.as.controller.interfaces.ParsedInterfaceCriteria;
 import org.jboss.as.network.NetworkInterfaceBinding;
@@ -83,7 +80,7 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
     public synchronized void start(StartContext arg0) throws StartException {
         log.debug("Starting NetworkInterfaceService\n");
         try {
-            this.interfaceBinding = createBinding(anyLocal, criteria);
+            this.interfaceBinding = createBinding(anyLocal, criteria, NetworkInterfaceSnapshot.getSnapshot());
         } catch (Exception e) {
             throw new StartException(e);
         }
@@ -95,14 +92,17 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
 
     public static NetworkInterfaceBinding createBinding(ParsedInterfaceCriteria criteria) throws SocketException,
             UnknownHostException {
-        return createBinding(criteria.isAnyLocal(), new OverallInterfaceCriteria(null, criteria.getCriteria()));
+        // a query of the current state, so not resolved against the boot snapshot
+        return createBinding(criteria.isAnyLocal(), new OverallInterfaceCriteria(null, criteria.getCriteria()),
+                NetworkInterfaceSnapshot.create());
     }
 
-    static NetworkInterfaceBinding createBinding(final boolean anyLocal, final OverallInterfaceCriteria criteria) throws SocketException, UnknownHostException {
+    static NetworkInterfaceBinding createBinding(final boolean anyLocal, final OverallInterfaceCriteria criteria,
+                                                 final NetworkInterfaceSnapshot snapshot) throws SocketException, UnknownHostException {
         if (anyLocal) {
-            return getNetworkInterfaceBinding(isPreferIPv4Stack() ? IPV4_ANYLOCAL : IPV6_ANYLOCAL);
+            return getNetworkInterfaceBinding(isPreferIPv4Stack() ? IPV4_ANYLOCAL : IPV6_ANYLOCAL, snapshot);
         } else {
-            return resolveInterface(criteria);
+            return resolveInterface(criteria, snapshot);
         }
     }
 
@@ -118,14 +118,10 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
         return binding;
     }
 
-    private static NetworkInterfaceBinding resolveInterface(final OverallInterfaceCriteria criteria) throws SocketException {
+    private static NetworkInterfaceBinding resolveInterface(final OverallInterfaceCriteria criteria,
+                                                            final NetworkInterfaceSnapshot snapshot) throws SocketException {
         NetworkInterfaceBinding result = null;
-        final Map<NetworkInterface, Set<InetAddress>> candidates = new HashMap<NetworkInterface, Set<InetAddress>>();
-        final Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
-        while (networkInterfaces.hasMoreElements()) {
-            storeAddresses(networkInterfaces.nextElement(), candidates);
-        }
-        Map<NetworkInterface, Set<InetAddress>> acceptable = criteria.getAcceptableAddresses(candidates);
+        Map<NetworkInterface, Set<InetAddress>> acceptable = snapshot.getAcceptableAddresses(criteria);
 
         if (acceptable.size() == 1 && acceptable.values().iterator().next().size() == 1) {
             // single result
@@ -136,27 +132,9 @@ public class NetworkInterfaceService implements Service<NetworkInterfaceBinding>
         return result;
     }
 
-    private static void storeAddresses(final NetworkInterface networkInterface, final Map<NetworkInterface, Set<InetAddress>> candidates) {
-        final Enumeration<InetAddress> interfaceAddresses = networkInterface.getInetAddresses();
-        Set<InetAddress> addresses = new HashSet<InetAddress>();
-        candidates.put(networkInterface, addresses);
-        while (interfaceAddresses.hasMoreElements()) {
-            addresses.add(interfaceAddresses.nextElement());
-        }
-        final Enumeration<NetworkInterface> subInterfaces = networkInterface.getSubInterfaces();
-        while (subInterfaces.hasMoreElements()) {
-            storeAddresses(subInterfaces.nextElement(), candidates);
-        }
-    }
-
-    static NetworkInterfaceBinding getNetworkInterfaceBinding(final String addr) throws UnknownHostException, SocketException {
+    private static NetworkInterfaceBinding getNetworkInterfaceBinding(final String addr, final NetworkInterfaceSnapshot snapshot) throws UnknownHostException {
         final InetAddress address = InetAddress.getByName(addr);
-        final Collection<NetworkInterface> interfaces = new ArrayList<NetworkInterface>();
-        final Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
-        while (networkInterfaces.hasMoreElements()) {
-            interfaces.add(networkInterfaces.nextElement());
-        }
-        return new NetworkInterfaceBinding(interfaces, address);
+        return new NetworkInterfaceBinding(new ArrayList<NetworkInterface>(snapshot.getNetworkInterfaces()), address);
     }
 
     private static boolean isPreferIPv4Stack() {
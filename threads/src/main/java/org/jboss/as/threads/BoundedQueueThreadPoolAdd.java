@@ -61,13 +61,27 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
 
     public BoundedQueueThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
                                      HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase) {
-        super(blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES);
+        this(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, false);
+    }
+
+    BoundedQueueThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
+                              HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase, boolean registerStatistics) {
+        super(getAttributes(blocking, registerStatistics));
         this.blocking = blocking;
         this.threadFactoryResolver = threadFactoryResolver;
         this.handoffExecutorResolver = handoffExecutorResolver;
         this.serviceNameBase = serviceNameBase;
     }
 
+    static AttributeDefinition[] getAttributes(boolean blocking, boolean registerStatistics) {
+        final AttributeDefinition[] attributes = blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES;
+        return registerStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(attributes) : attributes;
+    }
+
+    static AttributeDefinition[] getRuntimeAttributes(boolean registerStatistics) {
+        return registerStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(RW_ATTRIBUTES) : RW_ATTRIBUTES;
+    }
+
     @Override
     protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
 
@@ -81,6 +95,7 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
                 params.getKeepAliveTime(),
                 params.isAllowCoreTimeout());
 
+        service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), serviceNameBase,
                 params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
                 params.getHandoffExecutor(), handoffExecutorResolver, blocking ?  null : service.getHandoffExecutorInjector(),
@@ -45,6 +45,7 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
     private final BoundedQueueThreadPoolWriteAttributeHandler writeHandler;
     private final boolean blocking;
     private final boolean registerRuntimeOnly;
+    private final boolean registerStatistics;
 
     public static BoundedQueueThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly) {
         if (blocking) {
@@ -68,11 +69,31 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
     public static BoundedQueueThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
                                                                   HandoffExecutorResolver handoffExecutorResolver,
                                                                   ServiceName poolNameBase, boolean registerRuntimeOnly) {
+        return create(type, threadFactoryResolver, handoffExecutorResolver, poolNameBase, registerRuntimeOnly, false);
+    }
+
+    /**
+     * Creates the definition of a pool of the threads subsystem itself, which also has the {@code statistics-enabled}
+     * attribute, the task time metrics and the {@code reset-statistics} operation.
+     */
+    static BoundedQueueThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly, boolean registerStatistics) {
+        if (blocking) {
+            return create(CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                    null, ThreadsServices.EXECUTOR, registerRuntimeOnly, registerStatistics);
+        } else {
+            return create(CommonAttributes.BOUNDED_QUEUE_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                    ThreadsServices.STANDARD_HANDOFF_EXECUTOR_RESOLVER, ThreadsServices.EXECUTOR, registerRuntimeOnly, registerStatistics);
+        }
+    }
+
+    private static BoundedQueueThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                                   HandoffExecutorResolver handoffExecutorResolver,
+                                                                   ServiceName poolNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
         final boolean blocking = handoffExecutorResolver == null;
         final String resolverPrefix = blocking ? CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL : CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
-        final BoundedQueueThreadPoolAdd addHandler = new BoundedQueueThreadPoolAdd(blocking, threadFactoryResolver, handoffExecutorResolver, poolNameBase);
+        final BoundedQueueThreadPoolAdd addHandler = new BoundedQueueThreadPoolAdd(blocking, threadFactoryResolver, handoffExecutorResolver, poolNameBase, registerStatistics);
         final OperationStepHandler removeHandler = new BoundedQueueThreadPoolRemove(addHandler);
-        return new BoundedQueueThreadPoolResourceDefinition(blocking, registerRuntimeOnly, type, poolNameBase, resolverPrefix, addHandler, removeHandler);
+        return new BoundedQueueThreadPoolResourceDefinition(blocking, registerRuntimeOnly, registerStatistics, type, poolNameBase, resolverPrefix, addHandler, removeHandler);
     }
 
     /**
@@ -82,13 +103,20 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
     protected BoundedQueueThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly,
                                                      String type, ServiceName serviceNameBase, String resolverPrefix, OperationStepHandler addHandler,
                                                      OperationStepHandler removeHandler) {
+        this(blocking, registerRuntimeOnly, false, type, serviceNameBase, resolverPrefix, addHandler, removeHandler);
+    }
+
+    private BoundedQueueThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly, boolean registerStatistics,
+                                                     String type, ServiceName serviceNameBase, String resolverPrefix, OperationStepHandler addHandler,
+                                                     OperationStepHandler removeHandler) {
         super(PathElement.pathElement(type),
                 new ThreadPoolResourceDescriptionResolver(resolverPrefix, ThreadsExtension.RESOURCE_NAME, ThreadsExtension.class.getClassLoader()),
                 addHandler, removeHandler);
         this.registerRuntimeOnly = registerRuntimeOnly;
+        this.registerStatistics = registerStatistics;
         this.blocking = blocking;
         metricsHandler = new BoundedQueueThreadPoolMetricsHandler(serviceNameBase);
-        writeHandler = new BoundedQueueThreadPoolWriteAttributeHandler(blocking, serviceNameBase);
+        writeHandler = new BoundedQueueThreadPoolWriteAttributeHandler(blocking, serviceNameBase, registerStatistics);
     }
 
 
@@ -98,6 +126,17 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
         writeHandler.registerAttributes(resourceRegistration);
         if (registerRuntimeOnly) {
             metricsHandler.registerAttributes(resourceRegistration);
+            if (registerStatistics) {
+                metricsHandler.registerStatisticsAttributes(resourceRegistration);
+            }
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly && registerStatistics) {
+            metricsHandler.registerOperations(resourceRegistration, getResourceDescriptionResolver());
         }
     }
 
@@ -47,6 +47,7 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
     private final int queueLength;
 
     private ManagedQueueExecutorService executor;
+    private boolean statisticsEnabled;
 
     private int coreThreads;
     private int maxThreads;
@@ -68,6 +69,7 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         QueueExecutor queueExecutor = new QueueExecutor(coreThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
         queueExecutor.setAllowCoreThreadTimeout(allowCoreTimeout);
         executor = new ManagedQueueExecutorService(queueExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
     }
 
     public void stop(final StopContext context) {
@@ -92,6 +94,14 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         return value;
     }
 
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedQueueExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
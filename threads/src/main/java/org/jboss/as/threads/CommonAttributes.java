@@ -27,6 +27,7 @@ package org.jboss.as.threads;
 public interface CommonAttributes {
     String ACTIVE_COUNT = "active-count";
     String ALLOW_CORE_TIMEOUT = "allow-core-timeout";
+    String ASYNC_MODE = "async-mode";
     String BLOCKING = "blocking";
     String BLOCKING_BOUNDED_QUEUE_THREAD_POOL = "blocking-bounded-queue-thread-pool";
     String BLOCKING_QUEUELESS_THREAD_POOL = "blocking-queueless-thread-pool";
@@ -38,10 +39,16 @@ public interface CommonAttributes {
     String PER_CPU = "per-cpu";
     String HANDOFF_EXECUTOR = "handoff-executor";
     String LARGEST_THREAD_COUNT = "largest-thread-count";
+    String MAX = "max";
+    String MAX_CONCURRENCY = "max-concurrency";
     String NAME = "name";
     String GROUP_NAME = "group-name";
     String KEEPALIVE_TIME = "keepalive-time";
     String MAX_THREADS = "max-threads";
+    String P50 = "p50";
+    String PARALLELISM = "parallelism";
+    String P90 = "p90";
+    String P99 = "p99";
     String PRIORITY = "priority";
     String PROPERTIES = "properties";
     String PROPERTY = "property";
@@ -49,8 +56,13 @@ public interface CommonAttributes {
     String QUEUE_LENGTH = "queue-length";
     String QUEUE_SIZE = "queue-size";
     String REJECTED_COUNT = "rejected-count";
+    String RESET_STATISTICS = "reset-statistics";
     String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
+    String STATISTICS_ENABLED = "statistics-enabled";
+    String STEAL_COUNT = "steal-count";
     String TASK_COUNT = "task-count";
+    String TASK_RUN_TIME = "task-run-time";
+    String TASK_WAIT_TIME = "task-wait-time";
     String THREADS = "threads";
     String TIME = "time";
     String THREAD_FACTORY = "thread-factory";
@@ -58,4 +70,6 @@ public interface CommonAttributes {
     String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     String UNIT = "unit";
     String VALUE = "value";
+    String VIRTUAL_THREAD_EXECUTOR = "virtual-thread-executor";
+    String WORK_STEALING_THREAD_POOL = "work-stealing-thread-pool";
 }
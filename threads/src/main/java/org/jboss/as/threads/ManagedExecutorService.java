@@ -41,6 +41,8 @@ import org.wildfly.common.Assert;
 public abstract class ManagedExecutorService implements ExecutorService {
 
     private final ExecutorService executor;
+    /** {@code null} unless statistics are enabled, in which case submitted tasks are wrapped to record their timings */
+    private volatile TaskStatistics statistics;
 
     public ManagedExecutorService(ExecutorService executor) {
         Assert.checkNotNullParam("executor", executor);
@@ -53,13 +55,65 @@ public abstract class ManagedExecutorService implements ExecutorService {
 
     abstract void internalShutdown();
 
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    // Package protected for subsys write-attribute handlers
+    void setStatisticsEnabled(boolean enabled) {
+        if (enabled != (statistics != null)) {
+            statistics = enabled ? new TaskStatistics() : null;
+        }
+    }
+
+    void resetStatistics() {
+        final TaskStatistics statistics = this.statistics;
+        if (statistics != null) {
+            statistics.reset();
+        }
+    }
+
+    /**
+     * Gets the distribution of the time, in nanoseconds, tasks waited between their submission and their start.
+     *
+     * @return the distribution, or {@code null} if statistics are not enabled
+     */
+    LatencyHistogram.Snapshot getTaskWaitTime() {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null ? null : statistics.getWaitTime();
+    }
+
+    /**
+     * Gets the distribution of the time, in nanoseconds, tasks took to run.
+     *
+     * @return the distribution, or {@code null} if statistics are not enabled
+     */
+    LatencyHistogram.Snapshot getTaskRunTime() {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null ? null : statistics.getRunTime();
+    }
+
+    /**
+     * Gets the statistics tasks should be wrapped with before they are handed to the executor.
+     *
+     * @return the statistics, or {@code null} if they are not enabled
+     */
+    final TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    final Runnable timed(Runnable task) {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null ? task : statistics.wrap(task);
+    }
+
     /**
      * {@inheritDoc}
      * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        this.executor.execute(timed(command));
     }
 
     /**
@@ -114,7 +168,8 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        final TaskStatistics statistics = this.statistics;
+        return this.executor.submit(statistics == null ? task : statistics.wrap(task));
     }
 
     /**
@@ -123,7 +178,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        return this.executor.submit(timed(task), result);
     }
 
     /**
@@ -132,7 +187,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        return this.executor.submit(timed(task));
     }
 
     /**
@@ -141,7 +196,8 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        return this.executor.invokeAll(tasks);
+        final TaskStatistics statistics = this.statistics;
+        return this.executor.invokeAll(statistics == null ? tasks : statistics.wrap(tasks));
     }
 
     /**
@@ -150,7 +206,8 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
-        return this.executor.invokeAll(tasks, timeout, unit);
+        final TaskStatistics statistics = this.statistics;
+        return this.executor.invokeAll(statistics == null ? tasks : statistics.wrap(tasks), timeout, unit);
     }
 
     /**
@@ -159,7 +216,8 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
-        return this.executor.invokeAny(tasks);
+        final TaskStatistics statistics = this.statistics;
+        return this.executor.invokeAny(statistics == null ? tasks : statistics.wrap(tasks));
     }
 
     /**
@@ -168,6 +226,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        return this.executor.invokeAny(tasks, timeout, unit);
+        final TaskStatistics statistics = this.statistics;
+        return this.executor.invokeAny(statistics == null ? tasks : statistics.wrap(tasks), timeout, unit);
     }
 }
@@ -55,22 +55,26 @@ public class ManagedScheduledExecutorService extends ManagedExecutorService impl
 
     @Override
     public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
-       return executor.schedule(command, delay, unit);
+       final TaskStatistics statistics = getStatistics();
+       return executor.schedule(statistics == null ? command : statistics.wrap(command, unit.toNanos(delay)), delay, unit);
     }
 
     @Override
     public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
-       return executor.schedule(callable, delay, unit);
+       final TaskStatistics statistics = getStatistics();
+       return executor.schedule(statistics == null ? callable : statistics.wrap(callable, unit.toNanos(delay)), delay, unit);
     }
 
     @Override
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
-       return executor.scheduleAtFixedRate(command, initialDelay, period, unit);
+       final TaskStatistics statistics = getStatistics();
+       return executor.scheduleAtFixedRate(statistics == null ? command : statistics.wrapPeriodic(command), initialDelay, period, unit);
     }
 
     @Override
     public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-       return executor.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+       final TaskStatistics statistics = getStatistics();
+       return executor.scheduleWithFixedDelay(statistics == null ? command : statistics.wrapPeriodic(command), initialDelay, delay, unit);
     }
 
    public int getActiveCount() {
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * {@link ManagedExecutorService} running each task in a virtual thread, with a limit on the number of tasks running
+ * at a time.
+ */
+public class ManagedVirtualThreadExecutorService extends ManagedExecutorService {
+
+    private final VirtualThreadExecutor executor;
+
+    ManagedVirtualThreadExecutorService(VirtualThreadExecutor executor) {
+        super(executor);
+        this.executor = executor;
+    }
+
+    @Override
+    void internalShutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Gets whether tasks run in virtual threads, or in platform threads because the runtime does not support virtual
+     * threads.
+     *
+     * @return {@code true} if tasks run in virtual threads
+     */
+    public boolean isVirtual() {
+        return executor.isVirtual();
+    }
+
+    public int getMaxConcurrency() {
+        return executor.getMaxConcurrency();
+    }
+
+    void setMaxConcurrency(int maxConcurrency) {
+        executor.setMaxConcurrency(maxConcurrency);
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public int getRejectedCount() {
+        return executor.getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        return executor.getTaskCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    <A> void addShutdownListener(final EventListener<A> shutdownListener, final A attachment) {
+        executor.addShutdownListener(shutdownListener, attachment);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * {@link ManagedExecutorService} backed by a work-stealing {@link ForkJoinPool}.
+ */
+public class ManagedWorkStealingExecutorService extends ManagedExecutorService {
+
+    private final ForkJoinPool executor;
+    private final WorkStealingThreadFactory threadFactory;
+
+    ManagedWorkStealingExecutorService(ForkJoinPool executor, WorkStealingThreadFactory threadFactory) {
+        super(executor);
+        this.executor = executor;
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    void internalShutdown() {
+        executor.shutdown();
+    }
+
+    public int getParallelism() {
+        return executor.getParallelism();
+    }
+
+    public boolean isAsyncMode() {
+        return executor.getAsyncMode();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveThreadCount();
+    }
+
+    public int getCurrentThreadCount() {
+        return executor.getPoolSize();
+    }
+
+    public int getQueueSize() {
+        return (int) Math.min(Integer.MAX_VALUE, executor.getQueuedTaskCount() + executor.getQueuedSubmissionCount());
+    }
+
+    public long getStealCount() {
+        return executor.getStealCount();
+    }
+
+    <A> void addShutdownListener(final EventListener<A> shutdownListener, final A attachment) {
+        threadFactory.addTerminationListener(executor, shutdownListener, attachment);
+    }
+}
@@ -47,6 +47,17 @@ public interface PoolAttributeDefinitions {
     SimpleAttributeDefinition MAX_THREADS = new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX_THREADS, ModelType.INT, false)
             .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, false, true)).setAllowExpression(true).build();
 
+    SimpleAttributeDefinition MAX_CONCURRENCY = new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX_CONCURRENCY, ModelType.INT, false)
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, false, true)).setAllowExpression(true).build();
+
+    SimpleAttributeDefinition PARALLELISM = new SimpleAttributeDefinitionBuilder(CommonAttributes.PARALLELISM, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true)).setAllowExpression(true).build();
+
+    SimpleAttributeDefinition ASYNC_MODE = new SimpleAttributeDefinitionBuilder(CommonAttributes.ASYNC_MODE, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
     KeepAliveTimeAttributeDefinition KEEPALIVE_TIME = new KeepAliveTimeAttributeDefinition();
 
     SimpleAttributeDefinition CORE_THREADS = new SimpleAttributeDefinitionBuilder(CommonAttributes.CORE_THREADS, ModelType.INT, true)
@@ -63,6 +74,11 @@ public interface PoolAttributeDefinitions {
             .setDefaultValue(new ModelNode(false))
             .build();
 
+    SimpleAttributeDefinition STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(CommonAttributes.STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
     SimpleAttributeDefinition GROUP_NAME = new SimpleAttributeDefinitionBuilder(CommonAttributes.GROUP_NAME, ModelType.STRING, true)
             .setAllowExpression(true)
             .build();
@@ -98,4 +114,7 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_SIZE, ModelType.INT)
             .setUndefinedMetricValue(new ModelNode(0))
             .build();
+    AttributeDefinition STEAL_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.STEAL_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
 }
@@ -45,6 +45,7 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
     private final QueuelessThreadPoolMetricsHandler metricsHandler;
     private final boolean blocking;
     private final boolean registerRuntimeOnly;
+    private final boolean registerStatistics;
 
 
     public static QueuelessThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly) {
@@ -71,23 +72,44 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
     public static QueuelessThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
                                                                HandoffExecutorResolver handoffExecutorResolver,
                                                                ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        return create(type, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, registerRuntimeOnly, false);
+    }
+
+    /**
+     * Creates the definition of a pool of the threads subsystem itself, which also has the {@code statistics-enabled}
+     * attribute, the task time metrics and the {@code reset-statistics} operation.
+     */
+    static QueuelessThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly, boolean registerStatistics) {
+        if (blocking) {
+            return create(CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                    null, ThreadsServices.EXECUTOR, registerRuntimeOnly, registerStatistics);
+        } else {
+            return create(CommonAttributes.QUEUELESS_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                    ThreadsServices.STANDARD_HANDOFF_EXECUTOR_RESOLVER, ThreadsServices.EXECUTOR, registerRuntimeOnly, registerStatistics);
+        }
+    }
+
+    private static QueuelessThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                                HandoffExecutorResolver handoffExecutorResolver,
+                                                                ServiceName serviceNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
         final boolean blocking = handoffExecutorResolver == null;
         final String resolverPrefix = blocking ? CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL : CommonAttributes.QUEUELESS_THREAD_POOL;
-        final QueuelessThreadPoolAdd addHandler = new QueuelessThreadPoolAdd(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase);
+        final QueuelessThreadPoolAdd addHandler = new QueuelessThreadPoolAdd(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, registerStatistics);
         final OperationStepHandler removeHandler = new QueuelessThreadPoolRemove(addHandler);
-        return new QueuelessThreadPoolResourceDefinition(blocking, registerRuntimeOnly, type, serviceNameBase, resolverPrefix, addHandler, removeHandler);
+        return new QueuelessThreadPoolResourceDefinition(blocking, registerRuntimeOnly, registerStatistics, type, serviceNameBase, resolverPrefix, addHandler, removeHandler);
     }
 
 
-    private QueuelessThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly,
+    private QueuelessThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly, boolean registerStatistics,
                                                   String type, ServiceName serviceNameBase, String resolverPrefix, OperationStepHandler addHandler,
                                                   OperationStepHandler removeHandler) {
         super(PathElement.pathElement(type),
                 new ThreadPoolResourceDescriptionResolver(resolverPrefix, ThreadsExtension.RESOURCE_NAME, ThreadsExtension.class.getClassLoader()),
                 addHandler, removeHandler);
         this.registerRuntimeOnly = registerRuntimeOnly;
+        this.registerStatistics = registerStatistics;
         this.blocking = blocking;
-        writeHandler = new QueuelessThreadPoolWriteAttributeHandler(blocking, serviceNameBase);
+        writeHandler = new QueuelessThreadPoolWriteAttributeHandler(blocking, serviceNameBase, registerStatistics);
         metricsHandler = new QueuelessThreadPoolMetricsHandler(serviceNameBase);
     }
 
@@ -98,6 +120,17 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
         writeHandler.registerAttributes(resourceRegistration);
         if (registerRuntimeOnly) {
             metricsHandler.registerAttributes(resourceRegistration);
+            if (registerStatistics) {
+                metricsHandler.registerStatisticsAttributes(resourceRegistration);
+            }
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly && registerStatistics) {
+            metricsHandler.registerOperations(resourceRegistration, getResourceDescriptionResolver());
         }
     }
 
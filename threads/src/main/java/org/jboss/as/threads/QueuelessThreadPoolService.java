@@ -46,6 +46,7 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
     private final boolean blocking;
 
     private ManagedQueuelessExecutorService executor;
+    private boolean statisticsEnabled;
 
     private int maxThreads;
     private TimeSpec keepAlive;
@@ -63,6 +64,7 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
         queuelessExecutor.setMaxThreads(maxThreads);
         queuelessExecutor.setBlocking(blocking);
         executor = new ManagedQueuelessExecutorService(queuelessExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
     }
 
     public void stop(final StopContext context) {
@@ -87,6 +89,14 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
         return value;
     }
 
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedQueuelessExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
@@ -41,6 +41,7 @@ public class ScheduledThreadPoolResourceDefinition extends PersistentResourceDef
     private final ScheduledThreadPoolWriteAttributeHandler writeAttributeHandler;
     private final ScheduledThreadPoolMetricsHandler metricsHandler;
     private final boolean registerRuntimeOnly;
+    private final boolean registerStatistics;
 
     public static ScheduledThreadPoolResourceDefinition create(boolean registerRuntimeOnly) {
         return create(CommonAttributes.SCHEDULED_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER, ThreadsServices.EXECUTOR, registerRuntimeOnly);
@@ -48,18 +49,33 @@ public class ScheduledThreadPoolResourceDefinition extends PersistentResourceDef
 
     public static ScheduledThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
                                                                ServiceName serviceNameBase, boolean registerRuntimeOnly) {
-        ScheduledThreadPoolAdd addHandler = new ScheduledThreadPoolAdd(threadFactoryResolver, serviceNameBase);
-        return new ScheduledThreadPoolResourceDefinition(type, addHandler, serviceNameBase, registerRuntimeOnly);
+        return create(type, threadFactoryResolver, serviceNameBase, registerRuntimeOnly, false);
+    }
+
+    /**
+     * Creates the definition of a pool of the threads subsystem itself, which also has the {@code statistics-enabled}
+     * attribute, the task time metrics and the {@code reset-statistics} operation.
+     */
+    static ScheduledThreadPoolResourceDefinition create(boolean registerRuntimeOnly, boolean registerStatistics) {
+        return create(CommonAttributes.SCHEDULED_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER, ThreadsServices.EXECUTOR,
+                registerRuntimeOnly, registerStatistics);
+    }
+
+    private static ScheduledThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                                ServiceName serviceNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
+        ScheduledThreadPoolAdd addHandler = new ScheduledThreadPoolAdd(threadFactoryResolver, serviceNameBase, registerStatistics);
+        return new ScheduledThreadPoolResourceDefinition(type, addHandler, serviceNameBase, registerRuntimeOnly, registerStatistics);
     }
 
     private ScheduledThreadPoolResourceDefinition(String type, ScheduledThreadPoolAdd addHandler,
-                                                  ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+                                                  ServiceName serviceNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
         super(PathElement.pathElement(type),
                 new ThreadPoolResourceDescriptionResolver(CommonAttributes.SCHEDULED_THREAD_POOL, ThreadsExtension.RESOURCE_NAME,
                         ThreadsExtension.class.getClassLoader()),
                 addHandler, new ScheduledThreadPoolRemove(addHandler));
         this.registerRuntimeOnly = registerRuntimeOnly;
-        this.writeAttributeHandler = new ScheduledThreadPoolWriteAttributeHandler(serviceNameBase);
+        this.registerStatistics = registerStatistics;
+        this.writeAttributeHandler = new ScheduledThreadPoolWriteAttributeHandler(serviceNameBase, registerStatistics);
         this.metricsHandler = new ScheduledThreadPoolMetricsHandler(serviceNameBase);
     }
 
@@ -69,6 +85,17 @@ public class ScheduledThreadPoolResourceDefinition extends PersistentResourceDef
         writeAttributeHandler.registerAttributes(resourceRegistration);
         if (registerRuntimeOnly) {
             metricsHandler.registerAttributes(resourceRegistration);
+            if (registerStatistics) {
+                metricsHandler.registerStatisticsAttributes(resourceRegistration);
+            }
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly && registerStatistics) {
+            metricsHandler.registerOperations(resourceRegistration, getResourceDescriptionResolver());
         }
     }
 
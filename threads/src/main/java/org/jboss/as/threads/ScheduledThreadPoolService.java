@@ -43,6 +43,7 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
 
     private ManagedScheduledExecutorService executor;
     private StopContext context;
+    private boolean statisticsEnabled;
 
     private final int maxThreads;
     private final TimeSpec keepAlive;
@@ -58,6 +59,7 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
         if (keepAlive != null) scheduledExecutor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
         final ManagedScheduledExecutorService executorService = new ManagedScheduledExecutorService(scheduledExecutor);
         synchronized (this) {
+            executorService.setStatisticsEnabled(statisticsEnabled);
             executor = executorService;
         }
     }
@@ -84,6 +86,14 @@ public final class ScheduledThreadPoolService implements Service<ManagedSchedule
         return value;
     }
 
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
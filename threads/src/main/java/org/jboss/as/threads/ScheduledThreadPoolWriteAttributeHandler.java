@@ -42,14 +42,21 @@ public class ScheduledThreadPoolWriteAttributeHandler extends ThreadsWriteAttrib
     private final ServiceName serviceNameBase;
 
     public ScheduledThreadPoolWriteAttributeHandler(ServiceName serviceNameBase) {
-        super(ScheduledThreadPoolAdd.ATTRIBUTES, ScheduledThreadPoolAdd.RW_ATTRIBUTES);
+        this(serviceNameBase, false);
+    }
+
+    ScheduledThreadPoolWriteAttributeHandler(ServiceName serviceNameBase, boolean registerStatistics) {
+        super(ScheduledThreadPoolAdd.getAttributes(registerStatistics), ScheduledThreadPoolAdd.getRuntimeAttributes(registerStatistics));
         this.serviceNameBase = serviceNameBase;
     }
 
     @Override
     protected void applyOperation(final OperationContext context, ModelNode operation, String attributeName,
-                                  ServiceController<?> service, boolean forRollback) {
-        if (!forRollback) {
+                                  ServiceController<?> service, boolean forRollback) throws OperationFailedException {
+        if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            final ScheduledThreadPoolService pool = (ScheduledThreadPoolService) service.getService();
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, operation).asBoolean());
+        } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedScheduledThreadPoolAttribute(attributeName);
         }
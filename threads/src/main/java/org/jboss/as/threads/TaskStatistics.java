@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Records how long the tasks submitted to an executor wait before they start, and how long they run, by wrapping
+ * them before they are handed to the executor.
+ */
+final class TaskStatistics {
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    LatencyHistogram.Snapshot getWaitTime() {
+        return waitTime.snapshot();
+    }
+
+    LatencyHistogram.Snapshot getRunTime() {
+        return runTime.snapshot();
+    }
+
+    void reset() {
+        waitTime.reset();
+        runTime.reset();
+    }
+
+    Runnable wrap(Runnable task) {
+        return new TimedRunnable(task, System.nanoTime());
+    }
+
+    /**
+     * Wraps a task that is meant to start after a delay, the wait time being measured from the end of the delay.
+     */
+    Runnable wrap(Runnable task, long delayNanos) {
+        return new TimedRunnable(task, System.nanoTime() + delayNanos);
+    }
+
+    <T> Callable<T> wrap(Callable<T> task) {
+        return new TimedCallable<>(task, System.nanoTime());
+    }
+
+    <T> Callable<T> wrap(Callable<T> task, long delayNanos) {
+        return new TimedCallable<>(task, System.nanoTime() + delayNanos);
+    }
+
+    <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+        final long now = System.nanoTime();
+        final List<Callable<T>> result = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            result.add(new TimedCallable<>(task, now));
+        }
+        return result;
+    }
+
+    /**
+     * Wraps a task that runs periodically, for which only the run time is recorded.
+     */
+    Runnable wrapPeriodic(Runnable task) {
+        return () -> {
+            final long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private final class TimedRunnable implements Runnable {
+        private final Runnable task;
+        private final long expectedStart;
+
+        private TimedRunnable(Runnable task, long expectedStart) {
+            this.task = task;
+            this.expectedStart = expectedStart;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            waitTime.record(start - expectedStart);
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private final class TimedCallable<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final long expectedStart;
+
+        private TimedCallable(Callable<T> task, long expectedStart) {
+            this.task = task;
+            this.expectedStart = expectedStart;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final long start = System.nanoTime();
+            waitTime.record(start - expectedStart);
+            try {
+                return task.call();
+            } finally {
+                runTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
@@ -23,17 +23,24 @@ package org.jboss.as.threads;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
@@ -45,6 +52,15 @@ import org.jboss.msc.service.ServiceName;
  */
 public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
 
+    /**
+     * Distributions of the time tasks wait before they start, and of the time they run. Only defined if statistics are
+     * enabled. The fields other than the count are durations in nanoseconds.
+     */
+    public static final AttributeDefinition TASK_WAIT_TIME = createTaskTimeMetric(CommonAttributes.TASK_WAIT_TIME);
+    public static final AttributeDefinition TASK_RUN_TIME = createTaskTimeMetric(CommonAttributes.TASK_RUN_TIME);
+
+    static final List<AttributeDefinition> TASK_TIME_METRICS = Arrays.asList(TASK_WAIT_TIME, TASK_RUN_TIME);
+
     private final List<AttributeDefinition> metrics;
     private final ServiceName serviceNameBase;
 
@@ -59,13 +75,33 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         }
     }
 
+    /**
+     * Registers the task time metrics, for the pools that have a {@code statistics-enabled} attribute.
+     */
+    public void registerStatisticsAttributes(final ManagementResourceRegistration registration) {
+        for (AttributeDefinition metric : TASK_TIME_METRICS) {
+            registration.registerMetric(metric, this);
+        }
+    }
+
+    public void registerOperations(final ManagementResourceRegistration registration, final ResourceDescriptionResolver resolver) {
+        final OperationDefinition resetStatistics = new SimpleOperationDefinitionBuilder(CommonAttributes.RESET_STATISTICS, resolver)
+                .setRuntimeOnly()
+                .build();
+        registration.registerOperationHandler(resetStatistics, new ResetStatisticsHandler());
+    }
+
     @Override
     protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
         final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
         if (context.getRunningMode() == RunningMode.NORMAL) {
             ServiceController<?> serviceController = getService(context, operation);
             final Service<?> service = serviceController.getService();
-            setResult(context, attributeName, service);
+            if (attributeName.equals(CommonAttributes.TASK_WAIT_TIME) || attributeName.equals(CommonAttributes.TASK_RUN_TIME)) {
+                setTaskTimeResult(context, attributeName, service);
+            } else {
+                setResult(context, attributeName, service);
+            }
         }
 
         context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
@@ -83,4 +119,47 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         return controller;
     }
 
+    private static void setTaskTimeResult(OperationContext context, String attributeName, Service<?> service) {
+        final Object executor = service.getValue();
+        if (executor instanceof ManagedExecutorService) {
+            final ManagedExecutorService managed = (ManagedExecutorService) executor;
+            final LatencyHistogram.Snapshot snapshot = attributeName.equals(CommonAttributes.TASK_WAIT_TIME)
+                    ? managed.getTaskWaitTime() : managed.getTaskRunTime();
+            if (snapshot != null) {
+                final ModelNode result = context.getResult();
+                result.get(CommonAttributes.COUNT).set(snapshot.getCount());
+                result.get(CommonAttributes.P50).set(snapshot.getValueAtPercentile(50));
+                result.get(CommonAttributes.P90).set(snapshot.getValueAtPercentile(90));
+                result.get(CommonAttributes.P99).set(snapshot.getValueAtPercentile(99));
+                result.get(CommonAttributes.MAX).set(snapshot.getMax());
+            }
+        }
+    }
+
+    private static AttributeDefinition createTaskTimeMetric(String name) {
+        return ObjectTypeAttributeDefinition.Builder.of(name,
+                createTaskTimeField(CommonAttributes.COUNT), createTaskTimeField(CommonAttributes.P50),
+                createTaskTimeField(CommonAttributes.P90), createTaskTimeField(CommonAttributes.P99),
+                createTaskTimeField(CommonAttributes.MAX))
+                .setAllowNull(true)
+                .build();
+    }
+
+    private static AttributeDefinition createTaskTimeField(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG).build();
+    }
+
+    /** Clears the task timing statistics of the pool */
+    private class ResetStatisticsHandler extends AbstractRuntimeOnlyHandler {
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (context.getRunningMode() == RunningMode.NORMAL) {
+                final Object executor = getService(context, operation).getService().getValue();
+                if (executor instanceof ManagedExecutorService) {
+                    ((ManagedExecutorService) executor).resetStatistics();
+                }
+            }
+            context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+        }
+    }
 }
@@ -49,7 +49,8 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
                 PoolAttributeDefinitions.THREAD_FACTORY.getName(), PoolAttributeDefinitions.ACTIVE_COUNT.getName(),
                 PoolAttributeDefinitions.COMPLETED_TASK_COUNT.getName(), PoolAttributeDefinitions.CURRENT_THREAD_COUNT.getName(),
                 PoolAttributeDefinitions.LARGEST_THREAD_COUNT.getName(), PoolAttributeDefinitions.TASK_COUNT.getName(),
-                PoolAttributeDefinitions.QUEUE_SIZE.getName()));
+                PoolAttributeDefinitions.QUEUE_SIZE.getName(), PoolAttributeDefinitions.STATISTICS_ENABLED.getName(),
+                ThreadPoolMetricsHandler.TASK_WAIT_TIME.getName(), ThreadPoolMetricsHandler.TASK_RUN_TIME.getName()));
 
         // note we don't include REJECTED_COUNT as it has a different definition in different resources
     }
@@ -62,7 +63,7 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
 
     @Override
     public String getResourceAttributeDescription(String attributeName, Locale locale, ResourceBundle bundle) {
-        if (COMMON_ATTRIBUTE_NAMES.contains(attributeName)) {
+        if (isCommonAttribute(attributeName)) {
             return bundle.getString(getKey(attributeName));
         }
         return super.getResourceAttributeDescription(attributeName, locale, bundle);
@@ -76,6 +77,14 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
         return super.getResourceAttributeValueTypeDescription(attributeName, locale, bundle, suffixes);
     }
 
+    @Override
+    public String getOperationDescription(String operationName, Locale locale, ResourceBundle bundle) {
+        if (CommonAttributes.RESET_STATISTICS.equals(operationName)) {
+            return bundle.getString(getKey(operationName));
+        }
+        return super.getOperationDescription(operationName, locale, bundle);
+    }
+
     @Override
     public String getOperationParameterDescription(String operationName, String paramName, Locale locale, ResourceBundle bundle) {
         if (ModelDescriptionConstants.ADD.equals(operationName) && COMMON_ATTRIBUTE_NAMES.contains(paramName)) {
@@ -93,6 +102,12 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
     }
 
 
+    /** Also covers the fields of common complex attributes, whose descriptions are requested as {@code attribute.field} */
+    private static boolean isCommonAttribute(String attributeName) {
+        final int dot = attributeName.indexOf('.');
+        return COMMON_ATTRIBUTE_NAMES.contains(dot < 0 ? attributeName : attributeName.substring(0, dot));
+    }
+
     private String getKey(String... args) {
         return getVariableBundleKey(args);
     }
@@ -62,14 +62,16 @@ class ThreadSubsystemResourceDefinition extends PersistentResourceDefinition {
     protected List<? extends PersistentResourceDefinition> getChildren() {
         return Arrays.asList(
                 ThreadFactoryResourceDefinition.DEFAULT_INSTANCE,
-                QueuelessThreadPoolResourceDefinition.create(true, registerRuntimeOnly),
-                QueuelessThreadPoolResourceDefinition.create(false, registerRuntimeOnly),
+                QueuelessThreadPoolResourceDefinition.create(true, registerRuntimeOnly, true),
+                QueuelessThreadPoolResourceDefinition.create(false, registerRuntimeOnly, true),
 
-                BoundedQueueThreadPoolResourceDefinition.create(true, registerRuntimeOnly),
-                BoundedQueueThreadPoolResourceDefinition.create(false, registerRuntimeOnly),
+                BoundedQueueThreadPoolResourceDefinition.create(true, registerRuntimeOnly, true),
+                BoundedQueueThreadPoolResourceDefinition.create(false, registerRuntimeOnly, true),
 
-                UnboundedQueueThreadPoolResourceDefinition.create(registerRuntimeOnly),
-                ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly)
+                UnboundedQueueThreadPoolResourceDefinition.create(registerRuntimeOnly, true),
+                ScheduledThreadPoolResourceDefinition.create(registerRuntimeOnly, true),
+                VirtualThreadExecutorResourceDefinition.create(registerRuntimeOnly),
+                WorkStealingThreadPoolResourceDefinition.create(registerRuntimeOnly)
         );
     }
 }
@@ -147,4 +147,32 @@ interface ThreadsLogger extends BasicLogger {
     OperationFailedException failedToParseUnit(String unit, List<TimeUnit> allowed);
 
     // id = 31; redundant parameter null check message
+
+    @Message(id = 32, value = "The executor service hasn't been initialized.")
+    IllegalStateException virtualThreadExecutorUninitialized();
+
+    @Message(id = 33, value = "Service '%s' not found.")
+    OperationFailedException virtualThreadExecutorServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 34, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorAttribute(String attributeName);
+
+    @Message(id = 35, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorMetric(String attributeName);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 36, value = "Virtual threads are not available in this Java runtime; executor '%s' will run its tasks in platform threads")
+    void virtualThreadsUnavailable(String name);
+
+    @Message(id = 37, value = "The executor service hasn't been initialized.")
+    IllegalStateException workStealingThreadPoolExecutorUninitialized();
+
+    @Message(id = 38, value = "Service '%s' not found.")
+    OperationFailedException workStealingThreadPoolServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 39, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolAttribute(String attributeName);
+
+    @Message(id = 40, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedWorkStealingThreadPoolMetric(String attributeName);
 }
@@ -34,7 +34,7 @@ public class ThreadsParser2_0 extends PersistentResourceXMLParser {
 
 
     @SuppressWarnings("deprecation")
-    private static final PersistentResourceXMLDescription xmlDescription = builder(new ThreadSubsystemResourceDefinition(false), Namespace.CURRENT.getUriString())
+    private static final PersistentResourceXMLDescription xmlDescription = builder(new ThreadSubsystemResourceDefinition(false), Namespace.THREADS_2_0.getUriString())
             .addChild(THREAD_FACTORY_PARSER)
             .addChild(getUnboundedQueueThreadPoolParser(UnboundedQueueThreadPoolResourceDefinition.create(false)))
             .addChild(getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(false, false)))
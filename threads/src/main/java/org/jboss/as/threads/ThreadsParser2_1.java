@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLDescription.PersistentResourceXMLBuilder;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and writer for the {@code urn:jboss:domain:threads:2.1} namespace, which adds virtual thread executors,
+ * work-stealing thread pools and the {@code statistics-enabled} attribute of the thread pools.
+ */
+public class ThreadsParser2_1 extends PersistentResourceXMLParser {
+    static final ThreadsParser2_1 INSTANCE = new ThreadsParser2_1();
+
+    @SuppressWarnings("deprecation")
+    private static final PersistentResourceXMLDescription xmlDescription = builder(new ThreadSubsystemResourceDefinition(false), Namespace.THREADS_2_1.getUriString())
+            .addChild(ThreadsParser2_0.THREAD_FACTORY_PARSER)
+            .addChild(withStatistics(ThreadsParser2_0.getUnboundedQueueThreadPoolParser(UnboundedQueueThreadPoolResourceDefinition.create(false))))
+            .addChild(withStatistics(ThreadsParser2_0.getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(false, false))))
+            .addChild(withStatistics(ThreadsParser2_0.getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(true, false))))
+            .addChild(withStatistics(ThreadsParser2_0.getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(false, false))))
+            .addChild(withStatistics(ThreadsParser2_0.getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(true, false))))
+            .addChild(withStatistics(ThreadsParser2_0.getScheduledThreadPoolParser(ScheduledThreadPoolResourceDefinition.create(false))))
+            .addChild(getVirtualThreadExecutorParser(VirtualThreadExecutorResourceDefinition.create(false)))
+            .addChild(getWorkStealingThreadPoolParser(WorkStealingThreadPoolResourceDefinition.create(false)))
+            .build();
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return xmlDescription;
+    }
+
+    private static PersistentResourceXMLBuilder withStatistics(PersistentResourceXMLBuilder builder) {
+        return builder.addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED);
+    }
+
+    public static PersistentResourceXMLBuilder getVirtualThreadExecutorParser(VirtualThreadExecutorResourceDefinition resourceDefinition) {
+        return builder(resourceDefinition)
+                .addAttributes(PoolAttributeDefinitions.MAX_CONCURRENCY, PoolAttributeDefinitions.THREAD_FACTORY,
+                        PoolAttributeDefinitions.STATISTICS_ENABLED);
+    }
+
+    public static PersistentResourceXMLBuilder getWorkStealingThreadPoolParser(WorkStealingThreadPoolResourceDefinition resourceDefinition) {
+        return builder(resourceDefinition)
+                .addAttributes(PoolAttributeDefinitions.PARALLELISM, PoolAttributeDefinitions.ASYNC_MODE,
+                        PoolAttributeDefinitions.THREAD_FACTORY, PoolAttributeDefinitions.STATISTICS_ENABLED);
+    }
+}
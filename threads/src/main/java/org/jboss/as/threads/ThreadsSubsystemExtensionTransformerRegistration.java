@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+
+/**
+ * Registers the transformers for the threads subsystem.
+ */
+public class ThreadsSubsystemExtensionTransformerRegistration implements ExtensionTransformerRegistration {
+
+    static final ModelVersion VERSION_1_0 = ModelVersion.create(1, 0);
+    static final ModelVersion VERSION_1_1 = ModelVersion.create(1, 1);
+    static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0);
+
+    private static final String[] POOLS_WITH_STATISTICS = {
+            CommonAttributes.BOUNDED_QUEUE_THREAD_POOL,
+            CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL,
+            CommonAttributes.QUEUELESS_THREAD_POOL,
+            CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL,
+            CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL,
+            CommonAttributes.SCHEDULED_THREAD_POOL
+    };
+
+    @Override
+    public String getSubsystemName() {
+        return ThreadsExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration registration) {
+        // Current 2.1.0 to 2.0.0 and the 1.x versions, which have the same pools
+        ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        buildTransformers_2_0(builder);
+        TransformationDescription.Tools.register(builder.build(), registration, VERSION_1_0, VERSION_1_1, VERSION_2_0);
+    }
+
+    private void buildTransformers_2_0(ResourceTransformationDescriptionBuilder builder) {
+        builder.rejectChildResource(PathElement.pathElement(CommonAttributes.VIRTUAL_THREAD_EXECUTOR));
+        builder.rejectChildResource(PathElement.pathElement(CommonAttributes.WORK_STEALING_THREAD_POOL));
+
+        for (String pool : POOLS_WITH_STATISTICS) {
+            builder.addChildResource(PathElement.pathElement(pool)).getAttributeBuilder()
+                    .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(PoolAttributeDefinitions.STATISTICS_ENABLED.getDefaultValue()), PoolAttributeDefinitions.STATISTICS_ENABLED)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.STATISTICS_ENABLED);
+        }
+    }
+}
@@ -48,11 +48,23 @@ public class UnboundedQueueThreadPoolAdd extends AbstractAddStepHandler {
     private final ServiceName serviceNameBase;
 
     public UnboundedQueueThreadPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase) {
-        super(ATTRIBUTES);
+        this(threadFactoryResolver, serviceNameBase, false);
+    }
+
+    UnboundedQueueThreadPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase, boolean registerStatistics) {
+        super(getAttributes(registerStatistics));
         this.threadFactoryResolver = threadFactoryResolver;
         this.serviceNameBase = serviceNameBase;
     }
 
+    static AttributeDefinition[] getAttributes(boolean registerStatistics) {
+        return registerStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(ATTRIBUTES) : ATTRIBUTES;
+    }
+
+    static AttributeDefinition[] getRuntimeAttributes(boolean registerStatistics) {
+        return registerStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(RW_ATTRIBUTES) : RW_ATTRIBUTES;
+    }
+
     @Override
     protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
 
@@ -60,6 +72,7 @@ public class UnboundedQueueThreadPoolAdd extends AbstractAddStepHandler {
 
         final UnboundedQueueThreadPoolService service = new UnboundedQueueThreadPoolService(params.getMaxThreads(), params.getKeepAliveTime());
 
+        service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), serviceNameBase,
                 params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
                 context.getServiceTarget());
@@ -42,6 +42,7 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
     private final UnboundedQueueThreadPoolMetricsHandler metricsHandler;
 
     private final boolean registerRuntimeOnly;
+    private final boolean registerStatistics;
 
     public static UnboundedQueueThreadPoolResourceDefinition create(boolean registerRuntimeOnly) {
         return create(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
@@ -55,18 +56,33 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
 
     public static UnboundedQueueThreadPoolResourceDefinition create(PathElement path, ThreadFactoryResolver threadFactoryResolver,
                                                                     ServiceName serviceNameBase, boolean registerRuntimeOnly) {
-        UnboundedQueueThreadPoolAdd addHandler = new UnboundedQueueThreadPoolAdd(threadFactoryResolver, serviceNameBase);
-        return new UnboundedQueueThreadPoolResourceDefinition(path, addHandler, serviceNameBase, registerRuntimeOnly);
+        return create(path, threadFactoryResolver, serviceNameBase, registerRuntimeOnly, false);
+    }
+
+    /**
+     * Creates the definition of a pool of the threads subsystem itself, which also has the {@code statistics-enabled}
+     * attribute, the task time metrics and the {@code reset-statistics} operation.
+     */
+    static UnboundedQueueThreadPoolResourceDefinition create(boolean registerRuntimeOnly, boolean registerStatistics) {
+        return create(PathElement.pathElement(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL), ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly, registerStatistics);
+    }
+
+    private static UnboundedQueueThreadPoolResourceDefinition create(PathElement path, ThreadFactoryResolver threadFactoryResolver,
+                                                                     ServiceName serviceNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
+        UnboundedQueueThreadPoolAdd addHandler = new UnboundedQueueThreadPoolAdd(threadFactoryResolver, serviceNameBase, registerStatistics);
+        return new UnboundedQueueThreadPoolResourceDefinition(path, addHandler, serviceNameBase, registerRuntimeOnly, registerStatistics);
     }
 
     private UnboundedQueueThreadPoolResourceDefinition(PathElement path, UnboundedQueueThreadPoolAdd addHandler,
-                                                       ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+                                                       ServiceName serviceNameBase, boolean registerRuntimeOnly, boolean registerStatistics) {
         super(path,
                 new ThreadPoolResourceDescriptionResolver(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL, ThreadsExtension.RESOURCE_NAME,
                         ThreadsExtension.class.getClassLoader()),
                 addHandler, new UnboundedQueueThreadPoolRemove(addHandler));
         this.registerRuntimeOnly = registerRuntimeOnly;
-        this.writeAttributeHandler = new UnboundedQueueThreadPoolWriteAttributeHandler(serviceNameBase);
+        this.registerStatistics = registerStatistics;
+        this.writeAttributeHandler = new UnboundedQueueThreadPoolWriteAttributeHandler(serviceNameBase, registerStatistics);
         this.metricsHandler = new UnboundedQueueThreadPoolMetricsHandler(serviceNameBase);
     }
 
@@ -77,6 +93,17 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
         writeAttributeHandler.registerAttributes(resourceRegistration);
         if (registerRuntimeOnly) {
             metricsHandler.registerAttributes(resourceRegistration);
+            if (registerStatistics) {
+                metricsHandler.registerStatisticsAttributes(resourceRegistration);
+            }
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly && registerStatistics) {
+            metricsHandler.registerOperations(resourceRegistration, getResourceDescriptionResolver());
         }
     }
 
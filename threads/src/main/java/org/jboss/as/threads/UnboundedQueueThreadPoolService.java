@@ -43,6 +43,7 @@ public class UnboundedQueueThreadPoolService implements Service<ManagedJBossThre
     private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
 
     private ManagedJBossThreadPoolExecutorService executor;
+    private boolean statisticsEnabled;
 
     private int maxThreads;
     private TimeSpec keepAlive;
@@ -57,6 +58,7 @@ public class UnboundedQueueThreadPoolService implements Service<ManagedJBossThre
         long keepAliveTime = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getUnit().toNanos(keepAliveSpec.getDuration());
         final JBossThreadPoolExecutor jbossExecutor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<Runnable>(), threadFactoryValue.getValue());
         executor = new ManagedJBossThreadPoolExecutorService(jbossExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
     }
 
     public void stop(final StopContext context) {
@@ -78,6 +80,14 @@ public class UnboundedQueueThreadPoolService implements Service<ManagedJBossThre
         return value;
     }
 
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedJBossThreadPoolExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
@@ -44,7 +44,11 @@ public class UnboundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteA
     private final ServiceName serviceNameBase;
 
     public UnboundedQueueThreadPoolWriteAttributeHandler(ServiceName serviceNameBase) {
-        super(UnboundedQueueThreadPoolAdd.ATTRIBUTES, UnboundedQueueThreadPoolAdd.RW_ATTRIBUTES);
+        this(serviceNameBase, false);
+    }
+
+    UnboundedQueueThreadPoolWriteAttributeHandler(ServiceName serviceNameBase, boolean registerStatistics) {
+        super(UnboundedQueueThreadPoolAdd.getAttributes(registerStatistics), UnboundedQueueThreadPoolAdd.getRuntimeAttributes(registerStatistics));
         this.serviceNameBase = serviceNameBase;
     }
 
@@ -60,6 +64,8 @@ public class UnboundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteA
             pool.setKeepAlive(spec);
         } else if(PoolAttributeDefinitions.MAX_THREADS.getName().equals(attributeName)) {
             pool.setMaxThreads(PoolAttributeDefinitions.MAX_THREADS.resolveModelAttribute(context, model).asInt());
+        } else if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedUnboundedQueueThreadPoolAttribute(attributeName);
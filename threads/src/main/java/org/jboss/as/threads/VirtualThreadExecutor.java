@@ -0,0 +1,350 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * Executor running each task in its own virtual thread, with no more than a given number of tasks running at a time.
+ * Tasks submitted beyond that limit wait in their own, parked, virtual thread for a running task to complete.
+ * <p>
+ * Virtual threads are looked up reflectively, as they are only available on recent Java runtimes. On a runtime
+ * without them, or where they are a preview feature that is not enabled, the executor falls back to a pool of
+ * platform threads as large as the concurrency limit, with an unbounded queue. The metrics mean the same in both modes.
+ */
+class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final long PLATFORM_THREAD_KEEPALIVE_SECONDS = 60;
+
+    /** {@code null} if virtual threads are not in use */
+    private final ThreadFactory virtualThreadFactory;
+    /** Limits the number of running tasks when using virtual threads */
+    private final ResizableSemaphore permits;
+    /** Runs the tasks when virtual threads are not available */
+    private final ThreadPoolExecutor platformPool;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    private int maxConcurrency;
+    private volatile boolean shutdown;
+    private boolean terminating;
+    private boolean terminated;
+    private final List<ShutdownListener<?>> shutdownListeners = new ArrayList<>(1);
+
+    /**
+     * @param name the name of the executor, used to name its virtual threads
+     * @param maxConcurrency the maximum number of tasks running at a time
+     * @param platformThreadFactory the factory for the platform threads used if virtual threads are not available
+     */
+    VirtualThreadExecutor(String name, int maxConcurrency, ThreadFactory platformThreadFactory) {
+        this(createVirtualThreadFactory(name + "-"), maxConcurrency, platformThreadFactory);
+    }
+
+    VirtualThreadExecutor(ThreadFactory virtualThreadFactory, int maxConcurrency, ThreadFactory platformThreadFactory) {
+        this.virtualThreadFactory = virtualThreadFactory;
+        this.maxConcurrency = maxConcurrency;
+        if (virtualThreadFactory != null) {
+            permits = new ResizableSemaphore(maxConcurrency);
+            platformPool = null;
+        } else {
+            permits = null;
+            platformPool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, PLATFORM_THREAD_KEEPALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), platformThreadFactory);
+            platformPool.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * Creates a factory for virtual threads.
+     *
+     * @param namePrefix the prefix of the thread names, which are followed by a sequence number
+     * @return the factory, or {@code null} if virtual threads are not available on this runtime
+     */
+    static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // virtual threads are a preview feature that is not enabled
+            return null;
+        }
+    }
+
+    boolean isVirtual() {
+        return virtualThreadFactory != null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // counted as pending before checking for shutdown, so shutdown cannot complete while it is being submitted
+        pending.incrementAndGet();
+        if (shutdown) {
+            rejected.incrementAndGet();
+            taskDone();
+            throw new RejectedExecutionException();
+        }
+        submitted.incrementAndGet();
+        final Task task = new Task(command);
+        try {
+            if (virtualThreadFactory != null) {
+                waiting.incrementAndGet();
+                virtualThreadFactory.newThread(task).start();
+            } else {
+                platformPool.execute(task);
+            }
+        } catch (RuntimeException | Error e) {
+            if (virtualThreadFactory != null) {
+                waiting.decrementAndGet();
+            }
+            rejected.incrementAndGet();
+            taskDone();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+        if (pending.get() == 0) {
+            terminate();
+        }
+    }
+
+    /**
+     * Shuts the executor down. Tasks already running are not interrupted. When using platform threads, the tasks
+     * that have not started yet are removed and returned, when using virtual threads they all run.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        if (platformPool == null) {
+            shutdown();
+            return Collections.emptyList();
+        }
+        final List<Runnable> notRun = new ArrayList<>();
+        final List<Runnable> drained = new ArrayList<>();
+        platformPool.getQueue().drainTo(drained);
+        for (Runnable runnable : drained) {
+            notRun.add(((Task) runnable).delegate);
+            taskDone();
+        }
+        shutdown();
+        return notRun;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return terminated;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + remaining;
+        while (!terminated) {
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return true;
+    }
+
+    /**
+     * Adds a listener to be called once the executor has shut down and all its tasks have completed. The listener is
+     * called at once if that is already the case.
+     */
+    <A> void addShutdownListener(final EventListener<A> listener, final A attachment) {
+        synchronized (this) {
+            if (!terminated) {
+                shutdownListeners.add(new ShutdownListener<>(listener, attachment));
+                return;
+            }
+        }
+        listener.handleEvent(attachment);
+    }
+
+    synchronized int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    synchronized void setMaxConcurrency(int maxConcurrency) {
+        if (permits != null) {
+            final int delta = maxConcurrency - this.maxConcurrency;
+            if (delta > 0) {
+                permits.release(delta);
+            } else if (delta < 0) {
+                permits.reducePermits(-delta);
+            }
+        } else if (maxConcurrency < this.maxConcurrency) {
+            platformPool.setCorePoolSize(maxConcurrency);
+            platformPool.setMaximumPoolSize(maxConcurrency);
+        } else {
+            platformPool.setMaximumPoolSize(maxConcurrency);
+            platformPool.setCorePoolSize(maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /** @return the number of tasks currently running */
+    int getActiveCount() {
+        return active.get();
+    }
+
+    /** @return the number of tasks waiting for a running task to complete before they can start */
+    int getQueueSize() {
+        return platformPool == null ? waiting.get() : platformPool.getQueue().size();
+    }
+
+    int getRejectedCount() {
+        return rejected.get();
+    }
+
+    long getTaskCount() {
+        return submitted.get();
+    }
+
+    long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    private void taskDone() {
+        if (pending.decrementAndGet() == 0 && shutdown) {
+            terminate();
+        }
+    }
+
+    private void terminate() {
+        synchronized (this) {
+            if (terminating) {
+                return;
+            }
+            terminating = true;
+        }
+        // the executor only reports itself as terminated once every listener has been called
+        for (;;) {
+            final List<ShutdownListener<?>> listeners;
+            synchronized (this) {
+                if (shutdownListeners.isEmpty()) {
+                    terminated = true;
+                    notifyAll();
+                    return;
+                }
+                listeners = new ArrayList<>(shutdownListeners);
+                shutdownListeners.clear();
+            }
+            for (ShutdownListener<?> listener : listeners) {
+                listener.handleEvent();
+            }
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final Runnable delegate;
+
+        private Task(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (permits != null) {
+                    permits.acquireUninterruptibly();
+                    waiting.decrementAndGet();
+                }
+                active.incrementAndGet();
+                try {
+                    delegate.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                    if (permits != null) {
+                        permits.release();
+                    }
+                }
+            } finally {
+                taskDone();
+            }
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    private static final class ShutdownListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        private ShutdownListener(EventListener<A> listener, A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        private void handleEvent() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
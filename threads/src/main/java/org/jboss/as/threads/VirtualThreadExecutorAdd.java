@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Adds a virtual thread executor.
+ */
+public class VirtualThreadExecutorAdd extends AbstractAddStepHandler {
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] {PoolAttributeDefinitions.MAX_CONCURRENCY,
+        PoolAttributeDefinitions.THREAD_FACTORY, PoolAttributeDefinitions.STATISTICS_ENABLED};
+
+    static final AttributeDefinition[] RW_ATTRIBUTES = new AttributeDefinition[] {PoolAttributeDefinitions.MAX_CONCURRENCY, PoolAttributeDefinitions.STATISTICS_ENABLED};
+
+    private final ThreadFactoryResolver threadFactoryResolver;
+    private final ServiceName serviceNameBase;
+
+    public VirtualThreadExecutorAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase) {
+        super(ATTRIBUTES);
+        this.threadFactoryResolver = threadFactoryResolver;
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    protected void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model) throws OperationFailedException {
+        final String name = PathAddress.pathAddress(operation.require(OP_ADDR)).getLastElement().getValue();
+        final int maxConcurrency = PoolAttributeDefinitions.MAX_CONCURRENCY.resolveModelAttribute(context, model).asInt();
+        final String threadFactory = getThreadFactory(context, model);
+
+        final VirtualThreadExecutorService service = new VirtualThreadExecutorService(name, maxConcurrency);
+        service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        ThreadPoolManagementUtils.installThreadPoolService(service, name, serviceNameBase,
+                threadFactory, threadFactoryResolver, service.getThreadFactoryInjector(),
+                context.getServiceTarget());
+    }
+
+    static String getThreadFactory(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final ModelNode threadFactory = PoolAttributeDefinitions.THREAD_FACTORY.resolveModelAttribute(context, model);
+        return threadFactory.isDefined() ? threadFactory.asString() : null;
+    }
+
+    ServiceName getServiceNameBase() {
+        return serviceNameBase;
+    }
+
+    ThreadFactoryResolver getThreadFactoryResolver() {
+        return threadFactoryResolver;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping an executor running each task in a virtual thread.
+ */
+public class VirtualThreadExecutorService implements Service<ManagedVirtualThreadExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+    private final String name;
+
+    private ManagedVirtualThreadExecutorService executor;
+    private boolean statisticsEnabled;
+
+    private int maxConcurrency;
+
+    public VirtualThreadExecutorService(String name, int maxConcurrency) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final VirtualThreadExecutor virtualThreadExecutor = new VirtualThreadExecutor(name, maxConcurrency, threadFactoryValue.getValue());
+        if (!virtualThreadExecutor.isVirtual()) {
+            ThreadsLogger.ROOT_LOGGER.virtualThreadsUnavailable(name);
+        }
+        executor = new ManagedVirtualThreadExecutorService(virtualThreadExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedVirtualThreadExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedVirtualThreadExecutorService getValue() throws IllegalStateException {
+        final ManagedVirtualThreadExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadExecutorUninitialized();
+        }
+        return value;
+    }
+
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedVirtualThreadExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    /**
+     * Gets the injector for the factory of the platform threads used if the runtime does not support virtual threads.
+     *
+     * @return the injector
+     */
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        final ManagedVirtualThreadExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setMaxConcurrency(maxConcurrency);
+        }
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveCount();
+    }
+
+    public long getCompletedTaskCount() {
+        return getValue().getCompletedTaskCount();
+    }
+
+    public int getRejectedCount() {
+        return getValue().getRejectedCount();
+    }
+
+    public long getTaskCount() {
+        return getValue().getTaskCount();
+    }
+
+    public int getQueueSize() {
+        return getValue().getQueueSize();
+    }
+}
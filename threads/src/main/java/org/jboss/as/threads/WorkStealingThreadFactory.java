@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.threads.EventListener;
+
+/**
+ * Creates the worker threads of a {@link ForkJoinPool} after the threads of a plain {@link ThreadFactory}.
+ * <p>
+ * A fork/join pool can only run its tasks in {@link ForkJoinWorkerThread}s, which a plain thread factory cannot create.
+ * Each worker thread is instead given the name, priority, daemon status and context class loader of an unstarted
+ * thread obtained from the plain factory, which is then discarded. The thread group of that thread is not applied.
+ * <p>
+ * This factory also tells when the pool has terminated, which {@link ForkJoinPool} only offers by blocking in
+ * {@link ForkJoinPool#awaitTermination}: the pool can only terminate once all its workers have exited, so each exiting
+ * worker checks for it.
+ */
+class WorkStealingThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private final ThreadFactory threadFactory;
+    private final List<TerminationListener<?>> terminationListeners = new ArrayList<>(1);
+
+    WorkStealingThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        final Thread template = threadFactory.newThread(NOOP);
+        if (template == null) {
+            return null;
+        }
+        final ForkJoinWorkerThread thread = new WorkerThread(pool);
+        thread.setName(template.getName());
+        thread.setDaemon(template.isDaemon());
+        thread.setPriority(template.getPriority());
+        thread.setContextClassLoader(template.getContextClassLoader());
+        return thread;
+    }
+
+    /**
+     * Adds a listener to be called once the pool has terminated. The listener is called at once if that is already
+     * the case.
+     */
+    <A> void addTerminationListener(final ForkJoinPool pool, final EventListener<A> listener, final A attachment) {
+        synchronized (this) {
+            if (!pool.isTerminated()) {
+                terminationListeners.add(new TerminationListener<>(listener, attachment));
+                return;
+            }
+        }
+        listener.handleEvent(attachment);
+    }
+
+    private void workerExited(ForkJoinPool pool) {
+        final List<TerminationListener<?>> listeners;
+        synchronized (this) {
+            if (terminationListeners.isEmpty() || !pool.isTerminated()) {
+                return;
+            }
+            listeners = new ArrayList<>(terminationListeners);
+            terminationListeners.clear();
+        }
+        for (TerminationListener<?> listener : listeners) {
+            listener.handleEvent();
+        }
+    }
+
+    private final class WorkerThread extends ForkJoinWorkerThread {
+
+        private WorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                // the pool deregisters the worker, and terminates if it was the last one, before super.run() returns
+                workerExited(getPool());
+            }
+        }
+    }
+
+    private static final class TerminationListener<A> {
+        private final EventListener<A> listener;
+        private final A attachment;
+
+        private TerminationListener(EventListener<A> listener, A attachment) {
+            this.listener = listener;
+            this.attachment = attachment;
+        }
+
+        private void handleEvent() {
+            listener.handleEvent(attachment);
+        }
+    }
+}
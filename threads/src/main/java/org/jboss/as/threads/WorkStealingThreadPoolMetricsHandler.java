@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Handles metrics for a work-stealing thread pool.
+ */
+public class WorkStealingThreadPoolMetricsHandler extends ThreadPoolMetricsHandler {
+
+    public static final List<AttributeDefinition> METRICS = Arrays.asList(PoolAttributeDefinitions.ACTIVE_COUNT,
+            PoolAttributeDefinitions.CURRENT_THREAD_COUNT, PoolAttributeDefinitions.QUEUE_SIZE, PoolAttributeDefinitions.STEAL_COUNT);
+
+    public WorkStealingThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
+        super(METRICS, serviceNameBase);
+    }
+
+    @Override
+    protected void setResult(OperationContext context, final String attributeName, final Service<?> service)
+            throws OperationFailedException {
+        final WorkStealingThreadPoolService executor = (WorkStealingThreadPoolService) service;
+        if (attributeName.equals(CommonAttributes.ACTIVE_COUNT)) {
+            context.getResult().set(executor.getActiveCount());
+        } else if (attributeName.equals(CommonAttributes.CURRENT_THREAD_COUNT)) {
+            context.getResult().set(executor.getCurrentThreadCount());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_SIZE)) {
+            context.getResult().set(executor.getQueueSize());
+        } else if (attributeName.equals(CommonAttributes.STEAL_COUNT)) {
+            context.getResult().set(executor.getStealCount());
+        } else {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw ThreadsLogger.ROOT_LOGGER.unsupportedWorkStealingThreadPoolMetric(attributeName);
+        }
+    }
+}
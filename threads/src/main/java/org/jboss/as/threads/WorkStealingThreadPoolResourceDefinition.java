@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReadResourceNameOperationStepHandler;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for a work-stealing thread pool.
+ */
+public class WorkStealingThreadPoolResourceDefinition extends PersistentResourceDefinition {
+    private final WorkStealingThreadPoolWriteAttributeHandler writeAttributeHandler;
+    private final WorkStealingThreadPoolMetricsHandler metricsHandler;
+
+    private final boolean registerRuntimeOnly;
+
+    public static WorkStealingThreadPoolResourceDefinition create(boolean registerRuntimeOnly) {
+        return create(CommonAttributes.WORK_STEALING_THREAD_POOL, ThreadsServices.STANDARD_THREAD_FACTORY_RESOLVER,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly);
+    }
+
+    public static WorkStealingThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
+                                                                 ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        WorkStealingThreadPoolAdd addHandler = new WorkStealingThreadPoolAdd(threadFactoryResolver, serviceNameBase);
+        return new WorkStealingThreadPoolResourceDefinition(PathElement.pathElement(type), addHandler, serviceNameBase, registerRuntimeOnly);
+    }
+
+    private WorkStealingThreadPoolResourceDefinition(PathElement path, WorkStealingThreadPoolAdd addHandler,
+                                                    ServiceName serviceNameBase, boolean registerRuntimeOnly) {
+        super(path,
+                new ThreadPoolResourceDescriptionResolver(CommonAttributes.WORK_STEALING_THREAD_POOL, ThreadsExtension.RESOURCE_NAME,
+                        ThreadsExtension.class.getClassLoader()),
+                addHandler, new WorkStealingThreadPoolRemove(addHandler));
+        this.registerRuntimeOnly = registerRuntimeOnly;
+        this.writeAttributeHandler = new WorkStealingThreadPoolWriteAttributeHandler(serviceNameBase);
+        this.metricsHandler = new WorkStealingThreadPoolMetricsHandler(serviceNameBase);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerReadOnlyAttribute(PoolAttributeDefinitions.NAME, ReadResourceNameOperationStepHandler.INSTANCE);
+        writeAttributeHandler.registerAttributes(resourceRegistration);
+        if (registerRuntimeOnly) {
+            metricsHandler.registerAttributes(resourceRegistration);
+            metricsHandler.registerStatisticsAttributes(resourceRegistration);
+        }
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly) {
+            metricsHandler.registerOperations(resourceRegistration, getResourceDescriptionResolver());
+        }
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(writeAttributeHandler.attributes);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * Service responsible for creating, starting and stopping a work-stealing thread pool.
+ */
+public class WorkStealingThreadPoolService implements Service<ManagedWorkStealingExecutorService> {
+    private final InjectedValue<ThreadFactory> threadFactoryValue = new InjectedValue<ThreadFactory>();
+
+    private ManagedWorkStealingExecutorService executor;
+    private boolean statisticsEnabled;
+
+    private final int parallelism;
+    private final boolean asyncMode;
+
+    /**
+     * @param parallelism the number of threads actively running tasks, or {@code 0} for the number of available processors
+     * @param asyncMode {@code true} to run the tasks forked by a task, and never joined, in first-in first-out order
+     */
+    public WorkStealingThreadPoolService(int parallelism, boolean asyncMode) {
+        this.parallelism = parallelism;
+        this.asyncMode = asyncMode;
+    }
+
+    public synchronized void start(final StartContext context) throws StartException {
+        final WorkStealingThreadFactory threadFactory = new WorkStealingThreadFactory(threadFactoryValue.getValue());
+        final int parallelism = this.parallelism > 0 ? this.parallelism : Runtime.getRuntime().availableProcessors();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism, threadFactory, null, asyncMode);
+        executor = new ManagedWorkStealingExecutorService(pool, threadFactory);
+        executor.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    public void stop(final StopContext context) {
+        final ManagedWorkStealingExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        context.asynchronous();
+        executor.internalShutdown();
+        executor.addShutdownListener(StopContextEventListener.getInstance(), context);
+    }
+
+    public synchronized ManagedWorkStealingExecutorService getValue() throws IllegalStateException {
+        final ManagedWorkStealingExecutorService value = this.executor;
+        if (value == null) {
+            throw ThreadsLogger.ROOT_LOGGER.workStealingThreadPoolExecutorUninitialized();
+        }
+        return value;
+    }
+
+    public Injector<ThreadFactory> getThreadFactoryInjector() {
+        return threadFactoryValue;
+    }
+
+    public synchronized void setStatisticsEnabled(final boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedWorkStealingExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    public int getActiveCount() {
+        return getValue().getActiveCount();
+    }
+
+    public int getCurrentThreadCount() {
+        return getValue().getCurrentThreadCount();
+    }
+
+    public int getQueueSize() {
+        return getValue().getQueueSize();
+    }
+
+    public long getStealCount() {
+        return getValue().getStealCount();
+    }
+}
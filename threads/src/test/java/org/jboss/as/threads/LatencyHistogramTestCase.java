@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBucketBoundaries() {
+        for (int index = 0; index < (Long.SIZE - 4) * LatencyHistogram.SUB_BUCKET_COUNT; index++) {
+            final long highest = LatencyHistogram.highestValue(index);
+            Assert.assertEquals(index, LatencyHistogram.index(highest));
+            if (highest < Long.MAX_VALUE) {
+                Assert.assertEquals(index + 1, LatencyHistogram.index(highest + 1));
+            }
+        }
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPrecision() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10000; i++) {
+            final long value = random.nextLong(Long.MAX_VALUE);
+            final long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+            Assert.assertTrue(highest >= value);
+            Assert.assertTrue((double) (highest - value) / value <= 1.0 / LatencyHistogram.SUB_BUCKET_COUNT);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000, snapshot.getCount());
+        Assert.assertEquals(1000000, snapshot.getMax());
+        assertClose(500000, snapshot.getValueAtPercentile(50));
+        assertClose(900000, snapshot.getValueAtPercentile(90));
+        assertClose(990000, snapshot.getValueAtPercentile(99));
+        Assert.assertEquals(1000000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testNegativeAndEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getMax());
+        Assert.assertEquals(0, snapshot.getValueAtPercentile(50));
+
+        histogram.record(-5);
+        snapshot = histogram.snapshot();
+        Assert.assertEquals(1, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getMax());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final long offset = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.record(j + offset);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(40000, snapshot.getCount());
+        Assert.assertEquals(9999 + threads.length - 1, snapshot.getMax());
+    }
+
+    private static void assertClose(long expected, long actual) {
+        Assert.assertTrue("expected about " + expected + " but was " + actual,
+                actual >= expected && actual - expected <= expected / LatencyHistogram.SUB_BUCKET_COUNT);
+    }
+}
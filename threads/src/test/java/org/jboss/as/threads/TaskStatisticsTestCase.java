@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.threads.JBossThreadPoolExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the task timing statistics recorded by {@link ManagedExecutorService}.
+ */
+public class TaskStatisticsTestCase {
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        final ManagedJBossThreadPoolExecutorService executor = createExecutor();
+        try {
+            Assert.assertFalse(executor.isStatisticsEnabled());
+            executor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+            Assert.assertNull(executor.getTaskWaitTime());
+            Assert.assertNull(executor.getTaskRunTime());
+        } finally {
+            executor.internalShutdown();
+        }
+    }
+
+    @Test
+    public void testWaitAndRunTimes() throws Exception {
+        final ManagedJBossThreadPoolExecutorService executor = createExecutor();
+        try {
+            executor.setStatisticsEnabled(true);
+            final CountDownLatch release = new CountDownLatch(1);
+            // occupy the single thread so the next task waits
+            executor.execute(() -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final Callable<Void> sleeper = () -> {
+                Thread.sleep(20);
+                return null;
+            };
+            executor.submit(sleeper);
+            Thread.sleep(50);
+            release.countDown();
+            executor.invokeAll(Arrays.asList(sleeper));
+
+            final LatencyHistogram.Snapshot waitTime = executor.getTaskWaitTime();
+            final LatencyHistogram.Snapshot runTime = executor.getTaskRunTime();
+            Assert.assertEquals(3, waitTime.getCount());
+            Assert.assertEquals(3, runTime.getCount());
+            Assert.assertTrue(waitTime.getMax() >= TimeUnit.MILLISECONDS.toNanos(50));
+            Assert.assertTrue(runTime.getValueAtPercentile(50) >= TimeUnit.MILLISECONDS.toNanos(20));
+
+            executor.resetStatistics();
+            Assert.assertEquals(0, executor.getTaskWaitTime().getCount());
+
+            executor.setStatisticsEnabled(false);
+            Assert.assertNull(executor.getTaskRunTime());
+        } finally {
+            executor.internalShutdown();
+        }
+    }
+
+    @Test
+    public void testScheduledWaitExcludesDelay() throws Exception {
+        final ManagedScheduledExecutorService executor = new ManagedScheduledExecutorService(
+                new ScheduledThreadPoolExecutor(1, Executors.defaultThreadFactory()));
+        try {
+            executor.setStatisticsEnabled(true);
+            executor.schedule(() -> { }, 100, TimeUnit.MILLISECONDS).get(10, TimeUnit.SECONDS);
+            final LatencyHistogram.Snapshot waitTime = executor.getTaskWaitTime();
+            Assert.assertEquals(1, waitTime.getCount());
+            Assert.assertTrue(waitTime.getMax() < TimeUnit.MILLISECONDS.toNanos(100));
+        } finally {
+            executor.internalShutdown();
+        }
+    }
+
+    private static ManagedJBossThreadPoolExecutorService createExecutor() {
+        return new ManagedJBossThreadPoolExecutorService(new JBossThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Executors.defaultThreadFactory()));
+    }
+}
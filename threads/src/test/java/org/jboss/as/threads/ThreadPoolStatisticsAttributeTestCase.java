@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.Collection;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that only the pools of the threads subsystem itself have the {@code statistics-enabled} attribute, not those
+ * other subsystems create with the public factory methods.
+ */
+public class ThreadPoolStatisticsAttributeTestCase {
+
+    @Test
+    public void testSharedDefinitionsWithoutStatistics() {
+        assertStatisticsEnabled(false, BoundedQueueThreadPoolResourceDefinition.create(true, true).getAttributes());
+        assertStatisticsEnabled(false, BoundedQueueThreadPoolResourceDefinition.create(false, true).getAttributes());
+        assertStatisticsEnabled(false, QueuelessThreadPoolResourceDefinition.create(true, true).getAttributes());
+        assertStatisticsEnabled(false, QueuelessThreadPoolResourceDefinition.create(false, true).getAttributes());
+        assertStatisticsEnabled(false, UnboundedQueueThreadPoolResourceDefinition.create(true).getAttributes());
+        assertStatisticsEnabled(false, ScheduledThreadPoolResourceDefinition.create(true).getAttributes());
+    }
+
+    @Test
+    public void testThreadsSubsystemDefinitionsWithStatistics() {
+        assertStatisticsEnabled(true, BoundedQueueThreadPoolResourceDefinition.create(true, true, true).getAttributes());
+        assertStatisticsEnabled(true, BoundedQueueThreadPoolResourceDefinition.create(false, true, true).getAttributes());
+        assertStatisticsEnabled(true, QueuelessThreadPoolResourceDefinition.create(true, true, true).getAttributes());
+        assertStatisticsEnabled(true, QueuelessThreadPoolResourceDefinition.create(false, true, true).getAttributes());
+        assertStatisticsEnabled(true, UnboundedQueueThreadPoolResourceDefinition.create(true, true).getAttributes());
+        assertStatisticsEnabled(true, ScheduledThreadPoolResourceDefinition.create(true, true).getAttributes());
+    }
+
+    private static void assertStatisticsEnabled(boolean expected, Collection<AttributeDefinition> attributes) {
+        Assert.assertEquals(attributes.toString(), expected, attributes.contains(PoolAttributeDefinitions.STATISTICS_ENABLED));
+    }
+}
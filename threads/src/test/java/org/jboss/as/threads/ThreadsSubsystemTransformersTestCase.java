@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.OperationTransformer.TransformedOperation;
+import org.jboss.as.controller.transform.ResourceTransformationContext;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the transformation of the resources and attributes added in model version 2.1.0 to the older model versions.
+ */
+public class ThreadsSubsystemTransformersTestCase extends AbstractSubsystemTest {
+
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress(ThreadsExtension.SUBSYSTEM_PATH);
+
+    private KernelServices services;
+    private TransformerRegistry registry;
+
+    public ThreadsSubsystemTransformersTestCase() {
+        super(ThreadsExtension.SUBSYSTEM_NAME, new ThreadsExtension());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        services = createKernelServicesBuilder(new AdditionalInitialization() {
+            @Override
+            protected ProcessType getProcessType() {
+                return ProcessType.HOST_CONTROLLER;
+            }
+
+            @Override
+            protected RunningMode getRunningMode() {
+                return RunningMode.ADMIN_ONLY;
+            }
+        })
+                .setSubsystemXmlResource("threads-subsystem-2_1.xml")
+                .build();
+        Assert.assertTrue(services.isSuccessfulBoot());
+
+        registry = TransformerRegistry.Factory.create();
+        new ThreadsSubsystemExtensionTransformerRegistration().registerTransformers(
+                registry.createSubsystemTransformerRegistration(ThreadsExtension.SUBSYSTEM_NAME, ModelVersion.create(2, 1)));
+    }
+
+    @After
+    public void tearDown() {
+        services.shutdown();
+    }
+
+    @Test
+    public void testTransformers_2_0() throws Exception {
+        testTransformers(ThreadsSubsystemExtensionTransformerRegistration.VERSION_2_0);
+    }
+
+    @Test
+    public void testTransformers_1_1() throws Exception {
+        testTransformers(ThreadsSubsystemExtensionTransformerRegistration.VERSION_1_1);
+    }
+
+    @Test
+    public void testTransformers_1_0() throws Exception {
+        testTransformers(ThreadsSubsystemExtensionTransformerRegistration.VERSION_1_0);
+    }
+
+    private void testTransformers(ModelVersion version) throws Exception {
+        checkRejectedResource(version, CommonAttributes.VIRTUAL_THREAD_EXECUTOR, PoolAttributeDefinitions.MAX_CONCURRENCY.getName(), 10);
+        checkRejectedResource(version, CommonAttributes.WORK_STEALING_THREAD_POOL, PoolAttributeDefinitions.PARALLELISM.getName(), 2);
+
+        PathAddress pool = SUBSYSTEM_ADDRESS.append(CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL, "transformed");
+        ModelNode add = Util.createAddOperation(pool);
+        add.get(CommonAttributes.MAX_THREADS).set(5);
+        add.get(CommonAttributes.STATISTICS_ENABLED).set(false);
+        TransformedOperation transformed = transformOperation(version, add);
+        Assert.assertFalse(transformed.rejectOperation(success()));
+        Assert.assertEquals(5, transformed.getTransformedOperation().get(CommonAttributes.MAX_THREADS).asInt());
+        Assert.assertFalse(transformed.getTransformedOperation().has(CommonAttributes.STATISTICS_ENABLED));
+
+        transformed = transformOperation(version, Util.getUndefineAttributeOperation(pool, CommonAttributes.STATISTICS_ENABLED));
+        Assert.assertFalse(transformed.rejectOperation(success()));
+        Assert.assertNull(transformed.getTransformedOperation());
+
+        add.get(CommonAttributes.STATISTICS_ENABLED).set(true);
+        Assert.assertTrue(transformOperation(version, add).rejectOperation(success()));
+
+        for (String type : new String[] {CommonAttributes.BOUNDED_QUEUE_THREAD_POOL, CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL,
+                CommonAttributes.QUEUELESS_THREAD_POOL, CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL, CommonAttributes.SCHEDULED_THREAD_POOL}) {
+            ModelNode write = Util.getWriteAttributeOperation(SUBSYSTEM_ADDRESS.append(type, "transformed"), CommonAttributes.STATISTICS_ENABLED, new ModelNode(true));
+            Assert.assertTrue(type, transformOperation(version, write).rejectOperation(success()));
+        }
+    }
+
+    private void checkRejectedResource(ModelVersion version, String type, String attribute, int value) throws OperationFailedException {
+        PathAddress address = SUBSYSTEM_ADDRESS.append(type, "transformed");
+        ModelNode add = Util.createAddOperation(address);
+        add.get(attribute).set(value);
+        Assert.assertTrue(type, transformOperation(version, add).rejectOperation(success()));
+        Assert.assertTrue(type, transformOperation(version, Util.createRemoveOperation(address)).rejectOperation(success()));
+    }
+
+    private TransformedOperation transformOperation(ModelVersion version, ModelNode operation) throws OperationFailedException {
+        TransformationTarget target = TransformationTargetImpl.create(null, registry, ModelVersion.create(5),
+                Collections.singletonMap(SUBSYSTEM_ADDRESS, version), TransformationTarget.TransformationTargetType.SERVER);
+        Resource root = Resource.Factory.create();
+        Resource subsystem = Resource.Factory.create();
+        root.registerChild(ThreadsExtension.SUBSYSTEM_PATH, subsystem);
+        PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        if (address.size() > 1) {
+            subsystem.registerChild(address.getLastElement(), Resource.Factory.create());
+        }
+        ResourceTransformationContext context = Transformers.Factory.create(target, root, services.getRootRegistration(),
+                ExpressionResolver.TEST_RESOLVER, RunningMode.NORMAL, ProcessType.HOST_CONTROLLER, null);
+        return Transformers.Factory.create(target).transformOperation(context, operation);
+    }
+
+    private static ModelNode success() {
+        final ModelNode result = new ModelNode();
+        result.get(OUTCOME).set(SUCCESS);
+        result.get(RESULT);
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link VirtualThreadExecutor}, in virtual thread mode if the runtime supports it and always in the
+ * platform thread fallback mode.
+ */
+public class VirtualThreadExecutorTestCase {
+
+    private static final ThreadFactory PLATFORM_THREADS = Executors.defaultThreadFactory();
+
+    @Test
+    public void testConcurrencyLimitVirtual() throws Exception {
+        final ThreadFactory virtualThreads = VirtualThreadExecutor.createVirtualThreadFactory("test-");
+        if (virtualThreads != null) {
+            final VirtualThreadExecutor executor = new VirtualThreadExecutor(virtualThreads, 2, PLATFORM_THREADS);
+            Assert.assertTrue(executor.isVirtual());
+            checkConcurrencyLimit(executor);
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimitPlatform() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor((ThreadFactory) null, 2, PLATFORM_THREADS);
+        Assert.assertFalse(executor.isVirtual());
+        checkConcurrencyLimit(executor);
+    }
+
+    @Test
+    public void testFallbackWhenUnavailable() {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor("test", 1, PLATFORM_THREADS);
+        Assert.assertEquals(VirtualThreadExecutor.createVirtualThreadFactory("test-") != null, executor.isVirtual());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testIncreaseConcurrency() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor((ThreadFactory) null, 1, PLATFORM_THREADS);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+        }
+        waitFor(() -> executor.getActiveCount() == 1);
+        executor.setMaxConcurrency(2);
+        Assert.assertEquals(2, executor.getMaxConcurrency());
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedAfterShutdown() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor((ThreadFactory) null, 1, PLATFORM_THREADS);
+        executor.shutdown();
+        Assert.assertTrue(executor.isShutdown());
+        try {
+            executor.execute(() -> { });
+            Assert.fail("task should have been rejected");
+        } catch (RejectedExecutionException expected) {
+            // expected
+        }
+        Assert.assertEquals(1, executor.getRejectedCount());
+        Assert.assertEquals(0, executor.getTaskCount());
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownListener() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor((ThreadFactory) null, 1, PLATFORM_THREADS);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger notified = new AtomicInteger();
+        executor.execute(() -> await(release));
+        executor.addShutdownListener(count -> count.incrementAndGet(), notified);
+        executor.shutdown();
+        Assert.assertFalse(executor.isTerminated());
+        Assert.assertEquals(0, notified.get());
+        release.countDown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, notified.get());
+
+        // listeners added after termination are called at once
+        executor.addShutdownListener(count -> count.incrementAndGet(), notified);
+        Assert.assertEquals(2, notified.get());
+    }
+
+    @Test
+    public void testShutdownNowReturnsWaitingTasks() throws Exception {
+        final VirtualThreadExecutor executor = new VirtualThreadExecutor((ThreadFactory) null, 1, PLATFORM_THREADS);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        waitFor(() -> executor.getActiveCount() == 1);
+        final Runnable waiting = () -> { };
+        executor.execute(waiting);
+        final List<Runnable> notRun = executor.shutdownNow();
+        Assert.assertEquals(1, notRun.size());
+        Assert.assertSame(waiting, notRun.get(0));
+        release.countDown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, executor.getCompletedTaskCount());
+    }
+
+    private static void checkConcurrencyLimit(VirtualThreadExecutor executor) throws Exception {
+        final int tasks = 6;
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                final int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                await(release);
+                running.decrementAndGet();
+            });
+        }
+        waitFor(() -> executor.getActiveCount() == 2 && executor.getQueueSize() == tasks - 2);
+        Assert.assertEquals(tasks, executor.getTaskCount());
+        Assert.assertEquals(0, executor.getCompletedTaskCount());
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+        Assert.assertEquals(2, maxRunning.get());
+        Assert.assertEquals(tasks, executor.getCompletedTaskCount());
+        Assert.assertEquals(0, executor.getActiveCount());
+        Assert.assertEquals(0, executor.getQueueSize());
+        Assert.assertEquals(0, executor.getRejectedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.holds()) {
+            Assert.assertTrue("condition not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.threads.EventListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ManagedWorkStealingExecutorService} and the {@link WorkStealingThreadFactory} it depends on.
+ */
+public class WorkStealingThreadPoolTestCase {
+
+    private static final ThreadFactory TEMPLATE_THREADS = new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "template-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    };
+
+    @Test
+    public void testThreadsFollowTemplate() throws Exception {
+        final ManagedWorkStealingExecutorService executor = create(2, false);
+        final Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(thread.getName(), thread.getName().startsWith("template-"));
+        Assert.assertTrue(thread.isDaemon());
+        Assert.assertEquals(Thread.MIN_PRIORITY, thread.getPriority());
+        Assert.assertEquals(2, executor.getParallelism());
+        Assert.assertFalse(executor.isAsyncMode());
+        shutdownAndWait(executor);
+    }
+
+    @Test
+    public void testForkJoin() throws Exception {
+        final ManagedWorkStealingExecutorService executor = create(4, true);
+        Assert.assertTrue(executor.isAsyncMode());
+        Assert.assertEquals(Long.valueOf(fibonacci(20)), executor.submit(() -> new Fibonacci(20).invoke()).get(30, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.getCurrentThreadCount() > 0);
+        Assert.assertTrue(executor.getStealCount() >= 0);
+        shutdownAndWait(executor);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final ManagedWorkStealingExecutorService executor = create(1, false);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        Assert.assertEquals(1, executor.getActiveCount());
+        Assert.assertEquals(2, executor.getQueueSize());
+        release.countDown();
+        shutdownAndWait(executor);
+        Assert.assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testShutdownListenerWaitsForTasks() throws Exception {
+        final ManagedWorkStealingExecutorService executor = create(2, false);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.internalShutdown();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        executor.addShutdownListener(CountDownListener.INSTANCE, terminated);
+        Assert.assertFalse(terminated.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        Assert.assertTrue(terminated.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownListenerWithoutThreads() throws Exception {
+        final ManagedWorkStealingExecutorService executor = create(2, false);
+        executor.internalShutdown();
+        // no worker thread was ever started, so the pool terminates at once
+        shutdownAndWait(executor);
+    }
+
+    private static ManagedWorkStealingExecutorService create(int parallelism, boolean asyncMode) {
+        final WorkStealingThreadFactory threadFactory = new WorkStealingThreadFactory(TEMPLATE_THREADS);
+        return new ManagedWorkStealingExecutorService(new ForkJoinPool(parallelism, threadFactory, null, asyncMode), threadFactory);
+    }
+
+    private static void shutdownAndWait(ManagedWorkStealingExecutorService executor) throws InterruptedException {
+        executor.internalShutdown();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        executor.addShutdownListener(CountDownListener.INSTANCE, terminated);
+        Assert.assertTrue(terminated.await(10, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long fibonacci(int n) {
+        return n <= 1 ? n : fibonacci(n - 1) + fibonacci(n - 2);
+    }
+
+    private static final class Fibonacci extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final int n;
+
+        private Fibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n <= 10) {
+                return fibonacci(n);
+            }
+            final ForkJoinTask<Long> first = new Fibonacci(n - 1).fork();
+            return new Fibonacci(n - 2).compute() + first.join();
+        }
+    }
+
+    private static final class CountDownListener implements EventListener<CountDownLatch> {
+        private static final CountDownListener INSTANCE = new CountDownListener();
+
+        @Override
+        public void handleEvent(CountDownLatch latch) {
+            latch.countDown();
+        }
+    }
+}